@@ -95,7 +95,7 @@ public abstract class Csv {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public static <T> T load(final InputStream in, final String encoding, final CsvConfig cfg, final CsvHandler<T> handler) throws IOException {
-		return load(new InputStreamReader(in, encoding), cfg, handler);
+		return load(new CsvReader(in, encoding, cfg), handler);
 	}
 
 	/**
@@ -132,6 +132,34 @@ public abstract class Csv {
 		}
 	}
 
+	/**
+	 * 指定されたファイルを指定されたエンコーディングで分割して並列に読込み、
+	 * ハンドラによって変換された区切り文字形式データのインスタンスを返します。<p>
+	 * ファイルはメモリーマップされ、改行位置で分割した範囲毎に別スレッドで字句解析されます。
+	 * 論理行は入力順にハンドラへ渡されるため、ハンドラはスレッドセーフである必要はなく、結果は逐次読込んだ場合と同じです。
+	 * 並列度が {@code 1} 以下の場合は {@link #load(File, String, CsvConfig, CsvHandler)} と同じです。
+	 *
+	 * @param file 入力ファイル
+	 * @param encoding エンコーディング
+	 * @param cfg 区切り文字形式情報
+	 * @param handler 区切り文字形式データアクセスハンドラ
+	 * @param parallelism 並列度
+	 * @return ハンドラによって変換された区切り文字形式データのインスタンス
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @since 2.2.2
+	 */
+	public static <T> T load(final File file, final String encoding, final CsvConfig cfg, final CsvHandler<T> handler, final int parallelism) throws IOException {
+		if (parallelism <= 1) {
+			return load(file, encoding, cfg, handler);
+		}
+		final CsvReader reader = new ParallelCsvReader(file, encoding, cfg, parallelism);
+		try {
+			return load(reader, handler);
+		} finally {
+			closeQuietly(reader);
+		}
+	}
+
 	/**
 	 * 指定されたファイルをプラットフォームのデフォルトエンコーディングで読込み、
 	 * ハンドラによって変換された区切り文字形式データのインスタンスを返します。
@@ -175,7 +203,7 @@ public abstract class Csv {
 				if (filter != null && !filter.accept(entry)) {
 					continue;
 				}
-				list.addAll(handler.load(new CsvReader(new InputStreamReader(in, encoding), cfg), true));
+				list.addAll(handler.load(new CsvReader(in, encoding, cfg), true));
 			} finally {
 				in.closeEntry();
 			}
@@ -260,7 +288,7 @@ public abstract class Csv {
 			if (filter != null && !filter.accept(entry)) {
 				continue;
 			}
-			list.addAll(handler.load(new CsvReader(new InputStreamReader(lhaFile.getInputStream(entry), encoding), cfg), true));
+			list.addAll(handler.load(new CsvReader(lhaFile.getInputStream(entry), encoding, cfg), true));
 		}
 		return handler.processScalar(list);
 	}
@@ -339,7 +367,7 @@ public abstract class Csv {
 				if (filter != null && !filter.accept(entry)) {
 					continue;
 				}
-				list.addAll(handler.load(new CsvReader(new InputStreamReader(in, encoding), cfg), true));
+				list.addAll(handler.load(new CsvReader(in, encoding, cfg), true));
 			} finally {
 				in.closeEntry();
 			}
@@ -427,7 +455,7 @@ public abstract class Csv {
 			}
 			final InputStream in = zipFile.getInputStream(entry);
 			try {
-				list.addAll(handler.load(new CsvReader(new InputStreamReader(in, encoding), cfg), true));
+				list.addAll(handler.load(new CsvReader(in, encoding, cfg), true));
 			} finally {
 				closeQuietly(in);
 			}
@@ -145,6 +145,32 @@ public class CsvConfig implements Serializable, Cloneable {
 	 */
 	private String lineSeparator = System.getProperty("line.separator");
 
+	/**
+	 * 区切り文字形式入出力ストリームの排他制御を無効にするかどうかを保持します。
+	 * 
+	 * @since 2.2.2
+	 */
+	private boolean lockDisabled;
+
+	/**
+	 * 区切り文字形式データトークンのリストと区切り文字形式データトークンを再利用するかどうかを保持します。
+	 * 
+	 * @since 2.2.2
+	 */
+	private boolean recycleTokens;
+
+	/**
+	 * 項目の値の文字列を共有するキャッシュの項目毎の大きさを保持します。
+	 * 
+	 * @since 2.2.2
+	 */
+	private int stringCacheSize;
+
+	/**
+	 * 無視する行の正規表現パターン群を解析した行フィルタを保持します。
+	 */
+	private transient LineFilter lineFilter;
+
 	// ------------------------------------------------------------------------
 	// コンストラクタ
 
@@ -216,6 +242,26 @@ public class CsvConfig implements Serializable, Cloneable {
 		}
 	}
 
+	/**
+	 * 無視する行の正規表現パターン群を解析した行フィルタを返します。<p>
+	 * 行フィルタは無視する行の正規表現パターン群が変更されるまで再利用されます。
+	 *
+	 * @return 行フィルタ。無視する行の正規表現パターン群が設定されていない場合は {@code null}
+	 * @since 2.2.2
+	 */
+	LineFilter getLineFilter() {
+		final Pattern[] patterns = ignoreLinePatterns;
+		if (patterns == null) {
+			return null;
+		}
+		LineFilter filter = lineFilter;
+		if (filter == null || !filter.isCompiledFrom(patterns)) {
+			filter = new LineFilter(patterns);
+			lineFilter = filter;
+		}
+		return filter;
+	}
+
 	// ------------------------------------------------------------------------
 	// セッター/ゲッター
 
@@ -678,6 +724,97 @@ public class CsvConfig implements Serializable, Cloneable {
 		return this;
 	}
 
+	/**
+	 * 区切り文字形式入出力ストリームの排他制御を無効にするかどうかを返します。
+	 * 
+	 * @return 区切り文字形式入出力ストリームの排他制御を無効にするかどうか
+	 * @since 2.2.2
+	 */
+	public boolean isLockDisabled() { return lockDisabled; }
+
+	/**
+	 * 区切り文字形式入出力ストリームの排他制御を無効にするかどうかを設定します。<p>
+	 * {@code true} を設定すると {@link CsvReader} や {@link CsvWriter} およびこれらを使用する入出力ストリームは、
+	 * 論理行毎の {@code synchronized} ブロックに入らずに読み書きを行います。
+	 * 入出力ストリームを単一のスレッドからのみ使用する場合にのみ設定して下さい。
+	 * 
+	 * @param disabled 区切り文字形式入出力ストリームの排他制御を無効にするかどうか
+	 * @since 2.2.2
+	 */
+	public void setLockDisabled(final boolean disabled) { this.lockDisabled = disabled; }
+
+	/**
+	 * 区切り文字形式入出力ストリームの排他制御を無効にするかどうかを設定します。
+	 * 
+	 * @param disabled 区切り文字形式入出力ストリームの排他制御を無効にするかどうか
+	 * @since 2.2.2
+	 */
+	public CsvConfig withLockDisabled(final boolean disabled) {
+		this.lockDisabled = disabled;
+		return this;
+	}
+
+	/**
+	 * {@link CsvReader#readTokens()} が区切り文字形式データトークンのリストと区切り文字形式データトークンを再利用するかどうかを返します。
+	 * 
+	 * @return 区切り文字形式データトークンのリストと区切り文字形式データトークンを再利用するかどうか
+	 * @since 2.2.2
+	 */
+	public boolean isRecycleTokens() { return recycleTokens; }
+
+	/**
+	 * {@link CsvReader#readTokens()} が区切り文字形式データトークンのリストと区切り文字形式データトークンを再利用するかどうかを設定します。<p>
+	 * {@code true} を設定すると {@link CsvReader#readTokens()} は呼出し毎に同じリストと同じ区切り文字形式データトークンのインスタンスを返し、
+	 * 論理行毎のオブジェクト生成を行いません。返されたリストと区切り文字形式データトークンは次の論理行を読込むまでの間のみ有効です。
+	 * 論理行を次の読込み以降も保持しない場合にのみ設定して下さい。
+	 * 
+	 * @param recycle 区切り文字形式データトークンのリストと区切り文字形式データトークンを再利用するかどうか
+	 * @since 2.2.2
+	 */
+	public void setRecycleTokens(final boolean recycle) { this.recycleTokens = recycle; }
+
+	/**
+	 * {@link CsvReader#readTokens()} が区切り文字形式データトークンのリストと区切り文字形式データトークンを再利用するかどうかを設定します。
+	 * 
+	 * @param recycle 区切り文字形式データトークンのリストと区切り文字形式データトークンを再利用するかどうか
+	 * @since 2.2.2
+	 */
+	public CsvConfig withRecycleTokens(final boolean recycle) {
+		this.recycleTokens = recycle;
+		return this;
+	}
+
+	/**
+	 * 項目の値の文字列を共有するキャッシュの項目毎の大きさを返します。
+	 * 
+	 * @return 項目の値の文字列を共有するキャッシュの項目毎の大きさ。キャッシュを使用しない場合は {@code 0}
+	 * @since 2.2.2
+	 */
+	public int getStringCacheSize() { return stringCacheSize; }
+
+	/**
+	 * 項目の値の文字列を共有するキャッシュの項目毎の大きさを設定します。<p>
+	 * {@code 1} 以上を設定すると {@link CsvReader} は項目の位置毎に指定された大きさのキャッシュを持ち、
+	 * 以前に読込んだ値と同じ内容の項目に対しては新しい文字列を生成せずに同じ文字列のインスタンスを返します。
+	 * 都道府県名や通貨コード、状態区分などの少数の値が繰返し出現する項目を大量に読込んで保持する場合に、保持する文字列の数を削減できます。
+	 * キャッシュの大きさを超える種類の値が出現する場合は既にキャッシュされた値と置換えられ、64 文字を超える値はキャッシュされません。
+	 * 
+	 * @param size 項目の値の文字列を共有するキャッシュの項目毎の大きさ。キャッシュを使用しない場合は {@code 0}
+	 * @since 2.2.2
+	 */
+	public void setStringCacheSize(final int size) { this.stringCacheSize = size; }
+
+	/**
+	 * 項目の値の文字列を共有するキャッシュの項目毎の大きさを設定します。
+	 * 
+	 * @param size 項目の値の文字列を共有するキャッシュの項目毎の大きさ。キャッシュを使用しない場合は {@code 0}
+	 * @since 2.2.2
+	 */
+	public CsvConfig withStringCacheSize(final int size) {
+		this.stringCacheSize = size;
+		return this;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * @since 1.1
@@ -16,15 +16,19 @@
 
 package com.orangesignal.csv;
 
-import java.io.BufferedReader;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.regex.Matcher;
+
+import com.orangesignal.csv.filters.CsvValueFilter;
 
 /**
  * 区切り文字形式入力ストリームを提供します。
@@ -44,15 +48,35 @@ public class CsvReader implements Closeable {
 	 */
 	private CsvConfig cfg;
 
+	/**
+	 * 文字入力ストリームから読込んだ文字を保持する入力バッファです。
+	 */
+	private final char[] cbuf;
+
+	/**
+	 * 入力バッファの読込み位置を保持します。
+	 */
+	private int cpos;
+
+	/**
+	 * 入力バッファの有効な文字数を保持します。
+	 */
+	private int clen;
+
+	/**
+	 * 入力バッファへ一度でも読込みを行ったかどうかを保持します。
+	 */
+	private boolean filled;
+
 	/**
 	 * 終端文字を含む行バッファを保持します。
 	 */
-	private final StringBuilder line = new StringBuilder();
+	private char[] line = new char[DEFAULT_LINE_BUFFER_SIZE];
 
 	/**
-	 * 次行の先頭文字を保持します。
+	 * 行バッファの有効な文字数を保持します。
 	 */
-	private int nextChar = -1;
+	private int lineLength;
 
 	/**
 	 * 行バッファの位置を保持します。
@@ -109,11 +133,69 @@ public class CsvReader implements Closeable {
 	 */
 	private final boolean utf8bom;
 
+	/**
+	 * 排他制御を無効にするかどうかを保持します。
+	 */
+	private final boolean lockDisabled;
+
+	/**
+	 * 区切り文字形式データトークンのリストと区切り文字形式データトークンを再利用するかどうかを保持します。
+	 */
+	private final boolean recycleTokens;
+
 	/**
 	 * 項目数チェックの為に直前の行の項目数を保持します。
 	 */
 	private int countNumberOfColumns = -1;
 
+	/**
+	 * 無視する行の行フィルタを保持します。無視する行の正規表現パターン群が設定されていない場合は {@code null} です。
+	 */
+	private final LineFilter lineFilter;
+
+	/**
+	 * 行フィルタで使用する {@link Matcher} の配列を保持します。
+	 */
+	private final Matcher[] lineMatchers;
+
+	/**
+	 * 行バッファを参照する {@link CharSequence} を保持します。
+	 */
+	private final CsvRow.Field lineView = new CsvRow.Field();
+
+	/**
+	 * 項目の位置毎に項目を読込むかどうかを保持します。全ての項目を読込む場合は {@code null} です。
+	 */
+	private boolean[] projection;
+
+	/**
+	 * 論理行を読込む際に判定する区切り文字形式データフィルタを保持します。
+	 */
+	private CsvValueFilter filter;
+
+	/**
+	 * 区切り文字形式データフィルタが参照する最大の項目位置を保持します。論理行の全ての項目を読込んでから判定する場合は {@code -1} です。
+	 */
+	private int filterLastColumn = -1;
+
+	/**
+	 * 読込み中の論理行を区切り文字形式データフィルタで判定していないかどうかを保持します。
+	 */
+	private boolean filterPending;
+
+	/**
+	 * 読込み中の論理行を区切り文字形式データフィルタが含めないと判定したかどうかを保持します。
+	 */
+	private boolean filterRejected;
+
+	/**
+	 * 読込み中の論理行の項目を区切り文字形式データフィルタへ渡す値リストとして参照します。
+	 */
+	private final List<String> filterValues = new AbstractList<String>() {
+		@Override public String get(final int index) { return row.getString(index); }
+		@Override public int size() { return row.size(); }
+	};
+
 	/**
 	 * 復帰文字です。
 	 */
@@ -131,6 +213,8 @@ public class CsvReader implements Closeable {
 
 	private static final int DEFAULT_CHAR_BUFFER_SIZE = 8192;
 
+	private static final int DEFAULT_LINE_BUFFER_SIZE = 256;
+
 	// ------------------------------------------------------------------------
 	// コンストラクタ
 
@@ -148,15 +232,28 @@ public class CsvReader implements Closeable {
 			throw new IllegalArgumentException("CsvConfig must not be null");
 		}
 		cfg.validate();
-		this.in = new BufferedReader(in, sz);
+		if (sz <= 0) {
+			throw new IllegalArgumentException("Buffer size <= 0");
+		}
+		this.in = in;
+		this.cbuf = new char[sz];
 		this.cfg = cfg;
 		final String s;
 		if (in instanceof InputStreamReader) {
 			s = ((InputStreamReader) in).getEncoding();
+		} else if (in instanceof DecodingReader) {
+			s = ((DecodingReader) in).getEncoding();
 		} else {
 			s = Charset.defaultCharset().name();
 		}
 		this.utf8bom = s.toLowerCase().matches("^utf\\-{0,1}8$");
+		this.lockDisabled = cfg.isLockDisabled();
+		this.recycleTokens = cfg.isRecycleTokens();
+		this.lineFilter = cfg.getLineFilter();
+		this.lineMatchers = lineFilter != null ? lineFilter.newMatchers() : null;
+		if (cfg.getStringCacheSize() > 0) {
+			row.stringCache = new StringCache(cfg.getStringCacheSize());
+		}
 	}
 
 	/**
@@ -191,6 +288,38 @@ public class CsvReader implements Closeable {
 		this(in, DEFAULT_CHAR_BUFFER_SIZE, new CsvConfig());
 	}
 
+	/**
+	 * 指定されたバイト入力ストリームを指定されたエンコーディングで読込む、このクラスを構築するコンストラクタです。<p>
+	 * バイト入力ストリームは {@link InputStreamReader} を経由せずにこのクラスの入力バッファへ直接復号化されます。
+	 *
+	 * @param in バイト入力ストリーム
+	 * @param encoding エンコーディング
+	 * @param cfg 区切り文字形式情報
+	 * @throws IllegalArgumentException {@code in} または {@code encoding}、{@code cfg} が {@code null} の場合
+	 * または、{@code cfg} の区切り文字および囲み文字、エスケープ文字の組合せが不正な場合
+	 * @throws UnsupportedEncodingException 指定されたエンコーディングがサポートされていない場合
+	 * @since 2.2.2
+	 */
+	public CsvReader(final InputStream in, final String encoding, final CsvConfig cfg) throws UnsupportedEncodingException {
+		this(new DecodingReader(in, encoding), DEFAULT_CHAR_BUFFER_SIZE, cfg);
+	}
+
+	/**
+	 * 指定されたバイトバッファの位置から制限までを指定されたエンコーディングで読込む、このクラスを構築するコンストラクタです。<p>
+	 * バイトバッファの位置や制限は変更されません。
+	 *
+	 * @param in バイトバッファ
+	 * @param encoding エンコーディング
+	 * @param cfg 区切り文字形式情報
+	 * @throws IllegalArgumentException {@code in} または {@code encoding}、{@code cfg} が {@code null} の場合
+	 * または、{@code cfg} の区切り文字および囲み文字、エスケープ文字の組合せが不正な場合
+	 * @throws UnsupportedEncodingException 指定されたエンコーディングがサポートされていない場合
+	 * @since 2.2.2
+	 */
+	public CsvReader(final ByteBuffer in, final String encoding, final CsvConfig cfg) throws UnsupportedEncodingException {
+		this(new DecodingReader(in, encoding), DEFAULT_CHAR_BUFFER_SIZE, cfg);
+	}
+
 	// ------------------------------------------------------------------------
 
 	/**
@@ -222,6 +351,79 @@ public class CsvReader implements Closeable {
 	 */
 	public boolean isEndOfFile() { return endOfFile; }
 
+	/**
+	 * 排他制御を無効にしているかどうかを返します。
+	 * 
+	 * @return 排他制御を無効にしている場合は {@code true}
+	 * @see CsvConfig#isLockDisabled()
+	 * @since 2.2.2
+	 */
+	public boolean isLockDisabled() { return lockDisabled; }
+
+	/**
+	 * 読込む項目の位置を設定します。<p>
+	 * 設定すると、指定されていない位置の項目は非エスケープ化や空白の除去、NULL 文字列の判定、文字列の生成を行わずに値を {@code null} として返します。
+	 * 区切り文字や囲み文字の解析は全ての項目に対して行うため、項目数や物理行番号は変わりません。
+	 * 先頭の項目は空行の判定に使用するため、常に読込まれます。
+	 *
+	 * @param columns 読込む項目の位置。全ての項目を読込む場合は {@code null}
+	 * @throws IllegalArgumentException {@code columns} に負の値が含まれる場合
+	 * @since 2.2.2
+	 */
+	public void setProjection(final int... columns) {
+		if (columns == null) {
+			projection = null;
+			return;
+		}
+		int max = 0;
+		for (final int column : columns) {
+			if (column < 0) {
+				throw new IllegalArgumentException(String.format("Invalid column position %d", column));
+			}
+			max = Math.max(max, column);
+		}
+		final boolean[] results = new boolean[max + 1];
+		results[0] = true;
+		for (final int column : columns) {
+			results[column] = true;
+		}
+		projection = results;
+	}
+
+	/**
+	 * 論理行を読込む際に判定する区切り文字形式データフィルタを設定します。<p>
+	 * 設定すると、区切り文字形式データフィルタが含めないと判定した論理行を読み飛ばします。
+	 * {@code lastColumn} に区切り文字形式データフィルタが参照する最大の項目位置を指定すると、その位置の項目を読込んだ時点で判定し、
+	 * 含めない論理行の残りの項目は非エスケープ化や空白の除去、NULL 文字列の判定、文字列の生成を行わずに読み飛ばします。
+	 * 区切り文字や囲み文字の解析は全ての項目に対して行うため、項目数の検査や物理行番号は変わりません。<p>
+	 * 区切り文字形式データフィルタへ渡される値リストは判定時点までに読込んだ項目のみを含み、判定の間のみ有効です。
+	 * 項目数が {@code lastColumn} 以下の論理行は、全ての項目を読込んでから判定します。
+	 *
+	 * @param filter 区切り文字形式データフィルタ。判定しない場合は {@code null}
+	 * @param lastColumn 区切り文字形式データフィルタが参照する最大の項目位置。論理行の全ての項目を読込んでから判定する場合は {@code -1}
+	 * @throws IllegalArgumentException {@code lastColumn} が {@code -1} より小さい場合
+	 * @since 2.2.2
+	 */
+	public void setFilter(final CsvValueFilter filter, final int lastColumn) {
+		if (lastColumn < -1) {
+			throw new IllegalArgumentException(String.format("Invalid column position %d", lastColumn));
+		}
+		this.filter = filter;
+		this.filterLastColumn = lastColumn;
+	}
+
+	/**
+	 * 指定された位置の項目を読込むかどうかを返します。
+	 *
+	 * @param column 項目の位置
+	 * @return 項目を読込む場合は {@code true}
+	 * @see #setProjection(int...)
+	 */
+	boolean isProjected(final int column) {
+		final boolean[] p = projection;
+		return p == null || column < p.length && p[column];
+	}
+
 	/**
 	 * Checks to make sure that the stream has not been closed
 	 */
@@ -232,48 +434,96 @@ public class CsvReader implements Closeable {
 	}
 
 	/**
-	 * 物理行を読込んで行バッファへセットします。
+	 * 文字入力ストリームから入力バッファへ文字を読込みます。
 	 *
-	 * @return 行の終端文字を含まない行文字列
+	 * @return 文字を読込んだ場合は {@code true}。ストリームの終わりに達した場合は {@code false}
 	 * @throws IOException 入出力例外が発生した場合
 	 */
-	private int cacheLine() throws IOException {
-		// 行バッファを構築します。
-		line.setLength(0);
-		int c;
-		if (nextChar != -1) {
-			c = nextChar;
-			nextChar = -1;
-		} else {
-			c = in.read();
-			// BOM (Byte Order Mark) を除去する場合は BOM を読み飛ばします。
-			if (lineNumber == 0 /* && line == null */ && utf8bom && c == BOM) {
-				c = in.read();
+	private boolean fill() throws IOException {
+		int n;
+		do {
+			n = in.read(cbuf, 0, cbuf.length);
+		} while (n == 0);
+		if (n == -1) {
+			cpos = clen = 0;
+			return false;
+		}
+		cpos = 0;
+		clen = n;
+		// BOM (Byte Order Mark) を除去する場合は BOM を読み飛ばします。
+		if (!filled) {
+			filled = true;
+			if (utf8bom && cbuf[0] == BOM) {
+				cpos = 1;
+				if (clen == 1) {
+					return fill();
+				}
 			}
 		}
+		return true;
+	}
+
+	/**
+	 * 物理行を読込んで行バッファへセットします。
+	 * 入力バッファ上で改行文字を検索し、見つかった範囲を一括して行バッファへ複写します。
+	 *
+	 * @return 行の終端文字 (CR または LF) の出現位置 + 1。終端文字がない場合は {@code -1}
+	 * @throws IOException 入出力例外が発生した場合
+	 */
+	private int cacheLine() throws IOException {
+		lineLength = 0;
+		pos = 0;
 
 		int result = -1;	// CR または LF の出現位置
-		while (c != -1) {
-			line.append((char) c);
-			if (c == CR) {
-				result = line.length();
-				nextChar = in.read();
-				if (nextChar == LF) {
-					line.append((char) nextChar);
-					nextChar = -1;
+		while (cpos < clen || fill()) {
+			final char[] cb = cbuf;
+			final int start = cpos;
+			final int end = clen;
+			int i = start;
+			while (i < end) {
+				final char c = cb[i];
+				if (c == CR || c == LF) {
+					break;
 				}
-				break;
-			} else if (c == LF) {
-				result = line.length();
-				break;
+				i++;
+			}
+			if (i == end) {
+				appendLine(cb, start, end - start);
+				cpos = end;
+				continue;
 			}
-			c = in.read();
+
+			appendLine(cb, start, i + 1 - start);
+			cpos = i + 1;
+			result = lineLength;
+			if (cb[i] == CR && (cpos < clen || fill()) && cbuf[cpos] == LF) {
+				appendLine(cbuf, cpos, 1);
+				cpos++;
+			}
+			break;
 		}
-		pos = 0;
 
 		return result;
 	}
 
+	/**
+	 * 指定された文字配列の範囲を行バッファへ追加します。
+	 *
+	 * @param chars 文字配列
+	 * @param off 開始位置
+	 * @param len 文字数
+	 */
+	private void appendLine(final char[] chars, final int off, final int len) {
+		final int newLength = lineLength + len;
+		if (newLength > line.length) {
+			final char[] newLine = new char[Math.max(newLength, line.length << 1)];
+			System.arraycopy(line, 0, newLine, 0, lineLength);
+			line = newLine;
+		}
+		System.arraycopy(chars, off, line, lineLength, len);
+		lineLength = newLength;
+	}
+
 	/**
 	 * 単一の文字を読み込みます。
 	 *
@@ -281,19 +531,16 @@ public class CsvReader implements Closeable {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	private int read() throws IOException {
-		synchronized (this) {
-			ensureOpen();
-			if (endOfFile) {
-				return -1;
-			}
-			if (line.length() == 0 || line.length() <= pos) {
-				cacheLine();
-			}
-			if (line.length() == 0) {
-				return -1;
-			}
-			return line.charAt(pos++);
+		if (endOfFile) {
+			return -1;
+		}
+		if (lineLength == 0 || lineLength <= pos) {
+			cacheLine();
 		}
+		if (lineLength == 0) {
+			return -1;
+		}
+		return line[pos++];
 	}
 
 	/**
@@ -305,67 +552,178 @@ public class CsvReader implements Closeable {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public List<String> readValues() throws IOException {
-		final List<CsvToken> tokens = readTokens();
-		if (tokens == null) {
-			return null;
+		if (lockDisabled) {
+			return nextRow() ? row.toValues() : null;
 		}
-		final List<String> results = new ArrayList<String>(tokens.size());
-		for (final CsvToken token : tokens) {
-			results.add(token.getValue());
+		synchronized (this) {
+			return nextRow() ? row.toValues() : null;
 		}
-		return results;
 	}
 
 	/**
-	 * 論理行を読込み区切り文字形式データトークンをリストして返します。
+	 * 論理行を読込み区切り文字形式データトークンをリストして返します。<p>
+	 * {@link CsvConfig#isRecycleTokens()} が {@code true} の場合は、呼出し毎に同じリストと同じ区切り文字形式データトークンのインスタンスを返します。
+	 * この場合、返されたリストと区切り文字形式データトークンは次の論理行を読込むまでの間のみ有効です。
 	 *
 	 * @return 区切り文字形式データトークンのリスト。ストリームの終わりに達している場合は {@code null}
 	 * @throws CsvTokenException 可変項目数が禁止されている場合に項目数が一致しない場合
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public List<CsvToken> readTokens() throws IOException {
+		if (lockDisabled) {
+			return nextRow() ? tokens() : null;
+		}
 		synchronized (this) {
-			ensureOpen();
-			if (endOfFile) {
-				return null;
-			}
-			if (!skiped) {
-				for (int i = 0; i < cfg.getSkipLines(); i++) {
-					cacheLine();
-					endTokenLineNumber++;
-					lineNumber++;
-				}
-				line.setLength(0);
-				skiped = true;
+			return nextRow() ? tokens() : null;
+		}
+	}
+
+	/**
+	 * 論理行を読込み、項目の値を内部バッファ上の {@link CharSequence} として参照可能な {@link CsvRow} を返します。<p>
+	 * このメソッドは項目毎の文字列を生成しません。返される {@link CsvRow} はこの入力ストリームが所有しており、
+	 * 次の論理行を読込むと内容が置き換えられます。
+	 * {@code null} を返す条件は {@link #readTokens()} と同じです。
+	 *
+	 * @return 論理行の項目。ストリームの終わりに達している場合は {@code null}
+	 * @throws CsvTokenException 可変項目数が禁止されている場合に項目数が一致しない場合
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @since 2.2.2
+	 */
+	public CsvRow readRow() throws IOException {
+		if (lockDisabled) {
+			return nextRow() ? row : null;
+		}
+		synchronized (this) {
+			return nextRow() ? row : null;
+		}
+	}
+
+	/**
+	 * 論理行を読込み、項目を呼出し元が所有する {@link CsvRow} へ設定します。<p>
+	 * このメソッドは項目毎の文字列を生成せず、指定された {@link CsvRow} の内部バッファを再利用します。
+	 * 同じ {@link CsvRow} を繰返し指定することで、論理行毎のオブジェクト生成を行わずに読込むことができます。
+	 * {@code false} を返す条件は {@link #readTokens()} が {@code null} を返す条件と同じです。
+	 *
+	 * @param row 項目を設定する {@link CsvRow}
+	 * @return 項目を設定した場合は {@code true}。ストリームの終わりに達している場合は {@code false}
+	 * @throws IllegalArgumentException {@code row} が {@code null} の場合
+	 * @throws CsvTokenException 可変項目数が禁止されている場合に項目数が一致しない場合
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @since 2.2.2
+	 */
+	public boolean readRow(final CsvRow row) throws IOException {
+		if (row == null) {
+			throw new IllegalArgumentException("CsvRow must not be null");
+		}
+		if (lockDisabled) {
+			return nextRow(row);
+		}
+		synchronized (this) {
+			return nextRow(row);
+		}
+	}
+
+	private boolean nextRow(final CsvRow target) throws IOException {
+		final CsvRow own = row;
+		target.stringCache = own.stringCache;
+		row = target;
+		try {
+			return nextRow();
+		} finally {
+			row = own;
+		}
+	}
+
+	private List<CsvToken> tokens() {
+		return recycleTokens ? row.recycleTokens() : row.toTokens();
+	}
+
+	/**
+	 * 入力ストリームが閉じられていないことを確認してから、論理行を読込んで項目を {@link #row} へ設定します。
+	 *
+	 * @return 項目を設定した場合は {@code true}。ストリームの終わりに達している場合や空行を無視した場合は {@code false}
+	 * @throws CsvTokenException 可変項目数が禁止されている場合に項目数が一致しない場合
+	 * @throws IOException 入出力エラーが発生した場合
+	 */
+	private boolean nextRow() throws IOException {
+		ensureOpen();
+		return next();
+	}
+
+	/**
+	 * 論理行を読込んで項目を {@link #row} へ設定します。
+	 *
+	 * @return 項目を設定した場合は {@code true}。ストリームの終わりに達している場合や空行を無視した場合は {@code false}
+	 * @throws CsvTokenException 可変項目数が禁止されている場合に項目数が一致しない場合
+	 * @throws IOException 入出力エラーが発生した場合
+	 */
+	boolean next() throws IOException {
+		if (endOfFile) {
+			return false;
+		}
+		if (!skiped) {
+			for (int i = 0; i < cfg.getSkipLines(); i++) {
+				cacheLine();
+				endTokenLineNumber++;
+				lineNumber++;
 			}
+			lineLength = 0;
+			skiped = true;
+		}
+		if (filter == null) {
 			return readCsvTokens();
 		}
+		while (true) {
+			if (!readCsvTokens()) {
+				return false;
+			}
+			if (filterPending) {
+				filterPending = false;
+				filterRejected = !filter.accept(filterValues);
+			}
+			if (!filterRejected) {
+				return true;
+			}
+			if (endOfFile) {
+				return false;
+			}
+		}
 	}
 
-	private int arraySize = 3;
+	/**
+	 * {@link #row} へ設定した論理行を区切り文字形式データフィルタで判定します。<p>
+	 * {@link #next()} を再定義するサブクラスが、論理行の全ての項目を設定した後に判定するために使用します。
+	 *
+	 * @return 区切り文字形式データフィルタが設定されていない場合、または論理行を含めると判定した場合は {@code true}
+	 */
+	boolean acceptRow() {
+		return filter == null || filter.accept(filterValues);
+	}
 
 	/**
-	 * 論理行を読込み、行カウンタを処理して CSV トークンのリストを返します。
+	 * 論理行を読込み、行カウンタを処理して項目を {@link #row} へ設定します。
 	 *
-	 * @return CSV トークンのリスト
+	 * @return 項目を設定した場合は {@code true}。空行を無視した場合は {@code false}
 	 * @throws CsvTokenException 可変項目数が禁止されている場合に項目数が一致しない場合
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
-	private List<CsvToken> readCsvTokens() throws IOException {
-		final List<CsvToken> results = new ArrayList<CsvToken>(arraySize);
+	private boolean readCsvTokens() throws IOException {
+		row.clear();
+		filterPending = filter != null;
+		filterRejected = false;
 		endTokenLineNumber++;
 		startLineNumber = endTokenLineNumber;
 		endOfLine = false;
 		do {
-			if (line.length() == 0 || line.length() <= pos) {
+			if (lineLength == 0 || lineLength <= pos) {
 				int breakLine = cacheLine();
 
 				// 空行を無視する場合の処理を行います。
 				if (cfg.isIgnoreEmptyLines()) {
 					boolean ignore = true;
-					while (ignore && line.length() > 0) {
+					while (ignore && lineLength > 0) {
 						ignore = false;
-						if (isWhitespaces(breakLine == -1 ? line : line.substring(0, breakLine - 1))) {
+						if (isWhitespaces(line, 0, breakLine == -1 ? lineLength : breakLine - 1)) {
 							ignore = true;
 							endTokenLineNumber++;
 							startLineNumber = endTokenLineNumber;
@@ -376,75 +734,80 @@ public class CsvReader implements Closeable {
 				}
 
 				// 無視する行パターンを処理します。
-				if (cfg.getIgnoreLinePatterns() != null) {
+				if (lineFilter != null) {
 					boolean ignore = true;
-					while (ignore && line.length() > 0) {
+					while (ignore && lineLength > 0) {
 						ignore = false;
-						for (final Pattern p : cfg.getIgnoreLinePatterns()) {
-							if (p != null && p.matcher(breakLine == -1 ? line : line.substring(0, breakLine - 1)).matches()) {
-								ignore = true;
-								endTokenLineNumber++;
-								startLineNumber = endTokenLineNumber;
-								lineNumber++;
-								breakLine = cacheLine();
-								break;
-							}
+						lineView.set(line, 0, breakLine == -1 ? lineLength : breakLine - 1);
+						if (lineFilter.matches(lineView, lineMatchers)) {
+							ignore = true;
+							endTokenLineNumber++;
+							startLineNumber = endTokenLineNumber;
+							lineNumber++;
+							breakLine = cacheLine();
 						}
 					}
 				}
 			}
 			startTokenLineNumber = endTokenLineNumber;
-			results.add(readCsvToken());
+			readCsvToken();
+
+			// 区切り文字形式データフィルタが参照する項目を読込んだ時点で判定します。
+			if (filterPending && !endOfLine && row.size() == filterLastColumn + 1) {
+				filterPending = false;
+				filterRejected = !filter.accept(filterValues);
+			}
 		} while (!endOfLine);
 		endLineNumber = endTokenLineNumber;
 		lineNumber++;
 
-		arraySize = results.size();
+		final int size = row.size();
 
 		// XXX - 空行の場合に null を返すのではなく NullObject を返すべきなのでは？
-		if (arraySize == 1) {
+		if (size == 1) {
 			if (endOfFile) {
-				final String value = results.get(0).getValue();
+				final CharSequence value = row.get(0);
 				if (cfg.isIgnoreEmptyLines() && isWhitespaces(value)) {
-					return null;
+					return false;
 				}
-				if (cfg.getIgnoreLinePatterns() != null) {
-					for (final Pattern p : cfg.getIgnoreLinePatterns()) {
-						if (p != null && p.matcher(value).matches()) {
-							return null;
-						}
-					}
+				if (lineFilter != null && lineFilter.matches(value, lineMatchers)) {
+					return false;
 				}
 			} else {
-				if (cfg.isIgnoreEmptyLines() && (line.length() == 0 || isWhitespaces(line))) {
-					return null;
+				if (cfg.isIgnoreEmptyLines() && isWhitespaces(line, 0, lineLength)) {
+					return false;
 				}
 			}
 		}
 		if (!cfg.isVariableColumns()) {
-			if (countNumberOfColumns >= 0 && countNumberOfColumns != arraySize) {
-				throw new CsvTokenException(String.format("Invalid column count in CSV input on line %d.", startLineNumber), results);
+			if (countNumberOfColumns >= 0 && countNumberOfColumns != size) {
+				throw new CsvTokenException(String.format("Invalid column count in CSV input on line %d.", startLineNumber), row.toTokens());
 			}
-			countNumberOfColumns = arraySize;
+			countNumberOfColumns = size;
 		}
 
-		return results;
+		return true;
 	}
 
-	private final StringBuilder buf = new StringBuilder();
+	/**
+	 * 論理行の項目を保持します。{@link #readRow(CsvRow)} の間は呼出し元が所有する {@link CsvRow} を参照します。
+	 */
+	CsvRow row = new CsvRow();
+
 	private boolean inQuote = false;	// 囲み項目を処理中であるかどうか
 	private boolean enclosed = false;	// 囲み項目の可能性を示唆します。
 	private boolean escaped = false;	// 直前の文字がエスケープ文字かどうか(囲み文字の中)
 	private boolean _escaped = false;	// 直前の文字がエスケープ文字かどうか(囲み文字の外)
 
 	/**
-	 * CSV トークンを読込みます。
+	 * CSV トークンを読込み、{@link #row} へ項目として追加します。
+	 * 項目の値は囲み文字の除去や非エスケープ化などを含めて {@link #row} の文字バッファ上で処理されます。
 	 *
-	 * @return CSV トークン
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
-	private CsvToken readCsvToken() throws IOException {
-		buf.setLength(0);
+	private void readCsvToken() throws IOException {
+		final CsvRow buf = row;
+		final int fieldStart = buf.length;
 		// 囲み文字設定が有効な場合
 		inQuote = false;
 		enclosed = false;
@@ -453,7 +816,44 @@ public class CsvReader implements Closeable {
 
 		endTokenLineNumber = startTokenLineNumber;
 
+		final char sep = cfg.getSeparator();
+		final char quote = cfg.getQuote();
+		final char esc = cfg.getEscape();
+		final boolean quoteDisabled = cfg.isQuoteDisabled();
+		final boolean escapeDisabled = cfg.isEscapeDisabled();
+
 		while (true) {
+			// 状態遷移を伴わない文字の並びは行バッファ上で走査して一括して追加します。
+			if (!cr && !_escaped && !escaped && pos < lineLength) {
+				final char[] ln = line;
+				final int len = lineLength;
+				final int start = pos;
+				int i = start;
+				if (!inQuote) {
+					while (i < len) {
+						final char ch = ln[i];
+						if (ch == sep || ch == CR || ch == LF
+								|| !quoteDisabled && ch == quote
+								|| quoteDisabled && !escapeDisabled && ch == esc) {
+							break;
+						}
+						i++;
+					}
+				} else {
+					while (i < len) {
+						final char ch = ln[i];
+						if (ch == quote || ch == CR || ch == LF || !escapeDisabled && ch == esc) {
+							break;
+						}
+						i++;
+					}
+				}
+				if (i > start) {
+					buf.append(ln, start, i - start);
+					pos = i;
+				}
+			}
+
 			final int c = read();
 			if (cr) {
 				cr = false;
@@ -464,7 +864,7 @@ public class CsvReader implements Closeable {
 					}
 					continue;
 				}
-			} else if (_escaped && c == cfg.getSeparator()) {
+			} else if (_escaped && c == sep) {
 				buf.append((char) c);
 				_escaped = false;
 				continue;
@@ -472,9 +872,6 @@ public class CsvReader implements Closeable {
 			_escaped = false;
 			if (c == -1) {
 				endOfLine = true;
-//				if (!endOfFile) {
-//					endLineNumber++;
-//				}
 				endOfFile = true;
 				break;
 			}
@@ -482,7 +879,7 @@ public class CsvReader implements Closeable {
 			// 囲み文字の外(外側)の場合
 			if (!inQuote) {
 				// 区切り文字
-				if (c == cfg.getSeparator()) {
+				if (c == sep) {
 					break;
 				// CR
 				} else if (c == CR) {
@@ -494,22 +891,22 @@ public class CsvReader implements Closeable {
 					endOfLine = true;
 					break;
 				// 囲み文字
-				} else if (!cfg.isQuoteDisabled() && !enclosed && c == cfg.getQuote()) {
-					if (isWhitespaces(buf)) {
+				} else if (!quoteDisabled && !enclosed && c == quote) {
+					if (isWhitespaces(buf.chars, fieldStart, buf.length - fieldStart)) {
 						inQuote = true;
 					}
 				// エスケープ文字
-				} else if (cfg.isQuoteDisabled() && !cfg.isEscapeDisabled() && c == cfg.getEscape()) {
+				} else if (quoteDisabled && !escapeDisabled && c == esc) {
 					_escaped = true;
 				}
 			// 囲み文字の中(内側)の場合
 			} else {
 				// 囲み文字とエスケープ文字が同一の場合
-				if (!cfg.isEscapeDisabled() && cfg.getQuote() == cfg.getEscape()) {
+				if (!escapeDisabled && quote == esc) {
 					// 直前の文字がエスケープ文字の場合
 					if (escaped) {
 						// エスケープ文字直後が区切り文字の場合
-						if (c == cfg.getSeparator()) {
+						if (c == sep) {
 							break;
 						} else if (c == CR) {
 							endOfLine = true;
@@ -518,13 +915,13 @@ public class CsvReader implements Closeable {
 						} else if (c == LF) {
 							endOfLine = true;
 							break;
-						} else if (c == cfg.getEscape()) {
+						} else if (c == esc) {
 							escaped = false;
 							buf.append((char) c);
 							continue;
 						}
 					// 直前の文字がない場合や直前の文字がエスケープ文字ではない場合に、現在の文字がエスケープ文字(囲み文字と同一)の場合
-					} else if (c == cfg.getEscape()) {
+					} else if (c == esc) {
 						escaped = true;
 						buf.append((char) c);
 						continue;
@@ -532,7 +929,7 @@ public class CsvReader implements Closeable {
 				}
 
 				// 囲み文字
-				if (c == cfg.getQuote()) {
+				if (c == quote) {
 					if (escaped) {
 						// 直前がエスケープ文字の場合
 						escaped = false;
@@ -549,7 +946,7 @@ public class CsvReader implements Closeable {
 					endTokenLineNumber++;
 				}
 
-				if (!cfg.isEscapeDisabled() && c == cfg.getEscape()) {
+				if (!escapeDisabled && c == esc) {
 					escaped = true;
 				} else {
 					escaped = false;
@@ -559,77 +956,200 @@ public class CsvReader implements Closeable {
 			buf.append((char) c);
 		}
 
+		// 読込まない項目や含めない論理行の項目は値を破棄します。
+		if (filterRejected || !isProjected(buf.size)) {
+			buf.length = fieldStart;
+			buf.addField(fieldStart, -1, startTokenLineNumber, endTokenLineNumber, false);
+			return;
+		}
+
 		if (escaped) {
 			enclosed = true;
 		}
 
-		String value = buf.toString();
+		char[] chars = buf.chars;
+		int off = fieldStart;
+		int end = buf.length;
 
 		// 囲み項目かどうかの判定
 		if (enclosed) {
 			// 最後の " 以降にホワイトスペース以外の文字がある場合は囲み項目ではない
-			final int i = value.lastIndexOf(cfg.getQuote()) + 1;
-			assert i > 0;
-			if (i < value.length() && !isWhitespaces(value.substring(i + 1))) {
+			int i = end - 1;
+			while (i >= off && chars[i] != quote) {
+				i--;
+			}
+			if (i + 1 < end && !isWhitespaces(chars, i + 2, end - (i + 2))) {
 				enclosed = false;
 			}
 		}
 
 		if (cfg.isIgnoreLeadingWhitespaces() || enclosed) {
-			value = removeLeadingWhitespaces(value);
+			while (off < end && Character.isWhitespace(chars[off])) {
+				off++;
+			}
 		}
 		if (cfg.isIgnoreTrailingWhitespaces() || enclosed) {
-			value = removeTrailingWhitespaces(value);
+			while (end > off && Character.isWhitespace(chars[end - 1])) {
+				end--;
+			}
 		}
+		boolean isNull = false;
 		if (enclosed) {
 			// 囲み文字を除去します。
-			value = value.substring(1, value.length() - 1);
+			off++;
+			end--;
 			// テキスト内の改行文字列を置換する必要がある場合は置換を行います。
-			if (cfg.getBreakString() != null) {
-				value = value.replaceAll("\r\n|\r|\n", cfg.getBreakString());
+			if (cfg.getBreakString() != null && indexOfLineBreak(chars, off, end) != -1) {
+				final String value = new String(chars, off, end - off).replaceAll("\r\n|\r|\n", cfg.getBreakString());
+				buf.length = off;
+				buf.ensureCapacity(off + value.length());
+				chars = buf.chars;
+				value.getChars(0, value.length(), chars, off);
+				end = off + value.length();
 			}
 			// エスケープ文字が有効な場合は非エスケープ化します。
-			if (!cfg.isEscapeDisabled()) {
-				value = unescapeQuote(value);
+			if (!escapeDisabled) {
+				end = unescape(chars, off, end, esc, quote);
 			}
 		} else {
 			if (cfg.getNullString() != null) {
-				if (cfg.isIgnoreCaseNullString()) {
-					if (cfg.getNullString().equalsIgnoreCase(value)) {
-						value = null;
-					}
-				} else {
-					if (cfg.getNullString().equals(value)) {
-						value = null;
-					}
-				}
+				isNull = equals(cfg.getNullString(), chars, off, end - off, cfg.isIgnoreCaseNullString());
+			}
+			if (!isNull && !escapeDisabled) {
+				end = unescape(chars, off, end, esc, sep);
+			}
+		}
+
+		buf.length = end;
+		buf.addField(off, isNull ? -1 : end - off, startTokenLineNumber, endTokenLineNumber, enclosed);
+	}
+
+	/**
+	 * 指定された文字配列の範囲から改行文字を検索します。
+	 *
+	 * @param chars 文字配列
+	 * @param off 開始位置
+	 * @param end 終了位置
+	 * @return 最初に出現した改行文字の位置。改行文字がない場合は {@code -1}
+	 */
+	private static int indexOfLineBreak(final char[] chars, final int off, final int end) {
+		for (int i = off; i < end; i++) {
+			if (chars[i] == CR || chars[i] == LF) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * 指定された文字配列の範囲に含まれるエスケープ文字と指定された文字の並びを、指定された文字へ置換します。
+	 *
+	 * @param chars 文字配列
+	 * @param off 開始位置
+	 * @param end 終了位置
+	 * @param esc エスケープ文字
+	 * @param c 非エスケープ化する文字
+	 * @return 置換後の終了位置
+	 */
+	private static int unescape(final char[] chars, final int off, final int end, final char esc, final char c) {
+		int i = off;
+		while (i < end - 1 && !(chars[i] == esc && chars[i + 1] == c)) {
+			i++;
+		}
+		if (i >= end - 1) {
+			return end;
+		}
+		int j = i;
+		while (i < end) {
+			if (i < end - 1 && chars[i] == esc && chars[i + 1] == c) {
+				chars[j++] = c;
+				i += 2;
+			} else {
+				chars[j++] = chars[i++];
+			}
+		}
+		return j;
+	}
+
+	/**
+	 * 指定された文字列と文字配列の範囲が等しいかどうかを返します。
+	 *
+	 * @param s 文字列
+	 * @param chars 文字配列
+	 * @param off 開始位置
+	 * @param len 文字数
+	 * @param ignoreCase 大文字と小文字を区別しないかどうか
+	 * @return 等しい場合は {@code true}。それ以外の場合は {@code false}
+	 */
+	private static boolean equals(final String s, final char[] chars, final int off, final int len, final boolean ignoreCase) {
+		if (s.length() != len) {
+			return false;
+		}
+		for (int i = 0; i < len; i++) {
+			final char c1 = s.charAt(i);
+			final char c2 = chars[off + i];
+			if (c1 == c2) {
+				continue;
 			}
-			if (value != null && !cfg.isEscapeDisabled()) {
-				value = unescapeSeparator(value);
+			if (ignoreCase) {
+				final char u1 = Character.toUpperCase(c1);
+				final char u2 = Character.toUpperCase(c2);
+				if (u1 == u2 || Character.toLowerCase(u1) == Character.toLowerCase(u2)) {
+					continue;
+				}
 			}
+			return false;
+		}
+		return true;
+	}
+
+	// ------------------------------------------------------------------------
+	// 分割読込み
+
+	/**
+	 * この入力ストリームを、区切り文字形式データの途中の論理行の境界から読込むように設定します。<p>
+	 * BOM (Byte Order Mark) の除去と行読込みのスキップを行わなくなります。
+	 * このメソッドは最初の読込みより前に呼出す必要があります。
+	 *
+	 * @param afterCarriageReturn 直前の論理行が復帰文字で終了した状態から再開する場合は {@code true}
+	 * @param lineFeedPending 復帰文字に続く改行文字が読込まれていない状態から再開する場合は {@code true}
+	 */
+	void resume(final boolean afterCarriageReturn, final boolean lineFeedPending) {
+		filled = true;
+		skiped = true;
+		cr = afterCarriageReturn;
+		if (afterCarriageReturn && lineFeedPending) {
+			line[0] = LF;
+			lineLength = 1;
+			pos = 0;
 		}
+	}
 
-		return new SimpleCsvToken(value, startTokenLineNumber, endTokenLineNumber, enclosed);
+	/**
+	 * 直前の論理行が復帰文字で終了し、その次の文字がまだ読込まれていないかどうかを返します。
+	 *
+	 * @return 直前の論理行が復帰文字で終了した場合は {@code true}
+	 */
+	boolean isAfterCarriageReturn() {
+		return cr;
 	}
 
 	/**
-	 * 指定された CSV トークンを非エスケープ化して返します。
+	 * 直前の論理行が復帰文字で終了し、行バッファ上の改行文字がまだ読込まれていないかどうかを返します。
 	 *
-	 * @param value CSV トークン
-	 * @return 変換された CSV トークン
+	 * @return 改行文字がまだ読込まれていない場合は {@code true}
 	 */
-	private String unescapeQuote(final String value) {
-		return value.replace(
-				new StringBuilder(2).append(cfg.getEscape()).append(cfg.getQuote()),
-				new StringBuilder(1).append(cfg.getQuote())
-			);
+	boolean isLineFeedPending() {
+		return cr && pos < lineLength && line[pos] == LF;
 	}
 
-	private String unescapeSeparator(final String value) {
-		return value.replace(
-				new StringBuilder(2).append(cfg.getEscape()).append(cfg.getSeparator()),
-				new StringBuilder(1).append(cfg.getSeparator())
-			);
+	/**
+	 * 最後に読込んだ項目が閉じられていない囲み項目かどうかを返します。
+	 *
+	 * @return 閉じられていない囲み項目の場合は {@code true}
+	 */
+	boolean isQuoteOpen() {
+		return inQuote;
 	}
 
 	// ------------------------------------------------------------------------
@@ -640,7 +1160,7 @@ public class CsvReader implements Closeable {
 			in.close();
 			in = null;
 			cfg = null;
-			line.setLength(0);
+			lineLength = 0;
 		}
 	}
 
@@ -662,40 +1182,22 @@ public class CsvReader implements Closeable {
 		return true;
 	}
 
-	private static String removeLeadingWhitespaces(final String value) {
-		final int len = value.length();
-		int pos = -1;
-		for (int i = 0; i < len; i++) {
-			if (!Character.isWhitespace(value.charAt(i))) {
-				pos = i;
-				break;
-			}
-		}
-		if (pos == -1) {
-			return "";
-		}
-		if (pos > 0) {
-			return value.substring(pos);
-		}
-		return value;
-	}
-
-	private static String removeTrailingWhitespaces(final String value) {
-		final int start = value.length() - 1;
-		int pos = -1;
-		for (int i = start; i >= 0; i--) {
-			if (!Character.isWhitespace(value.charAt(i))) {
-				pos = i;
-				break;
+	/**
+	 * 指定された文字配列の範囲がホワイトスペースのみで構成されているかどうかを返します。
+	 *
+	 * @param chars 文字配列
+	 * @param off 開始位置
+	 * @param len 文字数
+	 * @return 指定された範囲がホワイトスペースのみで構成されている場合は {@code true}。それ以外の場合は {@code false}
+	 */
+	private static boolean isWhitespaces(final char[] chars, final int off, final int len) {
+		final int end = off + len;
+		for (int i = off; i < end; i++) {
+			if (!Character.isWhitespace(chars[i])) {
+				return false;
 			}
 		}
-		if (pos == -1) {
-			return "";
-		}
-		if (pos != start) {
-			return value.substring(0, pos + 1);
-		}
-		return value;
+		return true;
 	}
 
 }
\ No newline at end of file
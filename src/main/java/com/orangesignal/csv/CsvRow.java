@@ -0,0 +1,443 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 区切り文字形式入力ストリームから読込んだ論理行の項目を提供します。<p>
+ * 各項目の値は {@link CsvReader} の内部バッファ上の {@link CharSequence} として参照でき、
+ * 文字列は {@link #getString(int)} などで要求された場合にのみ生成されます。
+ * このクラスが返す {@link CharSequence} は、次の論理行を読込むまでの間のみ有効です。<p>
+ * 呼出し元でこのクラスのインスタンスを生成して {@link CsvReader#readRow(CsvRow)} へ繰返し指定することで、
+ * 内部バッファを再利用しながら論理行を読込むことができます。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ * @see CsvReader#readRow()
+ * @see CsvReader#readRow(CsvRow)
+ */
+public class CsvRow {
+
+	private static final int DEFAULT_CHAR_BUFFER_SIZE = 256;
+	private static final int DEFAULT_ARRAY_SIZE = 16;
+
+	/**
+	 * 項目の値を保持する文字バッファです。
+	 */
+	char[] chars = new char[DEFAULT_CHAR_BUFFER_SIZE];
+
+	/**
+	 * 文字バッファの使用済み文字数を保持します。
+	 */
+	int length;
+
+	/**
+	 * 項目数を保持します。
+	 */
+	int size;
+
+	int[] offsets = new int[DEFAULT_ARRAY_SIZE];
+	int[] lengths = new int[DEFAULT_ARRAY_SIZE];
+	int[] startLineNumbers = new int[DEFAULT_ARRAY_SIZE];
+	int[] endLineNumbers = new int[DEFAULT_ARRAY_SIZE];
+	boolean[] enclosed = new boolean[DEFAULT_ARRAY_SIZE];
+
+	/**
+	 * 項目値の参照を保持します。
+	 */
+	private Field[] fields = new Field[DEFAULT_ARRAY_SIZE];
+
+	/**
+	 * 再利用する区切り文字形式データトークンを保持します。
+	 */
+	private Token[] tokens;
+
+	/**
+	 * 再利用する区切り文字形式データトークンのリストを保持します。
+	 */
+	private List<CsvToken> tokenList;
+
+	/**
+	 * 項目の値の文字列を共有するキャッシュを保持します。キャッシュを使用しない場合は {@code null} です。
+	 */
+	StringCache stringCache;
+
+	// ------------------------------------------------------------------------
+	// コンストラクタ
+
+	/**
+	 * デフォルトコンストラクタです。
+	 */
+	public CsvRow() {}
+
+	// ------------------------------------------------------------------------
+	// パブリック メソッド
+
+	/**
+	 * 項目数を返します。
+	 *
+	 * @return 項目数
+	 */
+	public int size() { return size; }
+
+	/**
+	 * 指定された位置の項目の値を内部バッファ上の {@link CharSequence} として返します。<p>
+	 * 返される {@link CharSequence} は次の論理行を読込むまでの間のみ有効です。
+	 * 保持する必要がある場合は {@link CharSequence#toString()} で文字列へ変換して下さい。
+	 *
+	 * @param index 項目の位置
+	 * @return 項目の値。項目の値が {@code null} の場合は {@code null}
+	 * @throws IndexOutOfBoundsException 項目の位置が範囲外の場合
+	 */
+	public CharSequence get(final int index) {
+		checkIndex(index);
+		if (lengths[index] < 0) {
+			return null;
+		}
+		Field field = fields[index];
+		if (field == null) {
+			field = new Field();
+			fields[index] = field;
+		}
+		field.set(chars, offsets[index], lengths[index]);
+		return field;
+	}
+
+	/**
+	 * 指定された位置の項目の値を文字列として返します。
+	 *
+	 * @param index 項目の位置
+	 * @return 項目の値。項目の値が {@code null} の場合は {@code null}
+	 * @throws IndexOutOfBoundsException 項目の位置が範囲外の場合
+	 */
+	public String getString(final int index) {
+		checkIndex(index);
+		if (lengths[index] < 0) {
+			return null;
+		}
+		return newString(index);
+	}
+
+	/**
+	 * 指定された位置の項目の値が {@code null} かどうかを返します。
+	 *
+	 * @param index 項目の位置
+	 * @return 項目の値が {@code null} の場合は {@code true}。それ以外の場合は {@code false}
+	 * @throws IndexOutOfBoundsException 項目の位置が範囲外の場合
+	 */
+	public boolean isNull(final int index) {
+		checkIndex(index);
+		return lengths[index] < 0;
+	}
+
+	/**
+	 * 指定された位置の項目が囲み文字で囲まれていたかどうかを返します。
+	 *
+	 * @param index 項目の位置
+	 * @return 項目が囲み文字で囲まれていた場合は {@code true}。それ以外の場合は {@code false}
+	 * @throws IndexOutOfBoundsException 項目の位置が範囲外の場合
+	 */
+	public boolean isEnclosed(final int index) {
+		checkIndex(index);
+		return enclosed[index];
+	}
+
+	/**
+	 * 指定された位置の項目の開始物理行番号を返します。
+	 *
+	 * @param index 項目の位置
+	 * @return 項目の開始物理行番号
+	 * @throws IndexOutOfBoundsException 項目の位置が範囲外の場合
+	 */
+	public int getStartLineNumber(final int index) {
+		checkIndex(index);
+		return startLineNumbers[index];
+	}
+
+	/**
+	 * 指定された位置の項目の終了物理行番号を返します。
+	 *
+	 * @param index 項目の位置
+	 * @return 項目の終了物理行番号
+	 * @throws IndexOutOfBoundsException 項目の位置が範囲外の場合
+	 */
+	public int getEndLineNumber(final int index) {
+		checkIndex(index);
+		return endLineNumbers[index];
+	}
+
+	/**
+	 * 指定された位置の項目を区切り文字形式データトークンとして返します。
+	 *
+	 * @param index 項目の位置
+	 * @return 区切り文字形式データトークン
+	 * @throws IndexOutOfBoundsException 項目の位置が範囲外の場合
+	 */
+	public CsvToken getToken(final int index) {
+		return new SimpleCsvToken(getString(index), startLineNumbers[index], endLineNumbers[index], enclosed[index]);
+	}
+
+	/**
+	 * 全ての項目の値を文字列のリストとして返します。
+	 *
+	 * @return 項目の値のリスト
+	 */
+	public List<String> toValues() {
+		final List<String> results = new ArrayList<String>(size);
+		for (int i = 0; i < size; i++) {
+			results.add(lengths[i] < 0 ? null : newString(i));
+		}
+		return results;
+	}
+
+	/**
+	 * 全ての項目を区切り文字形式データトークンのリストとして返します。
+	 *
+	 * @return 区切り文字形式データトークンのリスト
+	 */
+	public List<CsvToken> toTokens() {
+		final List<CsvToken> results = new ArrayList<CsvToken>(size);
+		for (int i = 0; i < size; i++) {
+			results.add(getToken(i));
+		}
+		return results;
+	}
+
+	// ------------------------------------------------------------------------
+	// パッケージ プライベート メソッド
+
+	/**
+	 * 全ての項目を再利用する区切り文字形式データトークンのリストとして返します。<p>
+	 * 返されるリストと区切り文字形式データトークンは、次にこのメソッドを呼出すか次の論理行を読込むまでの間のみ有効です。
+	 *
+	 * @return 区切り文字形式データトークンのリスト
+	 */
+	List<CsvToken> recycleTokens() {
+		if (tokens == null || tokens.length < size) {
+			final Token[] newTokens = new Token[Math.max(size, offsets.length)];
+			if (tokens != null) {
+				System.arraycopy(tokens, 0, newTokens, 0, tokens.length);
+			}
+			tokens = newTokens;
+			tokenList = new ArrayList<CsvToken>(newTokens.length);
+		}
+		tokenList.clear();
+		for (int i = 0; i < size; i++) {
+			Token token = tokens[i];
+			if (token == null) {
+				token = new Token();
+				tokens[i] = token;
+			}
+			token.set(chars, offsets[i], lengths[i], startLineNumbers[i], endLineNumbers[i], enclosed[i], stringCache, i);
+			tokenList.add(token);
+		}
+		return tokenList;
+	}
+
+	/**
+	 * 全ての項目を破棄します。
+	 */
+	void clear() {
+		length = 0;
+		size = 0;
+	}
+
+	/**
+	 * 文字バッファが指定された文字数を保持できるように必要に応じて拡張します。
+	 *
+	 * @param minCapacity 必要な文字数
+	 */
+	void ensureCapacity(final int minCapacity) {
+		if (minCapacity > chars.length) {
+			final char[] newChars = new char[Math.max(minCapacity, chars.length << 1)];
+			System.arraycopy(chars, 0, newChars, 0, length);
+			chars = newChars;
+		}
+	}
+
+	/**
+	 * 文字バッファへ文字を追加します。
+	 *
+	 * @param c 文字
+	 */
+	void append(final char c) {
+		if (length == chars.length) {
+			ensureCapacity(length + 1);
+		}
+		chars[length++] = c;
+	}
+
+	/**
+	 * 文字バッファへ文字配列の範囲を追加します。
+	 *
+	 * @param src 文字配列
+	 * @param off 開始位置
+	 * @param len 文字数
+	 */
+	void append(final char[] src, final int off, final int len) {
+		ensureCapacity(length + len);
+		System.arraycopy(src, off, chars, length, len);
+		length += len;
+	}
+
+	/**
+	 * 文字バッファ上の範囲を項目として追加します。
+	 *
+	 * @param off 項目の値の開始位置
+	 * @param len 項目の値の文字数。項目の値が {@code null} の場合は {@code -1}
+	 * @param start 項目の開始物理行番号
+	 * @param end 項目の終了物理行番号
+	 * @param quoted 項目が囲み文字で囲まれていたかどうか
+	 */
+	void addField(final int off, final int len, final int start, final int end, final boolean quoted) {
+		if (size == offsets.length) {
+			final int newSize = size << 1;
+			offsets = copyOf(offsets, newSize);
+			lengths = copyOf(lengths, newSize);
+			startLineNumbers = copyOf(startLineNumbers, newSize);
+			endLineNumbers = copyOf(endLineNumbers, newSize);
+			final boolean[] newEnclosed = new boolean[newSize];
+			System.arraycopy(enclosed, 0, newEnclosed, 0, size);
+			enclosed = newEnclosed;
+			final Field[] newFields = new Field[newSize];
+			System.arraycopy(fields, 0, newFields, 0, size);
+			fields = newFields;
+		}
+		offsets[size] = off;
+		lengths[size] = len;
+		startLineNumbers[size] = start;
+		endLineNumbers[size] = end;
+		enclosed[size] = quoted;
+		size++;
+	}
+
+	// ------------------------------------------------------------------------
+	// プライベート メソッド
+
+	private String newString(final int index) {
+		if (stringCache == null) {
+			return new String(chars, offsets[index], lengths[index]);
+		}
+		return stringCache.get(index, chars, offsets[index], lengths[index]);
+	}
+
+	private void checkIndex(final int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(String.format("Index: %d, Size: %d", index, size));
+		}
+	}
+
+	private static int[] copyOf(final int[] src, final int newLength) {
+		final int[] dest = new int[newLength];
+		System.arraycopy(src, 0, dest, 0, Math.min(src.length, newLength));
+		return dest;
+	}
+
+	/**
+	 * 文字バッファ上の範囲を値とする再利用可能な区切り文字形式データトークンの実装です。
+	 * 値の文字列は {@link #getValue()} で要求された場合にのみ生成されます。
+	 */
+	private static final class Token implements CsvToken {
+
+		private char[] chars;
+		private int offset;
+		private int length;
+		private int startLineNumber;
+		private int endLineNumber;
+		private boolean enclosed;
+		private StringCache cache;
+		private int column;
+		private String value;
+
+		Token() {}
+
+		void set(final char[] chars, final int offset, final int length, final int start, final int end, final boolean enclosed, final StringCache cache, final int column) {
+			this.chars = chars;
+			this.offset = offset;
+			this.length = length;
+			this.startLineNumber = start;
+			this.endLineNumber = end;
+			this.enclosed = enclosed;
+			this.cache = cache;
+			this.column = column;
+			this.value = null;
+		}
+
+		@Override
+		public String getValue() {
+			if (value == null && length >= 0) {
+				value = cache == null ? new String(chars, offset, length) : cache.get(column, chars, offset, length);
+			}
+			return value;
+		}
+
+		@Override public int getStartLineNumber() { return startLineNumber; }
+		@Override public int getEndLineNumber() { return endLineNumber; }
+		@Override public boolean isEnclosed() { return enclosed; }
+
+	}
+
+	/**
+	 * 文字バッファ上の範囲を参照する {@link CharSequence} の実装です。
+	 */
+	static final class Field implements CharSequence {
+
+		private char[] chars;
+		private int offset;
+		private int length;
+
+		Field() {}
+
+		Field(final char[] chars, final int offset, final int length) {
+			set(chars, offset, length);
+		}
+
+		void set(final char[] chars, final int offset, final int length) {
+			this.chars = chars;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		@Override
+		public int length() { return length; }
+
+		@Override
+		public char charAt(final int index) {
+			if (index < 0 || index >= length) {
+				throw new StringIndexOutOfBoundsException(index);
+			}
+			return chars[offset + index];
+		}
+
+		@Override
+		public CharSequence subSequence(final int start, final int end) {
+			if (start < 0 || end > length || start > end) {
+				throw new StringIndexOutOfBoundsException(String.format("start %d, end %d, length %d", start, end, length));
+			}
+			return new Field(chars, offset + start, end - start);
+		}
+
+		@Override
+		public String toString() {
+			return new String(chars, offset, length);
+		}
+
+	}
+
+}
@@ -16,14 +16,16 @@
 
 package com.orangesignal.csv;
 
-import java.io.BufferedWriter;
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.math.BigDecimal;
 import java.nio.charset.Charset;
+import java.text.DateFormat;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -53,6 +55,36 @@ public class CsvWriter implements Closeable, Flushable {
 	 */
 	private int countNumberOfColumns = -1;
 
+	/**
+	 * 排他制御を無効にするかどうかを保持します。
+	 */
+	private final boolean lockDisabled;
+
+	/**
+	 * 出力バッファです。論理行は確定するまでこのバッファ上に組立てられます。
+	 */
+	private char[] cbuf;
+
+	/**
+	 * 出力バッファ上の確定済みの文字数を保持します。
+	 */
+	private int count;
+
+	/**
+	 * 出力バッファ上の書込み位置を保持します。{@link #count} 以降は組立て中の論理行です。
+	 */
+	private int position;
+
+	/**
+	 * {@link #beginRow()} で開始した論理行の書込み済みの項目数を保持します。論理行を開始していない場合は {@code -1} です。
+	 */
+	private int columnIndex = -1;
+
+	/**
+	 * 数値を囲み文字やエスケープなしでそのまま出力できるかどうかを保持します。
+	 */
+	private final boolean numberSafe;
+
 	private static final int DEFAULT_CHAR_BUFFER_SIZE = 8192;
 
 	// ------------------------------------------------------------------------
@@ -72,8 +104,14 @@ public class CsvWriter implements Closeable, Flushable {
 			throw new IllegalArgumentException("CsvConfig must not be null");
 		}
 		cfg.validate();
-		this.out = new BufferedWriter(out, sz);
+		if (sz <= 0) {
+			throw new IllegalArgumentException("Buffer size <= 0");
+		}
+		this.out = out;
+		this.cbuf = new char[sz];
 		this.cfg = cfg;
+		this.lockDisabled = cfg.isLockDisabled();
+		this.numberSafe = !isNumberChar(cfg.getSeparator()) && (cfg.isQuoteDisabled() || !isNumberChar(cfg.getQuote()));
 
 		if (cfg.isUtf8bomPolicy()) {
 			final String s;
@@ -131,6 +169,10 @@ public class CsvWriter implements Closeable, Flushable {
 
 	private static final int BOM = 0xFEFF;
 
+	private static boolean isNumberChar(final char c) {
+		return c >= '0' && c <= '9' || c == '-' || c == '.';
+	}
+
 	/**
 	 * 指定された CSV トークンの値リストを書き込みます。
 	 *
@@ -139,77 +181,44 @@ public class CsvWriter implements Closeable, Flushable {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public void writeValues(final List<String> values) throws IOException {
+		if (lockDisabled) {
+			writeLine(values);
+			return;
+		}
 		synchronized (this) {
-			ensureOpen();
+			writeLine(values);
+		}
+	}
 
-			if (utf8bom) {
-				out.write(BOM);
-				utf8bom = false;
-			}
+	private void writeLine(final List<String> values) throws IOException {
+		ensureOpen();
+		if (columnIndex >= 0) {
+			throw new IllegalStateException("Row already begun");
+		}
+
+		position = count;
+		appendBom();
 
-			final StringBuilder buf = new StringBuilder();
-			if (values != null) {
-				final int max = values.size();
-				for (int i = 0; i < max; i++) {
-					if (i > 0) {
-						buf.append(cfg.getSeparator());
-					}
-	
-					String value = values.get(i);
-					boolean enclose = false;	// 項目を囲み文字で囲むかどうか
-					if (value == null) {
-						// 項目値が null の場合に NULL 文字列が有効であれば NULL 文字列へ置換えます。
-						if (cfg.getNullString() == null) { 
-							continue;
-						}
-						value = cfg.getNullString();
-					} else if (!cfg.isQuoteDisabled()) {
-						// 囲み文字が有効な場合は、囲み文字で囲むべきかどうか判断します。
-						switch (cfg.getQuotePolicy()) {
-							case ALL:
-								enclose = true;
-								break;
-
-							case MINIMAL:
-							default:
-								// 項目値に区切り文字、囲み文字、改行文字のいずれかを含む場合は囲み文字で囲むべきと判断します。
-								enclose = value.indexOf(cfg.getSeparator()) != -1
-										|| value.indexOf(cfg.getQuote()) != -1
-										|| value.indexOf('\r') != -1 || value.indexOf('\n') != -1;
-								break;
-						}
-					} else {
-						// 囲み文字が無効な場合に、項目値に区切り文字がある場合、エスケープします。
-						final String s = escapeSeparator(value);
-						if (!value.equals(s) && cfg.isEscapeDisabled()) {
-							throw new IOException();
-						}
-						value = s;
-					}
-	
-					if (enclose) {
-						buf.append(cfg.getQuote());
-						final String s = escapeQuote(value);
-						if (!value.equals(s) && cfg.isEscapeDisabled()) {
-							throw new IOException();
-						}
-						buf.append(s);
-						buf.append(cfg.getQuote());
-					} else {
-						buf.append(value);
-					}
+		if (values != null) {
+			final char sep = cfg.getSeparator();
+			final int max = values.size();
+			for (int i = 0; i < max; i++) {
+				if (i > 0) {
+					ensureCapacity(1);
+					cbuf[position++] = sep;
 				}
+				appendValue(values.get(i));
 			}
-			if (values != null || !cfg.isIgnoreEmptyLines()) {
-				buf.append(cfg.getLineSeparator());
-				out.write(buf.toString());
-			}
-			if (!cfg.isVariableColumns() && values != null) {
-				if (countNumberOfColumns >= 0 && countNumberOfColumns != values.size()) {
-					throw new CsvValueException(String.format("Invalid column count."), values);
-				}
-				countNumberOfColumns = values.size();
+		}
+		if (values != null || !cfg.isIgnoreEmptyLines()) {
+			append(String.valueOf(cfg.getLineSeparator()));
+			count = position;
+		}
+		if (!cfg.isVariableColumns() && values != null) {
+			if (countNumberOfColumns >= 0 && countNumberOfColumns != values.size()) {
+				throw new CsvValueException(String.format("Invalid column count."), values);
 			}
+			countNumberOfColumns = values.size();
 		}
 	}
 
@@ -236,46 +245,420 @@ public class CsvWriter implements Closeable, Flushable {
 		}
 	}
 
+	// ------------------------------------------------------------------------
+	// 論理行単位の書込み
+
 	/**
-	 * 指定された文字列中の区切り文字をエスケープ化して返します。
+	 * 新しい論理行の書込みを開始します。<p>
+	 * 続けて {@link #writeString(String)} や {@link #writeInt(int)} などで項目を順に書込み、
+	 * {@link #endRow()} で論理行を確定します。
+	 * 数値の項目は中間の文字列を生成せずに出力バッファへ直接書込まれます。
 	 * 
-	 * @param value 文字列
-	 * @return エスケープされた文字列
-	 */
-	private String escapeSeparator(final String value) {
-		return value.replace(
-				new StringBuilder(1).append(cfg.getSeparator()),
-				new StringBuilder(2).append(cfg.getEscape()).append(cfg.getSeparator())
-			);
+	 * @throws IllegalStateException 既に論理行の書込みを開始している場合
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @since 2.2.2
+	 */
+	public void beginRow() throws IOException {
+		if (lockDisabled) {
+			startRow();
+			return;
+		}
+		synchronized (this) {
+			startRow();
+		}
+	}
+
+	private void startRow() throws IOException {
+		ensureOpen();
+		if (columnIndex >= 0) {
+			throw new IllegalStateException("Row already begun");
+		}
+		position = count;
+		appendBom();
+		columnIndex = 0;
 	}
 
 	/**
-	 * 指定された文字列中の囲み文字をエスケープ化して返します。
-	 *
-	 * @param value 文字列
-	 * @return エスケープされた文字列
-	 */
-	private String escapeQuote(final String value) {
-		return value.replace(
-				new StringBuilder(1).append(cfg.getQuote()),
-				new StringBuilder(2).append(cfg.getEscape()).append(cfg.getQuote())
-			);
+	 * 開始している論理行へ文字列の項目を書込みます。
+	 * 
+	 * @param value 項目の値。または {@code null}
+	 * @throws IllegalStateException 論理行の書込みを開始していない場合
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @since 2.2.2
+	 */
+	public void writeString(final String value) throws IOException {
+		if (lockDisabled) {
+			nextField();
+			appendValue(value);
+			return;
+		}
+		synchronized (this) {
+			nextField();
+			appendValue(value);
+		}
+	}
+
+	/**
+	 * 開始している論理行へ {@code int} 値の項目を書込みます。
+	 * 
+	 * @param value 項目の値
+	 * @throws IllegalStateException 論理行の書込みを開始していない場合
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @since 2.2.2
+	 */
+	public void writeInt(final int value) throws IOException {
+		writeLong(value);
+	}
+
+	/**
+	 * 開始している論理行へ {@code long} 値の項目を書込みます。
+	 * 
+	 * @param value 項目の値
+	 * @throws IllegalStateException 論理行の書込みを開始していない場合
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @since 2.2.2
+	 */
+	public void writeLong(final long value) throws IOException {
+		if (lockDisabled) {
+			nextField();
+			appendLong(value, false);
+			return;
+		}
+		synchronized (this) {
+			nextField();
+			appendLong(value, false);
+		}
+	}
+
+	/**
+	 * 開始している論理行へ {@code double} 値の項目を書込みます。<p>
+	 * 出力される文字列は {@link Double#toString(double)} と同じです。
+	 * 
+	 * @param value 項目の値
+	 * @throws IllegalStateException 論理行の書込みを開始していない場合
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @since 2.2.2
+	 */
+	public void writeDouble(final double value) throws IOException {
+		if (lockDisabled) {
+			nextField();
+			appendDouble(value);
+			return;
+		}
+		synchronized (this) {
+			nextField();
+			appendDouble(value);
+		}
+	}
+
+	/**
+	 * 開始している論理行へ {@link BigDecimal} 値の項目を書込みます。<p>
+	 * 出力される文字列は {@link BigDecimal#toString()} と同じです。
+	 * 
+	 * @param value 項目の値。または {@code null}
+	 * @throws IllegalStateException 論理行の書込みを開始していない場合
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @since 2.2.2
+	 */
+	public void writeDecimal(final BigDecimal value) throws IOException {
+		writeString(value == null ? null : value.toString());
+	}
+
+	/**
+	 * 開始している論理行へ日時の項目を指定された書式で書込みます。<p>
+	 * {@link DateFormat} はスレッドセーフではないため、呼出し元で排他制御を行って下さい。
+	 * 
+	 * @param value 項目の値。または {@code null}
+	 * @param format 日時書式
+	 * @throws IllegalArgumentException {@code format} が {@code null} の場合
+	 * @throws IllegalStateException 論理行の書込みを開始していない場合
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @since 2.2.2
+	 */
+	public void writeDate(final Date value, final DateFormat format) throws IOException {
+		if (format == null) {
+			throw new IllegalArgumentException("DateFormat must not be null");
+		}
+		writeString(value == null ? null : format.format(value));
+	}
+
+	/**
+	 * 開始している論理行を確定します。<p>
+	 * 可変項目数が禁止されている場合に項目数が一致しない場合は、論理行を確定した後に {@link CsvValueException} をスローします。
+	 * この場合の {@link CsvValueException#getValues()} は {@code null} です。
+	 * 
+	 * @throws CsvValueException 可変項目数が禁止されている場合に項目数が一致しない場合
+	 * @throws IllegalStateException 論理行の書込みを開始していない場合
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @since 2.2.2
+	 */
+	public void endRow() throws IOException {
+		if (lockDisabled) {
+			finishRow();
+			return;
+		}
+		synchronized (this) {
+			finishRow();
+		}
+	}
+
+	private void finishRow() throws IOException {
+		ensureOpen();
+		if (columnIndex < 0) {
+			throw new IllegalStateException("Row not begun");
+		}
+		final int columns = columnIndex;
+		columnIndex = -1;
+		append(String.valueOf(cfg.getLineSeparator()));
+		count = position;
+		if (!cfg.isVariableColumns()) {
+			if (countNumberOfColumns >= 0 && countNumberOfColumns != columns) {
+				throw new CsvValueException(String.format("Invalid column count."), null);
+			}
+			countNumberOfColumns = columns;
+		}
+	}
+
+	private void nextField() throws IOException {
+		ensureOpen();
+		if (columnIndex < 0) {
+			throw new IllegalStateException("Row not begun");
+		}
+		if (columnIndex > 0) {
+			ensureCapacity(1);
+			cbuf[position++] = cfg.getSeparator();
+		}
+		columnIndex++;
+	}
+
+	private void appendLong(final long value, final boolean decimal) throws IOException {
+		if (!numberSafe || value == Long.MIN_VALUE) {
+			appendValue(decimal ? Double.toString(value) : Long.toString(value));
+			return;
+		}
+		final boolean quoted = !cfg.isQuoteDisabled() && cfg.getQuotePolicy() == QuotePolicy.ALL;
+		// 符号と 19 桁の数字、小数部 2 文字、囲み文字 2 文字
+		ensureCapacity(24);
+		final char[] buf = cbuf;
+		if (quoted) {
+			buf[position++] = cfg.getQuote();
+		}
+		long v = value;
+		if (v < 0) {
+			buf[position++] = '-';
+			v = -v;
+		}
+		int digits = 1;
+		for (long n = v; n >= 10; n /= 10) {
+			digits++;
+		}
+		int pos = position + digits;
+		position = pos;
+		do {
+			buf[--pos] = (char) ('0' + (int) (v % 10));
+			v /= 10;
+		} while (v != 0);
+		if (decimal) {
+			buf[position++] = '.';
+			buf[position++] = '0';
+		}
+		if (quoted) {
+			buf[position++] = cfg.getQuote();
+		}
+	}
+
+	private void appendDouble(final double value) throws IOException {
+		// Double#toString(double) が指数表記を使用しない範囲の整数値は、整数部と ".0" を直接書込みます。
+		if (value > -1.0E7 && value < 1.0E7 && value == (long) value && (value != 0 || 1 / value > 0)) {
+			appendLong((long) value, true);
+			return;
+		}
+		appendValue(Double.toString(value));
+	}
+
+	private void appendBom() throws IOException {
+		if (utf8bom) {
+			ensureCapacity(1);
+			cbuf[position++] = BOM;
+			count = position;
+			utf8bom = false;
+		}
+	}
+
+	/**
+	 * 項目の値を出力バッファへ追加します。<p>
+	 * 囲み文字で囲むかどうかの判断とエスケープは、項目の値を一度だけ走査して行います。
+	 * 
+	 * @param value 項目の値。または {@code null}
+	 * @throws IOException エスケープ文字が無効な場合にエスケープが必要な文字を含む場合。または、入出力エラーが発生した場合
+	 */
+	private void appendValue(final String value) throws IOException {
+		if (value == null) {
+			// 項目値が null の場合に NULL 文字列が有効であれば NULL 文字列へ置換えます。
+			if (cfg.getNullString() != null) {
+				append(cfg.getNullString());
+			}
+			return;
+		}
+
+		final char sep = cfg.getSeparator();
+		if (cfg.isQuoteDisabled()) {
+			// 囲み文字が無効な場合に、項目値に区切り文字がある場合、エスケープします。
+			appendEscaped(value, 0, sep);
+			return;
+		}
+
+		// 囲み文字が有効な場合は、囲み文字で囲むべきかどうか判断します。
+		final char quote = cfg.getQuote();
+		final int len = value.length();
+		int i = 0;
+		if (cfg.getQuotePolicy() != QuotePolicy.ALL) {
+			// 項目値に区切り文字、囲み文字、改行文字のいずれかを含む場合は囲み文字で囲むべきと判断します。
+			while (i < len) {
+				final char c = value.charAt(i);
+				if (c == sep || c == quote || c == '\r' || c == '\n') {
+					break;
+				}
+				i++;
+			}
+			if (i == len) {
+				append(value);
+				return;
+			}
+		}
+
+		ensureCapacity(1);
+		cbuf[position++] = quote;
+		appendEscaped(value, i, quote);
+		ensureCapacity(1);
+		cbuf[position++] = quote;
+	}
+
+	/**
+	 * 文字列を出力バッファへ追加します。
+	 * 
+	 * @param s 文字列
+	 * @throws IOException 入出力エラーが発生した場合
+	 */
+	private void append(final String s) throws IOException {
+		final int len = s.length();
+		ensureCapacity(len);
+		s.getChars(0, len, cbuf, position);
+		position += len;
+	}
+
+	/**
+	 * 指定された文字をエスケープしながら文字列を出力バッファへ追加します。
+	 * 
+	 * @param s 文字列
+	 * @param from 指定された文字を含まないことが分かっている先頭部分の文字数
+	 * @param target エスケープする文字
+	 * @throws IOException エスケープ文字が無効な場合に指定された文字を含む場合。または、入出力エラーが発生した場合
+	 */
+	private void appendEscaped(final String s, final int from, final char target) throws IOException {
+		final int len = s.length();
+		ensureCapacity(len << 1);
+		final char[] buf = cbuf;
+		int pos = position;
+		s.getChars(0, from, buf, pos);
+		pos += from;
+		final char esc = cfg.getEscape();
+		final boolean escapeDisabled = cfg.isEscapeDisabled();
+		for (int i = from; i < len; i++) {
+			final char c = s.charAt(i);
+			if (c == target) {
+				if (escapeDisabled) {
+					throw new IOException();
+				}
+				buf[pos++] = esc;
+			}
+			buf[pos++] = c;
+		}
+		position = pos;
+	}
+
+	/**
+	 * 出力バッファへ指定された文字数を追加できるようにします。<p>
+	 * 空きが足りない場合は確定済みの文字を文字出力ストリームへ書込み、それでも足りない場合は出力バッファを拡張します。
+	 * 
+	 * @param n 追加する文字数
+	 * @throws IOException 入出力エラーが発生した場合
+	 */
+	private void ensureCapacity(final int n) throws IOException {
+		if (position + n <= cbuf.length) {
+			return;
+		}
+		if (count > 0) {
+			flushBuffer();
+			if (position + n <= cbuf.length) {
+				return;
+			}
+		}
+		final char[] newBuf = new char[Math.max(cbuf.length << 1, position + n)];
+		System.arraycopy(cbuf, 0, newBuf, 0, position);
+		cbuf = newBuf;
+	}
+
+	/**
+	 * 排他制御を無効にしているかどうかを返します。
+	 * 
+	 * @return 排他制御を無効にしている場合は {@code true}
+	 * @see CsvConfig#isLockDisabled()
+	 * @since 2.2.2
+	 */
+	public boolean isLockDisabled() { return lockDisabled; }
+
+	/**
+	 * 出力バッファ上の確定済みの文字を文字出力ストリームへ書込み、組立て中の論理行を出力バッファの先頭へ移動します。
+	 * 
+	 * @throws IOException 入出力エラーが発生した場合
+	 */
+	private void flushBuffer() throws IOException {
+		if (count > 0) {
+			out.write(cbuf, 0, count);
+			System.arraycopy(cbuf, count, cbuf, 0, position - count);
+			position -= count;
+			count = 0;
+		}
 	}
 
 	@Override
 	public void flush() throws IOException {
+		if (lockDisabled) {
+			ensureOpen();
+			flushBuffer();
+			out.flush();
+			return;
+		}
 		synchronized (this) {
 			ensureOpen();
+			flushBuffer();
 			out.flush();
 		}
 	}
 
+	/**
+	 * 確定済みの論理行を書込んでから、このオブジェクトと文字出力ストリームを閉じます。<p>
+	 * {@link #beginRow()} で開始した論理行を {@link #endRow()} で確定していない場合、その論理行は書込まれません。
+	 * この場合は、文字出力ストリームを閉じた後に {@link IOException} をスローします。
+	 * 
+	 * @throws IOException 確定していない論理行がある場合。または、入出力エラーが発生した場合
+	 */
 	@Override
 	public void close() throws IOException {
 		if (out != null) {
-			out.close();
-			out = null;
-			cfg = null;
+			final boolean rowOpen = columnIndex >= 0;
+			try {
+				flushBuffer();
+			} finally {
+				out.close();
+				out = null;
+				cfg = null;
+				columnIndex = -1;
+			}
+			if (rowOpen) {
+				throw new IOException("Row not ended");
+			}
 		}
 	}
 
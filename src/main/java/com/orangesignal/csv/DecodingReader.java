@@ -0,0 +1,246 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+
+/**
+ * バイト入力ストリームまたはバイトバッファを {@link CsvReader} の入力バッファへ直接復号化する文字入力ストリームです。<p>
+ * {@link java.io.InputStreamReader} と {@link java.io.BufferedReader} を重ねた場合の中間バッファやロックを経由せず、
+ * 呼出し元が渡した文字配列へ {@link CharsetDecoder} で一括して復号化します。
+ * 不正な入力やマップできない文字は {@link java.io.InputStreamReader} と同様に置換文字へ置換されます。
+ * このクラスはスレッドセーフではありません。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+final class DecodingReader extends Reader {
+
+	private static final int DEFAULT_BYTE_BUFFER_SIZE = 8192;
+
+	/**
+	 * バイト入力ストリームを保持します。バイトバッファから読込む場合は {@code null} です。
+	 */
+	private InputStream in;
+
+	/**
+	 * 読込み元のバイトバッファを保持します。バイト入力ストリームから読込む場合は {@code null} です。
+	 */
+	private ByteBuffer src;
+
+	/**
+	 * 復号化前のバイトを保持するバッファです。
+	 */
+	private final ByteBuffer bytes;
+
+	/**
+	 * 文字セットデコーダを保持します。
+	 */
+	private final CharsetDecoder decoder;
+
+	/**
+	 * 復号化先の文字配列を参照するバッファを保持します。
+	 */
+	private CharBuffer chars;
+
+	/**
+	 * 入力の終わりに達したかどうかを保持します。
+	 */
+	private boolean endOfInput;
+
+	/**
+	 * デコーダのフラッシュを完了したかどうかを保持します。
+	 */
+	private boolean flushed;
+
+	// ------------------------------------------------------------------------
+	// コンストラクタ
+
+	/**
+	 * 指定されたバイト入力ストリームを指定されたエンコーディングで復号化する、このクラスを構築するコンストラクタです。
+	 *
+	 * @param in バイト入力ストリーム
+	 * @param encoding エンコーディング
+	 * @throws IllegalArgumentException {@code in} または {@code encoding} が {@code null} の場合
+	 * @throws UnsupportedEncodingException 指定されたエンコーディングがサポートされていない場合
+	 */
+	DecodingReader(final InputStream in, final String encoding) throws UnsupportedEncodingException {
+		if (in == null) {
+			throw new IllegalArgumentException("InputStream must not be null");
+		}
+		this.in = in;
+		this.decoder = newDecoder(encoding);
+		this.bytes = ByteBuffer.allocate(DEFAULT_BYTE_BUFFER_SIZE);
+		this.bytes.flip();
+	}
+
+	/**
+	 * 指定されたバイトバッファの位置から制限までを指定されたエンコーディングで復号化する、このクラスを構築するコンストラクタです。
+	 *
+	 * @param src バイトバッファ
+	 * @param encoding エンコーディング
+	 * @throws IllegalArgumentException {@code src} または {@code encoding} が {@code null} の場合
+	 * @throws UnsupportedEncodingException 指定されたエンコーディングがサポートされていない場合
+	 */
+	DecodingReader(final ByteBuffer src, final String encoding) throws UnsupportedEncodingException {
+		if (src == null) {
+			throw new IllegalArgumentException("ByteBuffer must not be null");
+		}
+		this.src = src.slice();
+		this.decoder = newDecoder(encoding);
+		// ヒープ上のバイトバッファは複写せずにそのまま復号化します。
+		if (this.src.hasArray()) {
+			this.bytes = this.src;
+			this.endOfInput = true;
+		} else {
+			this.bytes = ByteBuffer.allocate(Math.min(DEFAULT_BYTE_BUFFER_SIZE, Math.max(this.src.remaining(), 1)));
+			this.bytes.flip();
+		}
+	}
+
+	private static CharsetDecoder newDecoder(final String encoding) throws UnsupportedEncodingException {
+		if (encoding == null) {
+			throw new IllegalArgumentException("Encoding must not be null");
+		}
+		try {
+			if (!Charset.isSupported(encoding)) {
+				throw new UnsupportedEncodingException(encoding);
+			}
+		} catch (final IllegalCharsetNameException e) {
+			throw new UnsupportedEncodingException(encoding);
+		}
+		return Charset.forName(encoding).newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * 文字セットの正規名を返します。
+	 *
+	 * @return 文字セットの正規名
+	 */
+	public String getEncoding() {
+		return decoder.charset().name();
+	}
+
+	@Override
+	public int read(final char[] cbuf, final int off, final int len) throws IOException {
+		ensureOpen();
+		if (off < 0 || len < 0 || off + len > cbuf.length) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (len == 0) {
+			return 0;
+		}
+		if (flushed) {
+			return -1;
+		}
+
+		CharBuffer cb = chars;
+		if (cb == null || cb.array() != cbuf) {
+			cb = CharBuffer.wrap(cbuf);
+			chars = cb;
+		}
+		cb.limit(off + len).position(off);
+
+		while (true) {
+			final CoderResult result = decoder.decode(bytes, cb, endOfInput);
+			if (result.isOverflow()) {
+				break;
+			}
+			if (result.isUnderflow()) {
+				if (cb.position() > off && !endOfInput) {
+					break;
+				}
+				if (endOfInput) {
+					if (decoder.flush(cb).isOverflow()) {
+						break;
+					}
+					flushed = true;
+					break;
+				}
+				fill();
+				continue;
+			}
+			result.throwException();
+		}
+
+		final int n = cb.position() - off;
+		return n == 0 && flushed ? -1 : n;
+	}
+
+	/**
+	 * 復号化前のバイトを保持するバッファへ入力を読込みます。
+	 *
+	 * @throws IOException 入出力エラーが発生した場合
+	 */
+	private void fill() throws IOException {
+		bytes.compact();
+		try {
+			if (in != null) {
+				final int n = in.read(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+				if (n < 0) {
+					endOfInput = true;
+				} else {
+					bytes.position(bytes.position() + n);
+				}
+			} else {
+				final int n = Math.min(bytes.remaining(), src.remaining());
+				final int limit = src.limit();
+				src.limit(src.position() + n);
+				bytes.put(src);
+				src.limit(limit);
+				if (!src.hasRemaining()) {
+					endOfInput = true;
+				}
+			}
+		} finally {
+			bytes.flip();
+		}
+	}
+
+	/**
+	 * Checks to make sure that the stream has not been closed
+	 */
+	private void ensureOpen() throws IOException {
+		if (in == null && src == null) {
+			throw new IOException("Stream closed");
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (in != null) {
+			in.close();
+			in = null;
+		}
+		src = null;
+	}
+
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 無視する行の正規表現パターン群を事前に解析した行フィルタを提供します。<p>
+ * コメント記号で始まる行 ({@code ^#.*$} など) や固定文字列の行のような単純なパターンは、
+ * 正規表現エンジンを使用せずに文字の比較だけで判定します。
+ * それ以外のパターンは {@link #newMatchers()} で生成した {@link Matcher} を再利用して判定します。<p>
+ * このクラスは不変でありスレッドセーフです。{@link Matcher} はスレッドセーフではないため、
+ * {@link #newMatchers()} で生成した配列は呼出し元毎に保持して下さい。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ * @see CsvConfig#getIgnoreLinePatterns()
+ */
+final class LineFilter {
+
+	/**
+	 * 正規表現エンジンで判定するパターンの種類です。
+	 */
+	private static final int REGEX = 0;
+
+	/**
+	 * 固定文字列と一致する行を判定するパターンの種類です。
+	 */
+	private static final int EQUALS = 1;
+
+	/**
+	 * 固定文字列で始まり、以降に行終端文字を含まない行を判定するパターンの種類です。
+	 */
+	private static final int PREFIX = 2;
+
+	/**
+	 * 固定文字列で始まる行を判定するパターンの種類です。({@link Pattern#DOTALL} の場合)
+	 */
+	private static final int PREFIX_DOTALL = 3;
+
+	/**
+	 * 解析元の正規表現パターン群の複製を保持します。
+	 */
+	private final Pattern[] patterns;
+
+	/**
+	 * パターン毎の種類を保持します。
+	 */
+	private final int[] kinds;
+
+	/**
+	 * パターン毎の固定文字列を保持します。
+	 */
+	private final String[] literals;
+
+	// ------------------------------------------------------------------------
+	// コンストラクタ
+
+	/**
+	 * 指定された正規表現パターン群を解析して、このクラスを構築するコンストラクタです。
+	 *
+	 * @param patterns 無視する行の正規表現パターン群
+	 * @throws IllegalArgumentException {@code patterns} が {@code null} の場合
+	 */
+	LineFilter(final Pattern[] patterns) {
+		if (patterns == null) {
+			throw new IllegalArgumentException("Patterns must not be null");
+		}
+		this.patterns = patterns.clone();
+		this.kinds = new int[patterns.length];
+		this.literals = new String[patterns.length];
+		for (int i = 0; i < patterns.length; i++) {
+			if (patterns[i] != null) {
+				compile(i, patterns[i]);
+			}
+		}
+	}
+
+	private void compile(final int index, final Pattern pattern) {
+		final int flags = pattern.flags();
+		if (flags != 0 && flags != Pattern.DOTALL) {
+			return;
+		}
+		final String regex = pattern.pattern();
+		final int len = regex.length();
+		final StringBuilder literal = new StringBuilder(len);
+		int i = 0;
+		if (i < len && regex.charAt(i) == '^') {
+			i++;
+		}
+		while (i < len) {
+			final char c = regex.charAt(i);
+			if (c == '\\') {
+				// 英数字以外のエスケープは固定文字として扱います。
+				if (i + 1 >= len || Character.isLetterOrDigit(regex.charAt(i + 1))) {
+					return;
+				}
+				literal.append(regex.charAt(i + 1));
+				i += 2;
+			} else if ("^$.|?*+()[]{}".indexOf(c) >= 0) {
+				break;
+			} else {
+				literal.append(c);
+				i++;
+			}
+		}
+		int kind = EQUALS;
+		if (regex.startsWith(".*", i)) {
+			kind = flags == Pattern.DOTALL ? PREFIX_DOTALL : PREFIX;
+			i += 2;
+		}
+		if (i < len && regex.charAt(i) == '$') {
+			i++;
+		}
+		if (i != len) {
+			return;
+		}
+		kinds[index] = kind;
+		literals[index] = literal.toString();
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * この行フィルタが指定された正規表現パターン群から解析されたものかどうかを返します。
+	 *
+	 * @param patterns 正規表現パターン群
+	 * @return 同じ正規表現パターン群から解析された場合は {@code true}
+	 */
+	boolean isCompiledFrom(final Pattern[] patterns) {
+		if (patterns == null || patterns.length != this.patterns.length) {
+			return false;
+		}
+		for (int i = 0; i < patterns.length; i++) {
+			if (patterns[i] != this.patterns[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 正規表現エンジンで判定するパターン用の {@link Matcher} の配列を生成して返します。
+	 *
+	 * @return {@link Matcher} の配列
+	 */
+	Matcher[] newMatchers() {
+		final Matcher[] matchers = new Matcher[patterns.length];
+		for (int i = 0; i < patterns.length; i++) {
+			if (patterns[i] != null && kinds[i] == REGEX) {
+				matchers[i] = patterns[i].matcher("");
+			}
+		}
+		return matchers;
+	}
+
+	/**
+	 * 指定された行が無視する行パターンのいずれかに一致するかどうかを返します。
+	 *
+	 * @param line 行 (行終端文字を含まない)
+	 * @param matchers {@link #newMatchers()} で生成した {@link Matcher} の配列
+	 * @return いずれかのパターンに一致する場合は {@code true}
+	 */
+	boolean matches(final CharSequence line, final Matcher[] matchers) {
+		for (int i = 0; i < patterns.length; i++) {
+			if (patterns[i] == null) {
+				continue;
+			}
+			switch (kinds[i]) {
+				case EQUALS:
+					if (line.length() == literals[i].length() && startsWith(line, literals[i])) {
+						return true;
+					}
+					break;
+				case PREFIX:
+					if (startsWith(line, literals[i]) && !containsLineTerminator(line, literals[i].length())) {
+						return true;
+					}
+					break;
+				case PREFIX_DOTALL:
+					if (startsWith(line, literals[i])) {
+						return true;
+					}
+					break;
+				default:
+					if (matchers[i].reset(line).matches()) {
+						return true;
+					}
+					break;
+			}
+		}
+		return false;
+	}
+
+	private static boolean startsWith(final CharSequence s, final String prefix) {
+		final int len = prefix.length();
+		if (s.length() < len) {
+			return false;
+		}
+		for (int i = 0; i < len; i++) {
+			if (s.charAt(i) != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean containsLineTerminator(final CharSequence s, final int from) {
+		final int len = s.length();
+		for (int i = from; i < len; i++) {
+			final char c = s.charAt(i);
+			if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
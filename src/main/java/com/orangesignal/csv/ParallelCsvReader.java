@@ -0,0 +1,649 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ファイルをメモリーマップし、改行位置で分割した範囲を並列に読込む区切り文字形式入力ストリームです。<p>
+ * 各範囲は範囲の先頭が論理行の境界であると仮定して別スレッドで読込まれ、結果は入力順に返されます。
+ * 直前の範囲の読込み結果から仮定が誤っていたことが分かった場合 (囲み項目中の改行で分割した場合など) は、
+ * 直前の範囲と結合して読込み直すため、返される論理行および行番号は {@link CsvReader} で逐次読込んだ場合と同じです。<p>
+ * 改行文字が常に 1 バイトで表現される文字セット以外の場合や、ファイルが小さい場合は逐次読込みを行います。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+final class ParallelCsvReader extends CsvReader {
+
+	private static final int MIN_CHUNK_SIZE = 1024 * 1024;
+	private static final int MAX_CHUNK_SIZE = 16 * 1024 * 1024;
+
+	/**
+	 * 連続して結合する範囲の上限です。この数を超えた場合は残りを逐次読込みします。
+	 */
+	private static final int MAX_MERGED_CHUNKS = 8;
+
+	private static final byte CR = '\r';
+	private static final byte LF = '\n';
+
+	/**
+	 * 改行位置でバイト列を分割しても復号化結果が変わらない文字セットの正規名です。
+	 */
+	private static final Set<String> SPLITTABLE_CHARSETS = new HashSet<String>(Arrays.asList(
+			"US-ASCII", "UTF-8", "ISO-8859-1", "ISO-8859-2", "ISO-8859-5", "ISO-8859-7", "ISO-8859-9", "ISO-8859-15",
+			"windows-1250", "windows-1251", "windows-1252", "windows-1253", "windows-1254", "windows-1257",
+			"Shift_JIS", "windows-31j", "EUC-JP", "EUC-KR", "x-windows-949", "GBK", "GB18030", "GB2312", "Big5", "Big5-HKSCS"
+		));
+
+	private final CsvConfig cfg;
+
+	/**
+	 * 範囲毎の読込みに使用する区切り文字形式情報です。項目数チェックはこのクラスで行うため可変項目数を許可しています。
+	 */
+	private final CsvConfig chunkCfg;
+
+	private final String encoding;
+	private final RandomAccessFile file;
+	private final FileChannel channel;
+	private final long size;
+	private final int chunkSize;
+	private final int parallelism;
+
+	/**
+	 * 範囲を読込むスレッドプールです。
+	 * 割込みによって {@link FileChannel} が閉じられないように、読込み中のスレッドへ割込まずに停止します。
+	 */
+	private ExecutorService executor;
+
+	/**
+	 * 読込みを依頼済みの範囲を入力順に保持します。
+	 */
+	private final LinkedList<Segment> pending = new LinkedList<Segment>();
+
+	/**
+	 * 次に計画する範囲の開始位置です。
+	 */
+	private long nextStart;
+
+	/**
+	 * 次に計画する範囲の開始位置が復帰文字の直後であるかどうかです。
+	 */
+	private boolean nextAfterCarriageReturn;
+
+	/**
+	 * 次に計画する範囲の開始位置の直前の改行文字が CRLF の改行文字であるかどうかです。
+	 */
+	private boolean nextLineFeedPending;
+
+	private Segment current;
+	private int cursor;
+	private int merged;
+
+	/**
+	 * 逐次読込みへ切替えた場合の入力ストリームです。
+	 */
+	private CsvReader live;
+
+	private int physicalBase;
+	private int logicalBase;
+
+	private int startLineNumber;
+	private int endLineNumber;
+	private int lineNumber;
+	private boolean endOfFile;
+	private int countNumberOfColumns = -1;
+
+	private final ByteBuffer window = ByteBuffer.allocate(8192);
+	private long windowStart = -1;
+
+	// ------------------------------------------------------------------------
+	// コンストラクタ
+
+	/**
+	 * コンストラクタです。
+	 *
+	 * @param file 入力ファイル
+	 * @param encoding エンコーディング
+	 * @param cfg 区切り文字形式情報
+	 * @param parallelism 並列度
+	 * @throws IOException 入出力エラーが発生した場合
+	 */
+	ParallelCsvReader(final File file, final String encoding, final CsvConfig cfg, final int parallelism) throws IOException {
+		this(file, encoding, cfg, parallelism, 0);
+	}
+
+	/**
+	 * コンストラクタです。
+	 *
+	 * @param file 入力ファイル
+	 * @param encoding エンコーディング
+	 * @param cfg 区切り文字形式情報
+	 * @param parallelism 並列度
+	 * @param chunkSize 分割する範囲の大きさ。{@code 0} 以下の場合はファイルの大きさと並列度から決定します
+	 * @throws IOException 入出力エラーが発生した場合
+	 */
+	ParallelCsvReader(final File file, final String encoding, final CsvConfig cfg, final int parallelism, final int chunkSize) throws IOException {
+		super(new StringReader(""), 1, cfg);
+		if (file == null) {
+			throw new IllegalArgumentException("File must not be null");
+		}
+		if (encoding == null) {
+			throw new IllegalArgumentException("Encoding must not be null");
+		}
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("Parallelism <= 0");
+		}
+		this.cfg = cfg;
+		this.chunkCfg = cfg.clone();
+		this.chunkCfg.setVariableColumns(true);
+		this.encoding = encoding;
+		this.parallelism = parallelism;
+		this.file = new RandomAccessFile(file, "r");
+		this.channel = this.file.getChannel();
+		this.size = channel.size();
+		if (chunkSize > 0) {
+			this.chunkSize = chunkSize;
+		} else {
+			this.chunkSize = (int) Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, size / (parallelism * 4L)));
+		}
+
+		final boolean splittable;
+		try {
+			splittable = SPLITTABLE_CHARSETS.contains(Charset.forName(encoding).name());
+		} catch (final IllegalArgumentException e) {
+			close();
+			throw e;
+		}
+		if (!splittable || parallelism == 1 || size < this.chunkSize * 2L) {
+			switchToLive(new Segment(0, size, false, false, true), 0);
+		} else {
+			executor = Executors.newFixedThreadPool(parallelism, new DaemonThreadFactory());
+			submitAhead();
+			current = pending.removeFirst();
+			current.chunk = get(current);
+			submitAhead();
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	@Override public int getStartLineNumber() { return startLineNumber; }
+	@Override public int getEndLineNumber() { return endLineNumber; }
+	@Override public int getLineNumber() { return lineNumber; }
+	@Override public boolean isEndOfFile() { return endOfFile; }
+
+	@Override
+	boolean next() throws IOException {
+		if (endOfFile) {
+			return false;
+		}
+		while (true) {
+			if (live != null) {
+				final CsvRow r = live.readRow();
+				startLineNumber = physicalBase + live.getStartLineNumber();
+				endLineNumber = physicalBase + live.getEndLineNumber();
+				lineNumber = logicalBase + live.getLineNumber();
+				endOfFile = live.isEndOfFile();
+				if (r == null) {
+					return false;
+				}
+				row.clear();
+				for (int i = 0; i < r.size; i++) {
+					addField(r.chars, r.offsets[i], r.lengths[i], r.startLineNumbers[i], r.endLineNumbers[i], r.enclosed[i]);
+				}
+				checkColumns();
+				if (acceptRow()) {
+					return true;
+				}
+				if (endOfFile) {
+					return false;
+				}
+				continue;
+			}
+
+			final Chunk chunk = current.chunk;
+			final boolean last = current.end == size;
+			if (cursor < (last ? chunk.entries : chunk.entries - 1)) {
+				final boolean present = load(chunk, cursor++);
+				if (last && cursor == chunk.entries && chunk.error == null) {
+					endOfFile = true;
+				}
+				if (!present) {
+					return false;
+				}
+				checkColumns();
+				// 区切り文字形式データフィルタは全ての項目を設定した後に判定します。
+				if (acceptRow()) {
+					return true;
+				}
+				if (endOfFile) {
+					return false;
+				}
+				continue;
+			}
+			if (chunk.error != null) {
+				throwError(chunk.error);
+			}
+			advance();
+		}
+	}
+
+	/**
+	 * 指定された範囲の読込み結果から指定された論理行を {@link #row} へ設定します。
+	 */
+	private boolean load(final Chunk chunk, final int index) {
+		startLineNumber = physicalBase + chunk.rowStartLineNumbers[index];
+		endLineNumber = physicalBase + chunk.rowEndLineNumbers[index];
+		lineNumber = logicalBase + chunk.rowLineNumbers[index];
+		if (!chunk.rowPresent[index]) {
+			return false;
+		}
+		row.clear();
+		for (int i = chunk.rowFields[index]; i < chunk.rowFields[index + 1]; i++) {
+			addField(chunk.chars, chunk.fieldOffsets[i], chunk.fieldLengths[i], chunk.fieldStartLineNumbers[i], chunk.fieldEndLineNumbers[i], chunk.fieldEnclosed[i]);
+		}
+		return true;
+	}
+
+	private void addField(final char[] chars, final int off, final int len, final int start, final int end, final boolean enclosed) {
+		final int o = row.length;
+		if (!isProjected(row.size)) {
+			row.addField(o, -1, physicalBase + start, physicalBase + end, false);
+			return;
+		}
+		if (len > 0) {
+			row.append(chars, off, len);
+		}
+		row.addField(o, len, physicalBase + start, physicalBase + end, enclosed);
+	}
+
+	private void checkColumns() throws CsvTokenException {
+		if (!cfg.isVariableColumns()) {
+			if (countNumberOfColumns >= 0 && countNumberOfColumns != row.size()) {
+				throw new CsvTokenException(String.format("Invalid column count in CSV input on line %d.", startLineNumber), row.toTokens());
+			}
+			countNumberOfColumns = row.size();
+		}
+	}
+
+	/**
+	 * 現在の範囲の論理行をすべて返した後に、次の範囲へ移動します。
+	 * 次の範囲の先頭が論理行の境界ではなかった場合は、現在の範囲と次の範囲を結合して読込み直します。
+	 */
+	private void advance() throws IOException {
+		final Chunk chunk = current.chunk;
+		submitAhead();
+		final Segment next = pending.getFirst();
+		if (chunk.quoteOpen || !chunk.singleLineAtEnd
+				|| chunk.afterCarriageReturn != next.afterCarriageReturn || chunk.lineFeedPending != next.lineFeedPending) {
+			pending.removeFirst().future.cancel(false);
+			if (++merged >= MAX_MERGED_CHUNKS) {
+				switchToLive(current, cursor);
+				return;
+			}
+			final Segment segment = new Segment(current.start, next.end, current.afterCarriageReturn, current.lineFeedPending, current.first);
+			segment.chunk = parse(segment);
+			current = segment;
+			return;
+		}
+		merged = 0;
+		physicalBase += chunk.physicalLines;
+		logicalBase += chunk.logicalLines;
+		current = pending.removeFirst();
+		current.chunk = get(current);
+		cursor = 0;
+		submitAhead();
+	}
+
+	/**
+	 * 指定された範囲の先頭から最後までを逐次読込みするように切替えます。
+	 *
+	 * @param segment 範囲
+	 * @param skip 既に返した論理行の数
+	 */
+	private void switchToLive(final Segment segment, final int skip) throws IOException {
+		for (final Segment s : pending) {
+			s.future.cancel(false);
+		}
+		pending.clear();
+		if (executor != null) {
+			executor.shutdown();
+		}
+		channel.position(segment.start);
+		live = new CsvReader(Channels.newInputStream(channel), encoding, chunkCfg);
+		if (!segment.first) {
+			live.resume(segment.afterCarriageReturn, segment.lineFeedPending);
+		}
+		for (int i = 0; i < skip; i++) {
+			live.readRow();
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	// 範囲の分割
+
+	/**
+	 * 並列度の 2 倍の範囲まで先行して読込みを依頼します。
+	 */
+	private void submitAhead() throws IOException {
+		while (pending.size() < parallelism * 2 && nextStart < size) {
+			final long start = nextStart;
+			final boolean afterCarriageReturn = nextAfterCarriageReturn;
+			final boolean lineFeedPending = nextLineFeedPending;
+			long end = size;
+			for (long i = start + chunkSize; i < size; i++) {
+				final byte b = byteAt(i);
+				if (b == LF) {
+					end = i + 1;
+					nextAfterCarriageReturn = nextLineFeedPending = byteAt(i - 1) == CR;
+					break;
+				} else if (b == CR) {
+					nextAfterCarriageReturn = true;
+					if (i + 1 < size && byteAt(i + 1) == LF) {
+						end = i + 2;
+						nextLineFeedPending = true;
+					} else {
+						end = i + 1;
+						nextLineFeedPending = false;
+					}
+					break;
+				}
+			}
+			nextStart = end;
+
+			final Segment segment = new Segment(start, end, afterCarriageReturn, lineFeedPending, start == 0);
+			segment.future = executor.submit(new Callable<Chunk>() {
+				@Override
+				public Chunk call() throws IOException {
+					return parse(segment);
+				}
+			});
+			pending.add(segment);
+		}
+	}
+
+	private byte byteAt(final long position) throws IOException {
+		if (windowStart < 0 || position < windowStart || position >= windowStart + window.limit()) {
+			window.clear();
+			windowStart = position;
+			while (window.hasRemaining() && channel.read(window, windowStart + window.position()) > 0) {
+				// 読込みを続けます。
+			}
+			window.flip();
+		}
+		return window.get((int) (position - windowStart));
+	}
+
+	/**
+	 * 指定された範囲をメモリーマップして読込みます。
+	 *
+	 * @param segment 範囲
+	 * @return 読込み結果
+	 * @throws IOException 入出力エラーが発生した場合
+	 */
+	private Chunk parse(final Segment segment) throws IOException {
+		final ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, segment.start, segment.end - segment.start);
+		final CsvReader reader = new CsvReader(buf, encoding, chunkCfg);
+		if (!segment.first) {
+			reader.resume(segment.afterCarriageReturn, segment.lineFeedPending);
+		}
+		final Chunk chunk = new Chunk();
+		boolean afterCarriageReturn = segment.afterCarriageReturn;
+		boolean lineFeedPending = segment.lineFeedPending;
+		int physicalLines = 0;
+		int logicalLines = 0;
+		try {
+			while (true) {
+				final CsvRow r = reader.readRow();
+				chunk.add(r, reader.getLineNumber(), reader.getStartLineNumber(), reader.getEndLineNumber());
+				if (reader.isEndOfFile()) {
+					chunk.quoteOpen = reader.isQuoteOpen();
+					chunk.afterCarriageReturn = afterCarriageReturn;
+					chunk.lineFeedPending = lineFeedPending;
+					chunk.singleLineAtEnd = reader.getLineNumber() - logicalLines == 1;
+					chunk.physicalLines = physicalLines;
+					chunk.logicalLines = logicalLines;
+					break;
+				}
+				afterCarriageReturn = reader.isAfterCarriageReturn();
+				lineFeedPending = reader.isLineFeedPending();
+				physicalLines = reader.getEndLineNumber();
+				logicalLines = reader.getLineNumber();
+			}
+		} catch (final IOException e) {
+			chunk.error = e;
+		} catch (final RuntimeException e) {
+			chunk.error = e;
+		} finally {
+			reader.close();
+		}
+		return chunk;
+	}
+
+	private static Chunk get(final Segment segment) throws IOException {
+		try {
+			return segment.future.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(e.getMessage());
+		} catch (final ExecutionException e) {
+			throwError(e.getCause());
+			return null;
+		}
+	}
+
+	private static void throwError(final Throwable t) throws IOException {
+		if (t instanceof IOException) {
+			throw (IOException) t;
+		} else if (t instanceof RuntimeException) {
+			throw (RuntimeException) t;
+		} else if (t instanceof Error) {
+			throw (Error) t;
+		}
+		throw new IOException(t.getMessage());
+	}
+
+	// ------------------------------------------------------------------------
+
+	@Override
+	public void close() throws IOException {
+		synchronized (this) {
+			if (executor != null) {
+				executor.shutdown();
+			}
+			pending.clear();
+			current = null;
+			try {
+				if (live != null) {
+					live.close();
+				}
+			} finally {
+				try {
+					file.close();
+				} finally {
+					super.close();
+				}
+			}
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * 読込み範囲です。
+	 */
+	private static final class Segment {
+
+		final long start;
+		final long end;
+		final boolean afterCarriageReturn;
+		final boolean lineFeedPending;
+		final boolean first;
+		Future<Chunk> future;
+		Chunk chunk;
+
+		Segment(final long start, final long end, final boolean afterCarriageReturn, final boolean lineFeedPending, final boolean first) {
+			this.start = start;
+			this.end = end;
+			this.afterCarriageReturn = afterCarriageReturn;
+			this.lineFeedPending = lineFeedPending;
+			this.first = first;
+		}
+
+	}
+
+	/**
+	 * 読込み範囲の読込み結果です。
+	 * {@link CsvReader#readRow()} の呼出し毎の結果を、最後の呼出し (ファイルの終わりに達した呼出し) を含めて保持します。
+	 */
+	private static final class Chunk {
+
+		char[] chars = new char[8192];
+		int charLength;
+
+		int[] fieldOffsets = new int[1024];
+		int[] fieldLengths = new int[1024];
+		int[] fieldStartLineNumbers = new int[1024];
+		int[] fieldEndLineNumbers = new int[1024];
+		boolean[] fieldEnclosed = new boolean[1024];
+		int fieldCount;
+
+		int[] rowFields = new int[129];
+		int[] rowLineNumbers = new int[128];
+		int[] rowStartLineNumbers = new int[128];
+		int[] rowEndLineNumbers = new int[128];
+		boolean[] rowPresent = new boolean[128];
+		int entries;
+
+		/**
+		 * 最後の呼出しで閉じられていない囲み項目があったかどうかです。
+		 */
+		boolean quoteOpen;
+
+		/**
+		 * 最後の呼出しの直前の論理行が復帰文字で終了していたかどうかです。
+		 */
+		boolean afterCarriageReturn;
+
+		/**
+		 * 最後の呼出しの直前に改行文字が未読だったかどうかです。
+		 */
+		boolean lineFeedPending;
+
+		/**
+		 * 最後の呼出しで論理行番号が 1 だけ進んだ (無視した行がない) かどうかです。
+		 */
+		boolean singleLineAtEnd;
+
+		/**
+		 * 最後の呼出しより前に読込んだ物理行数です。
+		 */
+		int physicalLines;
+
+		/**
+		 * 最後の呼出しより前に読込んだ論理行数です。
+		 */
+		int logicalLines;
+
+		Throwable error;
+
+		void add(final CsvRow r, final int lineNumber, final int startLineNumber, final int endLineNumber) {
+			if (entries + 1 == rowLineNumbers.length) {
+				final int n = rowLineNumbers.length << 1;
+				rowFields = Arrays.copyOf(rowFields, n + 1);
+				rowLineNumbers = Arrays.copyOf(rowLineNumbers, n);
+				rowStartLineNumbers = Arrays.copyOf(rowStartLineNumbers, n);
+				rowEndLineNumbers = Arrays.copyOf(rowEndLineNumbers, n);
+				rowPresent = Arrays.copyOf(rowPresent, n);
+			}
+			rowLineNumbers[entries] = lineNumber;
+			rowStartLineNumbers[entries] = startLineNumber;
+			rowEndLineNumbers[entries] = endLineNumber;
+			rowPresent[entries] = r != null;
+			if (r != null) {
+				if (fieldCount + r.size > fieldOffsets.length) {
+					final int n = Math.max(fieldCount + r.size, fieldOffsets.length << 1);
+					fieldOffsets = Arrays.copyOf(fieldOffsets, n);
+					fieldLengths = Arrays.copyOf(fieldLengths, n);
+					fieldStartLineNumbers = Arrays.copyOf(fieldStartLineNumbers, n);
+					fieldEndLineNumbers = Arrays.copyOf(fieldEndLineNumbers, n);
+					fieldEnclosed = Arrays.copyOf(fieldEnclosed, n);
+				}
+				for (int i = 0; i < r.size; i++) {
+					final int len = r.lengths[i];
+					if (len > 0) {
+						if (charLength + len > chars.length) {
+							chars = Arrays.copyOf(chars, Math.max(charLength + len, chars.length << 1));
+						}
+						System.arraycopy(r.chars, r.offsets[i], chars, charLength, len);
+					}
+					fieldOffsets[fieldCount] = charLength;
+					fieldLengths[fieldCount] = len;
+					fieldStartLineNumbers[fieldCount] = r.startLineNumbers[i];
+					fieldEndLineNumbers[fieldCount] = r.endLineNumbers[i];
+					fieldEnclosed[fieldCount] = r.enclosed[i];
+					fieldCount++;
+					if (len > 0) {
+						charLength += len;
+					}
+				}
+			}
+			entries++;
+			rowFields[entries] = fieldCount;
+		}
+
+	}
+
+	/**
+	 * デーモンスレッドを生成する {@link ThreadFactory} です。
+	 */
+	private static final class DaemonThreadFactory implements ThreadFactory {
+
+		private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+		private final AtomicInteger threadNumber = new AtomicInteger();
+		private final String prefix = "csv-reader-" + POOL_NUMBER.incrementAndGet() + "-";
+
+		@Override
+		public Thread newThread(final Runnable r) {
+			final Thread t = new Thread(r, prefix + threadNumber.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+
+	}
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv;
+
+/**
+ * 項目の位置毎に、文字配列の範囲から同じ内容の文字列インスタンスを返す上限付きのキャッシュです。<p>
+ * 項目毎に固定長のオープンアドレス法の表を持ち、表に同じ内容の文字列が存在する場合は文字列を生成せずにその文字列を返します。
+ * 少数の値が繰返し出現する項目で、同じ内容の文字列を重複して保持しないために使用します。
+ * このクラスはスレッドセーフではありません。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ * @see CsvConfig#setStringCacheSize(int)
+ */
+final class StringCache {
+
+	/**
+	 * キャッシュする文字列の最大長です。これより長い値は重複しにくいため常に新しい文字列を生成します。
+	 */
+	static final int MAX_LENGTH = 64;
+
+	/**
+	 * 値を探索する位置の最大数です。
+	 */
+	private static final int MAX_PROBES = 8;
+
+	/**
+	 * 項目毎の表の位置のマスクを保持します。
+	 */
+	private final int mask;
+
+	/**
+	 * 項目毎の表を保持します。
+	 */
+	private String[][] tables = new String[0][];
+
+	/**
+	 * 指定された項目毎の表の大きさで、このクラスを構築するコンストラクタです。
+	 * 表の大きさは指定された値以上の 2 の累乗に切上げられます。
+	 *
+	 * @param size 項目毎の表の大きさ
+	 * @throws IllegalArgumentException {@code size} が {@code 0} 以下の場合
+	 */
+	StringCache(final int size) {
+		if (size <= 0) {
+			throw new IllegalArgumentException("Size <= 0");
+		}
+		int capacity = 1;
+		while (capacity < size && capacity < 1 << 30) {
+			capacity <<= 1;
+		}
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * 指定された項目の位置の表から、指定された文字配列の範囲と同じ内容の文字列を返します。
+	 * 表に存在しない場合は新しい文字列を生成して表に追加します。
+	 *
+	 * @param column 項目の位置
+	 * @param chars 文字配列
+	 * @param offset 開始位置
+	 * @param length 文字数
+	 * @return 文字列
+	 */
+	String get(final int column, final char[] chars, final int offset, final int length) {
+		if (length == 0) {
+			return "";
+		}
+		if (length > MAX_LENGTH) {
+			return new String(chars, offset, length);
+		}
+		int hash = 0;
+		for (int i = offset; i < offset + length; i++) {
+			hash = 31 * hash + chars[i];
+		}
+		final String[] table = table(column);
+		final int home = (hash ^ hash >>> 16) & mask;
+		int index = home;
+		for (int probe = 0; probe < MAX_PROBES; probe++) {
+			final String s = table[index];
+			if (s == null) {
+				return table[index] = new String(chars, offset, length);
+			}
+			// String#hashCode() は文字列内にキャッシュされるため、比較の前に安価に不一致を判定できます。
+			if (s.hashCode() == hash && matches(s, chars, offset, length)) {
+				return s;
+			}
+			index = index + 1 & mask;
+		}
+		// 探索範囲が全て使用されている場合は最初の位置の値を置換えます。
+		return table[home] = new String(chars, offset, length);
+	}
+
+	private String[] table(final int column) {
+		if (column >= tables.length) {
+			final String[][] newTables = new String[Math.max(column + 1, tables.length << 1)][];
+			System.arraycopy(tables, 0, newTables, 0, tables.length);
+			tables = newTables;
+		}
+		String[] table = tables[column];
+		if (table == null) {
+			table = new String[mask + 1];
+			tables[column] = table;
+		}
+		return table;
+	}
+
+	private static boolean matches(final String s, final char[] chars, final int offset, final int length) {
+		if (s.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (s.charAt(i) != chars[offset + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -22,6 +22,7 @@ import java.text.Format;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -35,6 +36,11 @@ import java.util.Map;
  */
 public abstract class AbstractCsvBeanTemplate<T, O extends AbstractCsvBeanTemplate<T, O>> {
 
+	/**
+	 * キャッシュするマッピング計画の上限数です。
+	 */
+	private static final int MAX_MAPPING_PLANS = 16;
+
 	/**
 	 * Java プログラム要素の型を保持します。
 	 */
@@ -55,6 +61,26 @@ public abstract class AbstractCsvBeanTemplate<T, O extends AbstractCsvBeanTempla
 	 */
 	private CsvValueConverter valueConverter = new SimpleCsvValueConverter();
 
+	/**
+	 * Java プログラム要素のインスタンス生成処理を保持します。
+	 */
+	private BeanInstantiator<T> instantiator;
+
+	/**
+	 * 名前のリストとマッピング計画のマップを、最近使用された順に保持します。
+	 */
+	private final Map<List<String>, CsvBeanMappingPlan> mappingPlans = new LinkedHashMap<List<String>, CsvBeanMappingPlan>(16, 0.75F, true) {
+
+		private static final long serialVersionUID = 3658711627457924930L;
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<List<String>, CsvBeanMappingPlan> eldest) {
+			// 上限数を超えた場合は、最も長い間使用されていない計画のみを破棄します。
+			return size() > MAX_MAPPING_PLANS;
+		}
+
+	};
+
 	// ------------------------------------------------------------------------
 	// コンストラクタ
 
@@ -207,19 +233,57 @@ public abstract class AbstractCsvBeanTemplate<T, O extends AbstractCsvBeanTempla
 	}
 
 	/**
-	 * Java プログラム要素の型が表すクラスの新しいインスタンスを生成します。
+	 * Java プログラム要素のインスタンス生成処理を返します。<p>
+	 * インスタンス生成処理は最初の呼出し時に一度だけ解決されます。
+	 * 
+	 * @return Java プログラム要素のインスタンス生成処理
+	 * @since 2.2.2
+	 */
+	public BeanInstantiator<T> getInstantiator() {
+		if (instantiator == null) {
+			instantiator = BeanInstantiator.getInstance(type);
+		}
+		return instantiator;
+	}
+
+	/**
+	 * 指定された名前のリストに対応する Java プログラム要素の型のマッピング計画を返します。<p>
+	 * 作成した計画は名前のリスト毎にこのオブジェクトでキャッシュされ、このオブジェクトを共有する複数のリーダーやライターで再利用されます。
+	 * キャッシュの上限数を超えた場合は、最も長い間使用されていない計画から破棄されます。
+	 * 
+	 * @param names 名前のリスト
+	 * @return マッピング計画
+	 * @throws IllegalArgumentException {@code names} が {@code null} の場合
+	 * @since 2.2.2
+	 */
+	public CsvBeanMappingPlan getMappingPlan(final List<String> names) {
+		if (names == null) {
+			throw new IllegalArgumentException("Names must not be null");
+		}
+		synchronized (mappingPlans) {
+			CsvBeanMappingPlan plan = mappingPlans.get(names);
+			if (plan == null) {
+				plan = CsvBeanMappingPlan.newInstance(type, names);
+				mappingPlans.put(plan.getNames(), plan);
+			}
+			return plan;
+		}
+	}
+
+	/**
+	 * Java プログラム要素の型が表すクラスの新しいインスタンスを引数のないコンストラクタで生成します。<p>
+	 * 引数のあるコンストラクタを使用する型の場合は、{@link #getInstantiator()} へ引数を指定してインスタンスを生成して下さい。
 	 * 
 	 * @return Java プログラム要素の型が表す、クラスの新しく割り当てられたインスタンス
-	 * @throws IOException Java プログラム要素のインスタンス化に失敗した場合
+	 * @throws IOException Java プログラム要素のインスタンス化に失敗した場合や、引数のあるコンストラクタを使用する型の場合
+	 * @see #getInstantiator()
 	 */
 	public T createBean() throws IOException {
-		try {
-			return type.newInstance();
-		} catch (final IllegalAccessException e) {
-			throw new IOException("Cannot create " + type.getName() + ": " + e.getMessage(), e);
-		} catch (final InstantiationException e) {
-			throw new IOException("Cannot create " + type.getName() + ": " + e.getMessage(), e);
+		final BeanInstantiator<T> instantiator = getInstantiator();
+		if (instantiator.getParameterCount() > 0) {
+			throw new IOException("Cannot create " + type.getName() + ": Constructor requires " + instantiator.getParameterCount() + " arguments");
 		}
+		return instantiator.newInstance();
 	}
 
 	/**
@@ -258,19 +322,48 @@ public abstract class AbstractCsvBeanTemplate<T, O extends AbstractCsvBeanTempla
 	public Object stringToObject(final Field field, final String value) {
 		final Format format = valueParserMapping.get(field.getName());
 		if (format != null) {
-			if (value == null || value.isEmpty()) {
-				return null;
-			}
-			try {
-				return format.parseObject(value);
-			} catch (final ParseException e) {
-				throw new IllegalArgumentException(String.format("Unable to parse the %s: %s", field.getName(), value), e);
-			}
+			return parseObject(format, field, value);
 		}
 		final Class<?> type = field.getType();
 		return valueConverter.convert(value, type.isArray() ? type.getComponentType() : type);
 	}
 
+	static Object parseObject(final Format format, final Field field, final String value) {
+		if (value == null || value.isEmpty()) {
+			return null;
+		}
+		try {
+			return format.parseObject(value);
+		} catch (final ParseException e) {
+			throw new IllegalArgumentException(String.format("Unable to parse the %s: %s", field.getName(), value), e);
+		}
+	}
+
+	/**
+	 * 指定されたフィールドの項目値が標準の変換規則で変換されるかどうかを返します。<p>
+	 * フィールドに対応する項目値を解析するオブジェクトが存在せず、項目値コンバータが {@link SimpleCsvValueConverter} そのもので、
+	 * フィールドの型の変換処理が登録されていない場合に {@code true} を返します。
+	 * {@link #stringToObject(Field, String)} がオーバーライドされている場合は常に {@code false} を返します。
+	 * このメソッドが {@code true} を返すフィールドは、項目値を文字列へ変換せずに {@link ParseUtils} で解析しても同じ結果が得られます。
+	 * 
+	 * @param field フィールド
+	 * @return 標準の変換規則で変換される場合は {@code true}
+	 * @since 2.2.2
+	 */
+	public boolean isDefaultConversion(final Field field) {
+		if (valueParserMapping.containsKey(field.getName())) {
+			return false;
+		}
+		if (valueConverter.getClass() != SimpleCsvValueConverter.class || ((SimpleCsvValueConverter) valueConverter).isRegistered(field.getType())) {
+			return false;
+		}
+		try {
+			return getClass().getMethod("stringToObject", Field.class, String.class).getDeclaringClass() == AbstractCsvBeanTemplate.class;
+		} catch (final NoSuchMethodException e) {
+			return false;
+		}
+	}
+
 	/**
 	 * 指定されたオブジェクトを項目値へ変換して返します。
 	 * この実装は、指定された項目に対応する項目値へ書式化するオブジェクトが存在する場合は、{@link Format#format(Object)} で得られた文字列を返します。
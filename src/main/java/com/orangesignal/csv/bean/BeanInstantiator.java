@@ -0,0 +1,262 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.bean;
+
+import java.beans.ConstructorProperties;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Java プログラム要素の型毎に、インスタンスの生成に使用するコンストラクタを事前に解決したインスタンス生成処理を提供します。<p>
+ * コンストラクタは次の順序で解決されます。
+ * <ol>
+ * <li>型がレコードクラスの場合は、正規コンストラクタ (引数名はレコード構成要素名)</li>
+ * <li>引数のないコンストラクタ</li>
+ * <li>{@link ConstructorProperties} で注釈付けされたコンストラクタ (引数名は注釈に指定された名前)</li>
+ * </ol>
+ * コンストラクタの検索やアクセス可否の設定はインスタンスの生成時に一度だけ行われます。
+ * 引数のあるコンストラクタを使用する場合、引数名は同じ名前のフィールドに対応するものとして扱われます。<p>
+ * このクラスは不変でありスレッドセーフです。
+ *
+ * @param <T> Java プログラム要素の型
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+public final class BeanInstantiator<T> {
+
+	/**
+	 * 引数がないことを表す名前の配列です。
+	 */
+	private static final String[] NO_NAMES = new String[0];
+
+	/**
+	 * プリミティブ型と既定値のマップです。
+	 */
+	private static final Map<Class<?>, Object> PRIMITIVE_DEFAULTS = new HashMap<Class<?>, Object>();
+
+	static {
+		PRIMITIVE_DEFAULTS.put(Boolean.TYPE, Boolean.FALSE);
+		PRIMITIVE_DEFAULTS.put(Byte.TYPE, Byte.valueOf((byte) 0));
+		PRIMITIVE_DEFAULTS.put(Character.TYPE, Character.valueOf('\u0000'));
+		PRIMITIVE_DEFAULTS.put(Short.TYPE, Short.valueOf((short) 0));
+		PRIMITIVE_DEFAULTS.put(Integer.TYPE, Integer.valueOf(0));
+		PRIMITIVE_DEFAULTS.put(Long.TYPE, Long.valueOf(0L));
+		PRIMITIVE_DEFAULTS.put(Float.TYPE, Float.valueOf(0F));
+		PRIMITIVE_DEFAULTS.put(Double.TYPE, Double.valueOf(0D));
+	}
+
+	/**
+	 * Java プログラム要素の型を保持します。
+	 */
+	private final Class<T> type;
+
+	/**
+	 * コンストラクタを保持します。適切なコンストラクタが存在しない場合は {@code null} です。
+	 */
+	private final Constructor<T> constructor;
+
+	/**
+	 * コンストラクタの引数名を保持します。
+	 */
+	private final String[] parameterNames;
+
+	/**
+	 * コンストラクタの引数毎の既定値を保持します。
+	 */
+	private final Object[] defaults;
+
+	// ------------------------------------------------------------------------
+	// 静的メソッド
+
+	/**
+	 * 指定された Java プログラム要素の型のインスタンス生成処理を返します。
+	 *
+	 * @param type Java プログラム要素の型
+	 * @return インスタンス生成処理
+	 * @throws IllegalArgumentException {@code type} が {@code null} の場合
+	 */
+	public static <T> BeanInstantiator<T> getInstance(final Class<T> type) {
+		if (type == null) {
+			throw new IllegalArgumentException("Class must not be null");
+		}
+		String[] names = getRecordComponentNames(type);
+		Constructor<T> constructor = null;
+		if (names != null) {
+			constructor = getCanonicalConstructor(type);
+		} else {
+			names = NO_NAMES;
+			try {
+				constructor = type.getDeclaredConstructor();
+			} catch (final NoSuchMethodException e) {
+				for (final Constructor<?> c : type.getDeclaredConstructors()) {
+					final ConstructorProperties properties = c.getAnnotation(ConstructorProperties.class);
+					if (properties != null && properties.value().length == c.getParameterTypes().length) {
+						@SuppressWarnings("unchecked")
+						final Constructor<T> found = (Constructor<T>) c;
+						constructor = found;
+						names = properties.value().clone();
+						break;
+					}
+				}
+			}
+		}
+		return new BeanInstantiator<T>(type, constructor, names);
+	}
+
+	// ------------------------------------------------------------------------
+	// コンストラクタ
+
+	private BeanInstantiator(final Class<T> type, final Constructor<T> constructor, final String[] parameterNames) {
+		this.type = type;
+		this.constructor = constructor;
+		this.parameterNames = constructor == null ? NO_NAMES : parameterNames;
+		this.defaults = new Object[this.parameterNames.length];
+		if (constructor != null) {
+			final Class<?>[] types = constructor.getParameterTypes();
+			for (int i = 0; i < defaults.length; i++) {
+				defaults[i] = PRIMITIVE_DEFAULTS.get(types[i]);
+			}
+			try {
+				constructor.setAccessible(true);
+			} catch (final SecurityException e) {
+				// アクセス可否を変更できないコンストラクタはインスタンスを生成する際に例外をスローします。
+			}
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Java プログラム要素の型を返します。
+	 *
+	 * @return Java プログラム要素の型
+	 */
+	public Class<T> getType() { return type; }
+
+	/**
+	 * コンストラクタの引数の数を返します。
+	 *
+	 * @return コンストラクタの引数の数。引数のないコンストラクタを使用する場合は {@code 0}
+	 */
+	public int getParameterCount() { return parameterNames.length; }
+
+	/**
+	 * 指定された位置のコンストラクタの引数名を返します。
+	 *
+	 * @param index 引数の位置
+	 * @return 引数名
+	 */
+	public String getParameterName(final int index) { return parameterNames[index]; }
+
+	/**
+	 * 指定された名前のコンストラクタの引数の位置を返します。
+	 *
+	 * @param name 引数名
+	 * @return 引数の位置。指定された名前の引数が存在しない場合は {@code -1}
+	 */
+	public int indexOf(final String name) {
+		for (int i = 0; i < parameterNames.length; i++) {
+			if (parameterNames[i].equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * 指定された引数でコンストラクタを呼出し、Java プログラム要素の新しいインスタンスを返します。<p>
+	 * プリミティブ型の引数に {@code null} が指定された場合は、その型の既定値が使用されます。
+	 *
+	 * @param args コンストラクタの引数
+	 * @return Java プログラム要素の新しいインスタンス
+	 * @throws IOException Java プログラム要素のインスタンス化に失敗した場合
+	 */
+	public T newInstance(final Object... args) throws IOException {
+		if (constructor == null) {
+			throw new IOException("Cannot create " + type.getName() + ": No suitable constructor found");
+		}
+		Object[] values = args;
+		if (defaults.length > 0) {
+			values = Arrays.copyOf(args, defaults.length);
+			for (int i = 0; i < defaults.length; i++) {
+				if (values[i] == null) {
+					values[i] = defaults[i];
+				}
+			}
+		}
+		try {
+			return constructor.newInstance(values);
+		} catch (final InstantiationException e) {
+			throw new IOException("Cannot create " + type.getName() + ": " + e.getMessage(), e);
+		} catch (final IllegalAccessException e) {
+			throw new IOException("Cannot create " + type.getName() + ": " + e.getMessage(), e);
+		} catch (final IllegalArgumentException e) {
+			throw new IOException("Cannot create " + type.getName() + ": " + e.getMessage(), e);
+		} catch (final InvocationTargetException e) {
+			throw new IOException("Cannot create " + type.getName() + ": " + e.getCause().getMessage(), e.getCause());
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Java 16 以降のレコードクラスの構成要素名を返します。実行環境がレコードクラスをサポートしない場合はリフレクションで判定します。
+	 */
+	private static String[] getRecordComponentNames(final Class<?> type) {
+		try {
+			final Method isRecord = Class.class.getMethod("isRecord");
+			if (!Boolean.TRUE.equals(isRecord.invoke(type))) {
+				return null;
+			}
+			final Object[] components = (Object[]) Class.class.getMethod("getRecordComponents").invoke(type);
+			final String[] names = new String[components.length];
+			for (int i = 0; i < components.length; i++) {
+				names[i] = (String) components[i].getClass().getMethod("getName").invoke(components[i]);
+			}
+			return names;
+		} catch (final NoSuchMethodException e) {
+			return null;
+		} catch (final IllegalAccessException e) {
+			return null;
+		} catch (final InvocationTargetException e) {
+			return null;
+		}
+	}
+
+	private static <T> Constructor<T> getCanonicalConstructor(final Class<T> type) {
+		try {
+			final Object[] components = (Object[]) Class.class.getMethod("getRecordComponents").invoke(type);
+			final Class<?>[] types = new Class<?>[components.length];
+			for (int i = 0; i < components.length; i++) {
+				types[i] = (Class<?>) components[i].getClass().getMethod("getType").invoke(components[i]);
+			}
+			return type.getDeclaredConstructor(types);
+		} catch (final NoSuchMethodException e) {
+			return null;
+		} catch (final IllegalAccessException e) {
+			return null;
+		} catch (final InvocationTargetException e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.bean;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Java プログラム要素の型と名前のリストの組合せ毎に、名前に対応するフィールドを事前に解決したマッピング計画を提供します。<p>
+ * フィールドの検索やアクセス可否の設定は計画の作成時に一度だけ行われます。
+ * 作成した計画は {@link AbstractCsvBeanTemplate#getMappingPlan(List)} により Java プログラム要素操作の簡素化ヘルパー毎にキャッシュされます。
+ * フィールドへの読み書きは名前毎に生成した {@link FieldAccessor} を使用して行われます。
+ * このクラスは不変でありスレッドセーフです。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+public final class CsvBeanMappingPlan {
+
+	/**
+	 * Java プログラム要素の型を保持します。
+	 */
+	private final Class<?> type;
+
+	/**
+	 * 名前のリストを保持します。
+	 */
+	private final List<String> names;
+
+	/**
+	 * 名前毎のフィールドアクセサを保持します。フィールドが存在しない名前の場合は {@code null} です。
+	 */
+	private final FieldAccessor[] accessors;
+
+	// ------------------------------------------------------------------------
+	// 静的メソッド
+
+	/**
+	 * 指定された Java プログラム要素の型と名前のリストに対応する新しいマッピング計画を返します。
+	 *
+	 * @param type Java プログラム要素の型
+	 * @param names 名前のリスト
+	 * @return マッピング計画
+	 * @throws IllegalArgumentException {@code type} または {@code names} が {@code null} の場合
+	 */
+	public static CsvBeanMappingPlan newInstance(final Class<?> type, final List<String> names) {
+		if (type == null) {
+			throw new IllegalArgumentException("Class must not be null");
+		}
+		if (names == null) {
+			throw new IllegalArgumentException("Names must not be null");
+		}
+		return new CsvBeanMappingPlan(type, new ArrayList<String>(names));
+	}
+
+	// ------------------------------------------------------------------------
+	// コンストラクタ
+
+	private CsvBeanMappingPlan(final Class<?> type, final List<String> names) {
+		this.type = type;
+		this.names = Collections.unmodifiableList(names);
+		this.accessors = new FieldAccessor[names.size()];
+		for (int i = 0; i < accessors.length; i++) {
+			final String name = names.get(i);
+			if (name == null) {
+				continue;
+			}
+			try {
+				accessors[i] = FieldAccessor.newInstance(type.getDeclaredField(name));
+			} catch (final NoSuchFieldException e) {
+				// フィールドが存在しない名前は値を読み書きする際に例外をスローします。
+			} catch (final SecurityException e) {
+				// フィールドを検索できない名前は値を読み書きする際に例外をスローします。
+			}
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Java プログラム要素の型を返します。
+	 *
+	 * @return Java プログラム要素の型
+	 */
+	public Class<?> getType() { return type; }
+
+	/**
+	 * 名前のリストを返します。
+	 *
+	 * @return 名前のリスト
+	 */
+	public List<String> getNames() { return names; }
+
+	/**
+	 * 名前の数を返します。
+	 *
+	 * @return 名前の数
+	 */
+	public int size() { return accessors.length; }
+
+	/**
+	 * 指定された位置の名前に対応するフィールドを返します。
+	 *
+	 * @param index 名前の位置
+	 * @return フィールド
+	 * @throws IOException 指定された名前のフィールドが見つからない場合
+	 * @throws NullPointerException 指定された位置の名前が {@code null} の場合
+	 */
+	public Field getField(final int index) throws IOException {
+		return getFieldAccessor(index).getField();
+	}
+
+	/**
+	 * 指定された位置の名前に対応するフィールドアクセサを返します。
+	 *
+	 * @param index 名前の位置
+	 * @return フィールドアクセサ
+	 * @throws IOException 指定された名前のフィールドが見つからない場合
+	 * @throws NullPointerException 指定された位置の名前が {@code null} の場合
+	 */
+	public FieldAccessor getFieldAccessor(final int index) throws IOException {
+		final FieldAccessor accessor = accessors[index];
+		if (accessor == null) {
+			// フィールドの検索時と同じ例外をスローします。
+			return FieldAccessor.newInstance(FieldUtils.getField(type, names.get(index)));
+		}
+		return accessor;
+	}
+
+	/**
+	 * 指定された Java プログラム要素の指定された位置の名前に対応するフィールドを、指定された値に設定します。
+	 *
+	 * @param bean Java プログラム要素
+	 * @param index 名前の位置
+	 * @param value 値
+	 * @throws IOException 指定された名前のフィールドが見つからない場合。または、値を設定できない場合
+	 */
+	public void setFieldValue(final Object bean, final int index, final Object value) throws IOException {
+		getFieldAccessor(index).set(bean, value);
+	}
+
+	/**
+	 * 指定された Java プログラム要素の指定された位置の名前に対応するフィールドの値を返します。
+	 *
+	 * @param bean Java プログラム要素
+	 * @param index 名前の位置
+	 * @return フィールドの値
+	 * @throws IOException 指定された名前のフィールドが見つからない場合。または、値を取得できない場合
+	 */
+	public Object getFieldValue(final Object bean, final int index) throws IOException {
+		return getFieldAccessor(index).get(bean);
+	}
+
+}
@@ -23,6 +23,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.orangesignal.csv.filters.CompiledCsvNamedValueFilter;
 import com.orangesignal.csv.filters.CsvNamedValueFilter;
 
 /**
@@ -134,6 +135,42 @@ public class CsvColumnNameMappingBeanTemplate<T> extends AbstractCsvBeanTemplate
 		return filter != null && !filter.accept(columnNames, values);
 	}
 
+	/**
+	 * 区切り文字形式データフィルタを指定された項目名リストへ束縛した新しいフィルタを返します。
+	 * このオブジェクトは束縛したフィルタを保持しないため、項目名リスト毎に束縛したフィルタは呼出し側で保持してください。
+	 * 
+	 * @param columnNames 区切り文字形式データの項目名リスト
+	 * @return 項目名リストへ束縛した区切り文字形式データフィルタ。区切り文字形式データフィルタが設定されていない場合は {@code null}
+	 * @throws IllegalArgumentException {@code columnNames} が {@code null} の場合
+	 * @since 2.2.2
+	 */
+	public CompiledCsvNamedValueFilter compileFilter(final List<String> columnNames) {
+		if (filter == null) {
+			return null;
+		}
+		return CompiledCsvNamedValueFilter.compile(filter, columnNames);
+	}
+
+	/**
+	 * 区切り文字形式データフィルタが設定されているかどうかを返します。
+	 * 
+	 * @return 区切り文字形式データフィルタが設定されている場合は {@code true}
+	 * @since 2.2.2
+	 */
+	public boolean hasFilter() {
+		return filter != null;
+	}
+
+	/**
+	 * 区切り文字形式データフィルタを返します。
+	 * 
+	 * @return 区切り文字形式データフィルタ。または {@code null}
+	 * @since 2.2.2
+	 */
+	public CsvNamedValueFilter getFilter() {
+		return filter;
+	}
+
 	// 入力
 
 	public Map<String, Object[]> createFieldAndColumnsMap() {
@@ -157,6 +157,16 @@ public class CsvColumnPositionMappingBeanTemplate<T> extends AbstractCsvBeanTemp
 		return filter != null && !filter.accept(values);
 	}
 
+	/**
+	 * 区切り文字形式データフィルタが設定されているかどうかを返します。
+	 * 
+	 * @return 区切り文字形式データフィルタが設定されている場合は {@code true}
+	 * @since 2.2.2
+	 */
+	public boolean hasFilter() {
+		return filter != null;
+	}
+
 	// 入力
 
 	public Map<String, Object[]> createFieldAndColumnsMap() {
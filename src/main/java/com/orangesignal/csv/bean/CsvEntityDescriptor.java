@@ -0,0 +1,306 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.bean;
+
+import static com.orangesignal.csv.bean.CsvEntityTemplate.defaultIfEmpty;
+
+import java.lang.reflect.Field;
+import java.text.Format;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.orangesignal.csv.annotation.CsvColumn;
+import com.orangesignal.csv.annotation.CsvColumns;
+import com.orangesignal.csv.annotation.CsvEntity;
+
+/**
+ * 区切り文字形式データ注釈要素 {@link CsvEntity} で注釈付けされた Java プログラム要素の型と項目名のリストの組合せ毎に、
+ * 注釈の内容を事前に解決した記述子を提供します。<p>
+ * 項目位置、入出力可否、デフォルト値、必須項目かどうか、書式オブジェクトは記述子の作成時に一度だけ解決されるため、
+ * 行毎の変換処理で注釈や項目名のリストを参照する必要はありません。<p>
+ * このクラスは不変です。但し、保持する書式オブジェクトはスレッドセーフではない場合があります。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+public final class CsvEntityDescriptor {
+
+	/**
+	 * Java プログラム要素の型を保持します。
+	 */
+	private final Class<?> type;
+
+	/**
+	 * 項目名のリストを保持します。
+	 */
+	private final List<String> names;
+
+	/**
+	 * 注釈付けされたフィールドの記述子を宣言順に保持します。
+	 */
+	private final FieldDescriptor[] fields;
+
+	// ------------------------------------------------------------------------
+	// コンストラクタ
+
+	/**
+	 * 指定された Java プログラム要素の型と項目名のリストから、このクラスを構築するコンストラクタです。
+	 *
+	 * @param type 区切り文字形式データ注釈要素 {@link CsvEntity} で注釈付けされた Java プログラム要素の型
+	 * @param names 項目名のリスト。または {@code null}
+	 * @throws IllegalArgumentException {@code type} が {@code null} の場合
+	 */
+	public CsvEntityDescriptor(final Class<?> type, final List<String> names) {
+		if (type == null) {
+			throw new IllegalArgumentException("Class must not be null");
+		}
+		this.type = type;
+		this.names = names == null ? null : Collections.unmodifiableList(new ArrayList<String>(names));
+
+		final List<FieldDescriptor> list = new ArrayList<FieldDescriptor>();
+		for (final Field f : type.getDeclaredFields()) {
+			final CsvColumns columns = f.getAnnotation(CsvColumns.class);
+			final CsvColumn column = f.getAnnotation(CsvColumn.class);
+			if (columns == null && column == null) {
+				continue;
+			}
+			ColumnDescriptor[] multiple = null;
+			if (columns != null) {
+				multiple = new ColumnDescriptor[columns.value().length];
+				for (int i = 0; i < multiple.length; i++) {
+					multiple[i] = new ColumnDescriptor(columns.value()[i], f, this.names);
+				}
+			}
+			list.add(new FieldDescriptor(f, multiple, column == null ? null : new ColumnDescriptor(column, f, this.names)));
+		}
+		this.fields = list.toArray(new FieldDescriptor[list.size()]);
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Java プログラム要素の型を返します。
+	 *
+	 * @return Java プログラム要素の型
+	 */
+	public Class<?> getType() { return type; }
+
+	/**
+	 * 項目名のリストを返します。
+	 *
+	 * @return 項目名のリスト。または {@code null}
+	 */
+	public List<String> getNames() { return names; }
+
+	/**
+	 * 注釈付けされたフィールドの数を返します。
+	 *
+	 * @return 注釈付けされたフィールドの数
+	 */
+	public int getFieldCount() { return fields.length; }
+
+	/**
+	 * 指定された位置のフィールドの記述子を返します。
+	 *
+	 * @param index フィールドの位置
+	 * @return フィールドの記述子
+	 */
+	public FieldDescriptor getField(final int index) { return fields[index]; }
+
+	/**
+	 * 区切り文字形式データ注釈要素 {@link CsvColumn} または {@link CsvColumns} で注釈付けされたフィールドの記述子です。
+	 *
+	 * @since 2.2.2
+	 */
+	public static final class FieldDescriptor {
+
+		private final Field field;
+		private final FieldAccessor accessor;
+		private final boolean array;
+		private final ColumnDescriptor[] columns;
+		private final ColumnDescriptor column;
+		private final Format parser;
+
+		FieldDescriptor(final Field field, final ColumnDescriptor[] columns, final ColumnDescriptor column) {
+			this.field = field;
+			this.accessor = FieldAccessor.newInstance(field);
+			this.array = field.getType().isArray();
+			this.columns = columns;
+			this.column = column;
+
+			// 複数の項目に書式が指定されている場合は、書式のパターン文字列を宣言順に結合します。
+			Format format = null;
+			if (columns != null) {
+				for (final ColumnDescriptor c : columns) {
+					format = mergeFormat(format, c.getFormat());
+				}
+			}
+			if (column != null) {
+				format = mergeFormat(format, column.getFormat());
+			}
+			this.parser = format;
+		}
+
+		private static Format mergeFormat(final Format src, final Format format) {
+			if (format == null) {
+				return src;
+			}
+			return src == null ? format : FormatUtils.mergeFormatPattern(src, format);
+		}
+
+		/**
+		 * フィールドを返します。
+		 *
+		 * @return フィールド
+		 */
+		public Field getField() { return field; }
+
+		/**
+		 * フィールドアクセサを返します。
+		 *
+		 * @return フィールドアクセサ
+		 */
+		public FieldAccessor getAccessor() { return accessor; }
+
+		/**
+		 * フィールドの型が配列かどうかを返します。
+		 *
+		 * @return フィールドの型が配列の場合は {@code true}
+		 */
+		public boolean isArray() { return array; }
+
+		/**
+		 * フィールドが {@link CsvColumns} で注釈付けされているかどうかを返します。
+		 *
+		 * @return {@link CsvColumns} で注釈付けされている場合は {@code true}
+		 */
+		public boolean hasColumns() { return columns != null; }
+
+		/**
+		 * {@link CsvColumns} に指定された項目の数を返します。
+		 *
+		 * @return {@link CsvColumns} に指定された項目の数。{@link CsvColumns} で注釈付けされていない場合は {@code 0}
+		 */
+		public int getColumnsSize() { return columns == null ? 0 : columns.length; }
+
+		/**
+		 * {@link CsvColumns} に指定された項目のうち、指定された位置の項目の記述子を返します。
+		 *
+		 * @param index {@link CsvColumns} 内の位置
+		 * @return 項目の記述子
+		 */
+		public ColumnDescriptor getColumns(final int index) { return columns[index]; }
+
+		/**
+		 * {@link CsvColumn} で注釈付けされた項目の記述子を返します。
+		 *
+		 * @return 項目の記述子。{@link CsvColumn} で注釈付けされていない場合は {@code null}
+		 */
+		public ColumnDescriptor getColumn() { return column; }
+
+		/**
+		 * 項目値を解析する書式オブジェクトを返します。<p>
+		 * 複数の項目に書式が指定されている場合は、それぞれの書式のパターン文字列を結合した書式オブジェクトを返します。
+		 *
+		 * @return 項目値を解析する書式オブジェクト。書式が指定されていない場合は {@code null}
+		 */
+		public Format getParser() { return parser; }
+
+	}
+
+	/**
+	 * 区切り文字形式データ注釈要素 {@link CsvColumn} の記述子です。
+	 *
+	 * @since 2.2.2
+	 */
+	public static final class ColumnDescriptor {
+
+		private final String name;
+		private final int position;
+		private final boolean readable;
+		private final boolean writable;
+		private final String defaultValue;
+		private final boolean required;
+		private final Format format;
+
+		ColumnDescriptor(final CsvColumn column, final Field field, final List<String> names) {
+			this.name = defaultIfEmpty(column.name(), field.getName());
+			int pos = column.position();
+			if (pos < 0 && names != null) {
+				pos = names.indexOf(name);
+			}
+			this.position = pos < 0 ? -1 : pos;
+			this.readable = column.access().isReadable();
+			this.writable = column.access().isWriteable();
+			this.defaultValue = column.defaultValue().isEmpty() ? null : column.defaultValue();
+			this.required = column.required();
+			this.format = CsvEntityTemplate.createFormat(column, field);
+		}
+
+		/**
+		 * 項目名を返します。
+		 *
+		 * @return 項目名
+		 */
+		public String getName() { return name; }
+
+		/**
+		 * 項目位置を返します。
+		 *
+		 * @return 項目位置。項目名と項目位置のどちらからも解決できない場合は {@code -1}
+		 */
+		public int getPosition() { return position; }
+
+		/**
+		 * 入力可能な項目かどうかを返します。
+		 *
+		 * @return 入力可能な場合は {@code true}
+		 */
+		public boolean isReadable() { return readable; }
+
+		/**
+		 * 出力可能な項目かどうかを返します。
+		 *
+		 * @return 出力可能な場合は {@code true}
+		 */
+		public boolean isWritable() { return writable; }
+
+		/**
+		 * デフォルト値を返します。
+		 *
+		 * @return デフォルト値。指定されていない場合は {@code null}
+		 */
+		public String getDefaultValue() { return defaultValue; }
+
+		/**
+		 * 必須項目かどうかを返します。
+		 *
+		 * @return 必須項目の場合は {@code true}
+		 */
+		public boolean isRequired() { return required; }
+
+		/**
+		 * 書式オブジェクトを返します。
+		 *
+		 * @return 書式オブジェクト。書式が指定されていない場合は {@code null}
+		 */
+		public Format getFormat() { return format; }
+
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.bean;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.orangesignal.csv.annotation.CsvColumnException;
+import com.orangesignal.csv.annotation.CsvEntity;
+
+/**
+ * 区切り文字形式データ注釈要素 {@link CsvEntity} で注釈付けされた Java プログラム要素と、
+ * 区切り文字形式データの値リストとの相互変換を行うマッパーのインターフェースです。<p>
+ * 実装クラスは、注釈処理ツールなどでビルド時に生成された、リフレクションを使用しない変換処理を提供することを想定しています。
+ * 実装クラスは {@link CsvEntityMapperProvider} を通じて {@link CsvEntityTemplate} から取得されます。
+ *
+ * @param <T> Java プログラム要素の型
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ * @see CsvEntityMapperProvider
+ */
+public interface CsvEntityMapper<T> {
+
+	/**
+	 * 指定された区切り文字形式データの値リストを Java プログラム要素へ変換して返します。
+	 *
+	 * @param values 区切り文字形式データの値リスト
+	 * @return 変換された Java プログラム要素
+	 * @throws CsvColumnException 必須項目の値がない場合
+	 * @throws IOException 変換に失敗した場合
+	 */
+	T toEntity(List<String> values) throws IOException;
+
+	/**
+	 * 指定された Java プログラム要素を区切り文字形式データの値リストへ変換して返します。
+	 *
+	 * @param entity Java プログラム要素
+	 * @return 区切り文字形式データの値リスト
+	 * @throws CsvColumnException 必須項目の値がない場合
+	 * @throws IOException 変換に失敗した場合
+	 */
+	List<String> toValues(T entity) throws IOException;
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.bean;
+
+import java.util.List;
+
+import com.orangesignal.csv.annotation.CsvEntity;
+
+/**
+ * {@link CsvEntityMapper} を提供するサービスプロバイダのインターフェースです。<p>
+ * 実装クラスは、JAR 仕様で詳細に説明されているサービス API を使用して、
+ * META-INF/services/com.orangesignal.csv.bean.CsvEntityMapperProvider ファイルに登録します。
+ * 実装クラスはスレッドセーフでなければなりません。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ * @see CsvEntityTemplate#getMapper(List)
+ */
+public interface CsvEntityMapperProvider {
+
+	/**
+	 * 指定された Java プログラム要素の型と項目名のリストに対応する {@link CsvEntityMapper} を返します。
+	 *
+	 * @param entityClass 区切り文字形式データ注釈要素 {@link CsvEntity} で注釈付けされた Java プログラム要素の型
+	 * @param columnNames 項目名のリスト
+	 * @return {@link CsvEntityMapper}。指定された型を扱わない場合は {@code null}
+	 */
+	<T> CsvEntityMapper<T> getMapper(Class<T> entityClass, List<String> columnNames);
+
+}
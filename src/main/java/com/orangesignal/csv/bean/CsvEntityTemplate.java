@@ -29,6 +29,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.ServiceLoader;
 import java.util.SortedMap;
 import java.util.TimeZone;
 import java.util.TreeMap;
@@ -36,6 +37,7 @@ import java.util.TreeMap;
 import com.orangesignal.csv.annotation.CsvColumn;
 import com.orangesignal.csv.annotation.CsvColumns;
 import com.orangesignal.csv.annotation.CsvEntity;
+import com.orangesignal.csv.filters.CompiledCsvNamedValueFilter;
 import com.orangesignal.csv.filters.CsvNamedValueFilter;
 
 /**
@@ -54,6 +56,11 @@ public class CsvEntityTemplate<T> extends AbstractCsvBeanTemplate<T, CsvEntityTe
 	 */
 	private CsvNamedValueFilter filter;
 
+	/**
+	 * 項目値コンバータが設定されたかどうかを保持します。
+	 */
+	private boolean valueConverterChanged;
+
 	// ------------------------------------------------------------------------
 	// 利便性のための静的メソッド
 
@@ -93,6 +100,12 @@ public class CsvEntityTemplate<T> extends AbstractCsvBeanTemplate<T, CsvEntityTe
 		return this;
 	}
 
+	@Override
+	public void setValueConverter(final CsvValueConverter valueConverter) {
+		super.setValueConverter(valueConverter);
+		valueConverterChanged = true;
+	}
+
 	// ------------------------------------------------------------------------
 	// パブリック メソッド
 
@@ -107,6 +120,65 @@ public class CsvEntityTemplate<T> extends AbstractCsvBeanTemplate<T, CsvEntityTe
 		return filter != null && !filter.accept(columnNames, values);
 	}
 
+	/**
+	 * 区切り文字形式データフィルタを指定された項目名リストへ束縛した新しいフィルタを返します。
+	 * このオブジェクトは束縛したフィルタを保持しないため、項目名リスト毎に束縛したフィルタは呼出し側で保持してください。
+	 * 
+	 * @param columnNames 区切り文字形式データの項目名リスト
+	 * @return 項目名リストへ束縛した区切り文字形式データフィルタ。区切り文字形式データフィルタが設定されていない場合は {@code null}
+	 * @throws IllegalArgumentException {@code columnNames} が {@code null} の場合
+	 * @since 2.2.2
+	 */
+	public CompiledCsvNamedValueFilter compileFilter(final List<String> columnNames) {
+		if (filter == null) {
+			return null;
+		}
+		return CompiledCsvNamedValueFilter.compile(filter, columnNames);
+	}
+
+	/**
+	 * 区切り文字形式データフィルタが設定されているかどうかを返します。
+	 * 
+	 * @return 区切り文字形式データフィルタが設定されている場合は {@code true}
+	 * @since 2.2.2
+	 */
+	public boolean hasFilter() {
+		return filter != null;
+	}
+
+	/**
+	 * 区切り文字形式データフィルタを返します。
+	 * 
+	 * @return 区切り文字形式データフィルタ。または {@code null}
+	 * @since 2.2.2
+	 */
+	public CsvNamedValueFilter getFilter() {
+		return filter;
+	}
+
+	/**
+	 * 指定された項目名のリストに対応する {@link CsvEntityMapper} を返します。<p>
+	 * この実装は、サービス API で登録された {@link CsvEntityMapperProvider} を登録順に検索し、
+	 * 最初に見つかった {@link CsvEntityMapper} を返します。
+	 * 項目値コンバータが設定されている場合は、変換結果が異なる可能性があるため {@code null} を返します。
+	 * 
+	 * @param columnNames 項目名のリスト
+	 * @return {@link CsvEntityMapper}。利用できない場合は {@code null}
+	 * @since 2.2.2
+	 */
+	public CsvEntityMapper<T> getMapper(final List<String> columnNames) {
+		if (valueConverterChanged) {
+			return null;
+		}
+		for (final CsvEntityMapperProvider provider : MapperProviders.INSTANCES) {
+			final CsvEntityMapper<T> mapper = provider.getMapper(getType(), columnNames);
+			if (mapper != null) {
+				return mapper;
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * 項目名のリストを作成して返します。
 	 * 
@@ -244,6 +316,42 @@ public class CsvEntityTemplate<T> extends AbstractCsvBeanTemplate<T, CsvEntityTe
 		}
 	}
 
+	/**
+	 * 指定されたフィールドの記述子が保持する書式オブジェクトを使用して、項目値を変換して返します。<p>
+	 * 記述子に書式オブジェクトが存在しない場合は、{@link #stringToObject(Field, String)} で得られたオブジェクトを返します。
+	 * このメソッドはこのオブジェクトの状態を変更しないため、このオブジェクトを共有する複数のリーダーから同時に呼出すことができます。
+	 * 
+	 * @param field フィールドの記述子
+	 * @param value 項目値
+	 * @return 変換された項目値
+	 * @since 2.2.2
+	 */
+	public Object stringToObject(final CsvEntityDescriptor.FieldDescriptor field, final String value) {
+		final Format format = field.getParser();
+		if (format != null) {
+			return parseObject(format, field.getField(), value);
+		}
+		return stringToObject(field.getField(), value);
+	}
+
+	/**
+	 * 指定された項目の記述子が保持する書式オブジェクトを使用して、オブジェクトを項目値へ変換して返します。<p>
+	 * 記述子に書式オブジェクトが存在しない場合は、{@link #objectToString(Object, Object)} へ項目位置を指定して得られた文字列を返します。
+	 * このメソッドはこのオブジェクトの状態を変更しないため、このオブジェクトを共有する複数のライターから同時に呼出すことができます。
+	 * 
+	 * @param column 項目の記述子
+	 * @param obj オブジェクト
+	 * @return 文字列の項目値
+	 * @since 2.2.2
+	 */
+	public String objectToString(final CsvEntityDescriptor.ColumnDescriptor column, final Object obj) {
+		final Format format = column.getFormat();
+		if (format != null) {
+			return obj == null ? null : format.format(obj);
+		}
+		return objectToString(Integer.valueOf(column.getPosition()), obj);
+	}
+
 	// ------------------------------------------------------------------------
 
 	public static int getPosition(final CsvColumn column, final Field f, final List<String> names) {
@@ -266,25 +374,47 @@ public class CsvEntityTemplate<T> extends AbstractCsvBeanTemplate<T, CsvEntityTe
 
 	// ------------------------------------------------------------------------
 
-	private static Format createFormat(final CsvColumn column, final Field f) {
+	static Format createFormat(final CsvColumn column, final Field f) {
 		final String pattern = column.format();
 		if (pattern.isEmpty()) {
 			return null;
 		}
 
+		// 書式オブジェクトは複数のスレッドから使用される可能性があるため、スレッドセーフな書式オブジェクトを返します。
 		final Locale locale = column.language().isEmpty() ? Locale.getDefault() : new Locale(column.language(), column.country());
+		final Class<?> type = f.getType().isArray() ? f.getType().getComponentType() : f.getType();
+		if (JavaTimeFormat.isJavaTime(type)) {
+			return new JavaTimeFormat(type, pattern, locale, column.timezone().isEmpty() ? null : column.timezone());
+		}
 		if (Date.class.isAssignableFrom(f.getType())) {
 			final SimpleDateFormat format = new SimpleDateFormat(pattern, locale);
 			if (!column.timezone().isEmpty()) {
 				format.setTimeZone(TimeZone.getTimeZone(column.timezone()));
 			}
-			return format;
+			return new ThreadSafeFormat(format);
 		}
 		final DecimalFormat format = new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(locale));
 		if (!column.currency().isEmpty()) {
 			format.setCurrency(Currency.getInstance(column.currency()));
 		}
-		return format;
+		return new ThreadSafeFormat(format);
+	}
+
+	/**
+	 * サービス API で登録された {@link CsvEntityMapperProvider} を初回の使用時に一度だけロードして保持します。
+	 */
+	private static final class MapperProviders {
+
+		static final List<CsvEntityMapperProvider> INSTANCES = load();
+
+		private static List<CsvEntityMapperProvider> load() {
+			final List<CsvEntityMapperProvider> results = new ArrayList<CsvEntityMapperProvider>();
+			for (final CsvEntityMapperProvider provider : ServiceLoader.load(CsvEntityMapperProvider.class)) {
+				results.add(provider);
+			}
+			return results;
+		}
+
 	}
 
-}
\ No newline at end of file
+}
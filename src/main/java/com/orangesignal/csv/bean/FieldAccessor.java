@@ -0,0 +1,198 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.bean;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+
+/**
+ * Java プログラム要素のフィールドへの読み書きを提供します。<p>
+ * フィールドのアクセス可否の設定はインスタンスの生成時に一度だけ行われます。
+ * プリミティブ型のフィールドには {@link #setInt(Object, int)} などの型毎のメソッドを使用することで、
+ * 値をラップせずに設定できます。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+public abstract class FieldAccessor {
+
+	/**
+	 * フィールドを保持します。
+	 */
+	private final Field field;
+
+	// ------------------------------------------------------------------------
+	// 静的メソッド
+
+	/**
+	 * 指定されたフィールドへの読み書きを行う新しい {@link FieldAccessor} のインスタンスを返します。<p>
+	 * フィールドのアクセス可否を変更できない場合は、値の読み書きを行う際に例外をスローするインスタンスを返します。
+	 *
+	 * @param field フィールド
+	 * @return 新しい {@link FieldAccessor} のインスタンス
+	 * @throws IllegalArgumentException {@code field} が {@code null} の場合
+	 */
+	public static FieldAccessor newInstance(final Field field) {
+		if (field == null) {
+			throw new IllegalArgumentException("Field must not be null");
+		}
+		try {
+			field.setAccessible(true);
+		} catch (final SecurityException e) {
+			// アクセス可否を変更できないフィールドは値を読み書きする際に例外をスローします。
+		}
+		return new ReflectiveFieldAccessor(field);
+	}
+
+	// ------------------------------------------------------------------------
+	// コンストラクタ
+
+	/**
+	 * 指定されたフィールドへの読み書きを行う、このクラスを構築するコンストラクタです。
+	 *
+	 * @param field フィールド
+	 * @throws IllegalArgumentException {@code field} が {@code null} の場合
+	 */
+	protected FieldAccessor(final Field field) {
+		if (field == null) {
+			throw new IllegalArgumentException("Field must not be null");
+		}
+		this.field = field;
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * フィールドを返します。
+	 *
+	 * @return フィールド
+	 */
+	public Field getField() { return field; }
+
+	/**
+	 * 指定された Java プログラム要素のフィールドの値を返します。
+	 * フィールドがプリミティブ型の場合、値はラップされます。
+	 *
+	 * @param bean Java プログラム要素
+	 * @return フィールドの値
+	 * @throws IOException 値を取得できない場合
+	 */
+	public abstract Object get(Object bean) throws IOException;
+
+	/**
+	 * 指定された Java プログラム要素のフィールドを、指定された値に設定します。
+	 * フィールドがプリミティブ型の場合、値は自動的にラップ解除されます。
+	 *
+	 * @param bean Java プログラム要素
+	 * @param value 値
+	 * @throws IOException 値を設定できない場合
+	 */
+	public abstract void set(Object bean, Object value) throws IOException;
+
+	/**
+	 * 指定された Java プログラム要素のフィールドを、指定された {@code boolean} 値に設定します。
+	 *
+	 * @param bean Java プログラム要素
+	 * @param value 値
+	 * @throws IOException 値を設定できない場合
+	 */
+	public abstract void setBoolean(Object bean, boolean value) throws IOException;
+
+	/**
+	 * 指定された Java プログラム要素のフィールドを、指定された {@code byte} 値に設定します。
+	 *
+	 * @param bean Java プログラム要素
+	 * @param value 値
+	 * @throws IOException 値を設定できない場合
+	 */
+	public abstract void setByte(Object bean, byte value) throws IOException;
+
+	/**
+	 * 指定された Java プログラム要素のフィールドを、指定された {@code short} 値に設定します。
+	 *
+	 * @param bean Java プログラム要素
+	 * @param value 値
+	 * @throws IOException 値を設定できない場合
+	 */
+	public abstract void setShort(Object bean, short value) throws IOException;
+
+	/**
+	 * 指定された Java プログラム要素のフィールドを、指定された {@code char} 値に設定します。
+	 *
+	 * @param bean Java プログラム要素
+	 * @param value 値
+	 * @throws IOException 値を設定できない場合
+	 */
+	public abstract void setChar(Object bean, char value) throws IOException;
+
+	/**
+	 * 指定された Java プログラム要素のフィールドを、指定された {@code int} 値に設定します。
+	 *
+	 * @param bean Java プログラム要素
+	 * @param value 値
+	 * @throws IOException 値を設定できない場合
+	 */
+	public abstract void setInt(Object bean, int value) throws IOException;
+
+	/**
+	 * 指定された Java プログラム要素のフィールドを、指定された {@code long} 値に設定します。
+	 *
+	 * @param bean Java プログラム要素
+	 * @param value 値
+	 * @throws IOException 値を設定できない場合
+	 */
+	public abstract void setLong(Object bean, long value) throws IOException;
+
+	/**
+	 * 指定された Java プログラム要素のフィールドを、指定された {@code float} 値に設定します。
+	 *
+	 * @param bean Java プログラム要素
+	 * @param value 値
+	 * @throws IOException 値を設定できない場合
+	 */
+	public abstract void setFloat(Object bean, float value) throws IOException;
+
+	/**
+	 * 指定された Java プログラム要素のフィールドを、指定された {@code double} 値に設定します。
+	 *
+	 * @param bean Java プログラム要素
+	 * @param value 値
+	 * @throws IOException 値を設定できない場合
+	 */
+	public abstract void setDouble(Object bean, double value) throws IOException;
+
+	/**
+	 * 値を設定できなかった場合の例外を返します。
+	 *
+	 * @param e 原因となった例外
+	 * @return 例外
+	 */
+	protected IOException cannotSet(final Exception e) {
+		return new IOException("Cannot set " + field.getName() + ": " + e.getMessage(), e);
+	}
+
+	/**
+	 * 値を取得できなかった場合の例外を返します。
+	 *
+	 * @param e 原因となった例外
+	 * @return 例外
+	 */
+	protected IOException cannotGet(final Exception e) {
+		return new IOException("Cannot get " + field.getName() + ": " + e.getMessage(), e);
+	}
+
+}
@@ -34,10 +34,21 @@ abstract class FormatUtils {
 	}
 
 	public static Format mergeFormatPattern(final Format format, final Format... formats) {
+		if (format instanceof ThreadSafeFormat) {
+			final Format[] unwrapped = new Format[formats.length];
+			for (int i = 0; i < formats.length; i++) {
+				unwrapped[i] = unwrap(formats[i]);
+			}
+			return new ThreadSafeFormat(mergeFormatPattern(((ThreadSafeFormat) format).getFormat(), unwrapped));
+		}
+
 		final StringBuilder buf = new StringBuilder();
 		buf.append(getFormatPattern(format));
 		for (final Format fmt : formats) {
-			buf.append(getFormatPattern(fmt));
+			buf.append(getFormatPattern(unwrap(fmt)));
+		}
+		if (format instanceof JavaTimeFormat) {
+			return ((JavaTimeFormat) format).withPattern(buf.toString());
 		}
 
 		final Format result = (Format) format.clone();
@@ -53,6 +64,13 @@ abstract class FormatUtils {
 		return result;
 	}
 
+	private static Format unwrap(final Format format) {
+		if (format instanceof ThreadSafeFormat) {
+			return ((ThreadSafeFormat) format).getFormat();
+		}
+		return format;
+	}
+
 	private static String getFormatPattern(final Format format) {
 		try {
 			return (String) format.getClass().getMethod("toPattern").invoke(format);
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.bean;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.text.FieldPosition;
+import java.text.Format;
+import java.text.ParsePosition;
+import java.util.Locale;
+
+/**
+ * {@code java.time.format.DateTimeFormatter} を使用して {@code java.time} パッケージの日時型を書式化および解析する {@link Format} を提供します。<p>
+ * {@code DateTimeFormatter} は不変でスレッドセーフなため、このクラスもスレッドセーフです。
+ * このライブラリは {@code java.time} パッケージが存在しない実行環境をサポートするため、
+ * {@code java.time} パッケージのクラスはリフレクションを使用して参照します。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+final class JavaTimeFormat extends Format {
+
+	private static final long serialVersionUID = -3000474562744364453L;
+
+	/**
+	 * {@code java.time} パッケージの日時型のパッケージ名の接頭辞です。
+	 */
+	private static final String PACKAGE_PREFIX = "java.time.";
+
+	private final Class<?> type;
+	private final String pattern;
+	private final Locale locale;
+	private final String timezone;
+
+	private final transient Object formatter;
+	private final transient Method formatMethod;
+	private final transient Method parseMethod;
+	private final transient Method fromMethod;
+
+	// ------------------------------------------------------------------------
+	// コンストラクタ
+
+	/**
+	 * 指定された日時型と書式を使用して、このクラスを構築するコンストラクタです。
+	 *
+	 * @param type {@code java.time} パッケージの日時型
+	 * @param pattern 書式のパターン文字列
+	 * @param locale ロケール
+	 * @param timezone タイムゾーン ID。または {@code null}
+	 * @throws IllegalArgumentException 書式オブジェクトを構築できない場合
+	 */
+	JavaTimeFormat(final Class<?> type, final String pattern, final Locale locale, final String timezone) {
+		this.type = type;
+		this.pattern = pattern;
+		this.locale = locale;
+		this.timezone = timezone;
+		try {
+			final Class<?> formatterClass = Class.forName("java.time.format.DateTimeFormatter");
+			final Class<?> temporalAccessorClass = Class.forName("java.time.temporal.TemporalAccessor");
+			Object f = formatterClass.getMethod("ofPattern", String.class, Locale.class).invoke(null, pattern, locale);
+			if (timezone != null) {
+				final Class<?> zoneIdClass = Class.forName("java.time.ZoneId");
+				final Object zone = zoneIdClass.getMethod("of", String.class).invoke(null, timezone);
+				f = formatterClass.getMethod("withZone", zoneIdClass).invoke(f, zone);
+			}
+			this.formatter = f;
+			this.formatMethod = formatterClass.getMethod("format", temporalAccessorClass);
+			this.parseMethod = formatterClass.getMethod("parse", CharSequence.class);
+			this.fromMethod = type.getMethod("from", temporalAccessorClass);
+		} catch (final ClassNotFoundException e) {
+			throw new IllegalArgumentException(e.getMessage(), e);
+		} catch (final NoSuchMethodException e) {
+			throw new IllegalArgumentException(e.getMessage(), e);
+		} catch (final IllegalAccessException e) {
+			throw new IllegalArgumentException(e.getMessage(), e);
+		} catch (final InvocationTargetException e) {
+			throw new IllegalArgumentException(e.getCause().getMessage(), e.getCause());
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * 指定された型が {@code java.time} パッケージの日時型かどうかを返します。
+	 *
+	 * @param type 型
+	 * @return {@code java.time} パッケージの日時型の場合は {@code true}
+	 */
+	static boolean isJavaTime(final Class<?> type) {
+		return type.getName().startsWith(PACKAGE_PREFIX);
+	}
+
+	/**
+	 * 書式のパターン文字列を返します。
+	 *
+	 * @return 書式のパターン文字列
+	 */
+	public String toPattern() {
+		return pattern;
+	}
+
+	/**
+	 * 指定されたパターン文字列を使用する、このオブジェクトの複製を返します。
+	 *
+	 * @param pattern 書式のパターン文字列
+	 * @return このオブジェクトの複製
+	 */
+	JavaTimeFormat withPattern(final String pattern) {
+		return new JavaTimeFormat(type, pattern, locale, timezone);
+	}
+
+	@Override
+	public StringBuffer format(final Object obj, final StringBuffer toAppendTo, final FieldPosition pos) {
+		try {
+			return toAppendTo.append((String) formatMethod.invoke(formatter, obj));
+		} catch (final IllegalAccessException e) {
+			throw new IllegalArgumentException(e.getMessage(), e);
+		} catch (final InvocationTargetException e) {
+			throw new IllegalArgumentException(e.getCause().getMessage(), e.getCause());
+		}
+	}
+
+	@Override
+	public Object parseObject(final String source, final ParsePosition pos) {
+		final int index = pos.getIndex();
+		try {
+			final Object parsed = parseMethod.invoke(formatter, source.substring(index));
+			final Object result = fromMethod.invoke(null, parsed);
+			pos.setIndex(source.length());
+			return result;
+		} catch (final IllegalAccessException e) {
+			pos.setErrorIndex(index);
+			return null;
+		} catch (final InvocationTargetException e) {
+			// DateTimeParseException などの解析エラーです。
+			pos.setErrorIndex(index);
+			return null;
+		}
+	}
+
+	@Override
+	public Object clone() {
+		return this;
+	}
+
+	private Object readResolve() {
+		return new JavaTimeFormat(type, pattern, locale, timezone);
+	}
+
+}
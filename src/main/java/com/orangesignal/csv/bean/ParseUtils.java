@@ -0,0 +1,292 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.bean;
+
+import java.math.BigDecimal;
+import java.util.TimeZone;
+
+/**
+ * {@link CharSequence} から文字列を生成せずに数値や日付を解析するユーティリティを提供します。<p>
+ * 各メソッドは ASCII の数字のみで構成される一般的な表現を直接解析し、
+ * それ以外の表現 (符号のみ、全角数字、指数表記、桁あふれなど) は対応する標準 API へ委譲するため、
+ * 結果とスローされる例外は標準 API と同じです。
+ * 
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+public abstract class ParseUtils {
+
+	/**
+	 * 仮数部を正確に表現できる最大の 10 進桁数です。
+	 */
+	private static final int MAX_EXACT_DIGITS = 15;
+
+	/**
+	 * 正確に表現できる 10 の累乗です。
+	 */
+	private static final double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+		1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	private static final long MILLIS_PER_DAY = 86400000L;
+
+	/**
+	 * インスタンス化できない事を強制します。
+	 */
+	protected ParseUtils() {
+	}
+
+	// ------------------------------------------------------------------------
+	// 解析用静的メソッド群
+
+	/**
+	 * 指定された文字シーケンスを 10 進数の {@code int} 値として解析します。
+	 * 
+	 * @param s 文字シーケンス
+	 * @return {@code int} 値
+	 * @throws NumberFormatException {@link Integer#parseInt(String)} が例外をスローする場合
+	 */
+	public static int parseInt(final CharSequence s) {
+		final long result = parseDigits(s, Integer.MAX_VALUE);
+		if (result == Long.MIN_VALUE) {
+			return Integer.parseInt(s == null ? null : s.toString());
+		}
+		return (int) result;
+	}
+
+	/**
+	 * 指定された文字シーケンスを 10 進数の {@code long} 値として解析します。
+	 * 
+	 * @param s 文字シーケンス
+	 * @return {@code long} 値
+	 * @throws NumberFormatException {@link Long#parseLong(String)} が例外をスローする場合
+	 */
+	public static long parseLong(final CharSequence s) {
+		final long result = parseDigits(s, Long.MAX_VALUE);
+		if (result == Long.MIN_VALUE) {
+			return Long.parseLong(s == null ? null : s.toString());
+		}
+		return result;
+	}
+
+	/**
+	 * 指定された文字シーケンスを {@code double} 値として解析します。
+	 * 
+	 * @param s 文字シーケンス
+	 * @return {@code double} 値
+	 * @throws NumberFormatException {@link Double#parseDouble(String)} が例外をスローする場合
+	 * @throws NullPointerException {@code s} が {@code null} の場合
+	 */
+	public static double parseDouble(final CharSequence s) {
+		final int len = s.length();
+		int i = 0;
+		boolean negative = false;
+		if (len > 0) {
+			final char c = s.charAt(0);
+			if (c == '-' || c == '+') {
+				negative = c == '-';
+				i++;
+			}
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int scale = 0;
+		boolean point = false;
+		boolean any = false;
+		for (; i < len; i++) {
+			final char c = s.charAt(i);
+			if (c >= '0' && c <= '9') {
+				any = true;
+				if (mantissa == 0 && c == '0') {
+					// 先頭の 0 は有効桁数に含めません。
+				} else if (++digits > MAX_EXACT_DIGITS) {
+					return Double.parseDouble(s.toString());
+				}
+				mantissa = mantissa * 10 + (c - '0');
+				if (point) {
+					scale++;
+				}
+			} else if (c == '.' && !point) {
+				point = true;
+			} else {
+				return Double.parseDouble(s.toString());
+			}
+		}
+		if (!any || scale >= POWERS_OF_TEN.length) {
+			return Double.parseDouble(s.toString());
+		}
+		// 仮数部と 10 の累乗はどちらも正確に表現できるため、一度の除算で正しく丸められた値が得られます。
+		final double value = mantissa / POWERS_OF_TEN[scale];
+		return negative ? -value : value;
+	}
+
+	/**
+	 * 指定された文字シーケンスを {@link BigDecimal} として解析します。
+	 * 
+	 * @param s 文字シーケンス
+	 * @return {@link BigDecimal}
+	 * @throws NumberFormatException {@link BigDecimal#BigDecimal(String)} が例外をスローする場合
+	 * @throws NullPointerException {@code s} が {@code null} の場合
+	 */
+	public static BigDecimal parseBigDecimal(final CharSequence s) {
+		final int len = s.length();
+		final char[] chars = new char[len];
+		for (int i = 0; i < len; i++) {
+			chars[i] = s.charAt(i);
+		}
+		return new BigDecimal(chars);
+	}
+
+	/**
+	 * 指定された文字シーケンスを ISO-8601 形式の日付 ({@code yyyy-MM-dd}) または日時 ({@code yyyy-MM-ddTHH:mm:ss}、{@code yyyy-MM-dd HH:mm:ss}) として解析し、
+	 * 指定されたタイムゾーンでの 1970-01-01T00:00:00Z からのミリ秒数を返します。
+	 * 秒の後に 3 桁までの小数を指定することもできます。
+	 * 
+	 * @param s 文字シーケンス
+	 * @param zone タイムゾーン
+	 * @return 1970-01-01T00:00:00Z からのミリ秒数
+	 * @throws IllegalArgumentException 日付または日時として解析できない場合
+	 * @throws NullPointerException {@code s} または {@code zone} が {@code null} の場合
+	 */
+	public static long parseIsoDate(final CharSequence s, final TimeZone zone) {
+		final int len = s.length();
+		if (len < 10 || s.charAt(4) != '-' || s.charAt(7) != '-') {
+			throw invalidDate(s);
+		}
+		final int year = digits(s, 0, 4);
+		final int month = digits(s, 5, 2);
+		final int day = digits(s, 8, 2);
+		int hour = 0;
+		int minute = 0;
+		int second = 0;
+		int millis = 0;
+		if (len > 10) {
+			final char sep = s.charAt(10);
+			if (len < 19 || sep != 'T' && sep != ' ' || s.charAt(13) != ':' || s.charAt(16) != ':') {
+				throw invalidDate(s);
+			}
+			hour = digits(s, 11, 2);
+			minute = digits(s, 14, 2);
+			second = digits(s, 17, 2);
+			if (len > 19) {
+				final int fraction = len - 20;
+				if (s.charAt(19) != '.' || fraction < 1 || fraction > 3) {
+					throw invalidDate(s);
+				}
+				millis = digits(s, 20, fraction);
+				for (int i = fraction; i < 3; i++) {
+					millis *= 10;
+				}
+			}
+		}
+		if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month) || hour > 23 || minute > 59 || second > 59) {
+			throw invalidDate(s);
+		}
+		final long local = daysFromCivil(year, month, day) * MILLIS_PER_DAY + ((hour * 60L + minute) * 60L + second) * 1000L + millis;
+		return local - zone.getOffset(local - zone.getRawOffset());
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * 符号と ASCII の数字のみで構成される文字シーケンスを負数で累積して解析します。
+	 * 
+	 * @return 解析した値。標準 API へ委譲する必要がある場合は {@link Long#MIN_VALUE}
+	 */
+	private static long parseDigits(final CharSequence s, final long max) {
+		if (s == null) {
+			return Long.MIN_VALUE;
+		}
+		final int len = s.length();
+		if (len == 0) {
+			return Long.MIN_VALUE;
+		}
+		int i = 0;
+		boolean negative = false;
+		final char first = s.charAt(0);
+		if (first == '-' || first == '+') {
+			if (len == 1) {
+				return Long.MIN_VALUE;
+			}
+			negative = first == '-';
+			i++;
+		}
+		final long limit = negative ? -max - 1 : -max;
+		final long multmin = limit / 10;
+		long result = 0;
+		for (; i < len; i++) {
+			final char c = s.charAt(i);
+			if (c < '0' || c > '9') {
+				return Long.MIN_VALUE;
+			}
+			final int digit = c - '0';
+			if (result < multmin) {
+				return Long.MIN_VALUE;
+			}
+			result *= 10;
+			if (result < limit + digit) {
+				return Long.MIN_VALUE;
+			}
+			result -= digit;
+		}
+		return negative ? result : -result;
+	}
+
+	private static int digits(final CharSequence s, final int off, final int len) {
+		int result = 0;
+		for (int i = off; i < off + len; i++) {
+			final char c = s.charAt(i);
+			if (c < '0' || c > '9') {
+				throw invalidDate(s);
+			}
+			result = result * 10 + (c - '0');
+		}
+		return result;
+	}
+
+	private static int daysInMonth(final int year, final int month) {
+		switch (month) {
+			case 2:
+				return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+			case 4:
+			case 6:
+			case 9:
+			case 11:
+				return 30;
+			default:
+				return 31;
+		}
+	}
+
+	/**
+	 * 先発グレゴリオ暦の日付から 1970-01-01 からの日数を返します。
+	 */
+	private static long daysFromCivil(final int year, final int month, final int day) {
+		final int y = month <= 2 ? year - 1 : year;
+		final int era = (y >= 0 ? y : y - 399) / 400;
+		final int yoe = y - era * 400;
+		final int doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+		final int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+		return era * 146097L + doe - 719468L;
+	}
+
+	private static IllegalArgumentException invalidDate(final CharSequence s) {
+		return new IllegalArgumentException(String.format("Unparseable date: \"%s\"", s));
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.bean;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+
+/**
+ * リフレクションを使用してフィールドへの読み書きを行う {@link FieldAccessor} の実装です。<p>
+ * プリミティブ型の値は {@link Field#setInt(Object, int)} などの型毎のメソッドで設定するため、ラップされません。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+final class ReflectiveFieldAccessor extends FieldAccessor {
+
+	/**
+	 * 指定されたフィールドへの読み書きを行う、このクラスを構築するコンストラクタです。
+	 *
+	 * @param field フィールド
+	 */
+	ReflectiveFieldAccessor(final Field field) {
+		super(field);
+	}
+
+	@Override
+	public Object get(final Object bean) throws IOException {
+		try {
+			return getField().get(bean);
+		} catch (final IllegalAccessException e) {
+			throw cannotGet(e);
+		} catch (final IllegalArgumentException e) {
+			throw cannotGet(e);
+		}
+	}
+
+	@Override
+	public void set(final Object bean, final Object value) throws IOException {
+		try {
+			getField().set(bean, value);
+		} catch (final IllegalAccessException e) {
+			throw cannotSet(e);
+		} catch (final IllegalArgumentException e) {
+			throw cannotSet(e);
+		}
+	}
+
+	@Override
+	public void setBoolean(final Object bean, final boolean value) throws IOException {
+		try {
+			getField().setBoolean(bean, value);
+		} catch (final IllegalAccessException e) {
+			throw cannotSet(e);
+		} catch (final IllegalArgumentException e) {
+			throw cannotSet(e);
+		}
+	}
+
+	@Override
+	public void setByte(final Object bean, final byte value) throws IOException {
+		try {
+			getField().setByte(bean, value);
+		} catch (final IllegalAccessException e) {
+			throw cannotSet(e);
+		} catch (final IllegalArgumentException e) {
+			throw cannotSet(e);
+		}
+	}
+
+	@Override
+	public void setShort(final Object bean, final short value) throws IOException {
+		try {
+			getField().setShort(bean, value);
+		} catch (final IllegalAccessException e) {
+			throw cannotSet(e);
+		} catch (final IllegalArgumentException e) {
+			throw cannotSet(e);
+		}
+	}
+
+	@Override
+	public void setChar(final Object bean, final char value) throws IOException {
+		try {
+			getField().setChar(bean, value);
+		} catch (final IllegalAccessException e) {
+			throw cannotSet(e);
+		} catch (final IllegalArgumentException e) {
+			throw cannotSet(e);
+		}
+	}
+
+	@Override
+	public void setInt(final Object bean, final int value) throws IOException {
+		try {
+			getField().setInt(bean, value);
+		} catch (final IllegalAccessException e) {
+			throw cannotSet(e);
+		} catch (final IllegalArgumentException e) {
+			throw cannotSet(e);
+		}
+	}
+
+	@Override
+	public void setLong(final Object bean, final long value) throws IOException {
+		try {
+			getField().setLong(bean, value);
+		} catch (final IllegalAccessException e) {
+			throw cannotSet(e);
+		} catch (final IllegalArgumentException e) {
+			throw cannotSet(e);
+		}
+	}
+
+	@Override
+	public void setFloat(final Object bean, final float value) throws IOException {
+		try {
+			getField().setFloat(bean, value);
+		} catch (final IllegalAccessException e) {
+			throw cannotSet(e);
+		} catch (final IllegalArgumentException e) {
+			throw cannotSet(e);
+		}
+	}
+
+	@Override
+	public void setDouble(final Object bean, final double value) throws IOException {
+		try {
+			getField().setDouble(bean, value);
+		} catch (final IllegalAccessException e) {
+			throw cannotSet(e);
+		} catch (final IllegalArgumentException e) {
+			throw cannotSet(e);
+		}
+	}
+
+}
@@ -16,17 +16,31 @@
 
 package com.orangesignal.csv.bean;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.text.DateFormat;
+import java.text.Format;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * {@link CsvValueConverter} を実装したデフォルトのシンプルな実装クラスを提供します。
+ * {@link CsvValueConverter} を実装したデフォルトのシンプルな実装クラスを提供します。<p>
+ * {@code java.time} パッケージの日時型は、実行環境で利用可能な場合に {@code parse(CharSequence)} メソッドと
+ * {@link Object#toString()} を使用して ISO-8601 形式で変換します。<p>
+ * 日時書式はスレッド毎に複製して使用されるため、このクラスのインスタンスは複数のスレッドで共有できます。<p>
+ * 変換処理は型毎に一度だけ解決され、以降は解決済みの変換処理を型から直接参照します。
+ * 真偽値と列挙型は、事前に作成した表を使用して大文字小文字を区別せずに変換します。
+ * 独自の型の変換処理は {@link #registerConverter(Class, CsvValueConverter)} で登録できます。
  *
  * @author Koji Sugisawa
  */
@@ -39,6 +53,11 @@ public class SimpleCsvValueConverter implements CsvValueConverter {
 
 	private static final Map<String, Boolean> BOOLEAN_DEFAULTS;
 
+	/**
+	 * 組込みの型と変換処理のマップです。
+	 */
+	private static final Map<Class<?>, CsvValueConverter> BUILTIN_CONVERTERS;
+
 	static {
 		final Map<Class<?>, Object> primitiveMap = new HashMap<Class<?>, Object>();
 		primitiveMap.put(Boolean.TYPE, Boolean.FALSE);
@@ -60,11 +79,90 @@ public class SimpleCsvValueConverter implements CsvValueConverter {
 		putBooleanMap(booleanMap, "off", "on");
 		putBooleanMap(booleanMap, "x", "o");
 		BOOLEAN_DEFAULTS = Collections.unmodifiableMap(booleanMap);
+
+		final Map<Class<?>, CsvValueConverter> converterMap = new HashMap<Class<?>, CsvValueConverter>();
+		final CsvValueConverter booleanConverter = new TypeConverter() {
+			@Override
+			public Object convert(final String str, final Class<?> type) {
+				// キーは大文字小文字を区別しない比較と同じ規則で正規化されているため、正規化した値で一度だけ検索します。
+				final Boolean result = BOOLEAN_DEFAULTS.get(foldCase(str));
+				if (result == null) {
+					throw new IllegalArgumentException(String.format("Unknown convert type %s", type.getName()));
+				}
+				return result;
+			}
+		};
+		converterMap.put(Boolean.TYPE, booleanConverter);
+		converterMap.put(Boolean.class, booleanConverter);
+		final CsvValueConverter byteConverter = new TypeConverter() {
+			@Override
+			public Object convert(final String str, final Class<?> type) { return Byte.valueOf(str); }
+		};
+		converterMap.put(Byte.TYPE, byteConverter);
+		converterMap.put(Byte.class, byteConverter);
+		final CsvValueConverter shortConverter = new TypeConverter() {
+			@Override
+			public Object convert(final String str, final Class<?> type) { return Short.valueOf(str); }
+		};
+		converterMap.put(Short.TYPE, shortConverter);
+		converterMap.put(Short.class, shortConverter);
+		final CsvValueConverter integerConverter = new TypeConverter() {
+			@Override
+			public Object convert(final String str, final Class<?> type) { return Integer.valueOf(str); }
+		};
+		converterMap.put(Integer.TYPE, integerConverter);
+		converterMap.put(Integer.class, integerConverter);
+		final CsvValueConverter longConverter = new TypeConverter() {
+			@Override
+			public Object convert(final String str, final Class<?> type) { return Long.valueOf(str); }
+		};
+		converterMap.put(Long.TYPE, longConverter);
+		converterMap.put(Long.class, longConverter);
+		final CsvValueConverter floatConverter = new TypeConverter() {
+			@Override
+			public Object convert(final String str, final Class<?> type) { return Float.valueOf(str); }
+		};
+		converterMap.put(Float.TYPE, floatConverter);
+		converterMap.put(Float.class, floatConverter);
+		final CsvValueConverter doubleConverter = new TypeConverter() {
+			@Override
+			public Object convert(final String str, final Class<?> type) { return Double.valueOf(str); }
+		};
+		converterMap.put(Double.TYPE, doubleConverter);
+		converterMap.put(Double.class, doubleConverter);
+		converterMap.put(BigInteger.class, new TypeConverter() {
+			@Override
+			public Object convert(final String str, final Class<?> type) { return new BigInteger(str); }
+		});
+		final CsvValueConverter decimalConverter = new TypeConverter() {
+			@Override
+			public Object convert(final String str, final Class<?> type) { return new BigDecimal(str); }
+		};
+		converterMap.put(Number.class, decimalConverter);
+		converterMap.put(BigDecimal.class, decimalConverter);
+		BUILTIN_CONVERTERS = Collections.unmodifiableMap(converterMap);
 	}
 
 	private static void putBooleanMap(final Map<String, Boolean> map, final String falseValue, final String trueValue) {
-		map.put(falseValue, Boolean.FALSE);
-		map.put(trueValue, Boolean.TRUE);
+		map.put(foldCase(falseValue), Boolean.FALSE);
+		map.put(foldCase(trueValue), Boolean.TRUE);
+	}
+
+	private static String foldCase(final String s) {
+		// String#equalsIgnoreCase(String) と同じく、大文字へ変換してから小文字へ変換した文字で比較します。
+		final int len = s.length();
+		char[] chars = null;
+		for (int i = 0; i < len; i++) {
+			final char c = s.charAt(i);
+			final char f = Character.toLowerCase(Character.toUpperCase(c));
+			if (f != c && chars == null) {
+				chars = s.toCharArray();
+			}
+			if (chars != null) {
+				chars[i] = f;
+			}
+		}
+		return chars == null ? s : new String(chars);
 	}
 
 	/**
@@ -72,6 +170,21 @@ public class SimpleCsvValueConverter implements CsvValueConverter {
 	 */
 	private DateFormat dateFormat;
 
+	/**
+	 * 日時書式をスレッド毎に複製して使用する書式オブジェクトを保持します。
+	 */
+	private Format localDateFormat;
+
+	/**
+	 * 登録された型と変換処理のマップを保持します。
+	 */
+	private final ConcurrentMap<Class<?>, CsvValueConverter> registeredConverters = new ConcurrentHashMap<Class<?>, CsvValueConverter>();
+
+	/**
+	 * 解決済みの型と変換処理のマップを保持します。
+	 */
+	private final ConcurrentMap<Class<?>, CsvValueConverter> resolvedConverters = new ConcurrentHashMap<Class<?>, CsvValueConverter>();
+
 	/**
 	 * デフォルトコンストラクタです。
 	 */
@@ -86,11 +199,45 @@ public class SimpleCsvValueConverter implements CsvValueConverter {
 	public DateFormat getDateFormat() { return dateFormat; }
 
 	/**
-	 * 日時書式を設定します。
+	 * 日時書式を設定します。<p>
+	 * 日時書式は設定時に複製されるため、設定後に日時書式を変更した場合は再度設定して下さい。
 	 * 
 	 * @param dateFormat 日時書式
 	 */
-	public void setDateFormat(final DateFormat dateFormat) { this.dateFormat = dateFormat; }
+	public void setDateFormat(final DateFormat dateFormat) {
+		this.dateFormat = dateFormat;
+		this.localDateFormat = dateFormat == null ? null : new ThreadSafeFormat(dateFormat);
+	}
+
+	/**
+	 * 指定された型の変換処理を登録します。<p>
+	 * 登録された変換処理は、文字列からの変換では {@code null} や空文字列を含む全ての値に対して使用されます。
+	 * オブジェクトから文字列への変換では、オブジェクトの型が指定された型と一致する場合に使用されます。
+	 * 
+	 * @param type 型
+	 * @param converter 変換処理
+	 * @throws IllegalArgumentException {@code type} または {@code converter} が {@code null} の場合
+	 * @since 2.2.2
+	 */
+	public void registerConverter(final Class<?> type, final CsvValueConverter converter) {
+		if (type == null) {
+			throw new IllegalArgumentException("Class must not be null");
+		}
+		if (converter == null) {
+			throw new IllegalArgumentException("CsvValueConverter must not be null");
+		}
+		registeredConverters.put(type, converter);
+	}
+
+	/**
+	 * 指定された型の変換処理が登録されているかどうかを返します。
+	 * 
+	 * @param type 型
+	 * @return 変換処理が登録されている場合は {@code true}
+	 */
+	boolean isRegistered(final Class<?> type) {
+		return registeredConverters.containsKey(type);
+	}
 
 	@Override
 	public Object convert(final String str, final Class<?> type) {
@@ -99,7 +246,14 @@ public class SimpleCsvValueConverter implements CsvValueConverter {
 			throw new IllegalArgumentException("Class must not be null");
 		}
 
-		if (type.equals(String.class)) {
+		if (!registeredConverters.isEmpty()) {
+			final CsvValueConverter converter = registeredConverters.get(type);
+			if (converter != null) {
+				return converter.convert(str, type);
+			}
+		}
+
+		if (type == String.class) {
 			return str;
 		}
 
@@ -109,50 +263,52 @@ public class SimpleCsvValueConverter implements CsvValueConverter {
 			}
 			return null;
 		}
-		
-		if (type.equals(Boolean.TYPE) || type.equals(Boolean.class)) {
-			for (final Map.Entry<String, Boolean> entry : BOOLEAN_DEFAULTS.entrySet()) {
-				if (entry.getKey().equalsIgnoreCase(str)) {
-					return entry.getValue();
+
+		CsvValueConverter converter = BUILTIN_CONVERTERS.get(type);
+		if (converter == null) {
+			converter = resolvedConverters.get(type);
+			if (converter == null) {
+				converter = resolve(type);
+				if (converter == null) {
+					throw new IllegalArgumentException(String.format("Unknown convert type %s", type.getName()));
 				}
+				resolvedConverters.putIfAbsent(type, converter);
 			}
-		} else if (type.equals(Byte.TYPE) || type.equals(Byte.class)) {
-			return Byte.valueOf(str);
-//		} else if (type.equals(Character.TYPE) || type.equals(Character.class)) {
-//			return Character.valueOf(str);
-		} else if (type.equals(Short.TYPE) || type.equals(Short.class)) {
-			return Short.valueOf(str);
-		} else if (type.equals(Integer.TYPE) || type.equals(Integer.class)) {
-			return Integer.valueOf(str);
-		} else if (type.equals(Long.TYPE) || type.equals(Long.class)) {
-			return Long.valueOf(str);
-		} else if (type.equals(Float.TYPE) || type.equals(Float.class)) {
-			return Float.valueOf(str);
-		} else if (type.equals(Double.TYPE) || type.equals(Double.class)) {
-			return Double.valueOf(str);
-		} else if (type.equals(BigInteger.class)) {
-			return new BigInteger(str);
-		} else if (type.equals(Number.class) || type.equals(BigDecimal.class)) {
-			return new BigDecimal(str);
-		} else if (dateFormat != null && Date.class.isAssignableFrom(type)) {
+		}
+		return converter.convert(str, type);
+	}
+
+	private CsvValueConverter resolve(final Class<?> type) {
+		if (Date.class.isAssignableFrom(type)) {
+			final Constructor<?> constructor;
 			try {
-				return type.getConstructor(Long.TYPE).newInstance(dateFormat.parse(str).getTime());
-			} catch (Exception e) {
-				throw new IllegalArgumentException(e.getMessage(), e);
+				constructor = type.getConstructor(Long.TYPE);
+			} catch (final NoSuchMethodException e) {
+				return new DateConverter(null);
 			}
+			return new DateConverter(constructor);
 		} else if (Enum.class.isAssignableFrom(type)) {
+			return new EnumConverter(type);
+		} else if (JavaTimeFormat.isJavaTime(type)) {
 			try {
-				return type.getMethod("valueOf", String.class).invoke(null, str);
+				final Method parser = type.getMethod("parse", CharSequence.class);
+				return new TypeConverter() {
+					@Override
+					public Object convert(final String str, final Class<?> type) {
+						try {
+							return parser.invoke(null, str);
+						} catch (final IllegalAccessException e) {
+							throw new IllegalArgumentException(e.getMessage(), e);
+						} catch (final InvocationTargetException e) {
+							throw new IllegalArgumentException(e.getCause().getMessage(), e.getCause());
+						}
+					}
+				};
 			} catch (final NoSuchMethodException e) {
-				throw new IllegalArgumentException(String.format("Unknown convert type %s", type.getName()), e);
-			} catch (final IllegalAccessException e) {
-				throw new IllegalArgumentException(String.format("Unknown convert type %s", type.getName()), e);
-			} catch (final InvocationTargetException e) {
-				throw new IllegalArgumentException(String.format("Unknown convert type %s", type.getName()), e);
+				return null;
 			}
 		}
-
-		throw new IllegalArgumentException(String.format("Unknown convert type %s", type.getName()));
+		return null;
 	}
 
 	@Override
@@ -160,10 +316,102 @@ public class SimpleCsvValueConverter implements CsvValueConverter {
 		if (value == null) {
 			return null;
 		}
-		if (value instanceof Date && dateFormat != null) {
-			return dateFormat.format(value);
+		if (!registeredConverters.isEmpty()) {
+			final CsvValueConverter converter = registeredConverters.get(value.getClass());
+			if (converter != null) {
+				return converter.convert(value);
+			}
+		}
+		if (value instanceof Date && localDateFormat != null) {
+			return localDateFormat.format(value);
 		}
 		return value.toString();
 	}
 
+	// ------------------------------------------------------------------------
+
+	/**
+	 * 文字列から特定の型への変換処理の基底クラスです。
+	 */
+	private abstract static class TypeConverter implements CsvValueConverter {
+
+		@Override
+		public String convert(final Object value) {
+			return value == null ? null : value.toString();
+		}
+
+	}
+
+	/**
+	 * 日時書式を使用して日付型へ変換する変換処理です。
+	 */
+	private final class DateConverter extends TypeConverter {
+
+		private final Constructor<?> constructor;
+
+		DateConverter(final Constructor<?> constructor) {
+			this.constructor = constructor;
+		}
+
+		@Override
+		public Object convert(final String str, final Class<?> type) {
+			final Format format = localDateFormat;
+			if (format == null) {
+				throw new IllegalArgumentException(String.format("Unknown convert type %s", type.getName()));
+			}
+			try {
+				if (constructor == null) {
+					throw new NoSuchMethodException(type.getName() + ".<init>(long)");
+				}
+				return constructor.newInstance(((Date) format.parseObject(str)).getTime());
+			} catch (Exception e) {
+				throw new IllegalArgumentException(e.getMessage(), e);
+			}
+		}
+
+	}
+
+	/**
+	 * 列挙型の定数名の表を使用して列挙型へ変換する変換処理です。<p>
+	 * 定数名と完全に一致する定数を優先し、一致しない場合は大文字小文字を区別せずに一意に特定できる定数を返します。
+	 */
+	private static final class EnumConverter extends TypeConverter {
+
+		private final Map<String, Object> constants = new HashMap<String, Object>();
+		private final Map<String, Object> ignoreCaseConstants = new HashMap<String, Object>();
+
+		EnumConverter(final Class<?> type) {
+			Class<?> enumType = type;
+			while (enumType != null && !enumType.isEnum()) {
+				enumType = enumType.getSuperclass();
+			}
+			if (enumType == null) {
+				return;
+			}
+			final Set<String> ambiguous = new HashSet<String>();
+			for (final Object constant : enumType.getEnumConstants()) {
+				final String name = ((Enum<?>) constant).name();
+				constants.put(name, constant);
+				final String key = name.toUpperCase(Locale.ENGLISH);
+				if (ignoreCaseConstants.put(key, constant) != null) {
+					ambiguous.add(key);
+				}
+			}
+			ignoreCaseConstants.keySet().removeAll(ambiguous);
+		}
+
+		@Override
+		public Object convert(final String str, final Class<?> type) {
+			Object result = constants.get(str);
+			if (result == null) {
+				result = ignoreCaseConstants.get(str.toUpperCase(Locale.ENGLISH));
+				if (result == null) {
+					throw new IllegalArgumentException(String.format("Unknown convert type %s", type.getName()));
+				}
+			}
+			return result;
+		}
+
+	}
+
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.bean;
+
+import java.text.AttributedCharacterIterator;
+import java.text.FieldPosition;
+import java.text.Format;
+import java.text.ParsePosition;
+
+/**
+ * スレッドセーフではない {@link Format} を、スレッド毎に複製して使用するスレッドセーフな {@link Format} を提供します。<p>
+ * {@link java.text.SimpleDateFormat} や {@link java.text.DecimalFormat} などの書式オブジェクトを、
+ * 複数のスレッドで共有される Java プログラム要素操作の簡素化ヘルパーで使用する場合に使用します。
+ * 書式化と解析は、スレッド毎に初回の使用時に複製された書式オブジェクトで行われます。
+ * 複製元の書式オブジェクトは構築時に複製されるため、構築後に引数の書式オブジェクトを変更しても結果に影響しません。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+public final class ThreadSafeFormat extends Format {
+
+	private static final long serialVersionUID = 8206932916412880224L;
+
+	/**
+	 * 複製元の書式オブジェクトを保持します。
+	 */
+	private final Format prototype;
+
+	/**
+	 * スレッド毎の書式オブジェクトを保持します。
+	 */
+	private transient ThreadLocal<Format> local;
+
+	// ------------------------------------------------------------------------
+	// コンストラクタ
+
+	/**
+	 * 指定された書式オブジェクトを複製元として、このクラスを構築するコンストラクタです。
+	 *
+	 * @param format 複製元の書式オブジェクト
+	 * @throws IllegalArgumentException {@code format} が {@code null} の場合
+	 */
+	public ThreadSafeFormat(final Format format) {
+		if (format == null) {
+			throw new IllegalArgumentException("Format must not be null");
+		}
+		this.prototype = format instanceof ThreadSafeFormat ? ((ThreadSafeFormat) format).getFormat() : (Format) format.clone();
+		this.local = newLocal(prototype);
+	}
+
+	private static ThreadLocal<Format> newLocal(final Format prototype) {
+		return new ThreadLocal<Format>() {
+			@Override
+			protected Format initialValue() {
+				return (Format) prototype.clone();
+			}
+		};
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * 複製元の書式オブジェクトの複製を返します。
+	 *
+	 * @return 複製元の書式オブジェクトの複製
+	 */
+	public Format getFormat() {
+		return (Format) prototype.clone();
+	}
+
+	@Override
+	public StringBuffer format(final Object obj, final StringBuffer toAppendTo, final FieldPosition pos) {
+		return local.get().format(obj, toAppendTo, pos);
+	}
+
+	@Override
+	public AttributedCharacterIterator formatToCharacterIterator(final Object obj) {
+		return local.get().formatToCharacterIterator(obj);
+	}
+
+	@Override
+	public Object parseObject(final String source, final ParsePosition pos) {
+		return local.get().parseObject(source, pos);
+	}
+
+	@Override
+	public Object clone() {
+		return new ThreadSafeFormat(prototype);
+	}
+
+	@Override
+	public int hashCode() {
+		return prototype.hashCode();
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ThreadSafeFormat)) {
+			return false;
+		}
+		return prototype.equals(((ThreadSafeFormat) obj).prototype);
+	}
+
+	private Object readResolve() {
+		local = newLocal(prototype);
+		return this;
+	}
+
+}
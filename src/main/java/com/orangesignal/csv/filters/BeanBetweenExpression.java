@@ -79,4 +79,35 @@ public class BeanBetweenExpression extends BeanExpression {
 		return BeanExpressionUtils.between(bean, name, low, high, comparator);
 	}
 
+	/**
+	 * 下限値を返します。
+	 * 
+	 * @return 下限値
+	 * @since 2.2.2
+	 */
+	Object getLow() {
+		return low;
+	}
+
+	/**
+	 * 上限値を返します。
+	 * 
+	 * @return 上限値
+	 * @since 2.2.2
+	 */
+	Object getHigh() {
+		return high;
+	}
+
+	/**
+	 * コンパレータを返します。
+	 * 
+	 * @return コンパレータ
+	 * @since 2.2.2
+	 */
+	@SuppressWarnings("rawtypes")
+	Comparator getComparator() {
+		return comparator;
+	}
+
 }
\ No newline at end of file
@@ -74,11 +74,22 @@ abstract class BeanExpressionUtils {
 	 */
 	public static boolean isEmpty(final Object bean, final String name) throws IOException {
 		final Field field = FieldUtils.getField(bean.getClass(), name);
-		final Object value = FieldUtils.getFieldValue(bean, field);
+		return isEmpty(FieldUtils.getFieldValue(bean, field), field.getType());
+	}
+
+	/**
+	 * 指定されたフィールド値が空かどうかを返します。
+	 * 
+	 * @param value フィールド値
+	 * @param type フィールドの型
+	 * @return 指定されたフィールド値が空の場合は <code>true</code> それ以外の場合は <code>false</code>
+	 * @since 2.2.2
+	 */
+	static boolean isEmpty(final Object value, final Class<?> type) {
 		if (value == null) {
 			return true;
 		}
-		if (field.getType().isArray()) {
+		if (type.isArray()) {
 			return ((Object[]) value).length == 0;
 		}
 		if (value instanceof String) {
@@ -116,7 +127,19 @@ abstract class BeanExpressionUtils {
 	 * @throws IOException フィールド操作で例外が発生した場合
 	 */
 	public static boolean eq(final Object bean, final String name, final Object criteria, final boolean ignoreCase) throws IOException {
-		final Object value = getFieldValue(bean, name);
+		return eq(getFieldValue(bean, name), criteria, ignoreCase);
+	}
+
+	/**
+	 * 指定されたフィールド値が判定基準値と等しいかどうかを返します。
+	 * 
+	 * @param value フィールド値
+	 * @param criteria 判定基準値
+	 * @param ignoreCase 大文字と小文字を区別するかどうか
+	 * @return 指定されたフィールド値が判定基準値と等しい場合は <code>true</code> それ以外の場合は <code>false</code>
+	 * @since 2.2.2
+	 */
+	static boolean eq(final Object value, final Object criteria, final boolean ignoreCase) {
 		if (criteria == null) {
 			throw new IllegalArgumentException("Criteria must not be null");
 		}
@@ -176,6 +199,27 @@ abstract class BeanExpressionUtils {
 		return !in(bean, name, criterias, ignoreCase);
 	}
 
+	/**
+	 * 指定されたフィールド値が判定基準値群のいずれかと等しいかどうかを返します。
+	 * 
+	 * @param value フィールド値
+	 * @param criterias 判定基準値群
+	 * @param ignoreCase 大文字と小文字を区別するかどうか
+	 * @return 指定されたフィールド値が判定基準値群のいずれかと等しい場合は <code>true</code> それ以外の場合は <code>false</code>
+	 * @since 2.2.2
+	 */
+	static boolean in(final Object value, final Object[] criterias, final boolean ignoreCase) {
+		if (criterias == null) {
+			throw new IllegalArgumentException("Criterias must not be null");
+		}
+		for (final Object criteria : criterias) {
+			if (eq(value, criteria, ignoreCase)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	// ------------------------------------------------------------------------
 
 	/**
@@ -188,7 +232,18 @@ abstract class BeanExpressionUtils {
 	 * @throws IOException フィールド操作で例外が発生した場合
 	 */
 	public static boolean regex(final Object bean, final String name, final Pattern pattern) throws IOException {
-		final Object value = getFieldValue(bean, name);
+		return regex(getFieldValue(bean, name), pattern);
+	}
+
+	/**
+	 * 指定されたフィールド値が正規表現パターンとマッチするかどうかを返します。
+	 * 
+	 * @param value フィールド値
+	 * @param pattern 判定する正規表現パターン
+	 * @return 指定されたフィールド値が正規表現パターンとマッチする場合は <code>true</code> それ以外の場合は <code>false</code>
+	 * @since 2.2.2
+	 */
+	static boolean regex(final Object value, final Pattern pattern) {
 		return value != null && pattern.matcher((CharSequence) value).matches();
 	}
 
@@ -207,7 +262,20 @@ abstract class BeanExpressionUtils {
 	 */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public static boolean gt(final Object bean, final String name, final Object criteria, final Comparator comparator) throws IOException {
-		final Object value = getFieldValue(bean, name);
+		return gt(getFieldValue(bean, name), criteria, comparator);
+	}
+
+	/**
+	 * 指定されたフィールド値が判定基準値よりも大きいかどうかを返します。
+	 * 
+	 * @param value フィールド値
+	 * @param criteria 判定基準値
+	 * @param comparator コンパレータ (オプション)
+	 * @return 指定されたフィールド値が判定基準値よりも大きい場合は <code>true</code> それ以外の場合は <code>false</code>
+	 * @since 2.2.2
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static boolean gt(final Object value, final Object criteria, final Comparator comparator) {
 		if (comparator != null) {
 			return value != null && criteria != null && comparator.compare(value, criteria) > 0;
 		}
@@ -227,7 +295,20 @@ abstract class BeanExpressionUtils {
 	 */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public static boolean lt(final Object bean, final String name, final Object criteria, final Comparator comparator) throws IOException {
-		final Object value = getFieldValue(bean, name);
+		return lt(getFieldValue(bean, name), criteria, comparator);
+	}
+
+	/**
+	 * 指定されたフィールド値が判定基準値よりも小さいかどうかを返します。
+	 * 
+	 * @param value フィールド値
+	 * @param criteria 判定基準値
+	 * @param comparator コンパレータ (オプション)
+	 * @return 指定されたフィールド値が判定基準値よりも小さい場合は <code>true</code> それ以外の場合は <code>false</code>
+	 * @since 2.2.2
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static boolean lt(final Object value, final Object criteria, final Comparator comparator) {
 		if (comparator != null) {
 			return value != null && criteria != null && comparator.compare(value, criteria) < 0;
 		}
@@ -247,7 +328,20 @@ abstract class BeanExpressionUtils {
 	 */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public static boolean ge(final Object bean, final String name, final Object criteria, final Comparator comparator) throws IOException {
-		final Object value = getFieldValue(bean, name);
+		return ge(getFieldValue(bean, name), criteria, comparator);
+	}
+
+	/**
+	 * 指定されたフィールド値が判定基準値以上かどうかを返します。
+	 * 
+	 * @param value フィールド値
+	 * @param criteria 判定基準値
+	 * @param comparator コンパレータ (オプション)
+	 * @return 指定されたフィールド値が判定基準値以上の場合は <code>true</code> それ以外の場合は <code>false</code>
+	 * @since 2.2.2
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static boolean ge(final Object value, final Object criteria, final Comparator comparator) {
 		if (comparator != null) {
 			return value != null && criteria != null && comparator.compare(value, criteria) >= 0;
 		}
@@ -267,7 +361,20 @@ abstract class BeanExpressionUtils {
 	 */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public static boolean le(final Object bean, final String name, final Object criteria, final Comparator comparator) throws IOException {
-		final Object value = getFieldValue(bean, name);
+		return le(getFieldValue(bean, name), criteria, comparator);
+	}
+
+	/**
+	 * 指定されたフィールド値が判定基準値以下かどうかを返します。
+	 * 
+	 * @param value フィールド値
+	 * @param criteria 判定基準値
+	 * @param comparator コンパレータ (オプション)
+	 * @return 指定されたフィールド値が判定基準値以下の場合は <code>true</code> それ以外の場合は <code>false</code>
+	 * @since 2.2.2
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static boolean le(final Object value, final Object criteria, final Comparator comparator) {
 		if (comparator != null) {
 			return value != null && criteria != null && comparator.compare(value, criteria) <= 0;
 		}
@@ -56,4 +56,14 @@ public class BeanNotExpression implements BeanFilter {
 		return period > 0 ? name.substring(period + 1) : name;
 	}
 
+	/**
+	 * 論理否定する Java プログラム要素フィルタを返します。
+	 * 
+	 * @return 論理否定する Java プログラム要素フィルタ
+	 * @since 2.2.2
+	 */
+	BeanFilter getFilter() {
+		return filter;
+	}
+
 }
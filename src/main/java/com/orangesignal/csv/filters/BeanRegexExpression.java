@@ -91,4 +91,14 @@ public class BeanRegexExpression extends BeanExpression {
 		return BeanExpressionUtils.regex(bean, name, pattern);
 	}
 
+	/**
+	 * 正規表現パターンを返します。
+	 * 
+	 * @return 正規表現パターン
+	 * @since 2.2.2
+	 */
+	Pattern getPattern() {
+		return pattern;
+	}
+
 }
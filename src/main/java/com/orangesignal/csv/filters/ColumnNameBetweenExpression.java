@@ -62,4 +62,24 @@ public class ColumnNameBetweenExpression extends ColumnNameExpression {
 		return CsvExpressionUtils.between(values, position, low, high);
 	}
 
+	/**
+	 * 下限値を返します。
+	 * 
+	 * @return 下限値
+	 * @since 2.2.2
+	 */
+	String getLow() {
+		return low;
+	}
+
+	/**
+	 * 上限値を返します。
+	 * 
+	 * @return 上限値
+	 * @since 2.2.2
+	 */
+	String getHigh() {
+		return high;
+	}
+
 }
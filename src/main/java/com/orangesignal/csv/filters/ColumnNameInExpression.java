@@ -27,6 +27,11 @@ import java.util.List;
  */
 public class ColumnNameInExpression extends ColumnNameCriteriasExpression {
 
+	/**
+	 * 判定基準値群の集合を保持します。
+	 */
+	private CriteriaSet criteriaSet;
+
 	/**
 	 * コンストラクタです。
 	 * 
@@ -79,7 +84,16 @@ public class ColumnNameInExpression extends ColumnNameCriteriasExpression {
 		if (position == -1) {
 			throw new IllegalArgumentException(String.format("Invalid column name %s", name));
 		}
-		return CsvExpressionUtils.in(values, position, criterias, ignoreCase);
+		return criteriaSet().in(values, position);
+	}
+
+	private CriteriaSet criteriaSet() {
+		CriteriaSet result = criteriaSet;
+		if (result == null) {
+			result = new CriteriaSet(criterias, ignoreCase);
+			criteriaSet = result;
+		}
+		return result;
 	}
 
 }
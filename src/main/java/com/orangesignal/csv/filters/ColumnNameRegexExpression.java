@@ -95,4 +95,14 @@ public class ColumnNameRegexExpression extends ColumnNameExpression {
 		return CsvExpressionUtils.regex(values, position, pattern);
 	}
 
+	/**
+	 * 正規表現パターンを返します。
+	 * 
+	 * @return 正規表現パターン
+	 * @since 2.2.2
+	 */
+	Pattern getPattern() {
+		return pattern;
+	}
+
 }
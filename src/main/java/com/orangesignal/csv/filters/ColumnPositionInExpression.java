@@ -27,6 +27,11 @@ import java.util.List;
  */
 public class ColumnPositionInExpression extends ColumnPositionCriteriasExpression {
 
+	/**
+	 * 判定基準値群の集合を保持します。
+	 */
+	private CriteriaSet criteriaSet;
+
 	/**
 	 * コンストラクタです。
 	 * 
@@ -75,12 +80,21 @@ public class ColumnPositionInExpression extends ColumnPositionCriteriasExpressio
 
 	@Override
 	public boolean accept(final List<String> values) {
-		return CsvExpressionUtils.in(values, position, criterias, ignoreCase);
+		return criteriaSet().in(values, position);
 	}
 
 	@Override
 	public boolean accept(final List<String> header, final List<String> values) {
-		return CsvExpressionUtils.in(values, position, criterias, ignoreCase);
+		return criteriaSet().in(values, position);
+	}
+
+	private CriteriaSet criteriaSet() {
+		CriteriaSet result = criteriaSet;
+		if (result == null) {
+			result = new CriteriaSet(criterias, ignoreCase);
+			criteriaSet = result;
+		}
+		return result;
 	}
 
 }
@@ -0,0 +1,406 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.filters;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Java プログラム要素フィルタを、Java プログラム要素を生成する前の区切り文字形式データの値リストで判定する条件へ変換したフィルタを提供します。<p>
+ * このライブラリが提供する Java プログラム要素フィルタのうち、判定に使用する全てのフィールドの値が単一の項目の値から決まるものだけを変換します。
+ * 各フィールドの値は {@link FieldResolver} によって項目の値から求められ、元の Java プログラム要素フィルタと同じ規則で判定されます。
+ * 判定に使用しない項目の値は変換されず、含めない論理行に対して Java プログラム要素の生成やリフレクションによるフィールドの読込みは行われません。<p>
+ * このクラスは、論理行毎にフィールドの値を一時的に保存するためスレッドセーフではありません。
+ * 
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+public final class CompiledBeanFilter {
+
+	/**
+	 * Java プログラム要素のフィールドと区切り文字形式データの項目の対応を解決するインタフェースです。
+	 * 
+	 * @author Koji Sugisawa
+	 * @since 2.2.2
+	 */
+	public interface FieldResolver {
+
+		/**
+		 * 指定された名前のフィールドの値を決める項目の位置を返します。
+		 * 
+		 * @param name フィールド名
+		 * @return 項目の位置。フィールドの値が単一の項目の値から決まらない場合は {@code -1}
+		 */
+		int getPosition(String name);
+
+		/**
+		 * 指定された位置の項目に対応するフィールドの型を返します。
+		 * 
+		 * @param position 項目の位置
+		 * @return フィールドの型
+		 */
+		Class<?> getType(int position);
+
+		/**
+		 * 指定された値リストから Java プログラム要素を生成した場合の、指定された位置の項目に対応するフィールドの値を返します。
+		 * 
+		 * @param values 区切り文字形式データの値リスト
+		 * @param position 項目の位置
+		 * @return フィールドの値
+		 * @throws IOException 値を変換できない場合
+		 */
+		Object getValue(List<String> values, int position) throws IOException;
+
+	}
+
+	/**
+	 * 元の Java プログラム要素フィルタを保持します。
+	 */
+	private final BeanFilter filter;
+
+	/**
+	 * フィールドと項目の対応を解決するインタフェースを保持します。
+	 */
+	private final FieldResolver resolver;
+
+	/**
+	 * 変換された条件を保持します。
+	 */
+	private final Node node;
+
+	/**
+	 * 判定に使用する項目の位置を保持します。
+	 */
+	private final int[] positions;
+
+	/**
+	 * 判定中の論理行のフィールドの値を一時的に保存します。
+	 */
+	private final Object[] cache;
+
+	/**
+	 * 判定中の論理行のフィールドの値を保存したかどうかを一時的に保存します。
+	 */
+	private final boolean[] cached;
+
+	/**
+	 * 判定中の値リストを一時的に保存します。
+	 */
+	private List<String> values;
+
+	// ------------------------------------------------------------------------
+	// 静的メソッド
+
+	/**
+	 * 指定された Java プログラム要素フィルタを値リストで判定する条件へ変換します。
+	 * 
+	 * @param filter Java プログラム要素フィルタ
+	 * @param resolver フィールドと項目の対応を解決するインタフェース
+	 * @return 変換されたフィルタ。変換できない Java プログラム要素フィルタや、単一の項目の値から決まらないフィールドを含む場合は {@code null}
+	 * @throws IllegalArgumentException {@code filter} または {@code resolver} が {@code null} の場合
+	 */
+	public static CompiledBeanFilter compile(final BeanFilter filter, final FieldResolver resolver) {
+		if (filter == null) {
+			throw new IllegalArgumentException(String.format("%s must not be null", BeanFilter.class.getSimpleName()));
+		}
+		if (resolver == null) {
+			throw new IllegalArgumentException(String.format("%s must not be null", FieldResolver.class.getSimpleName()));
+		}
+		final List<Integer> positions = new ArrayList<Integer>();
+		final Node node = bind(filter, resolver, positions);
+		if (node == null) {
+			return null;
+		}
+		return new CompiledBeanFilter(filter, resolver, node, positions);
+	}
+
+	// ------------------------------------------------------------------------
+	// コンストラクタ
+
+	private CompiledBeanFilter(final BeanFilter filter, final FieldResolver resolver, final Node node, final List<Integer> positions) {
+		this.filter = filter;
+		this.resolver = resolver;
+		this.node = node;
+		this.positions = new int[positions.size()];
+		for (int i = 0; i < this.positions.length; i++) {
+			this.positions[i] = positions.get(i);
+		}
+		this.cache = new Object[this.positions.length];
+		this.cached = new boolean[this.positions.length];
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * 元の Java プログラム要素フィルタを返します。
+	 * 
+	 * @return 元の Java プログラム要素フィルタ
+	 */
+	public BeanFilter getFilter() { return filter; }
+
+	/**
+	 * 指定された値リストから生成される Java プログラム要素が含まれる必要があるかどうかを判定します。
+	 * 
+	 * @param values 区切り文字形式データの値リスト
+	 * @return 生成される Java プログラム要素が含まれる必要がある場合は {@code true}
+	 * @throws IOException フィールドの値を変換できない場合
+	 */
+	public boolean accept(final List<String> values) throws IOException {
+		this.values = values;
+		try {
+			return node.accept(this);
+		} finally {
+			this.values = null;
+			for (int i = 0; i < cached.length; i++) {
+				cached[i] = false;
+				cache[i] = null;
+			}
+		}
+	}
+
+	private Object getValue(final int slot) throws IOException {
+		if (!cached[slot]) {
+			cache[slot] = resolver.getValue(values, positions[slot]);
+			cached[slot] = true;
+		}
+		return cache[slot];
+	}
+
+	@Override
+	public String toString() {
+		final String name = getClass().getName();
+		final int period = name.lastIndexOf('.');
+		return period > 0 ? name.substring(period + 1) : name;
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static Node bind(final BeanFilter filter, final FieldResolver resolver, final List<Integer> positions) {
+		if (filter == null || filter.getClass().getPackage() != CompiledBeanFilter.class.getPackage()) {
+			return null;
+		}
+		if (filter instanceof SimpleBeanFilter) {
+			return bind(((SimpleBeanFilter) filter).getExpression(), resolver, positions);
+		}
+		if (filter instanceof BeanLogicalExpression) {
+			final BeanLogicalExpression expr = (BeanLogicalExpression) filter;
+			if (expr.filters.isEmpty() || !(expr instanceof BeanAndExpression || expr instanceof BeanOrExpression)) {
+				return null;
+			}
+			final Node[] children = new Node[expr.filters.size()];
+			int i = 0;
+			for (final BeanFilter child : expr.filters) {
+				children[i] = bind(child, resolver, positions);
+				if (children[i++] == null) {
+					return null;
+				}
+			}
+			return new LogicalNode(children, expr instanceof BeanAndExpression);
+		}
+		if (filter instanceof BeanNotExpression) {
+			final Node child = bind(((BeanNotExpression) filter).getFilter(), resolver, positions);
+			return child == null ? null : new NotNode(child);
+		}
+		if (!(filter instanceof BeanExpression)) {
+			return null;
+		}
+		final int position = resolver.getPosition(((BeanExpression) filter).name);
+		if (position < 0) {
+			return null;
+		}
+		int slot = positions.indexOf(position);
+		if (slot == -1) {
+			slot = positions.size();
+			positions.add(position);
+		}
+		final FieldNode node = new FieldNode(slot, resolver.getType(position));
+		if (filter instanceof BeanNullExpression) {
+			node.op = FieldNode.NULL;
+		} else if (filter instanceof BeanNotNullExpression) {
+			node.op = FieldNode.NULL;
+			node.negate = true;
+		} else if (filter instanceof BeanEmptyExpression) {
+			node.op = FieldNode.EMPTY;
+		} else if (filter instanceof BeanNotEmptyExpression) {
+			node.op = FieldNode.EMPTY;
+			node.negate = true;
+		} else if (filter instanceof BeanRegexExpression) {
+			node.op = FieldNode.REGEX;
+			node.pattern = ((BeanRegexExpression) filter).getPattern();
+		} else if (filter instanceof BeanBetweenExpression) {
+			final BeanBetweenExpression between = (BeanBetweenExpression) filter;
+			node.op = FieldNode.BETWEEN;
+			node.criteria = between.getLow();
+			node.high = between.getHigh();
+			node.comparator = between.getComparator();
+		} else if (filter instanceof BeanCriteriasExpression) {
+			final BeanCriteriasExpression expr = (BeanCriteriasExpression) filter;
+			if (!(expr instanceof BeanInExpression || expr instanceof BeanNotInExpression)) {
+				return null;
+			}
+			node.op = FieldNode.IN;
+			node.negate = expr instanceof BeanNotInExpression;
+			node.criterias = expr.criterias;
+			node.ignoreCase = expr.ignoreCase;
+		} else if (filter instanceof BeanCriteriaExpression) {
+			final BeanCriteriaExpression expr = (BeanCriteriaExpression) filter;
+			node.criteria = expr.criteria;
+			node.comparator = expr.comparator;
+			node.ignoreCase = expr.ignoreCase;
+			if (expr instanceof BeanEqualExpression) {
+				node.op = FieldNode.EQ;
+			} else if (expr instanceof BeanNotEqualExpression) {
+				node.op = FieldNode.EQ;
+				node.negate = true;
+			} else if (expr instanceof BeanGreaterThanExpression) {
+				node.op = FieldNode.GT;
+			} else if (expr instanceof BeanGreaterThanOrEqualExpression) {
+				node.op = FieldNode.GE;
+			} else if (expr instanceof BeanLessThanExpression) {
+				node.op = FieldNode.LT;
+			} else if (expr instanceof BeanLessThanOrEqualExpression) {
+				node.op = FieldNode.LE;
+			} else {
+				return null;
+			}
+		} else {
+			return null;
+		}
+		return node;
+	}
+
+	/**
+	 * 変換された条件です。
+	 */
+	private abstract static class Node {
+
+		abstract boolean accept(CompiledBeanFilter context) throws IOException;
+
+	}
+
+	/**
+	 * 論理積または論理和の条件です。
+	 */
+	private static final class LogicalNode extends Node {
+
+		private final Node[] children;
+		private final boolean and;
+
+		LogicalNode(final Node[] children, final boolean and) {
+			this.children = children;
+			this.and = and;
+		}
+
+		@Override
+		boolean accept(final CompiledBeanFilter context) throws IOException {
+			for (final Node child : children) {
+				if (child.accept(context) != and) {
+					return !and;
+				}
+			}
+			return and;
+		}
+
+	}
+
+	/**
+	 * 論理否定の条件です。
+	 */
+	private static final class NotNode extends Node {
+
+		private final Node child;
+
+		NotNode(final Node child) {
+			this.child = child;
+		}
+
+		@Override
+		boolean accept(final CompiledBeanFilter context) throws IOException {
+			return !child.accept(context);
+		}
+
+	}
+
+	/**
+	 * 単一のフィールドの値に対する条件です。
+	 */
+	private static final class FieldNode extends Node {
+
+		static final int NULL = 0;
+		static final int EMPTY = 1;
+		static final int EQ = 2;
+		static final int IN = 3;
+		static final int REGEX = 4;
+		static final int GT = 5;
+		static final int GE = 6;
+		static final int LT = 7;
+		static final int LE = 8;
+		static final int BETWEEN = 9;
+
+		private final int slot;
+		private final Class<?> type;
+		int op;
+		boolean negate;
+		Object criteria;
+		Object high;
+		Object[] criterias;
+		boolean ignoreCase;
+		Pattern pattern;
+		@SuppressWarnings("rawtypes")
+		Comparator comparator;
+
+		FieldNode(final int slot, final Class<?> type) {
+			this.slot = slot;
+			this.type = type;
+		}
+
+		@Override
+		boolean accept(final CompiledBeanFilter context) throws IOException {
+			return test(context.getValue(slot)) != negate;
+		}
+
+		private boolean test(final Object value) {
+			switch (op) {
+				case NULL:
+					return value == null;
+				case EMPTY:
+					return BeanExpressionUtils.isEmpty(value, type);
+				case EQ:
+					return BeanExpressionUtils.eq(value, criteria, ignoreCase);
+				case IN:
+					return BeanExpressionUtils.in(value, criterias, ignoreCase);
+				case REGEX:
+					return BeanExpressionUtils.regex(value, pattern);
+				case GT:
+					return BeanExpressionUtils.gt(value, criteria, comparator);
+				case GE:
+					return BeanExpressionUtils.ge(value, criteria, comparator);
+				case LT:
+					return BeanExpressionUtils.lt(value, criteria, comparator);
+				case LE:
+					return BeanExpressionUtils.le(value, criteria, comparator);
+				default:
+					return BeanExpressionUtils.ge(value, criteria, comparator) && BeanExpressionUtils.le(value, high, comparator);
+			}
+		}
+
+	}
+
+}
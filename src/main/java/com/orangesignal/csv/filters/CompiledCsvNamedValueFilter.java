@@ -0,0 +1,316 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.filters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 区切り文字形式データフィルタを項目名リストへ束縛し、項目名を項目位置へ解決したフィルタを提供します。<p>
+ * このライブラリが提供する区切り文字形式データフィルタは、コンパイル時に項目名を一度だけ項目位置へ解決した
+ * {@link ColumnPositionExpression} や {@link CsvValueLogicalExpression} の木へ変換されるため、
+ * 論理行毎に項目名リストを検索しません。{@code in} や {@code notIn} の判定基準値群はハッシュ集合で判定されます。
+ * それ以外の区切り文字形式データフィルタは、束縛した項目名リストを使用して {@link CsvNamedValueFilter#accept(List, List)} で判定されます。<p>
+ * 項目名リストに存在しない項目名の判定や、判定基準値群が空の論理演算は、コンパイル時ではなく判定時に
+ * 元の区切り文字形式データフィルタと同じ例外をスローします。
+ * コンパイル後に元の区切り文字形式データフィルタへ追加した条件は反映されません。
+ * 
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+public final class CompiledCsvNamedValueFilter implements CsvValueFilter, CsvNamedValueFilter {
+
+	/**
+	 * 元の区切り文字形式データフィルタを保持します。
+	 */
+	private final CsvNamedValueFilter filter;
+
+	/**
+	 * 束縛した項目名リストを保持します。
+	 */
+	private final List<String> header;
+
+	/**
+	 * 項目位置で判定する区切り文字形式データフィルタを保持します。
+	 */
+	private final CsvValueFilter compiled;
+
+	/**
+	 * 項目位置で判定する区切り文字形式データフィルタが参照する最大の項目位置を保持します。
+	 */
+	private final int lastPosition;
+
+	// ------------------------------------------------------------------------
+	// 静的メソッド
+
+	/**
+	 * 指定された区切り文字形式データフィルタを指定された項目名リストへ束縛してコンパイルします。
+	 * 
+	 * @param filter 区切り文字形式データフィルタ
+	 * @param header 区切り文字形式データの項目名リスト
+	 * @return コンパイルされた区切り文字形式データフィルタ
+	 * @throws IllegalArgumentException {@code filter} または {@code header} が {@code null} の場合
+	 */
+	public static CompiledCsvNamedValueFilter compile(final CsvNamedValueFilter filter, final List<String> header) {
+		if (filter == null) {
+			throw new IllegalArgumentException(String.format("%s must not be null", CsvNamedValueFilter.class.getSimpleName()));
+		}
+		if (header == null) {
+			throw new IllegalArgumentException("Header must not be null");
+		}
+		if (filter instanceof CompiledCsvNamedValueFilter && ((CompiledCsvNamedValueFilter) filter).header == header) {
+			return (CompiledCsvNamedValueFilter) filter;
+		}
+		return new CompiledCsvNamedValueFilter(filter, header, bind(filter, header));
+	}
+
+	// ------------------------------------------------------------------------
+	// コンストラクタ
+
+	private CompiledCsvNamedValueFilter(final CsvNamedValueFilter filter, final List<String> header, final CsvValueFilter compiled) {
+		this.filter = filter;
+		this.header = header;
+		this.compiled = compiled;
+		this.lastPosition = lastPosition(compiled);
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * 元の区切り文字形式データフィルタを返します。
+	 * 
+	 * @return 元の区切り文字形式データフィルタ
+	 */
+	public CsvNamedValueFilter getFilter() { return filter; }
+
+	/**
+	 * 束縛した項目名リストを返します。
+	 * 
+	 * @return 束縛した項目名リスト
+	 */
+	public List<String> getHeader() { return header; }
+
+	/**
+	 * 判定に使用する項目の最大の項目位置を返します。<p>
+	 * 判定が指定された項目位置までの項目のみで行えることを示します。
+	 * このライブラリが提供しない区切り文字形式データフィルタを含む場合など、項目位置を特定できない場合は {@code -1} を返します。
+	 * 
+	 * @return 判定に使用する項目の最大の項目位置。特定できない場合は {@code -1}
+	 */
+	public int getLastPosition() { return lastPosition; }
+
+	/**
+	 * この区切り文字形式データフィルタが、指定された区切り文字形式データフィルタを指定された項目名リストへ束縛したものかどうかを返します。
+	 * 項目名リストは同一のインスタンスかどうかで判定します。
+	 * 
+	 * @param filter 区切り文字形式データフィルタ
+	 * @param header 区切り文字形式データの項目名リスト
+	 * @return 指定された区切り文字形式データフィルタを指定された項目名リストへ束縛したものである場合は {@code true}
+	 */
+	public boolean isCompiledFor(final CsvNamedValueFilter filter, final List<String> header) {
+		return this.filter == filter && this.header == header;
+	}
+
+	/**
+	 * 指定された区切り文字形式データの値リストが含まれる必要があるかどうかを、束縛した項目名リストを使用して判定します。
+	 * 
+	 * @param values 区切り文字形式データの値リスト
+	 * @return {@code values} が含まれる必要がある場合は {@code true}
+	 */
+	@Override
+	public boolean accept(final List<String> values) {
+		return compiled.accept(values);
+	}
+
+	/**
+	 * 指定された区切り文字形式データの値リストが含まれる必要があるかどうかを判定します。
+	 * 指定された項目名リストが束縛した項目名リストと異なる場合は、元の区切り文字形式データフィルタで判定します。
+	 * 
+	 * @param header 区切り文字形式データの項目名リスト
+	 * @param values 区切り文字形式データの値リスト
+	 * @return {@code values} が含まれる必要がある場合は {@code true}
+	 */
+	@Override
+	public boolean accept(final List<String> header, final List<String> values) {
+		if (header == this.header) {
+			return compiled.accept(values);
+		}
+		return filter.accept(header, values);
+	}
+
+	@Override
+	public String toString() {
+		final String name = getClass().getName();
+		final int period = name.lastIndexOf('.');
+		return period > 0 ? name.substring(period + 1) : name;
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static CsvValueFilter bind(final CsvNamedValueFilter filter, final List<String> header) {
+		if (filter == null || filter.getClass().getPackage() != CompiledCsvNamedValueFilter.class.getPackage()) {
+			// このライブラリが提供しない区切り文字形式データフィルタは項目名リストを使用して判定します。
+			return new HeaderBoundFilter(filter, header);
+		}
+		if (filter instanceof CompiledCsvNamedValueFilter) {
+			final CompiledCsvNamedValueFilter other = (CompiledCsvNamedValueFilter) filter;
+			return other.header == header ? other.compiled : bind(other.filter, header);
+		}
+		if (filter instanceof SimpleCsvNamedValueFilter) {
+			return bind(((SimpleCsvNamedValueFilter) filter).getExpression(), header);
+		}
+		if (filter instanceof CsvNamedValueAndExpression) {
+			return new CsvValueAndExpression(bindAll((CsvNamedValueLogicalExpression) filter, header));
+		}
+		if (filter instanceof CsvNamedValueOrExpression) {
+			return new CsvValueOrExpression(bindAll((CsvNamedValueLogicalExpression) filter, header));
+		}
+		if (filter instanceof CsvNamedValueNotExpression) {
+			return new CsvValueNotExpression(bind(((CsvNamedValueNotExpression) filter).getFilter(), header));
+		}
+		if (filter instanceof ColumnPositionExpression) {
+			return (ColumnPositionExpression) filter;
+		}
+		if (filter instanceof ColumnNameExpression) {
+			final String name = ((ColumnNameExpression) filter).name;
+			final int position = header.indexOf(name);
+			if (position == -1) {
+				return new InvalidColumnNameFilter(name);
+			}
+			final CsvValueFilter result = bind((ColumnNameExpression) filter, position);
+			if (result != null) {
+				return result;
+			}
+		}
+		return new HeaderBoundFilter(filter, header);
+	}
+
+	private static CsvValueFilter[] bindAll(final CsvNamedValueLogicalExpression expr, final List<String> header) {
+		final List<CsvValueFilter> results = new ArrayList<CsvValueFilter>(expr.filters.size());
+		for (final CsvNamedValueFilter filter : expr.filters) {
+			results.add(bind(filter, header));
+		}
+		return results.toArray(new CsvValueFilter[results.size()]);
+	}
+
+	private static CsvValueFilter bind(final ColumnNameExpression expr, final int position) {
+		if (expr instanceof ColumnNameNullExpression) {
+			return new ColumnPositionNullExpression(position);
+		} else if (expr instanceof ColumnNameNotNullExpression) {
+			return new ColumnPositionNotNullExpression(position);
+		} else if (expr instanceof ColumnNameEmptyExpression) {
+			return new ColumnPositionEmptyExpression(position);
+		} else if (expr instanceof ColumnNameNotEmptyExpression) {
+			return new ColumnPositionNotEmptyExpression(position);
+		} else if (expr instanceof ColumnNameRegexExpression) {
+			return new ColumnPositionRegexExpression(position, ((ColumnNameRegexExpression) expr).getPattern());
+		} else if (expr instanceof ColumnNameBetweenExpression) {
+			final ColumnNameBetweenExpression between = (ColumnNameBetweenExpression) expr;
+			return new ColumnPositionBetweenExpression(position, between.getLow(), between.getHigh());
+		} else if (expr instanceof ColumnNameCriteriaExpression) {
+			final ColumnNameCriteriaExpression c = (ColumnNameCriteriaExpression) expr;
+			if (expr instanceof ColumnNameEqualExpression) {
+				return new ColumnPositionEqualExpression(position, c.criteria, c.ignoreCase);
+			} else if (expr instanceof ColumnNameNotEqualExpression) {
+				return new ColumnPositionNotEqualExpression(position, c.criteria, c.ignoreCase);
+			} else if (expr instanceof ColumnNameGreaterThanExpression) {
+				return new ColumnPositionGreaterThanExpression(position, c.criteria);
+			} else if (expr instanceof ColumnNameGreaterThanOrEqualExpression) {
+				return new ColumnPositionGreaterThanOrEqualExpression(position, c.criteria);
+			} else if (expr instanceof ColumnNameLessThanExpression) {
+				return new ColumnPositionLessThanExpression(position, c.criteria);
+			} else if (expr instanceof ColumnNameLessThanOrEqualExpression) {
+				return new ColumnPositionLessThanOrEqualExpression(position, c.criteria);
+			}
+		} else if (expr instanceof ColumnNameCriteriasExpression) {
+			final ColumnNameCriteriasExpression c = (ColumnNameCriteriasExpression) expr;
+			if (expr instanceof ColumnNameInExpression) {
+				return new ColumnPositionInExpression(position, c.criterias, c.ignoreCase);
+			} else if (expr instanceof ColumnNameNotInExpression) {
+				return new ColumnPositionNotInExpression(position, c.criterias, c.ignoreCase);
+			}
+		}
+		return null;
+	}
+
+	private static int lastPosition(final CsvValueFilter filter) {
+		if (filter.getClass().getPackage() != CompiledCsvNamedValueFilter.class.getPackage()) {
+			return -1;
+		}
+		if (filter instanceof ColumnPositionExpression) {
+			return ((ColumnPositionExpression) filter).position;
+		}
+		if (filter instanceof CsvValueNotExpression) {
+			return lastPosition(((CsvValueNotExpression) filter).getFilter());
+		}
+		if (filter instanceof CsvValueLogicalExpression) {
+			final CsvValueLogicalExpression expr = (CsvValueLogicalExpression) filter;
+			if (expr.filters.isEmpty()) {
+				return -1;
+			}
+			int result = -1;
+			for (final CsvValueFilter child : expr.filters) {
+				final int position = child == null ? -1 : lastPosition(child);
+				if (position == -1) {
+					return -1;
+				}
+				result = Math.max(result, position);
+			}
+			return result;
+		}
+		return -1;
+	}
+
+	/**
+	 * 束縛した項目名リストを使用して判定する区切り文字形式データフィルタです。
+	 */
+	private static final class HeaderBoundFilter implements CsvValueFilter {
+
+		private final CsvNamedValueFilter filter;
+		private final List<String> header;
+
+		HeaderBoundFilter(final CsvNamedValueFilter filter, final List<String> header) {
+			this.filter = filter;
+			this.header = header;
+		}
+
+		@Override
+		public boolean accept(final List<String> values) {
+			return filter.accept(header, values);
+		}
+
+	}
+
+	/**
+	 * 項目名リストに存在しない項目名の判定時に例外をスローする区切り文字形式データフィルタです。
+	 */
+	private static final class InvalidColumnNameFilter implements CsvValueFilter {
+
+		private final String name;
+
+		InvalidColumnNameFilter(final String name) {
+			this.name = name;
+		}
+
+		@Override
+		public boolean accept(final List<String> values) {
+			throw new IllegalArgumentException(String.format("Invalid column name %s", name));
+		}
+
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.filters;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 判定基準値群をハッシュ集合として保持し、値が判定基準値群のいずれかと等しいかどうかを判定します。<p>
+ * 大文字と小文字を区別しない場合は {@link String#equalsIgnoreCase(String)} と同じ規則で正規化した値を保持します。
+ * 判定基準値群に {@code null} が含まれる場合は {@link CsvExpressionUtils#in(List, int, String[], boolean)} と同じ結果とするため、判定基準値を順に比較します。
+ * このクラスは不変でありスレッドセーフです。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+final class CriteriaSet {
+
+	/**
+	 * 判定基準値群を保持します。
+	 */
+	private final String[] criterias;
+
+	/**
+	 * 大文字と小文字を区別するかどうかを保持します。
+	 */
+	private final boolean ignoreCase;
+
+	/**
+	 * 判定基準値群の集合を保持します。判定基準値を順に比較する場合は {@code null} です。
+	 */
+	private final Set<String> set;
+
+	/**
+	 * コンストラクタです。
+	 *
+	 * @param criterias 判定基準値群
+	 * @param ignoreCase 大文字と小文字を区別するかどうか
+	 */
+	CriteriaSet(final String[] criterias, final boolean ignoreCase) {
+		this.criterias = criterias;
+		this.ignoreCase = ignoreCase;
+		Set<String> s = null;
+		if (criterias != null && criterias.length > 0) {
+			s = new HashSet<String>();
+			for (final String criteria : criterias) {
+				if (criteria == null) {
+					s = null;
+					break;
+				}
+				s.add(ignoreCase ? fold(criteria) : criteria);
+			}
+		}
+		this.set = s;
+	}
+
+	/**
+	 * 指定された位置の値が判定基準値群のいずれかと等しいかどうかを返します。
+	 *
+	 * @param values 値リスト
+	 * @param position 項目位置
+	 * @return 判定基準値群のいずれかと等しい場合は {@code true}
+	 */
+	boolean in(final List<String> values, final int position) {
+		if (set == null) {
+			return CsvExpressionUtils.in(values, position, criterias, ignoreCase);
+		}
+		CsvExpressionUtils.validate(values, position);
+		final String value = values.get(position);
+		return value != null && set.contains(ignoreCase ? fold(value) : value);
+	}
+
+	private static String fold(final String s) {
+		final int len = s.length();
+		char[] chars = null;
+		for (int i = 0; i < len; i++) {
+			final char c = s.charAt(i);
+			final char f = Character.toLowerCase(Character.toUpperCase(c));
+			if (f != c && chars == null) {
+				chars = s.toCharArray();
+			}
+			if (chars != null) {
+				chars[i] = f;
+			}
+		}
+		return chars == null ? s : new String(chars);
+	}
+
+}
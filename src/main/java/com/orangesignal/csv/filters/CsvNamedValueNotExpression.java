@@ -56,4 +56,14 @@ public class CsvNamedValueNotExpression implements CsvNamedValueFilter {
 		return period > 0 ? name.substring(period + 1) : name;
 	}
 
+	/**
+	 * 論理否定する区切り文字形式データフィルタを返します。
+	 * 
+	 * @return 論理否定する区切り文字形式データフィルタ
+	 * @since 2.2.2
+	 */
+	CsvNamedValueFilter getFilter() {
+		return filter;
+	}
+
 }
@@ -459,4 +459,14 @@ public class SimpleBeanFilter implements BeanFilter {
 		return period > 0 ? name.substring(period + 1) : name;
 	}
 
+	/**
+	 * 論理演算する Java プログラム要素フィルタを返します。
+	 * 
+	 * @return 論理演算する Java プログラム要素フィルタ
+	 * @since 2.2.2
+	 */
+	BeanLogicalExpression getExpression() {
+		return expr;
+	}
+
 }
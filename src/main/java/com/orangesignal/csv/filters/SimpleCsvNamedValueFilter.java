@@ -630,4 +630,14 @@ public class SimpleCsvNamedValueFilter implements CsvNamedValueFilter {
 		return period > 0 ? name.substring(period + 1) : name;
 	}
 
+	/**
+	 * 論理演算する区切り文字形式データフィルタを返します。
+	 * 
+	 * @return 論理演算する区切り文字形式データフィルタ
+	 * @since 2.2.2
+	 */
+	CsvNamedValueLogicalExpression getExpression() {
+		return expr;
+	}
+
 }
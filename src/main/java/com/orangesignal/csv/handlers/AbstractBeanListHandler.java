@@ -17,6 +17,7 @@
 package com.orangesignal.csv.handlers;
 
 import java.text.Format;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -67,15 +68,39 @@ public abstract class AbstractBeanListHandler<T, O extends AbstractCsvBeanTempla
 
 	/**
 	 * この実装は <code>orders</code> が指定されている場合、並び替えを行ってから {@link AbstractCsvListHandler#processScalar(List)} を呼出します。
+	 * 指定されたリストが {@link #createResultList(boolean)} で作成された件数を制限するリストの場合は、保持している Java プログラム要素のみを並び替えます。
 	 */
 	@Override
 	public List<T> processScalar(final List<T> beans) {
+		if (beans instanceof BeanOrderHeap) {
+			return super.processScalar(((BeanOrderHeap<T>) beans).toSortedList());
+		}
 		if (orders != null) {
 			BeanOrderComparator.sort(beans, orders);
 		}
 		return super.processScalar(beans);
 	}
 
+	/**
+	 * 読込んだ Java プログラム要素を保持するリストを作成して返します。<p>
+	 * スカラー化を行う場合で、並び替え条件と取得データの限度数が指定されている場合は、
+	 * 並び替え後に取得データの開始位置と限度数の範囲に含まれる可能性のある Java プログラム要素のみを保持するリストを返します。
+	 * この場合、使用するメモリは読込んだ件数ではなく、開始位置と限度数の和に比例します。
+	 * 
+	 * @param ignoreScalar スカラー化を無視するかどうか
+	 * @return Java プログラム要素を保持するリスト
+	 * @since 2.2.2
+	 */
+	protected List<T> createResultList(final boolean ignoreScalar) {
+		if (!ignoreScalar && limit > 0 && orders != null && !orders.isEmpty()) {
+			final long capacity = (long) Math.max(offset, 0) + limit;
+			if (capacity <= Integer.MAX_VALUE) {
+				return new BeanOrderHeap<T>(orders, (int) capacity);
+			}
+		}
+		return new ArrayList<T>();
+	}
+
 	// ------------------------------------------------------------------------
 
 	/**
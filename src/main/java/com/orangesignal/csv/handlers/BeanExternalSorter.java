@@ -0,0 +1,421 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.handlers;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.orangesignal.csv.CsvConfig;
+import com.orangesignal.csv.CsvReader;
+import com.orangesignal.csv.CsvWriter;
+
+/**
+ * 並び替え条件に従って、メモリに保持できない件数の Java プログラム要素を並び替える外部ソートを提供します。<p>
+ * 追加された区切り文字形式データの値リストは、指定された件数に達する毎に並び替えて一時ファイルへ書出され (ラン)、
+ * すべての値リストを追加した後に {@link #next()} で k-way マージしながら先頭から順に Java プログラム要素を返します。
+ * メモリに保持する Java プログラム要素は、並び替え中は指定された件数まで、マージ中はランの数までに制限されます。
+ * 一度にマージするランの数は最大 {@value #MAX_MERGE_WIDTH} で、これを超える場合は中間のマージを行います。<p>
+ * 一時ファイルには値リストを区切り文字形式で書出し、マージの際に Java プログラム要素へ再変換します。
+ * 並び替え条件で等しい Java プログラム要素は追加された順に返されるため、
+ * 結果は {@link BeanOrderComparator#sort(List, List)} で並び替えた結果と一致します。<p>
+ * 区切り文字形式データリストのデータアクセスハンドラは結果をリストで返すため、このクラスを使用しません。
+ * 並び替えた結果をメモリに保持せずに処理する場合は、{@link com.orangesignal.csv.io.CsvBeanReader#readValues()} などで読込んだ値リストを追加し、
+ * {@link #next()} が返す Java プログラム要素を順に書出してください。<p>
+ * 使用後は必ず {@link #close()} を呼出して一時ファイルを削除してください。
+ * このクラスはスレッドセーフではありません。
+ *
+ * @param <T> Java プログラム要素の型
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+public final class BeanExternalSorter<T> implements Closeable {
+
+	/**
+	 * 一度にマージするランの最大数です。
+	 */
+	public static final int MAX_MERGE_WIDTH = 64;
+
+	/**
+	 * 一時ファイルの区切り文字形式情報です。
+	 * すべての値を囲み文字で囲み、囲まれていない NULL 文字列のみを {@code null} とすることで、値リストを変更せずに読み戻します。
+	 * 最終行の改行の後を空の行として読込まないように、空の行は無視します。
+	 */
+	private static final CsvConfig RUN_CONFIG = new CsvConfig(',', '"', '"', false, false)
+			.withNullString("NULL")
+			.withIgnoreEmptyLines(true)
+			.withLineSeparator("\n")
+			.withLockDisabled(true);
+
+	/**
+	 * 一時ファイルの文字エンコーディングです。
+	 */
+	private static final String RUN_ENCODING = "UTF-8";
+
+	/**
+	 * 区切り文字形式データの値リストを Java プログラム要素へ変換するインタフェースです。
+	 *
+	 * @param <T> Java プログラム要素の型
+	 * @since 2.2.2
+	 */
+	public interface BeanConverter<T> {
+
+		/**
+		 * 指定された区切り文字形式データの値リストを Java プログラム要素へ変換して返します。
+		 *
+		 * @param values 区切り文字形式データの値リスト
+		 * @return Java プログラム要素
+		 * @throws IOException 変換できない場合
+		 */
+		T toBean(List<String> values) throws IOException;
+
+	}
+
+	/**
+	 * 並び替え条件で比較するコンパレータを保持します。
+	 */
+	private final BeanOrderComparator comparator;
+
+	/**
+	 * メモリに保持する Java プログラム要素の上限数を保持します。
+	 */
+	private final int bufferSize;
+
+	/**
+	 * 一時ファイルを作成するディレクトリを保持します。
+	 */
+	private final File directory;
+
+	/**
+	 * 値リストを Java プログラム要素へ変換するオブジェクトを保持します。
+	 */
+	private final BeanConverter<T> converter;
+
+	/**
+	 * 一時ファイルへ書出していない行を保持します。
+	 */
+	private final List<Row<T>> buffer = new ArrayList<Row<T>>();
+
+	/**
+	 * 書出したランの一時ファイルを追加された順に保持します。
+	 */
+	private final List<File> runs = new ArrayList<File>();
+
+	/**
+	 * マージ中のランを保持します。
+	 */
+	private PriorityQueue<Run> queue;
+
+	/**
+	 * 一時ファイルへ書出さずに返している行の位置を保持します。
+	 */
+	private int position = -1;
+
+	/**
+	 * {@link #next()} が呼出されたかどうかを保持します。
+	 */
+	private boolean started;
+
+	// ------------------------------------------------------------------------
+	// コンストラクタ
+
+	/**
+	 * コンストラクタです。
+	 *
+	 * @param orders 並び替え条件
+	 * @param bufferSize メモリに保持する Java プログラム要素の上限数
+	 * @param directory 一時ファイルを作成するディレクトリ。または、システムの一時ディレクトリを使用する場合は {@code null}
+	 * @param converter 値リストを Java プログラム要素へ変換するオブジェクト
+	 * @throws IllegalArgumentException {@code orders} または {@code converter} が {@code null} の場合。または {@code bufferSize} が {@code 1} 未満の場合
+	 */
+	public BeanExternalSorter(final List<BeanOrder> orders, final int bufferSize, final File directory, final BeanConverter<T> converter) {
+		if (bufferSize < 1) {
+			throw new IllegalArgumentException(String.format("Invalid buffer size %d", bufferSize));
+		}
+		if (converter == null) {
+			throw new IllegalArgumentException("BeanConverter must not be null");
+		}
+		this.comparator = new BeanOrderComparator(orders);
+		this.bufferSize = bufferSize;
+		this.directory = directory;
+		this.converter = converter;
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * 区切り文字形式データの値リストを追加します。
+	 *
+	 * @param values 区切り文字形式データの値リスト
+	 * @throws IOException 値リストを変換できない場合。または、入出力エラーが発生した場合
+	 * @throws IllegalStateException {@link #next()} が既に呼出されている場合
+	 */
+	public void add(final List<String> values) throws IOException {
+		add(values, converter.toBean(values));
+	}
+
+	/**
+	 * 区切り文字形式データの値リストと、値リストから変換済みの Java プログラム要素を追加します。
+	 *
+	 * @param values 区切り文字形式データの値リスト
+	 * @param bean 値リストから変換した Java プログラム要素
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @throws IllegalArgumentException {@code values} または {@code bean} が {@code null} の場合
+	 * @throws IllegalStateException {@link #next()} が既に呼出されている場合
+	 */
+	public void add(final List<String> values, final T bean) throws IOException {
+		if (values == null) {
+			throw new IllegalArgumentException("Values must not be null");
+		}
+		if (bean == null) {
+			throw new IllegalArgumentException("bean must not be null");
+		}
+		if (started) {
+			throw new IllegalStateException("Sorter already started");
+		}
+		buffer.add(new Row<T>(values, bean));
+		if (buffer.size() >= bufferSize) {
+			spill();
+		}
+	}
+
+	/**
+	 * 並び替え条件に従って次の Java プログラム要素を返します。<p>
+	 * 最初の呼出しで並び替えを確定します。以降に値リストを追加することはできません。
+	 *
+	 * @return 次の Java プログラム要素。すべての Java プログラム要素を返した場合は {@code null}
+	 * @throws IOException 値リストを変換できない場合。または、入出力エラーが発生した場合
+	 */
+	public T next() throws IOException {
+		if (!started) {
+			started = true;
+			if (runs.isEmpty()) {
+				// すべての行がメモリに収まる場合は一時ファイルを使用しません。
+				sort(buffer);
+				position = 0;
+			} else {
+				if (!buffer.isEmpty()) {
+					spill();
+				}
+				while (runs.size() > MAX_MERGE_WIDTH) {
+					mergeRuns();
+				}
+				queue = open(runs);
+			}
+		}
+		if (queue == null) {
+			if (position >= buffer.size()) {
+				return null;
+			}
+			final Row<T> row = buffer.set(position++, null);
+			return row.bean;
+		}
+		final Run run = queue.poll();
+		if (run == null) {
+			return null;
+		}
+		final T bean = run.bean;
+		if (run.advance()) {
+			queue.add(run);
+		}
+		return bean;
+	}
+
+	/**
+	 * 一時ファイルへ書出したランの数を返します。
+	 *
+	 * @return ランの数
+	 */
+	public int getRunCount() { return runs.size(); }
+
+	/**
+	 * マージ中のランを閉じて、すべての一時ファイルを削除します。
+	 *
+	 * @throws IOException 入出力エラーが発生した場合
+	 */
+	@Override
+	public void close() throws IOException {
+		buffer.clear();
+		if (queue != null) {
+			for (final Run run : queue) {
+				run.close();
+			}
+			queue = null;
+		}
+		for (final File file : runs) {
+			file.delete();
+		}
+		runs.clear();
+	}
+
+	// ------------------------------------------------------------------------
+
+	private void sort(final List<Row<T>> rows) {
+		Collections.sort(rows, new Comparator<Row<T>>() {
+			@Override
+			public int compare(final Row<T> o1, final Row<T> o2) {
+				return comparator.compare(o1.bean, o2.bean);
+			}
+		});
+	}
+
+	private void spill() throws IOException {
+		sort(buffer);
+		final File file = createRunFile();
+		runs.add(file);
+		final CsvWriter writer = new CsvWriter(new OutputStreamWriter(new FileOutputStream(file), RUN_ENCODING), RUN_CONFIG);
+		try {
+			for (final Row<T> row : buffer) {
+				writer.writeValues(row.values);
+			}
+		} finally {
+			writer.close();
+		}
+		buffer.clear();
+	}
+
+	private void mergeRuns() throws IOException {
+		// 隣接するランをマージすることで、等しい Java プログラム要素の追加された順序を保ちます。
+		final List<File> merged = new ArrayList<File>();
+		int i = 0;
+		try {
+			for (; i < runs.size(); i += MAX_MERGE_WIDTH) {
+				final List<File> group = runs.subList(i, Math.min(i + MAX_MERGE_WIDTH, runs.size()));
+				if (group.size() == 1) {
+					merged.add(group.get(0));
+					continue;
+				}
+				final File file = createRunFile();
+				merged.add(file);
+				final PriorityQueue<Run> q = open(group);
+				final CsvWriter writer = new CsvWriter(new OutputStreamWriter(new FileOutputStream(file), RUN_ENCODING), RUN_CONFIG);
+				try {
+					Run run;
+					while ((run = q.poll()) != null) {
+						writer.writeValues(run.values);
+						if (run.advance()) {
+							q.add(run);
+						}
+					}
+				} finally {
+					writer.close();
+					for (final Run run : q) {
+						run.close();
+					}
+				}
+				for (final File f : group) {
+					f.delete();
+				}
+			}
+		} finally {
+			// マージしていないランを含めて、後始末の対象となる一時ファイルを置換えます。
+			if (i < runs.size()) {
+				merged.addAll(runs.subList(i, runs.size()));
+			}
+			runs.clear();
+			runs.addAll(merged);
+		}
+	}
+
+	private PriorityQueue<Run> open(final List<File> files) throws IOException {
+		final PriorityQueue<Run> q = new PriorityQueue<Run>(files.size());
+		try {
+			for (int i = 0; i < files.size(); i++) {
+				final Run run = new Run(i, files.get(i));
+				if (run.advance()) {
+					q.add(run);
+				}
+			}
+		} catch (final IOException e) {
+			for (final Run run : q) {
+				run.close();
+			}
+			throw e;
+		}
+		return q;
+	}
+
+	private File createRunFile() throws IOException {
+		return File.createTempFile("orangesignal-csv-", ".csv", directory);
+	}
+
+	/**
+	 * 区切り文字形式データの値リストと Java プログラム要素の組です。
+	 */
+	private static final class Row<T> {
+
+		final List<String> values;
+		final T bean;
+
+		Row(final List<String> values, final T bean) {
+			this.values = values;
+			this.bean = bean;
+		}
+
+	}
+
+	/**
+	 * マージ中のランです。並び替え条件で等しい場合は、先に書出されたランを前に位置するものとして扱います。
+	 */
+	private final class Run implements Comparable<Run> {
+
+		private final int index;
+		private final CsvReader reader;
+		List<String> values;
+		T bean;
+
+		Run(final int index, final File file) throws IOException {
+			this.index = index;
+			this.reader = new CsvReader(new InputStreamReader(new FileInputStream(file), RUN_ENCODING), RUN_CONFIG);
+		}
+
+		boolean advance() throws IOException {
+			values = reader.readValues();
+			if (values == null) {
+				bean = null;
+				close();
+				return false;
+			}
+			bean = converter.toBean(values);
+			return true;
+		}
+
+		void close() throws IOException {
+			reader.close();
+		}
+
+		@Override
+		public int compareTo(final Run o) {
+			final int c = comparator.compare(bean, o.bean);
+			if (c != 0) {
+				return c;
+			}
+			return index < o.index ? -1 : index == o.index ? 0 : 1;
+		}
+
+	}
+
+}
@@ -18,13 +18,13 @@ package com.orangesignal.csv.handlers;
 
 import java.io.IOException;
 import java.text.Format;
-import java.util.ArrayList;
 import java.util.List;
 
 import com.orangesignal.csv.CsvReader;
 import com.orangesignal.csv.CsvWriter;
 import com.orangesignal.csv.bean.CsvBeanOperation;
 import com.orangesignal.csv.bean.CsvBeanTemplate;
+import com.orangesignal.csv.filters.CompiledBeanFilter;
 import com.orangesignal.csv.filters.CsvNamedValueFilter;
 import com.orangesignal.csv.io.CsvBeanReader;
 import com.orangesignal.csv.io.CsvBeanWriter;
@@ -107,18 +107,34 @@ public class BeanListHandler<T> extends AbstractBeanListHandler<T, CsvBeanTempla
 	public List<T> load(final CsvReader reader, final boolean ignoreScalar) throws IOException {
 		@SuppressWarnings("resource")
 		final CsvBeanReader<T> r = new CsvBeanReader<T>(reader, template);
+		// Java プログラム要素へ変換しない項目は読込みません。
+		r.setProjection(true);
 
 		// データ部を処理します。
-		final List<T> results = new ArrayList<T>();
+		final List<T> results = createResultList(ignoreScalar);
 		final boolean order = ignoreScalar || orders != null && !orders.isEmpty();
 		int offset = 0;
 
+		// Java プログラム要素フィルタを値リストで判定できる場合は、Java プログラム要素を生成する前に判定します。
+		final CompiledBeanFilter valueFilter = beanFilter == null ? null : r.compileFilter(beanFilter);
+
 		List<String> values;
 		while ((values = r.readValues()) != null && (order || limit <= 0 || results.size() < limit)) {
 			if (beanFilter == null && !order && offset < this.offset) {
 				offset++;
 				continue;
 			}
+			if (valueFilter != null) {
+				if (!valueFilter.accept(values)) {
+					continue;
+				}
+				if (!order && offset < this.offset) {
+					offset++;
+					continue;
+				}
+				results.add(r.toBean(values));
+				continue;
+			}
 			final T bean = r.toBean(values);
 			if (beanFilter != null) {
 				if (!beanFilter.accept(bean)) {
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.handlers;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 並び替え条件に従って先頭から指定された件数の Java プログラム要素のみを保持するリストです。<p>
+ * 追加された Java プログラム要素は、並び替え条件で最も後ろに位置する要素を根とする二分ヒープで保持されます。
+ * 保持件数を超えて追加された場合、ヒープの根よりも前に位置する要素のみが根と入れ替えられるため、
+ * 使用するメモリは保持件数に比例し、追加に要する時間は保持件数の対数に比例します。<p>
+ * 並び替え条件で等しい要素は追加された順に前に位置するものとして扱われるため、
+ * {@link #toSortedList()} の結果は、すべての要素を {@link BeanOrderComparator#sort(List, List)} で並び替えた結果の先頭部分と一致します。<p>
+ * このリストの要素の順序は {@link #toSortedList()} を呼出すまで不定です。
+ *
+ * @param <T> Java プログラム要素の型
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+final class BeanOrderHeap<T> extends AbstractList<T> {
+
+	/**
+	 * 並び替え条件で比較するコンパレータを保持します。
+	 */
+	private final Comparator<Entry<T>> comparator;
+
+	/**
+	 * 保持する Java プログラム要素の上限数を保持します。
+	 */
+	private final int capacity;
+
+	/**
+	 * ヒープを保持します。
+	 */
+	private final List<Entry<T>> heap = new ArrayList<Entry<T>>();
+
+	/**
+	 * 次に追加される要素の順序番号を保持します。
+	 */
+	private long sequence;
+
+	/**
+	 * コンストラクタです。
+	 *
+	 * @param orders 並び替え条件
+	 * @param capacity 保持する Java プログラム要素の上限数
+	 * @throws IllegalArgumentException {@code orders} が {@code null} の場合。または {@code capacity} が {@code 1} 未満の場合
+	 */
+	BeanOrderHeap(final List<BeanOrder> orders, final int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException(String.format("Invalid capacity %d", capacity));
+		}
+		final BeanOrderComparator c = new BeanOrderComparator(orders);
+		this.comparator = new Comparator<Entry<T>>() {
+			@Override
+			public int compare(final Entry<T> o1, final Entry<T> o2) {
+				final int i = c.compare(o1.bean, o2.bean);
+				if (i != 0) {
+					return i;
+				}
+				return o1.sequence < o2.sequence ? -1 : o1.sequence == o2.sequence ? 0 : 1;
+			}
+		};
+		this.capacity = capacity;
+	}
+
+	// ------------------------------------------------------------------------
+
+	@Override
+	public boolean add(final T bean) {
+		if (bean == null) {
+			throw new IllegalArgumentException("bean must not be null");
+		}
+		final Entry<T> entry = new Entry<T>(bean, sequence++);
+		if (heap.size() < capacity) {
+			heap.add(entry);
+			siftUp(heap.size() - 1);
+			return true;
+		}
+		// 後から追加された要素は等しい要素よりも後ろに位置するため、根よりも前に位置する場合のみ入れ替えます。
+		if (comparator.compare(entry, heap.get(0)) >= 0) {
+			return false;
+		}
+		heap.set(0, entry);
+		siftDown(0);
+		return true;
+	}
+
+	@Override
+	public T get(final int index) {
+		return heap.get(index).bean;
+	}
+
+	@Override
+	public int size() {
+		return heap.size();
+	}
+
+	/**
+	 * 保持している Java プログラム要素を並び替え条件に従って並び替えた新しいリストを返します。
+	 *
+	 * @return 並び替えた Java プログラム要素のリスト
+	 */
+	public List<T> toSortedList() {
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		final Entry<T>[] entries = heap.toArray(new Entry[heap.size()]);
+		Arrays.sort(entries, comparator);
+		final List<T> results = new ArrayList<T>(entries.length);
+		for (final Entry<T> entry : entries) {
+			results.add(entry.bean);
+		}
+		return results;
+	}
+
+	// ------------------------------------------------------------------------
+
+	private void siftUp(int index) {
+		final Entry<T> entry = heap.get(index);
+		while (index > 0) {
+			final int parent = (index - 1) >>> 1;
+			final Entry<T> p = heap.get(parent);
+			if (comparator.compare(entry, p) <= 0) {
+				break;
+			}
+			heap.set(index, p);
+			index = parent;
+		}
+		heap.set(index, entry);
+	}
+
+	private void siftDown(int index) {
+		final int size = heap.size();
+		final Entry<T> entry = heap.get(index);
+		final int half = size >>> 1;
+		while (index < half) {
+			int child = (index << 1) + 1;
+			final int right = child + 1;
+			if (right < size && comparator.compare(heap.get(right), heap.get(child)) > 0) {
+				child = right;
+			}
+			final Entry<T> c = heap.get(child);
+			if (comparator.compare(entry, c) >= 0) {
+				break;
+			}
+			heap.set(index, c);
+			index = child;
+		}
+		heap.set(index, entry);
+	}
+
+	/**
+	 * Java プログラム要素と追加された順序番号の組です。
+	 */
+	private static final class Entry<T> {
+
+		final T bean;
+		final long sequence;
+
+		Entry(final T bean, final long sequence) {
+			this.bean = bean;
+			this.sequence = sequence;
+		}
+
+	}
+
+}
@@ -18,7 +18,6 @@ package com.orangesignal.csv.handlers;
 
 import java.io.IOException;
 import java.text.Format;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -159,9 +158,11 @@ public class ColumnPositionMappingBeanListHandler<T> extends AbstractBeanListHan
 	public List<T> load(final CsvReader reader, final boolean ignoreScalar) throws IOException {
 		@SuppressWarnings("resource")
 		final CsvColumnPositionMappingBeanReader<T> r = new CsvColumnPositionMappingBeanReader<T>(reader, template);
+		// Java プログラム要素へ変換しない項目は読込みません。
+		r.setProjection(true);
 
 		// データ部を処理します。
-		final List<T> results = new ArrayList<T>();
+		final List<T> results = createResultList(ignoreScalar);
 		final boolean order = ignoreScalar || orders != null && !orders.isEmpty();
 		int offset = 0;
 
@@ -17,7 +17,6 @@
 package com.orangesignal.csv.handlers;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 import com.orangesignal.csv.CsvReader;
@@ -89,9 +88,11 @@ public class CsvEntityListHandler<T> extends AbstractBeanListHandler<T, CsvEntit
 	public List<T> load(final CsvReader reader, final boolean ignoreScalar) throws IOException {
 		@SuppressWarnings("resource")
 		final CsvEntityReader<T> r = new CsvEntityReader<T>(reader, template);
+		// Java プログラム要素へ変換しない項目は読込みません。
+		r.setProjection(true);
 
 		// すべてのデータを読取って繰返し処理します。
-		final List<T> results = new ArrayList<T>();
+		final List<T> results = createResultList(ignoreScalar);
 		final boolean order = ignoreScalar || orders != null && !orders.isEmpty();
 		int offset = 0;
 
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.io;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 全ての論理行で項目名の表を共有し、論理行毎には項目値の配列のみを保持する項目名と項目値のマップです。<p>
+ * 項目名の順序と重複する項目名の扱い (最初の項目の位置に最後の項目の値を保持) は、
+ * 項目名を順に {@link LinkedHashMap} へ追加した場合と同じです。
+ * 既存の項目名の値の変更は項目値の配列へ直接反映されます。
+ * 項目名の追加や削除を行うと、以降は {@link LinkedHashMap} へ複製した内容に対して操作を行います。
+ * このクラスはスレッドセーフではありません。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+final class ColumnNameMap extends AbstractMap<String, String> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * 共有する項目名の表を保持します。
+	 */
+	private final transient Header header;
+
+	/**
+	 * 項目名毎の項目値を保持します。
+	 */
+	private final transient String[] values;
+
+	/**
+	 * 項目名の追加や削除が行われた後の内容を保持します。項目名の追加や削除が行われていない場合は {@code null} です。
+	 */
+	private transient Map<String, String> delegate;
+
+	/**
+	 * 項目名の表を共有する項目値の配列から、このクラスを構築するコンストラクタです。
+	 *
+	 * @param header 項目名の表
+	 * @param values 項目名毎の項目値
+	 */
+	private ColumnNameMap(final Header header, final String[] values) {
+		this.header = header;
+		this.values = values;
+	}
+
+	@Override
+	public int size() {
+		return delegate != null ? delegate.size() : values.length;
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return delegate != null ? delegate.containsKey(key) : header.index.containsKey(key);
+	}
+
+	@Override
+	public String get(final Object key) {
+		if (delegate != null) {
+			return delegate.get(key);
+		}
+		final Integer i = header.index.get(key);
+		return i == null ? null : values[i.intValue()];
+	}
+
+	@Override
+	public String put(final String key, final String value) {
+		if (delegate == null) {
+			final Integer i = header.index.get(key);
+			if (i != null) {
+				final String old = values[i.intValue()];
+				values[i.intValue()] = value;
+				return old;
+			}
+		}
+		return inflate().put(key, value);
+	}
+
+	@Override
+	public String remove(final Object key) {
+		if (delegate == null && !header.index.containsKey(key)) {
+			return null;
+		}
+		return inflate().remove(key);
+	}
+
+	@Override
+	public void clear() {
+		inflate().clear();
+	}
+
+	@Override
+	public Set<Map.Entry<String, String>> entrySet() {
+		return new AbstractSet<Map.Entry<String, String>>() {
+			@Override
+			public Iterator<Map.Entry<String, String>> iterator() {
+				if (delegate != null) {
+					return delegate.entrySet().iterator();
+				}
+				return new EntryIterator();
+			}
+			@Override
+			public int size() {
+				return ColumnNameMap.this.size();
+			}
+		};
+	}
+
+	private Map<String, String> inflate() {
+		if (delegate == null) {
+			final Map<String, String> map = new LinkedHashMap<String, String>(Math.max(16, values.length * 4 / 3 + 1));
+			for (int i = 0; i < values.length; i++) {
+				map.put(header.keys[i], values[i]);
+			}
+			delegate = map;
+		}
+		return delegate;
+	}
+
+	/**
+	 * 直列化する際は {@link LinkedHashMap} へ置換えます。
+	 *
+	 * @return {@link LinkedHashMap}
+	 */
+	private Object writeReplace() {
+		return new LinkedHashMap<String, String>(this);
+	}
+
+	/**
+	 * 項目名の表を走査する反復子です。
+	 */
+	private final class EntryIterator implements Iterator<Map.Entry<String, String>> {
+
+		private int next;
+		private int last = -1;
+
+		@Override
+		public boolean hasNext() {
+			skipRemoved();
+			return next < header.keys.length;
+		}
+
+		@Override
+		public Map.Entry<String, String> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			last = next++;
+			return new Entry(header.keys[last]);
+		}
+
+		@Override
+		public void remove() {
+			if (last < 0) {
+				throw new IllegalStateException();
+			}
+			inflate().remove(header.keys[last]);
+			last = -1;
+		}
+
+		private void skipRemoved() {
+			// 反復子による削除の後は、削除済みの項目名を読飛ばします。
+			while (delegate != null && next < header.keys.length && !delegate.containsKey(header.keys[next])) {
+				next++;
+			}
+		}
+
+	}
+
+	/**
+	 * 値の参照と変更をマップへ委譲するエントリです。
+	 */
+	private final class Entry implements Map.Entry<String, String> {
+
+		private final String key;
+
+		Entry(final String key) {
+			this.key = key;
+		}
+
+		@Override
+		public String getKey() { return key; }
+
+		@Override
+		public String getValue() { return get(key); }
+
+		@Override
+		public String setValue(final String value) { return put(key, value); }
+
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof Map.Entry)) {
+				return false;
+			}
+			final Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+			final String value = getValue();
+			return (key == null ? e.getKey() == null : key.equals(e.getKey()))
+					&& (value == null ? e.getValue() == null : value.equals(e.getValue()));
+		}
+
+		@Override
+		public int hashCode() {
+			final String value = getValue();
+			return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+		}
+
+		@Override
+		public String toString() { return key + "=" + getValue(); }
+
+	}
+
+	/**
+	 * 全ての論理行で共有する項目名の表です。このクラスは不変です。
+	 */
+	static final class Header {
+
+		/**
+		 * 重複を除いた項目名を最初に出現した順に保持します。
+		 */
+		final String[] keys;
+
+		/**
+		 * 項目名と {@link #keys} の位置のマップを保持します。
+		 */
+		final Map<String, Integer> index;
+
+		/**
+		 * 項目の位置毎の {@link #keys} の位置を保持します。
+		 */
+		final int[] slots;
+
+		/**
+		 * 指定された項目名のリストから、このクラスを構築するコンストラクタです。
+		 *
+		 * @param columnNames 項目名のリスト
+		 */
+		Header(final List<String> columnNames) {
+			final int size = columnNames.size();
+			this.index = new HashMap<String, Integer>(Math.max(16, size * 4 / 3 + 1));
+			this.slots = new int[size];
+			final String[] names = new String[size];
+			int count = 0;
+			for (int pos = 0; pos < size; pos++) {
+				final String name = columnNames.get(pos);
+				Integer i = index.get(name);
+				if (i == null) {
+					i = Integer.valueOf(count);
+					index.put(name, i);
+					names[count++] = name;
+				}
+				slots[pos] = i.intValue();
+			}
+			this.keys = new String[count];
+			System.arraycopy(names, 0, keys, 0, count);
+		}
+
+		/**
+		 * 指定された項目値のリストから、項目名の表を共有するマップを返します。
+		 * 項目値の数が項目名の数より少ない場合、残りの項目名の値は {@code null} になります。
+		 *
+		 * @param list 項目値のリスト
+		 * @return 項目名と項目値のマップ
+		 */
+		Map<String, String> newMap(final List<String> list) {
+			final String[] values = new String[keys.length];
+			final int len = Math.min(slots.length, list.size());
+			for (int pos = 0; pos < len; pos++) {
+				values[slots[pos]] = list.get(pos);
+			}
+			return new ColumnNameMap(this, values);
+		}
+
+	}
+
+}
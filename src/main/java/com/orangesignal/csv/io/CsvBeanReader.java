@@ -19,12 +19,22 @@ package com.orangesignal.csv.io;
 import java.io.Closeable;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import com.orangesignal.csv.CsvReader;
+import com.orangesignal.csv.CsvRow;
+import com.orangesignal.csv.bean.BeanInstantiator;
+import com.orangesignal.csv.bean.CsvBeanMappingPlan;
 import com.orangesignal.csv.bean.CsvBeanTemplate;
-import com.orangesignal.csv.bean.FieldUtils;
+import com.orangesignal.csv.bean.FieldAccessor;
+import com.orangesignal.csv.bean.ParseUtils;
+import com.orangesignal.csv.filters.BeanFilter;
+import com.orangesignal.csv.filters.CompiledBeanFilter;
+import com.orangesignal.csv.filters.CompiledCsvNamedValueFilter;
+import com.orangesignal.csv.filters.CsvNamedValueFilter;
 
 /**
  * Java プログラム要素で区切り文字形式データアクセスを行う区切り文字形式入力ストリームを提供します。
@@ -35,11 +45,23 @@ import com.orangesignal.csv.bean.FieldUtils;
  */
 public class CsvBeanReader<T> implements Closeable {
 
+	private static final int KIND_NONE = 0;
+	private static final int KIND_OBJECT = 1;
+	private static final int KIND_INT = 2;
+	private static final int KIND_LONG = 3;
+	private static final int KIND_DOUBLE = 4;
+	private static final int KIND_DECIMAL = 5;
+
 	/**
 	 * 区切り文字形式入力ストリームを保持します。
 	 */
 	private CsvReader reader;
 
+	/**
+	 * 排他制御を無効にするかどうかを保持します。
+	 */
+	private final boolean lockDisabled;
+
 	/**
 	 * Java プログラム要素操作の簡素化ヘルパーを保持します。
 	 */
@@ -50,6 +72,51 @@ public class CsvBeanReader<T> implements Closeable {
 	 */
 	private List<String> columnNames;
 
+	/**
+	 * 区切り文字形式入力ストリームへ設定した区切り文字形式データフィルタを保持します。
+	 */
+	private CompiledCsvNamedValueFilter pushedFilter;
+
+	/**
+	 * Java プログラム要素へ変換しない項目を読込まないようにするかどうかを保持します。
+	 */
+	private boolean projection;
+
+	/**
+	 * 項目名毎のフィールドのマッピング計画を保持します。
+	 */
+	private CsvBeanMappingPlan plan;
+
+	/**
+	 * 項目毎に Java プログラム要素としてデータを設定すべきかどうかを保持します。
+	 */
+	private boolean[] targets;
+
+	/**
+	 * Java プログラム要素のインスタンス生成処理を保持します。
+	 */
+	private BeanInstantiator<T> instantiator;
+
+	/**
+	 * 項目毎に対応するコンストラクタの引数の位置を保持します。引数のないコンストラクタを使用する場合は {@code null} です。
+	 */
+	private int[] parameters;
+
+	/**
+	 * 項目毎の変換方法を保持します。
+	 */
+	private int[] kinds;
+
+	/**
+	 * 項目毎にフィールドの型がプリミティブ型かどうかを保持します。
+	 */
+	private boolean[] primitives;
+
+	/**
+	 * 論理行の読込みに再利用する項目を保持します。
+	 */
+	private CsvRow row;
+
 	// ------------------------------------------------------------------------
 	// 利便性のための静的メソッド
 
@@ -109,6 +176,7 @@ public class CsvBeanReader<T> implements Closeable {
 		}
 		this.reader = reader;
 		this.template = template;
+		this.lockDisabled = reader.isLockDisabled();
 	}
 
 	// ------------------------------------------------------------------------
@@ -126,17 +194,80 @@ public class CsvBeanReader<T> implements Closeable {
 	}
 
 	private void ensureHeader() throws IOException {
-		synchronized (this) {
+		if (columnNames == null) {
+			columnNames = Collections.unmodifiableList(reader.readValues());
 			if (columnNames == null) {
-				columnNames = Collections.unmodifiableList(reader.readValues());
-				if (columnNames == null) {
-					// ヘッダがない場合は例外をスローします。
-					throw new IOException("No header is available");
+				// ヘッダがない場合は例外をスローします。
+				throw new IOException("No header is available");
+			}
+			plan = template.getMappingPlan(columnNames);
+			targets = new boolean[columnNames.size()];
+			for (int pos = 0; pos < targets.length; pos++) {
+				targets[pos] = template.isTargetName(columnNames.get(pos));
+			}
+			instantiator = template.getInstantiator();
+			if (instantiator.getParameterCount() > 0) {
+				parameters = new int[targets.length];
+				for (int pos = 0; pos < targets.length; pos++) {
+					parameters[pos] = instantiator.indexOf(columnNames.get(pos));
 				}
 			}
+			prepareKinds();
+			if (projection && !template.hasFilter()) {
+				reader.setProjection(toProjection());
+			}
 		}
 	}
 
+	/**
+	 * 標準の変換規則で変換される数値型のフィールドを、項目値を文字列へ変換せずに解析する項目として登録します。
+	 */
+	private void prepareKinds() {
+		kinds = new int[targets.length];
+		primitives = new boolean[targets.length];
+		for (int pos = 0; pos < targets.length; pos++) {
+			if (!targets[pos]) {
+				continue;
+			}
+			kinds[pos] = KIND_OBJECT;
+			final Field f;
+			try {
+				f = plan.getField(pos);
+			} catch (final IOException e) {
+				// フィールドが存在しない項目は変換時に例外をスローします。
+				continue;
+			}
+			if (!template.isDefaultConversion(f)) {
+				continue;
+			}
+			final Class<?> type = f.getType();
+			primitives[pos] = type.isPrimitive();
+			if (type == Integer.TYPE || type == Integer.class) {
+				kinds[pos] = KIND_INT;
+			} else if (type == Long.TYPE || type == Long.class) {
+				kinds[pos] = KIND_LONG;
+			} else if (type == Double.TYPE || type == Double.class) {
+				kinds[pos] = KIND_DOUBLE;
+			} else if (type == BigDecimal.class || type == Number.class) {
+				kinds[pos] = KIND_DECIMAL;
+			}
+		}
+	}
+
+	private int[] toProjection() {
+		final List<Integer> positions = new ArrayList<Integer>();
+		for (int pos = 0; pos < targets.length; pos++) {
+			if (targets[pos]) {
+				positions.add(pos);
+			}
+		}
+		final int[] results = new int[positions.size()];
+		for (int i = 0; i < results.length; i++) {
+			results[i] = positions.get(i);
+		}
+		return results;
+	}
+
 	// ------------------------------------------------------------------------
 	// オーバーライド メソッド
 
@@ -147,6 +278,14 @@ public class CsvBeanReader<T> implements Closeable {
 			reader.close();
 			reader = null;
 			columnNames = null;
+			pushedFilter = null;
+			plan = null;
+			targets = null;
+			instantiator = null;
+			parameters = null;
+			kinds = null;
+			primitives = null;
+			row = null;
 		}
 	}
 
@@ -167,6 +306,27 @@ public class CsvBeanReader<T> implements Closeable {
 		}
 	}
 
+	/**
+	 * Java プログラム要素へ変換しない項目を読込まないようにするかどうかを設定します。<p>
+	 * {@code true} を設定すると、項目名のリストを確定した後に Java プログラム要素へ変換する項目の位置を
+	 * {@link CsvReader#setProjection(int...)} で区切り文字形式入力ストリームへ設定します。
+	 * この場合、{@link #readValues()} が返す値リストのうち Java プログラム要素へ変換しない項目の値は {@code null} になります。
+	 * 区切り文字形式データフィルタが設定されている場合は、全ての項目を読込みます。
+	 * 
+	 * @param projection Java プログラム要素へ変換しない項目を読込まないようにするかどうか
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @since 2.2.2
+	 */
+	public void setProjection(final boolean projection) throws IOException {
+		synchronized (this) {
+			ensureOpen();
+			this.projection = projection;
+			if (columnNames != null) {
+				reader.setProjection(projection && !template.hasFilter() ? toProjection() : null);
+			}
+		}
+	}
+
 	/**
 	 * 論理行を読込み Java プログラム要素として返します。
 	 *
@@ -174,15 +334,33 @@ public class CsvBeanReader<T> implements Closeable {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public T read() throws IOException {
+		if (lockDisabled) {
+			return readNext();
+		}
 		synchronized (this) {
-			ensureOpen();
-			ensureHeader();
-			final List<String> values = nextValues();
-			if (values == null) {
+			return readNext();
+		}
+	}
+
+	private T readNext() throws IOException {
+		ensureOpen();
+		ensureHeader();
+		pushFilter();
+		if (parameters == null) {
+			// 引数のないコンストラクタを使用する場合は、項目値を内部バッファ上で変換します。
+			if (row == null) {
+				row = new CsvRow();
+			}
+			if (!reader.readRow(row)) {
 				return null;
 			}
-			return convert(values);
+			return convert(row);
+		}
+		final List<String> values = nextValues();
+		if (values == null) {
+			return null;
 		}
+		return convert(values);
 	}
 
 	/**
@@ -192,13 +370,20 @@ public class CsvBeanReader<T> implements Closeable {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public List<String> readValues() throws IOException {
+		if (lockDisabled) {
+			return readNextValues();
+		}
 		synchronized (this) {
-			ensureOpen();
-			ensureHeader();
-			return nextValues();
+			return readNextValues();
 		}
 	}
 
+	private List<String> readNextValues() throws IOException {
+		ensureOpen();
+		ensureHeader();
+		return nextValues();
+	}
+
 	/**
 	 * 指定された CSV トークンの値をリストを Java プログラム要素へ変換して返します。
 	 * 
@@ -214,33 +399,202 @@ public class CsvBeanReader<T> implements Closeable {
 		}
 	}
 
+	/**
+	 * 指定された Java プログラム要素フィルタを、Java プログラム要素を生成せずに {@link #readValues()} が返す値リストで判定するフィルタへ変換して返します。<p>
+	 * 判定に使用する全てのフィールドが、項目名のリストの単一の項目の値から設定される場合のみ変換できます。
+	 * 引数のあるコンストラクタを使用する場合や、Java プログラム要素へ変換しない項目のフィールドを判定に使用する場合は変換できません。
+	 * 
+	 * @param filter Java プログラム要素フィルタ
+	 * @return 変換されたフィルタ。変換できない場合は {@code null}
+	 * @throws IllegalArgumentException {@code filter} が {@code null} の場合
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @since 2.2.2
+	 */
+	public CompiledBeanFilter compileFilter(final BeanFilter filter) throws IOException {
+		synchronized (this) {
+			ensureOpen();
+			ensureHeader();
+			return CompiledBeanFilter.compile(filter, new HeaderFieldResolver());
+		}
+	}
+
 	private List<String> nextValues() throws IOException {
-		List<String> values;
-		while ((values = reader.readValues()) != null) {
-			if (!template.isAccept(columnNames, values)) {
-				return values;
+		pushFilter();
+		return reader.readValues();
+	}
+
+	private void pushFilter() {
+		// 区切り文字形式データフィルタは区切り文字形式入力ストリームが論理行を読込む際に判定します。
+		// 項目名リストへ束縛したフィルタは、テンプレートを共有する他のリーダーと混在しないようにこのリーダーで保持します。
+		final CsvNamedValueFilter filter = template.getFilter();
+		if (filter == null) {
+			if (pushedFilter != null) {
+				pushedFilter = null;
+				reader.setFilter(null, -1);
 			}
+		} else if (pushedFilter == null || !pushedFilter.isCompiledFor(filter, columnNames)) {
+			pushedFilter = template.compileFilter(columnNames);
+			reader.setFilter(pushedFilter, pushedFilter.getLastPosition());
 		}
-		return null;
 	}
 
 	private T convert(final List<String> values) throws IOException {
-		final T bean = template.createBean();
 		final int len = Math.min(columnNames.size(), values.size());
+		final T bean;
+		if (parameters == null) {
+			bean = template.createBean();
+		} else {
+			// コンストラクタの引数に対応する項目を変換してからインスタンスを生成します。
+			final Object[] args = new Object[instantiator.getParameterCount()];
+			for (int pos = 0; pos < len; pos++) {
+				if (targets[pos] && parameters[pos] >= 0) {
+					args[parameters[pos]] = template.stringToObject(plan.getField(pos), values.get(pos));
+				}
+			}
+			bean = instantiator.newInstance(args);
+		}
 		for (int pos = 0; pos < len; pos++) {
-			final String name = columnNames.get(pos);
-			if (!template.isTargetName(name)) {
+			if (!targets[pos] || parameters != null && parameters[pos] >= 0) {
 				continue;
 			}
-			final Field f = FieldUtils.getField(template.getType(), name);
+			final Field f = plan.getField(pos);
 			final Object o = template.stringToObject(f, values.get(pos));
 			if (o != null) {
-				FieldUtils.setFieldValue(bean, f, o);
+				plan.setFieldValue(bean, pos, o);
 			}
 		}
 		return bean;
 	}
 
+	private T convert(final CsvRow values) throws IOException {
+		final T bean = template.createBean();
+		final int len = Math.min(columnNames.size(), values.size());
+		for (int pos = 0; pos < len; pos++) {
+			final int kind = kinds[pos];
+			if (kind == KIND_NONE) {
+				continue;
+			}
+			if (kind == KIND_OBJECT) {
+				final Object o = template.stringToObject(plan.getField(pos), values.getString(pos));
+				if (o != null) {
+					plan.setFieldValue(bean, pos, o);
+				}
+				continue;
+			}
+			final CharSequence value = values.get(pos);
+			final FieldAccessor accessor = plan.getFieldAccessor(pos);
+			if (value == null || value.length() == 0) {
+				// プリミティブ型の場合は既定値を設定し、ラッパー型の場合は設定しません。
+				if (primitives[pos]) {
+					setDefault(accessor, bean, kind);
+				}
+				continue;
+			}
+			switch (kind) {
+				case KIND_INT:
+					if (primitives[pos]) {
+						accessor.setInt(bean, ParseUtils.parseInt(value));
+					} else {
+						accessor.set(bean, Integer.valueOf(ParseUtils.parseInt(value)));
+					}
+					break;
+				case KIND_LONG:
+					if (primitives[pos]) {
+						accessor.setLong(bean, ParseUtils.parseLong(value));
+					} else {
+						accessor.set(bean, Long.valueOf(ParseUtils.parseLong(value)));
+					}
+					break;
+				case KIND_DOUBLE:
+					if (primitives[pos]) {
+						accessor.setDouble(bean, ParseUtils.parseDouble(value));
+					} else {
+						accessor.set(bean, Double.valueOf(ParseUtils.parseDouble(value)));
+					}
+					break;
+				default:
+					accessor.set(bean, ParseUtils.parseBigDecimal(value));
+					break;
+			}
+		}
+		return bean;
+	}
+
+	private static void setDefault(final FieldAccessor accessor, final Object bean, final int kind) throws IOException {
+		switch (kind) {
+			case KIND_INT:
+				accessor.setInt(bean, 0);
+				break;
+			case KIND_LONG:
+				accessor.setLong(bean, 0L);
+				break;
+			case KIND_DOUBLE:
+				accessor.setDouble(bean, 0D);
+				break;
+			default:
+				break;
+		}
+	}
+
+	/**
+	 * 項目名のリストの単一の項目から値を設定されるフィールドを解決します。
+	 */
+	private final class HeaderFieldResolver implements CompiledBeanFilter.FieldResolver {
+
+		private final List<String> names = columnNames;
+		private final boolean[] targetNames = targets;
+		private final CsvBeanMappingPlan mapping = plan;
+		private final boolean constructor = parameters != null;
+		private final Field[] fields = new Field[targets.length];
+		private T prototype;
+
+		@Override
+		public int getPosition(final String name) {
+			if (constructor) {
+				return -1;
+			}
+			int result = -1;
+			for (int pos = 0; pos < targetNames.length; pos++) {
+				if (targetNames[pos] && name.equals(names.get(pos))) {
+					if (result != -1) {
+						// 同じ名前の項目が複数ある場合は、後の項目の値で上書きされるため対応付けません。
+						return -1;
+					}
+					result = pos;
+				}
+			}
+			if (result != -1 && fields[result] == null) {
+				try {
+					fields[result] = mapping.getField(result);
+				} catch (final IOException e) {
+					return -1;
+				}
+			}
+			return result;
+		}
+
+		@Override
+		public Class<?> getType(final int position) {
+			return fields[position].getType();
+		}
+
+		@Override
+		public Object getValue(final List<String> values, final int position) throws IOException {
+			if (position < values.size()) {
+				final Object o = template.stringToObject(fields[position], values.get(position));
+				if (o != null) {
+					return o;
+				}
+			}
+			// 値を設定しないフィールドは、生成直後の Java プログラム要素のフィールドの値になります。
+			if (prototype == null) {
+				prototype = template.createBean();
+			}
+			return mapping.getFieldValue(prototype, position);
+		}
+
+	}
+
 	// ------------------------------------------------------------------------
 	// getter / setter
 
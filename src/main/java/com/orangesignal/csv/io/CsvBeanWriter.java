@@ -26,8 +26,10 @@ import java.util.Collections;
 import java.util.List;
 
 import com.orangesignal.csv.CsvWriter;
+import com.orangesignal.csv.bean.CsvBeanMappingPlan;
 import com.orangesignal.csv.bean.CsvBeanTemplate;
-import com.orangesignal.csv.bean.FieldUtils;
+import com.orangesignal.csv.filters.CompiledCsvNamedValueFilter;
+import com.orangesignal.csv.filters.CsvNamedValueFilter;
 
 /**
  * Java プログラム要素で区切り文字形式データアクセスを行う区切り文字形式出力ストリームを提供します。
@@ -42,6 +44,11 @@ public class CsvBeanWriter<T> implements Closeable, Flushable {
 	 */
 	private CsvWriter writer;
 
+	/**
+	 * 排他制御を無効にするかどうかを保持します。
+	 */
+	private final boolean lockDisabled;
+
 	/**
 	 * Java プログラム要素操作の簡素化ヘルパーを保持します。
 	 */
@@ -59,6 +66,16 @@ public class CsvBeanWriter<T> implements Closeable, Flushable {
 	 */
 	private List<String> columnNames;
 
+	/**
+	 * 項目名のリストへ束縛した区切り文字形式データフィルタを保持します。
+	 */
+	private CompiledCsvNamedValueFilter compiledFilter;
+
+	/**
+	 * 直前に出力した Java プログラム要素の型に対応するマッピング計画を保持します。
+	 */
+	private CsvBeanMappingPlan plan;
+
 	// ------------------------------------------------------------------------
 	// 利便性のための静的メソッド
 
@@ -175,6 +192,7 @@ public class CsvBeanWriter<T> implements Closeable, Flushable {
 		this.writer   = writer;
 		this.template = template;
 		this.header   = header;
+		this.lockDisabled = writer.isLockDisabled();
 	}
 
 	// ------------------------------------------------------------------------
@@ -190,20 +208,18 @@ public class CsvBeanWriter<T> implements Closeable, Flushable {
 	}
 
 	private void ensureHeader() throws IOException {
-		synchronized (this) {
-			if (columnNames == null) {
-				final List<String> names = new ArrayList<String>();
-				for (final Field f : template.getType().getDeclaredFields()) {
-					final String name = f.getName();
-					if (template.isTargetName(name)) {
-						names.add(name);
-					}
-				}
-				if (header) {
-					writer.writeValues(names);
+		if (columnNames == null) {
+			final List<String> names = new ArrayList<String>();
+			for (final Field f : template.getType().getDeclaredFields()) {
+				final String name = f.getName();
+				if (template.isTargetName(name)) {
+					names.add(name);
 				}
-				columnNames = Collections.unmodifiableList(names);
 			}
+			if (header) {
+				writer.writeValues(names);
+			}
+			columnNames = Collections.unmodifiableList(names);
 		}
 	}
 
@@ -225,6 +241,7 @@ public class CsvBeanWriter<T> implements Closeable, Flushable {
 			writer.close();
 			writer = null;
 			columnNames = null;
+			plan = null;
 		}
 	}
 
@@ -252,26 +269,52 @@ public class CsvBeanWriter<T> implements Closeable, Flushable {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public boolean write(final T bean) throws IOException {
+		if (lockDisabled) {
+			return writeNext(bean);
+		}
 		synchronized (this) {
-			ensureOpen();
-			ensureHeader();
+			return writeNext(bean);
+		}
+	}
 
-			// 要素が null の場合は null 出力します。
-			if (bean == null) {
-				writer.writeValues(null);
-				return true;
-			}
+	private boolean writeNext(final T bean) throws IOException {
+		ensureOpen();
+		ensureHeader();
 
-			final List<String> values = toValues(bean);
-			if (template.isAccept(columnNames, values)) {
-				return false;
-			}
-			writer.writeValues(values);
+		// 要素が null の場合は null 出力します。
+		if (bean == null) {
+			writer.writeValues(null);
+			return true;
+		}
+
+		final List<String> values = toValues(bean);
+		if (!accept(values)) {
+			return false;
+		}
+		writer.writeValues(values);
+		return true;
+	}
+
+	private boolean accept(final List<String> values) {
+		final CsvNamedValueFilter filter = template.getFilter();
+		if (filter == null) {
 			return true;
 		}
+		if (columnNames == null) {
+			return filter.accept(columnNames, values);
+		}
+		// 項目名のリストへ束縛したフィルタは、テンプレートを共有する他のライターと混在しないようにこのライターで保持します。
+		if (compiledFilter == null || !compiledFilter.isCompiledFor(filter, columnNames)) {
+			compiledFilter = template.compileFilter(columnNames);
+		}
+		return compiledFilter.accept(values);
 	}
 
 	private List<String> toValues(final T bean) throws IOException {
+		if (plan == null || plan.getType() != bean.getClass()) {
+			// サブクラスの Java プログラム要素はテンプレートの型と異なるため、このライターで計画を保持します。
+			plan = bean.getClass() == template.getType() ? template.getMappingPlan(columnNames) : CsvBeanMappingPlan.newInstance(bean.getClass(), columnNames);
+		}
 		final int columnCount = columnNames.size();
 		final String[] values = new String[columnCount];
 		for (int i = 0; i < columnCount; i++) {
@@ -279,8 +322,7 @@ public class CsvBeanWriter<T> implements Closeable, Flushable {
 			if (name == null) {
 				continue;
 			}
-			final Field f = FieldUtils.getField(bean.getClass(), name);
-			values[i] = template.objectToString(name, FieldUtils.getFieldValue(bean, f));
+			values[i] = template.objectToString(name, plan.getFieldValue(bean, i));
 		}
 		return Arrays.asList(values);
 	}
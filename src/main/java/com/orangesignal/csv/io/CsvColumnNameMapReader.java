@@ -19,11 +19,11 @@ package com.orangesignal.csv.io;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.orangesignal.csv.CsvReader;
+import com.orangesignal.csv.filters.CompiledCsvNamedValueFilter;
 import com.orangesignal.csv.filters.CsvNamedValueFilter;
 
 /**
@@ -39,6 +39,11 @@ public class CsvColumnNameMapReader implements Closeable {
 	 */
 	private CsvReader reader;
 
+	/**
+	 * 排他制御を無効にするかどうかを保持します。
+	 */
+	private final boolean lockDisabled;
+
 	/**
 	 * 項目名のリストを保持します。
 	 */
@@ -50,15 +55,20 @@ public class CsvColumnNameMapReader implements Closeable {
 	private int columnCount = -1;
 
 	/**
-	 * 項目名のマップを一時的に保存します。
+	 * 全ての論理行で共有する項目名の表を一時的に保存します。
 	 */
-	private Map<String, String> base;
+	private ColumnNameMap.Header header;
 
 	/**
 	 * 区切り文字形式データフィルタを保持します。
 	 */
 	private CsvNamedValueFilter filter;
 
+	/**
+	 * 項目名リストへ束縛した区切り文字形式データフィルタを一時的に保存します。
+	 */
+	private CompiledCsvNamedValueFilter compiledFilter;
+
 	// ------------------------------------------------------------------------
 	// コンストラクタ
 
@@ -84,6 +94,7 @@ public class CsvColumnNameMapReader implements Closeable {
 			throw new IllegalArgumentException("CsvReader must not be null");
 		}
 		this.reader = reader;
+		this.lockDisabled = reader.isLockDisabled();
 
 		if (columnNames != null) {
 			this.columnNames = Collections.unmodifiableList(columnNames);
@@ -103,23 +114,18 @@ public class CsvColumnNameMapReader implements Closeable {
 	}
 
 	private void ensureHeader() throws IOException {
-		synchronized (this) {
+		if (columnNames == null) {
+			columnNames = Collections.unmodifiableList(reader.readValues());
 			if (columnNames == null) {
-				columnNames = Collections.unmodifiableList(reader.readValues());
-				if (columnNames == null) {
-					// ヘッダがない場合は例外をスローします。
-					throw new IOException("No header is available");
-				}
-			}
-			if (columnCount == -1) {
-				// ヘッダ部を処理します。
-				columnCount = columnNames.size();
-				base = new LinkedHashMap<String, String>(columnCount);
-				for (final String columnName : columnNames) {
-					base.put(columnName, null);
-				}
+				// ヘッダがない場合は例外をスローします。
+				throw new IOException("No header is available");
 			}
 		}
+		if (columnCount == -1) {
+			// ヘッダ部を処理します。
+			columnCount = columnNames.size();
+			header = new ColumnNameMap.Header(columnNames);
+		}
 	}
 
 	// ------------------------------------------------------------------------
@@ -133,7 +139,7 @@ public class CsvColumnNameMapReader implements Closeable {
 			reader = null;
 			columnNames = null;
 			columnCount = -1;
-			base = null;
+			header = null;
 		}
 	}
 
@@ -155,21 +161,30 @@ public class CsvColumnNameMapReader implements Closeable {
 	}
 
 	/**
-	 * 論理行を読込み項目名と項目値のマップとして返します。
+	 * 論理行を読込み項目名と項目値のマップとして返します。<p>
+	 * 返されるマップは項目名の表を全ての論理行で共有し、論理行毎には項目値のみを保持します。
+	 * マップは変更可能であり、項目名の順序は項目名のリストの順序と同じです。
 	 *
 	 * @return 項目名と項目値のマップ。ストリームの終わりに達した場合は {@code null}
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public Map<String, String> read() throws IOException {
+		if (lockDisabled) {
+			return readNext();
+		}
 		synchronized (this) {
-			ensureOpen();
-			ensureHeader();
-			final List<String> values = nextValues();
-			if (values == null) {
-				return null;
-			}
-			return convert(values);
+			return readNext();
+		}
+	}
+
+	private Map<String, String> readNext() throws IOException {
+		ensureOpen();
+		ensureHeader();
+		final List<String> values = nextValues();
+		if (values == null) {
+			return null;
 		}
+		return convert(values);
 	}
 
 	/**
@@ -179,13 +194,20 @@ public class CsvColumnNameMapReader implements Closeable {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public List<String> readValues() throws IOException {
+		if (lockDisabled) {
+			return readNextValues();
+		}
 		synchronized (this) {
-			ensureOpen();
-			ensureHeader();
-			return nextValues();
+			return readNextValues();
 		}
 	}
 
+	private List<String> readNextValues() throws IOException {
+		ensureOpen();
+		ensureHeader();
+		return nextValues();
+	}
+
 	/**
 	 * 指定された CSV トークンの値をリストを項目名と項目値のマップへ変換して返します。
 	 * 
@@ -202,23 +224,25 @@ public class CsvColumnNameMapReader implements Closeable {
 	}
 
 	private List<String> nextValues() throws IOException {
-		List<String> values;
-		while ((values = reader.readValues()) != null) {
-			if (filter != null && !filter.accept(columnNames, values)) {
-				continue;
+		pushFilter();
+		return reader.readValues();
+	}
+
+	private void pushFilter() {
+		// 区切り文字形式データフィルタは区切り文字形式入力ストリームが論理行を読込む際に判定します。
+		if (filter == null) {
+			if (compiledFilter != null) {
+				compiledFilter = null;
+				reader.setFilter(null, -1);
 			}
-			return values;
+		} else if (compiledFilter == null || !compiledFilter.isCompiledFor(filter, columnNames)) {
+			compiledFilter = CompiledCsvNamedValueFilter.compile(filter, columnNames);
+			reader.setFilter(compiledFilter, compiledFilter.getLastPosition());
 		}
-		return null;
 	}
 
 	private Map<String, String> convert(final List<String> values) {
-		final Map<String, String> map = new LinkedHashMap<String, String>(base);
-		final int len = Math.min(columnCount, values.size());
-		for (int pos = 0; pos < len; pos++) {
-			map.put(columnNames.get(pos), values.get(pos));
-		}
-		return map;
+		return header.newMap(values);
 	}
 
 	// ------------------------------------------------------------------------
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 
 import com.orangesignal.csv.CsvWriter;
+import com.orangesignal.csv.filters.CompiledCsvNamedValueFilter;
 import com.orangesignal.csv.filters.CsvNamedValueFilter;
 
 /**
@@ -41,6 +42,11 @@ public class CsvColumnNameMapWriter implements Closeable, Flushable {
 	 */
 	private CsvWriter writer;
 
+	/**
+	 * 排他制御を無効にするかどうかを保持します。
+	 */
+	private final boolean lockDisabled;
+
 	/**
 	 * 項目名のリストを保持します。
 	 */
@@ -63,6 +69,11 @@ public class CsvColumnNameMapWriter implements Closeable, Flushable {
 	 */
 	private CsvNamedValueFilter filter;
 
+	/**
+	 * 項目名リストへ束縛した区切り文字形式データフィルタを一時的に保存します。
+	 */
+	private CompiledCsvNamedValueFilter compiledFilter;
+
 	// ------------------------------------------------------------------------
 	// コンストラクタ
 
@@ -113,6 +124,7 @@ public class CsvColumnNameMapWriter implements Closeable, Flushable {
 			throw new IllegalArgumentException("CsvWriter must not be null");
 		}
 		this.writer = writer;
+		this.lockDisabled = writer.isLockDisabled();
 
 		if (columnNames != null) {
 			this.columnNames = Collections.unmodifiableList(columnNames);
@@ -195,23 +207,40 @@ public class CsvColumnNameMapWriter implements Closeable, Flushable {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public boolean write(final Map<String, String> map) throws IOException {
+		if (lockDisabled) {
+			return writeNext(map);
+		}
 		synchronized (this) {
-			ensureOpen();
-			ensureHeader(map);
+			return writeNext(map);
+		}
+	}
 
-			// 要素が null の場合は null 出力します。
-			if (map == null) {
-				writer.writeValues(null);
-				return true;
-			}
+	private boolean writeNext(final Map<String, String> map) throws IOException {
+		ensureOpen();
+		ensureHeader(map);
 
-			final List<String> values = toValues(map);
-			if (filter != null && !filter.accept(columnNames, values)) {
-				return false;
-			}
-			writer.writeValues(values);
+		// 要素が null の場合は null 出力します。
+		if (map == null) {
+			writer.writeValues(null);
+			return true;
+		}
+
+		final List<String> values = toValues(map);
+		if (!accept(values)) {
+			return false;
+		}
+		writer.writeValues(values);
+		return true;
+	}
+
+	private boolean accept(final List<String> values) {
+		if (filter == null) {
 			return true;
 		}
+		if (compiledFilter == null || !compiledFilter.isCompiledFor(filter, columnNames)) {
+			compiledFilter = CompiledCsvNamedValueFilter.compile(filter, columnNames);
+		}
+		return compiledFilter.accept(values);
 	}
 
 	private List<String> toValues(final Map<String, String> map) {
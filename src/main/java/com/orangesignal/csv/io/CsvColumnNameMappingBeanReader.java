@@ -19,13 +19,17 @@ package com.orangesignal.csv.io;
 import java.io.Closeable;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import com.orangesignal.csv.CsvReader;
+import com.orangesignal.csv.bean.BeanInstantiator;
+import com.orangesignal.csv.bean.CsvBeanMappingPlan;
 import com.orangesignal.csv.bean.CsvColumnNameMappingBeanTemplate;
-import com.orangesignal.csv.bean.FieldUtils;
+import com.orangesignal.csv.filters.CompiledCsvNamedValueFilter;
+import com.orangesignal.csv.filters.CsvNamedValueFilter;
 
 /**
  * 区切り文字形式データの項目名を基準として Java プログラム要素と区切り文字形式データアクセスを行う区切り文字形式入力ストリームを提供します。
@@ -40,6 +44,11 @@ public class CsvColumnNameMappingBeanReader<T> implements Closeable {
 	 */
 	private CsvReader reader;
 
+	/**
+	 * 排他制御を無効にするかどうかを保持します。
+	 */
+	private final boolean lockDisabled;
+
 	/**
 	 * Java プログラム要素操作の簡素化ヘルパーを保持します。
 	 */
@@ -50,8 +59,35 @@ public class CsvColumnNameMappingBeanReader<T> implements Closeable {
 	 */
 	private List<String> columnNames;
 
-	private Field[] fields;
-	private Map<String, Object[]> fieldColumnsMap;
+	/**
+	 * 区切り文字形式入力ストリームへ設定した区切り文字形式データフィルタを保持します。
+	 */
+	private CompiledCsvNamedValueFilter pushedFilter;
+
+	/**
+	 * Java プログラム要素へ変換しない項目を読込まないようにするかどうかを保持します。
+	 */
+	private boolean projection;
+
+	/**
+	 * Java プログラム要素のフィールドのマッピング計画を保持します。
+	 */
+	private CsvBeanMappingPlan plan;
+
+	/**
+	 * マッピング計画のフィールド毎に、値を取得する項目の位置を保持します。
+	 */
+	private int[][] fieldPositions;
+
+	/**
+	 * Java プログラム要素のインスタンス生成処理を保持します。
+	 */
+	private BeanInstantiator<T> instantiator;
+
+	/**
+	 * マッピング計画のフィールド毎に対応するコンストラクタの引数の位置を保持します。引数のないコンストラクタを使用する場合は {@code null} です。
+	 */
+	private int[] parameters;
 
 	// ------------------------------------------------------------------------
 	// 利便性のための静的メソッド
@@ -112,6 +148,7 @@ public class CsvColumnNameMappingBeanReader<T> implements Closeable {
 		}
 		this.reader = reader;
 		this.template = template;
+		this.lockDisabled = reader.isLockDisabled();
 	}
 
 	// ------------------------------------------------------------------------
@@ -127,18 +164,61 @@ public class CsvColumnNameMappingBeanReader<T> implements Closeable {
 	}
 
 	private void ensureHeader() throws IOException {
-		synchronized (this) {
+		if (columnNames == null) {
+			columnNames = Collections.unmodifiableList(reader.readValues());
 			if (columnNames == null) {
-				columnNames = Collections.unmodifiableList(reader.readValues());
-				if (columnNames == null) {
-					// ヘッダがない場合は例外をスローします。
-					throw new IOException("No header is available");
+				// ヘッダがない場合は例外をスローします。
+				throw new IOException("No header is available");
+			}
+			template.setupColumnMappingIfNeed();
+			prepare(template.createFieldAndColumnsMap());
+			if (projection && !template.hasFilter()) {
+				reader.setProjection(toProjection());
+			}
+		}
+	}
+
+	private void prepare(final Map<String, Object[]> fieldColumnsMap) {
+		final List<String> names = new ArrayList<String>();
+		final List<int[]> positions = new ArrayList<int[]>();
+		for (final Field f : template.getType().getDeclaredFields()) {
+			final Object[] columns = fieldColumnsMap.get(f.getName());
+			if (columns == null) {
+				continue;
+			}
+			final int[] results = new int[columns.length];
+			for (int i = 0; i < columns.length; i++) {
+				results[i] = columnNames.indexOf(columns[i]);
+			}
+			names.add(f.getName());
+			positions.add(results);
+		}
+		plan = template.getMappingPlan(names);
+		fieldPositions = positions.toArray(new int[positions.size()][]);
+		instantiator = template.getInstantiator();
+		parameters = null;
+		if (instantiator.getParameterCount() > 0) {
+			parameters = new int[names.size()];
+			for (int i = 0; i < parameters.length; i++) {
+				parameters[i] = instantiator.indexOf(names.get(i));
+			}
+		}
+	}
+
+	private int[] toProjection() {
+		final List<Integer> positions = new ArrayList<Integer>();
+		for (final int[] columns : fieldPositions) {
+			for (final int pos : columns) {
+				if (pos != -1) {
+					positions.add(pos);
 				}
-				template.setupColumnMappingIfNeed();
-				fields = template.getType().getDeclaredFields();
-				fieldColumnsMap = template.createFieldAndColumnsMap();
 			}
 		}
+		final int[] results = new int[positions.size()];
+		for (int i = 0; i < results.length; i++) {
+			results[i] = positions.get(i);
+		}
+		return results;
 	}
 
 	// ------------------------------------------------------------------------
@@ -151,8 +231,10 @@ public class CsvColumnNameMappingBeanReader<T> implements Closeable {
 			reader.close();
 			reader = null;
 			columnNames = null;
-			fields = null;
-			fieldColumnsMap = null;
+			plan = null;
+			fieldPositions = null;
+			instantiator = null;
+			parameters = null;
 		}
 	}
 
@@ -173,6 +255,27 @@ public class CsvColumnNameMappingBeanReader<T> implements Closeable {
 		}
 	}
 
+	/**
+	 * Java プログラム要素へ変換しない項目を読込まないようにするかどうかを設定します。<p>
+	 * {@code true} を設定すると、項目名のリストを確定した後に Java プログラム要素へ変換する項目の位置を
+	 * {@link CsvReader#setProjection(int...)} で区切り文字形式入力ストリームへ設定します。
+	 * この場合、{@link #readValues()} が返す値リストのうち Java プログラム要素へ変換しない項目の値は {@code null} になります。
+	 * 区切り文字形式データフィルタが設定されている場合は、全ての項目を読込みます。
+	 * 
+	 * @param projection Java プログラム要素へ変換しない項目を読込まないようにするかどうか
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @since 2.2.2
+	 */
+	public void setProjection(final boolean projection) throws IOException {
+		synchronized (this) {
+			ensureOpen();
+			this.projection = projection;
+			if (columnNames != null) {
+				reader.setProjection(projection && !template.hasFilter() ? toProjection() : null);
+			}
+		}
+	}
+
 	/**
 	 * 論理行を読込み Java プログラム要素として返します。
 	 *
@@ -180,17 +283,24 @@ public class CsvColumnNameMappingBeanReader<T> implements Closeable {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public T read() throws IOException {
+		if (lockDisabled) {
+			return readNext();
+		}
 		synchronized (this) {
-			ensureOpen();
-			ensureHeader();
-			final List<String> values = nextValues();
-			if (values == null) {
-				return null;
-			}
-			return convert(values);
+			return readNext();
 		}
 	}
 
+	private T readNext() throws IOException {
+		ensureOpen();
+		ensureHeader();
+		final List<String> values = nextValues();
+		if (values == null) {
+			return null;
+		}
+		return convert(values);
+	}
+
 	/**
 	 * 論理行を読込み CSV トークンの値をリストとして返します。
 	 * 
@@ -198,13 +308,20 @@ public class CsvColumnNameMappingBeanReader<T> implements Closeable {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public List<String> readValues() throws IOException {
+		if (lockDisabled) {
+			return readNextValues();
+		}
 		synchronized (this) {
-			ensureOpen();
-			ensureHeader();
-			return nextValues();
+			return readNextValues();
 		}
 	}
 
+	private List<String> readNextValues() throws IOException {
+		ensureOpen();
+		ensureHeader();
+		return nextValues();
+	}
+
 	/**
 	 * 指定された CSV トークンの値をリストを Java プログラム要素へ変換して返します。
 	 * 
@@ -221,49 +338,73 @@ public class CsvColumnNameMappingBeanReader<T> implements Closeable {
 	}
 
 	private List<String> nextValues() throws IOException {
-		List<String> values;
-		while ((values = reader.readValues()) != null) {
-			if (template.isAccept(columnNames, values)) {
-				continue;
+		pushFilter();
+		return reader.readValues();
+	}
+
+	private void pushFilter() {
+		// 区切り文字形式データフィルタは区切り文字形式入力ストリームが論理行を読込む際に判定します。
+		// 項目名リストへ束縛したフィルタは、テンプレートを共有する他のリーダーと混在しないようにこのリーダーで保持します。
+		final CsvNamedValueFilter filter = template.getFilter();
+		if (filter == null) {
+			if (pushedFilter != null) {
+				pushedFilter = null;
+				reader.setFilter(null, -1);
 			}
-			return values;
+		} else if (pushedFilter == null || !pushedFilter.isCompiledFor(filter, columnNames)) {
+			pushedFilter = template.compileFilter(columnNames);
+			reader.setFilter(pushedFilter, pushedFilter.getLastPosition());
 		}
-		return null;
 	}
 
-	@SuppressWarnings("null")
 	private T convert(final List<String> values) throws IOException {
-		final T bean = template.createBean();
-		for (final Field f : fields) {
-			final Object[] columns = fieldColumnsMap.get(f.getName());
-			final int count = columns == null ? 0 : columns.length;
-
-			Object o = null;
-			if (count == 1) {
-				final int pos = columnNames.indexOf(columns[0]);
-				if (pos != -1) {
-					o = template.stringToObject(f, values.get(pos));
+		final T bean;
+		if (parameters == null) {
+			bean = template.createBean();
+		} else {
+			// コンストラクタの引数に対応するフィールドの値を変換してからインスタンスを生成します。
+			final Object[] args = new Object[instantiator.getParameterCount()];
+			for (int i = 0; i < parameters.length; i++) {
+				if (parameters[i] >= 0) {
+					args[parameters[i]] = toObject(values, i);
 				}
-			} else if (count > 1) {
-				final StringBuilder sb = new StringBuilder();
-				for (final Object column : columns) {
-					final int pos = columnNames.indexOf(column);
-					if (pos != -1) {
-						final String s = values.get(pos);
-						if (s != null) {
-							sb.append(s);
-						}
-					}
-				}
-				o = template.stringToObject(f, sb.toString());
 			}
+			bean = instantiator.newInstance(args);
+		}
+		for (int i = 0; i < fieldPositions.length; i++) {
+			if (parameters != null && parameters[i] >= 0) {
+				continue;
+			}
+			final Object o = toObject(values, i);
 			if (o != null) {
-				FieldUtils.setFieldValue(bean, f, o);
+				plan.setFieldValue(bean, i, o);
 			}
 		}
 		return bean;
 	}
 
+	private Object toObject(final List<String> values, final int index) throws IOException {
+		final int[] columns = fieldPositions[index];
+		final Field f = plan.getField(index);
+		if (columns.length == 1) {
+			final int pos = columns[0];
+			if (pos != -1) {
+				return template.stringToObject(f, values.get(pos));
+			}
+			return null;
+		}
+		final StringBuilder sb = new StringBuilder();
+		for (final int pos : columns) {
+			if (pos != -1) {
+				final String s = values.get(pos);
+				if (s != null) {
+					sb.append(s);
+				}
+			}
+		}
+		return template.stringToObject(f, sb.toString());
+	}
+
 	// ------------------------------------------------------------------------
 	// getter / setter
 
@@ -26,6 +26,8 @@ import java.util.List;
 import com.orangesignal.csv.CsvWriter;
 import com.orangesignal.csv.bean.CsvColumnNameMappingBeanTemplate;
 import com.orangesignal.csv.bean.FieldUtils;
+import com.orangesignal.csv.filters.CompiledCsvNamedValueFilter;
+import com.orangesignal.csv.filters.CsvNamedValueFilter;
 
 /**
  * 区切り文字形式データの項目名を基準として Java プログラム要素と区切り文字形式データアクセスを行う区切り文字形式出力ストリームを提供します。
@@ -40,6 +42,11 @@ public class CsvColumnNameMappingBeanWriter<T> implements Closeable, Flushable {
 	 */
 	private CsvWriter writer;
 
+	/**
+	 * 排他制御を無効にするかどうかを保持します。
+	 */
+	private final boolean lockDisabled;
+
 	/**
 	 * Java プログラム要素操作の簡素化ヘルパーを保持します。
 	 */
@@ -57,6 +64,11 @@ public class CsvColumnNameMappingBeanWriter<T> implements Closeable, Flushable {
 	 */
 	private List<String> columnNames;
 
+	/**
+	 * 項目名のリストへ束縛した区切り文字形式データフィルタを保持します。
+	 */
+	private CompiledCsvNamedValueFilter compiledFilter;
+
 	/**
 	 * 項目名の数を保存します。
 	 */
@@ -178,6 +190,7 @@ public class CsvColumnNameMappingBeanWriter<T> implements Closeable, Flushable {
 		this.writer   = writer;
 		this.template = template;
 		this.header   = header;
+		this.lockDisabled = writer.isLockDisabled();
 	}
 
 	// ------------------------------------------------------------------------
@@ -193,16 +206,14 @@ public class CsvColumnNameMappingBeanWriter<T> implements Closeable, Flushable {
 	}
 
 	private void ensureHeader() throws IOException {
-		synchronized (this) {
-			if (columnNames == null) {
-				template.setupColumnMappingIfNeed();
-				final List<String> names = template.createColumnNames();
-				if (header) {
-					writer.writeValues(names);
-				}
-				columnNames = names;
-				columnCount = names.size();
+		if (columnNames == null) {
+			template.setupColumnMappingIfNeed();
+			final List<String> names = template.createColumnNames();
+			if (header) {
+				writer.writeValues(names);
 			}
+			columnNames = names;
+			columnCount = names.size();
 		}
 	}
 
@@ -252,23 +263,45 @@ public class CsvColumnNameMappingBeanWriter<T> implements Closeable, Flushable {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public boolean write(final T bean) throws IOException {
+		if (lockDisabled) {
+			return writeNext(bean);
+		}
 		synchronized (this) {
-			ensureOpen();
-			ensureHeader();
+			return writeNext(bean);
+		}
+	}
 
-			// 要素が null の場合は null 出力します。
-			if (bean == null) {
-				writer.writeValues(null);
-				return true;
-			}
+	private boolean writeNext(final T bean) throws IOException {
+		ensureOpen();
+		ensureHeader();
 
-			final List<String> values = toValues(bean);
-			if (template.isAccept(columnNames, values)) {
-				return false;
-			}
-			writer.writeValues(values);
+		// 要素が null の場合は null 出力します。
+		if (bean == null) {
+			writer.writeValues(null);
 			return true;
 		}
+
+		final List<String> values = toValues(bean);
+		if (!accept(values)) {
+			return false;
+		}
+		writer.writeValues(values);
+		return true;
+	}
+
+	private boolean accept(final List<String> values) {
+		final CsvNamedValueFilter filter = template.getFilter();
+		if (filter == null) {
+			return true;
+		}
+		if (columnNames == null) {
+			return filter.accept(columnNames, values);
+		}
+		// 項目名のリストへ束縛したフィルタは、テンプレートを共有する他のライターと混在しないようにこのライターで保持します。
+		if (compiledFilter == null || !compiledFilter.isCompiledFor(filter, columnNames)) {
+			compiledFilter = template.compileFilter(columnNames);
+		}
+		return compiledFilter.accept(values);
 	}
 
 	private List<String> toValues(final T bean) throws IOException {
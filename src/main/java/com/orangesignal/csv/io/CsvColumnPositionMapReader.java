@@ -38,6 +38,11 @@ public class CsvColumnPositionMapReader implements Closeable {
 	 */
 	private CsvReader reader;
 
+	/**
+	 * 排他制御を無効にするかどうかを保持します。
+	 */
+	private final boolean lockDisabled;
+
 	/**
 	 * 区切り文字形式データフィルタを保持します。
 	 */
@@ -57,6 +62,7 @@ public class CsvColumnPositionMapReader implements Closeable {
 			throw new IllegalArgumentException("CsvReader must not be null");
 		}
 		this.reader = reader;
+		this.lockDisabled = reader.isLockDisabled();
 	}
 
 	// ------------------------------------------------------------------------
@@ -93,15 +99,22 @@ public class CsvColumnPositionMapReader implements Closeable {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public SortedMap<Integer, String> read() throws IOException {
+		if (lockDisabled) {
+			return readNext();
+		}
 		synchronized (this) {
-			ensureOpen();
+			return readNext();
+		}
+	}
 
-			final List<String> values = nextValues();
-			if (values == null) {
-				return null;
-			}
-			return convert(values);
+	private SortedMap<Integer, String> readNext() throws IOException {
+		ensureOpen();
+
+		final List<String> values = nextValues();
+		if (values == null) {
+			return null;
 		}
+		return convert(values);
 	}
 
 	/**
@@ -111,12 +124,19 @@ public class CsvColumnPositionMapReader implements Closeable {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public List<String> readValues() throws IOException {
+		if (lockDisabled) {
+			return readNextValues();
+		}
 		synchronized (this) {
-			ensureOpen();
-			return nextValues();
+			return readNextValues();
 		}
 	}
 
+	private List<String> readNextValues() throws IOException {
+		ensureOpen();
+		return nextValues();
+	}
+
 	/**
 	 * 指定された CSV トークンの値をリストを項目名と項目値のマップへ変換して返します。
 	 * 
@@ -41,6 +41,11 @@ public class CsvColumnPositionMapWriter implements Closeable, Flushable {
 	 */
 	private CsvWriter writer;
 
+	/**
+	 * 排他制御を無効にするかどうかを保持します。
+	 */
+	private final boolean lockDisabled;
+
 	/**
 	 * 区切り文字形式データフィルタを保持します。
 	 */
@@ -60,6 +65,7 @@ public class CsvColumnPositionMapWriter implements Closeable, Flushable {
 			throw new IllegalArgumentException("CsvWriter must not be null");
 		}
 		this.writer = writer;
+		this.lockDisabled = writer.isLockDisabled();
 	}
 
 	// ------------------------------------------------------------------------
@@ -105,22 +111,29 @@ public class CsvColumnPositionMapWriter implements Closeable, Flushable {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public boolean write(final Map<Integer, String> map) throws IOException {
+		if (lockDisabled) {
+			return writeNext(map);
+		}
 		synchronized (this) {
-			ensureOpen();
+			return writeNext(map);
+		}
+	}
 
-			// 要素が null の場合は null 出力します。
-			if (map == null) {
-				writer.writeValues(null);
-				return true;
-			}
+	private boolean writeNext(final Map<Integer, String> map) throws IOException {
+		ensureOpen();
 
-			final List<String> values = convert(map);
-			if (filter != null && !filter.accept(values)) {
-				return false;
-			}
-			writer.writeValues(values);
+		// 要素が null の場合は null 出力します。
+		if (map == null) {
+			writer.writeValues(null);
 			return true;
 		}
+
+		final List<String> values = convert(map);
+		if (filter != null && !filter.accept(values)) {
+			return false;
+		}
+		writer.writeValues(values);
+		return true;
 	}
 
 	private List<String> convert(final Map<Integer, String> map) {
@@ -42,6 +42,11 @@ public class CsvColumnPositionMappingBeanWriter<T> implements Closeable, Flushab
 	 */
 	private CsvWriter writer;
 
+	/**
+	 * 排他制御を無効にするかどうかを保持します。
+	 */
+	private final boolean lockDisabled;
+
 	/**
 	 * Java プログラム要素操作の簡素化ヘルパーを保持します。
 	 */
@@ -180,6 +185,7 @@ public class CsvColumnPositionMappingBeanWriter<T> implements Closeable, Flushab
 		this.writer   = writer;
 		this.template = template;
 		this.header   = header;
+		this.lockDisabled = writer.isLockDisabled();
 	}
 
 	// ------------------------------------------------------------------------
@@ -195,23 +201,21 @@ public class CsvColumnPositionMappingBeanWriter<T> implements Closeable, Flushab
 	}
 
 	private void ensureHeader() throws IOException {
-		synchronized (this) {
-			if (columnNames == null) {
-				// 項目位置とフィールド名のマップが指定されていない場合は、フィールドからマップを作成します。
-				if (template.getMaxColumnPosition() == -1) {
-					for (final Field f : template.getType().getDeclaredFields()) {
-						template.column(f.getName());
-					}
+		if (columnNames == null) {
+			// 項目位置とフィールド名のマップが指定されていない場合は、フィールドからマップを作成します。
+			if (template.getMaxColumnPosition() == -1) {
+				for (final Field f : template.getType().getDeclaredFields()) {
+					template.column(f.getName());
 				}
-				columnCount = template.getMaxColumnPosition() + 1;
+			}
+			columnCount = template.getMaxColumnPosition() + 1;
 
-				// ヘッダ部を処理します。
-				final List<String> names = Collections.unmodifiableList(template.createColumnNames());
-				if (header) {
-					writer.writeValues(names);
-				}
-				columnNames = names;
+			// ヘッダ部を処理します。
+			final List<String> names = Collections.unmodifiableList(template.createColumnNames());
+			if (header) {
+				writer.writeValues(names);
 			}
+			columnNames = names;
 		}
 	}
 
@@ -261,23 +265,30 @@ public class CsvColumnPositionMappingBeanWriter<T> implements Closeable, Flushab
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public boolean write(final T bean) throws IOException {
+		if (lockDisabled) {
+			return writeNext(bean);
+		}
 		synchronized (this) {
-			ensureOpen();
-			ensureHeader();
+			return writeNext(bean);
+		}
+	}
 
-			// 要素が null の場合は null 出力します。
-			if (bean == null) {
-				writer.writeValues(null);
-				return true;
-			}
+	private boolean writeNext(final T bean) throws IOException {
+		ensureOpen();
+		ensureHeader();
 
-			final List<String> values = toValues(bean);
-			if (template.isAccept(values)) {
-				return false;
-			}
-			writer.writeValues(values);
+		// 要素が null の場合は null 出力します。
+		if (bean == null) {
+			writer.writeValues(null);
 			return true;
 		}
+
+		final List<String> values = toValues(bean);
+		if (template.isAccept(values)) {
+			return false;
+		}
+		writer.writeValues(values);
+		return true;
 	}
 
 	private List<String> toValues(final T bean) throws IOException {
@@ -16,22 +16,25 @@
 
 package com.orangesignal.csv.io;
 
-import static com.orangesignal.csv.bean.CsvEntityTemplate.getPosition;
-import static com.orangesignal.csv.bean.FieldUtils.setFieldValue;
-
 import java.io.Closeable;
 import java.io.IOException;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import com.orangesignal.csv.CsvReader;
-import com.orangesignal.csv.annotation.CsvColumn;
 import com.orangesignal.csv.annotation.CsvColumnException;
-import com.orangesignal.csv.annotation.CsvColumns;
 import com.orangesignal.csv.annotation.CsvEntity;
+import com.orangesignal.csv.bean.BeanInstantiator;
+import com.orangesignal.csv.bean.CsvEntityDescriptor;
+import com.orangesignal.csv.bean.CsvEntityDescriptor.ColumnDescriptor;
+import com.orangesignal.csv.bean.CsvEntityDescriptor.FieldDescriptor;
+import com.orangesignal.csv.bean.CsvEntityMapper;
 import com.orangesignal.csv.bean.CsvEntityTemplate;
+import com.orangesignal.csv.filters.CompiledCsvNamedValueFilter;
+import com.orangesignal.csv.filters.CsvNamedValueFilter;
 
 /**
  * 区切り文字形式データ注釈要素 {@link CsvEntity} で注釈付けされた Java プログラム要素で区切り文字形式データアクセスを行う区切り文字形式入力ストリームを提供します。
@@ -46,6 +49,11 @@ public class CsvEntityReader<T> implements Closeable {
 	 */
 	private CsvReader reader;
 
+	/**
+	 * 排他制御を無効にするかどうかを保持します。
+	 */
+	private final boolean lockDisabled;
+
 	/**
 	 * Java プログラム要素操作の簡素化ヘルパーを保持します。
 	 */
@@ -56,7 +64,35 @@ public class CsvEntityReader<T> implements Closeable {
 	 */
 	private List<String> columnNames;
 
-	private Field[] fields;
+	/**
+	 * 区切り文字形式入力ストリームへ設定した区切り文字形式データフィルタを保持します。
+	 */
+	private CompiledCsvNamedValueFilter pushedFilter;
+
+	/**
+	 * Java プログラム要素へ変換しない項目を読込まないようにするかどうかを保持します。
+	 */
+	private boolean projection;
+
+	/**
+	 * 項目名のリストに対応する記述子を保持します。
+	 */
+	private CsvEntityDescriptor descriptor;
+
+	/**
+	 * 項目名のリストに対応するマッパーを保持します。
+	 */
+	private CsvEntityMapper<T> mapper;
+
+	/**
+	 * Java プログラム要素のインスタンス生成処理を保持します。
+	 */
+	private BeanInstantiator<T> instantiator;
+
+	/**
+	 * 記述子のフィールド毎に対応するコンストラクタの引数の位置を保持します。引数のないコンストラクタを使用する場合は {@code null} です。
+	 */
+	private int[] parameters;
 
 	// ------------------------------------------------------------------------
 	// 利便性のための静的メソッド
@@ -117,6 +153,7 @@ public class CsvEntityReader<T> implements Closeable {
 		}
 		this.reader = reader;
 		this.template = template;
+		this.lockDisabled = reader.isLockDisabled();
 	}
 
 	// ------------------------------------------------------------------------
@@ -132,21 +169,64 @@ public class CsvEntityReader<T> implements Closeable {
 	}
 
 	private void ensureHeader() throws IOException {
-		synchronized (this) {
-			if (columnNames == null) {
-				// ヘッダ行が有効な場合は項目名の一覧を取得します。
-				final List<String> names;
-				if (template.getType().getAnnotation(CsvEntity.class).header()) {
-					names = reader.readValues();
-				} else {
-					names = template.createColumnNames();
+		if (columnNames == null) {
+			// ヘッダ行が有効な場合は項目名の一覧を取得します。
+			final List<String> names;
+			if (template.getType().getAnnotation(CsvEntity.class).header()) {
+				names = reader.readValues();
+			} else {
+				names = template.createColumnNames();
+			}
+
+			columnNames = Collections.unmodifiableList(names);
+			mapper = template.getMapper(columnNames);
+			if (mapper == null) {
+				descriptor = new CsvEntityDescriptor(template.getType(), names);
+				instantiator = template.getInstantiator();
+				if (instantiator.getParameterCount() > 0) {
+					parameters = new int[descriptor.getFieldCount()];
+					for (int i = 0; i < parameters.length; i++) {
+						parameters[i] = instantiator.indexOf(descriptor.getField(i).getField().getName());
+					}
 				}
+			}
+			if (projection && !template.hasFilter() && descriptor != null) {
+				reader.setProjection(toProjection());
+			}
+		}
+	}
 
-				fields = template.getType().getDeclaredFields();
-				template.prepare(names, fields);
-				columnNames = Collections.unmodifiableList(names);
+	private int[] toProjection() {
+		final List<Integer> positions = new ArrayList<Integer>();
+		for (int i = 0; i < descriptor.getFieldCount(); i++) {
+			final FieldDescriptor field = descriptor.getField(i);
+			for (int j = 0; j < field.getColumnsSize(); j++) {
+				addPosition(positions, field.getColumns(j), field);
+			}
+			if (field.getColumn() != null) {
+				addPosition(positions, field.getColumn(), field);
 			}
 		}
+		final int[] results = new int[positions.size()];
+		for (int i = 0; i < results.length; i++) {
+			results[i] = positions.get(i);
+		}
+		return results;
+	}
+
+	private void addPosition(final List<Integer> positions, final ColumnDescriptor column, final FieldDescriptor field) {
+		if (column.isReadable()) {
+			positions.add(getPosition(column, field));
+		}
+	}
+
+	private static int getPosition(final ColumnDescriptor column, final FieldDescriptor field) {
+		final int pos = column.getPosition();
+		// 項目名と項目位置のどちらも使用できない場合は例外をスローします。
+		if (pos == -1) {
+			throw new IllegalStateException(String.format("Invalid CsvColumn field %s", field.getField().getName()));
+		}
+		return pos;
 	}
 
 	// ------------------------------------------------------------------------
@@ -159,7 +239,10 @@ public class CsvEntityReader<T> implements Closeable {
 			reader.close();
 			reader = null;
 			columnNames = null;
-			fields = null;
+			descriptor = null;
+			mapper = null;
+			instantiator = null;
+			parameters = null;
 		}
 	}
 
@@ -180,6 +263,27 @@ public class CsvEntityReader<T> implements Closeable {
 		}
 	}
 
+	/**
+	 * Java プログラム要素へ変換しない項目を読込まないようにするかどうかを設定します。<p>
+	 * {@code true} を設定すると、項目名のリストを確定した後に Java プログラム要素へ変換する項目の位置を
+	 * {@link CsvReader#setProjection(int...)} で区切り文字形式入力ストリームへ設定します。
+	 * この場合、{@link #readValues()} が返す値リストのうち Java プログラム要素へ変換しない項目の値は {@code null} になります。
+	 * 区切り文字形式データフィルタが設定されている場合は、全ての項目を読込みます。
+	 * 
+	 * @param projection Java プログラム要素へ変換しない項目を読込まないようにするかどうか
+	 * @throws IOException 入出力エラーが発生した場合
+	 * @since 2.2.2
+	 */
+	public void setProjection(final boolean projection) throws IOException {
+		synchronized (this) {
+			ensureOpen();
+			this.projection = projection;
+			if (columnNames != null) {
+				reader.setProjection(projection && !template.hasFilter() && descriptor != null ? toProjection() : null);
+			}
+		}
+	}
+
 	/**
 	 * 論理行を読込み Java プログラム要素として返します。
 	 *
@@ -188,15 +292,22 @@ public class CsvEntityReader<T> implements Closeable {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public T read() throws IOException {
+		if (lockDisabled) {
+			return readNext();
+		}
 		synchronized (this) {
-			ensureOpen();
-			ensureHeader();
-			final List<String> values = nextValues();
-			if (values == null) {
-				return null;
-			}
-			return convert(values);
+			return readNext();
+		}
+	}
+
+	private T readNext() throws IOException {
+		ensureOpen();
+		ensureHeader();
+		final List<String> values = nextValues();
+		if (values == null) {
+			return null;
 		}
+		return convert(values);
 	}
 
 	/**
@@ -206,13 +317,20 @@ public class CsvEntityReader<T> implements Closeable {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public List<String> readValues() throws IOException {
+		if (lockDisabled) {
+			return readNextValues();
+		}
 		synchronized (this) {
-			ensureOpen();
-			ensureHeader();
-			return nextValues();
+			return readNextValues();
 		}
 	}
 
+	private List<String> readNextValues() throws IOException {
+		ensureOpen();
+		ensureHeader();
+		return nextValues();
+	}
+
 	/**
 	 * 指定された CSV トークンの値をリストを Java プログラム要素へ変換して返します。
 	 * 
@@ -230,90 +348,118 @@ public class CsvEntityReader<T> implements Closeable {
 	}
 
 	private List<String> nextValues() throws IOException {
-		List<String> values;
-		while ((values = reader.readValues()) != null) {
-			if (template.isAccept(columnNames, values)) {
-				continue;
+		pushFilter();
+		return reader.readValues();
+	}
+
+	private void pushFilter() {
+		// 区切り文字形式データフィルタは区切り文字形式入力ストリームが論理行を読込む際に判定します。
+		// 項目名リストへ束縛したフィルタは、テンプレートを共有する他のリーダーと混在しないようにこのリーダーで保持します。
+		final CsvNamedValueFilter filter = template.getFilter();
+		if (filter == null) {
+			if (pushedFilter != null) {
+				pushedFilter = null;
+				reader.setFilter(null, -1);
 			}
-			return values;
+		} else if (pushedFilter == null || !pushedFilter.isCompiledFor(filter, columnNames)) {
+			pushedFilter = template.compileFilter(columnNames);
+			reader.setFilter(pushedFilter, pushedFilter.getLastPosition());
 		}
-		return null;
 	}
 
 	private T convert(final List<String> values) throws IOException {
-		final T entity = template.createBean();
-		for (final Field field : fields) {
-			Object object = null;
-			final CsvColumns columns = field.getAnnotation(CsvColumns.class);
-			if (columns != null) {
-				if (field.getType().isArray()) {
-					object = Array.newInstance(field.getType().getComponentType(), columns.value().length);
-					int arrayIndex = 0;
-					for (final CsvColumn column : columns.value()) {
-						if (!column.access().isReadable()) {
-							continue;
-						}
-						String value;
-						final int pos = getPosition(column, field, columnNames);
-						if (pos != -1) {
-							value = values.get(pos);
-						} else {
-							value = null;
-						}
-						if (value == null && !column.defaultValue().isEmpty()) {
-							// デフォルト値が指定されていて、値がない場合はデフォルト値を代入します。
-							value = column.defaultValue();
-						}
-						if (value == null && column.required()) {
-							// 必須項目の場合に、値がない場合は例外をスローします。
-							throw new CsvColumnException(String.format("[line: %d] %s must not be null", reader.getStartLineNumber(), columnNames.get(pos)), values);
-						}
-						Array.set(object, arrayIndex++, template.stringToObject(field, value));
-					}
-				} else {
-					final StringBuilder sb = new StringBuilder();
-					for (final CsvColumn column : columns.value()) {
-						if (!column.access().isReadable()) {
-							continue;
-						}
-						final int pos = getPosition(column, field, columnNames);
-						if (pos != -1) {
-							final String s = values.get(pos);
-							if (s != null) {
-								sb.append(s);
-							} else if (!column.defaultValue().isEmpty()) {
-								// デフォルト値が指定されていて、値がない場合はデフォルト値を代入します。
-								sb.append(column.defaultValue());
-							} else if (column.required()) {
-								// 必須項目の場合に、値がない場合は例外をスローします。
-								throw new CsvColumnException(String.format("[line: %d] %s must not be null", reader.getStartLineNumber(), columnNames.get(pos)), values);
-							}
-						}
-					}
-					object = template.stringToObject(field, sb.toString());
+		if (mapper != null) {
+			return mapper.toEntity(values);
+		}
+		final int fieldCount = descriptor.getFieldCount();
+		final T entity;
+		if (parameters == null) {
+			entity = template.createBean();
+		} else {
+			// コンストラクタの引数に対応するフィールドの値を変換してからインスタンスを生成します。
+			final Object[] args = new Object[instantiator.getParameterCount()];
+			for (int i = 0; i < fieldCount; i++) {
+				if (parameters[i] >= 0) {
+					args[parameters[i]] = toObject(values, descriptor.getField(i));
 				}
 			}
-			final CsvColumn column = field.getAnnotation(CsvColumn.class);
-			if (column != null && column.access().isReadable()) {
-				final int pos = getPosition(column, field, columnNames);
-				if (pos != -1) {
+			entity = instantiator.newInstance(args);
+		}
+		for (int i = 0; i < fieldCount; i++) {
+			if (parameters != null && parameters[i] >= 0) {
+				continue;
+			}
+			final FieldDescriptor fd = descriptor.getField(i);
+			final Object object = toObject(values, fd);
+			if (object != null) {
+				fd.getAccessor().set(entity, object);
+			}
+		}
+		return entity;
+	}
+
+	private Object toObject(final List<String> values, final FieldDescriptor fd) throws IOException {
+		final Field field = fd.getField();
+		Object object = null;
+		if (fd.hasColumns()) {
+			final int size = fd.getColumnsSize();
+			if (fd.isArray()) {
+				object = Array.newInstance(field.getType().getComponentType(), size);
+				int arrayIndex = 0;
+				for (int j = 0; j < size; j++) {
+					final ColumnDescriptor column = fd.getColumns(j);
+					if (!column.isReadable()) {
+						continue;
+					}
+					final int pos = getPosition(column, fd);
 					String value = values.get(pos);
-					if (value == null && !column.defaultValue().isEmpty()) {
+					if (value == null && column.getDefaultValue() != null) {
 						// デフォルト値が指定されていて、値がない場合はデフォルト値を代入します。
-						value = column.defaultValue();
+						value = column.getDefaultValue();
 					}
-					if (value == null && column.required()) {
+					if (value == null && column.isRequired()) {
 						// 必須項目の場合に、値がない場合は例外をスローします。
 						throw new CsvColumnException(String.format("[line: %d] %s must not be null", reader.getStartLineNumber(), columnNames.get(pos)), values);
 					}
-					object = template.stringToObject(field, value);
+					Array.set(object, arrayIndex++, template.stringToObject(fd, value));
 				}
+			} else {
+				final StringBuilder sb = new StringBuilder();
+				for (int j = 0; j < size; j++) {
+					final ColumnDescriptor column = fd.getColumns(j);
+					if (!column.isReadable()) {
+						continue;
+					}
+					final int pos = getPosition(column, fd);
+					final String s = values.get(pos);
+					if (s != null) {
+						sb.append(s);
+					} else if (column.getDefaultValue() != null) {
+						// デフォルト値が指定されていて、値がない場合はデフォルト値を代入します。
+						sb.append(column.getDefaultValue());
+					} else if (column.isRequired()) {
+						// 必須項目の場合に、値がない場合は例外をスローします。
+						throw new CsvColumnException(String.format("[line: %d] %s must not be null", reader.getStartLineNumber(), columnNames.get(pos)), values);
+					}
+				}
+				object = template.stringToObject(fd, sb.toString());
 			}
-			if (object != null) {
-				setFieldValue(entity, field, object);
+		}
+		final ColumnDescriptor column = fd.getColumn();
+		if (column != null && column.isReadable()) {
+			final int pos = getPosition(column, fd);
+			String value = values.get(pos);
+			if (value == null && column.getDefaultValue() != null) {
+				// デフォルト値が指定されていて、値がない場合はデフォルト値を代入します。
+				value = column.getDefaultValue();
 			}
+			if (value == null && column.isRequired()) {
+				// 必須項目の場合に、値がない場合は例外をスローします。
+				throw new CsvColumnException(String.format("[line: %d] %s must not be null", reader.getStartLineNumber(), columnNames.get(pos)), values);
+			}
+			object = template.stringToObject(fd, value);
 		}
-		return entity;
+		return object;
 	}
 
 	// ------------------------------------------------------------------------
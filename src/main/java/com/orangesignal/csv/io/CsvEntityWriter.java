@@ -16,24 +16,24 @@
 
 package com.orangesignal.csv.io;
 
-import static com.orangesignal.csv.bean.CsvEntityTemplate.defaultIfEmpty;
-import static com.orangesignal.csv.bean.FieldUtils.getFieldValue;
-
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
 import java.lang.reflect.Array;
-import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import com.orangesignal.csv.CsvWriter;
-import com.orangesignal.csv.annotation.CsvColumn;
-import com.orangesignal.csv.annotation.CsvColumns;
 import com.orangesignal.csv.annotation.CsvEntity;
 import com.orangesignal.csv.annotation.CsvColumnException;
+import com.orangesignal.csv.bean.CsvEntityDescriptor;
+import com.orangesignal.csv.bean.CsvEntityDescriptor.ColumnDescriptor;
+import com.orangesignal.csv.bean.CsvEntityDescriptor.FieldDescriptor;
+import com.orangesignal.csv.bean.CsvEntityMapper;
 import com.orangesignal.csv.bean.CsvEntityTemplate;
+import com.orangesignal.csv.filters.CompiledCsvNamedValueFilter;
+import com.orangesignal.csv.filters.CsvNamedValueFilter;
 
 /**
  * 区切り文字形式データ注釈要素 {@link CsvEntity} で注釈付けされた Java プログラム要素で区切り文字形式データアクセスを行う区切り文字形式出力ストリームを提供します。
@@ -48,6 +48,11 @@ public class CsvEntityWriter<T> implements Closeable, Flushable {
 	 */
 	private CsvWriter writer;
 
+	/**
+	 * 排他制御を無効にするかどうかを保持します。
+	 */
+	private final boolean lockDisabled;
+
 	/**
 	 * Java プログラム要素操作の簡素化ヘルパーを保持します。
 	 */
@@ -65,8 +70,23 @@ public class CsvEntityWriter<T> implements Closeable, Flushable {
 	 */
 	private List<String> columnNames;
 
+	/**
+	 * 項目名のリストへ束縛した区切り文字形式データフィルタを保持します。
+	 */
+	private CompiledCsvNamedValueFilter compiledFilter;
+
 	private int columnCount = -1;
 
+	/**
+	 * 直前に出力した Java プログラム要素の型と項目名のリストに対応する記述子を保持します。
+	 */
+	private CsvEntityDescriptor descriptor;
+
+	/**
+	 * 項目名のリストに対応するマッパーを保持します。
+	 */
+	private CsvEntityMapper<T> mapper;
+
 	// ------------------------------------------------------------------------
 	// 利便性のための静的メソッド
 
@@ -183,6 +203,7 @@ public class CsvEntityWriter<T> implements Closeable, Flushable {
 		this.writer        = writer;
 		this.template      = template;
 		this.disableWriteHeader = disableWriteHeader;
+		this.lockDisabled = writer.isLockDisabled();
 	}
 
 	// ------------------------------------------------------------------------
@@ -198,16 +219,17 @@ public class CsvEntityWriter<T> implements Closeable, Flushable {
 	}
 
 	private void ensureHeader() throws IOException {
-		synchronized (this) {
-			if (columnNames == null) {
-				final List<String> names = template.createWritableColumnNames();
-				// ヘッダ行が有効な場合は項目名の一覧を出力します。
-				if (!disableWriteHeader && template.getType().getAnnotation(CsvEntity.class).header()) {
-					writer.writeValues(names);
-				}
-				template.prepare(names, template.getType().getDeclaredFields());
-				columnNames = Collections.unmodifiableList(names);
-				columnCount = names.size();
+		if (columnNames == null) {
+			final List<String> names = template.createWritableColumnNames();
+			// ヘッダ行が有効な場合は項目名の一覧を出力します。
+			if (!disableWriteHeader && template.getType().getAnnotation(CsvEntity.class).header()) {
+				writer.writeValues(names);
+			}
+			columnNames = Collections.unmodifiableList(names);
+			columnCount = names.size();
+			mapper = template.getMapper(columnNames);
+			if (mapper == null) {
+				descriptor = new CsvEntityDescriptor(template.getType(), columnNames);
 			}
 		}
 	}
@@ -231,6 +253,8 @@ public class CsvEntityWriter<T> implements Closeable, Flushable {
 			writer = null;
 			columnNames = null;
 			columnCount = -1;
+			descriptor = null;
+			mapper = null;
 		}
 	}
 
@@ -261,82 +285,105 @@ public class CsvEntityWriter<T> implements Closeable, Flushable {
 	 * @throws IOException 入出力エラーが発生した場合
 	 */
 	public boolean write(final T entity) throws IOException {
+		if (lockDisabled) {
+			return writeNext(entity);
+		}
 		synchronized (this) {
-			ensureOpen();
-			ensureHeader();
+			return writeNext(entity);
+		}
+	}
 
-			// 要素が null の場合は null 出力します。
-			if (entity == null || entity.getClass().getAnnotation(CsvEntity.class) == null) {
-				writer.writeValues(null);
-				return true;
-			}
+	private boolean writeNext(final T entity) throws IOException {
+		ensureOpen();
+		ensureHeader();
 
-			final List<String> values = toValues(entity);
-			if (template.isAccept(columnNames, values)) {
-				return false;
-			}
-			writer.writeValues(values);
+		// 要素が null の場合は null 出力します。
+		if (entity == null || entity.getClass().getAnnotation(CsvEntity.class) == null) {
+			writer.writeValues(null);
+			return true;
+		}
+
+		final List<String> values = toValues(entity);
+		if (!accept(values)) {
+			return false;
+		}
+		writer.writeValues(values);
+		return true;
+	}
+
+	private boolean accept(final List<String> values) {
+		final CsvNamedValueFilter filter = template.getFilter();
+		if (filter == null) {
 			return true;
 		}
+		if (columnNames == null) {
+			return filter.accept(columnNames, values);
+		}
+		// 項目名のリストへ束縛したフィルタは、テンプレートを共有する他のライターと混在しないようにこのライターで保持します。
+		if (compiledFilter == null || !compiledFilter.isCompiledFor(filter, columnNames)) {
+			compiledFilter = template.compileFilter(columnNames);
+		}
+		return compiledFilter.accept(values);
 	}
 
 	private List<String> toValues(final T entity) throws IOException {
+		if (mapper != null && entity.getClass() == template.getType()) {
+			return mapper.toValues(entity);
+		}
+		if (descriptor == null || descriptor.getType() != entity.getClass()) {
+			descriptor = new CsvEntityDescriptor(entity.getClass(), columnNames);
+		}
 		final String[] values = new String[columnCount];
-		for (final Field field : entity.getClass().getDeclaredFields()) {
-			final CsvColumns columns = field.getAnnotation(CsvColumns.class);
-			if (columns != null) {
-				int arrayIndex = 0;
-				for (final CsvColumn column : columns.value()) {
-					if (!column.access().isWriteable()) {
-						arrayIndex++;
-						continue;
-					}
-					int pos = column.position();
-					if (pos < 0) {
-						pos = columnNames.indexOf(defaultIfEmpty(column.name(), field.getName()));
-					}
-					if (pos == -1) {
-						throw new IOException(String.format("Invalid CsvColumn field %s", field.getName()));
-					}
-					Object o = getFieldValue(entity, field);
-					if (field.getType().isArray()) {
-						if (o != null) {
-							o = Array.get(o, arrayIndex);
-						}
-						arrayIndex++;
-					}
-					values[pos] = template.objectToString(pos, o);
-					if (values[pos] == null && !column.defaultValue().isEmpty()) {
-						// デフォルト値が指定されていて、値がない場合はデフォルト値を代入します。
-						values[pos] = column.defaultValue();
-					}
-					if (values[pos] == null && column.required()) {
-						throw new CsvColumnException(String.format("%s must not be null", columnNames.get(pos)), entity);
+		final int fieldCount = descriptor.getFieldCount();
+		for (int i = 0; i < fieldCount; i++) {
+			final FieldDescriptor field = descriptor.getField(i);
+			final int size = field.getColumnsSize();
+			int arrayIndex = 0;
+			for (int j = 0; j < size; j++) {
+				final ColumnDescriptor column = field.getColumns(j);
+				if (!column.isWritable()) {
+					arrayIndex++;
+					continue;
+				}
+				final int pos = getPosition(column, field);
+				Object o = field.getAccessor().get(entity);
+				if (field.isArray()) {
+					if (o != null) {
+						o = Array.get(o, arrayIndex);
 					}
+					arrayIndex++;
 				}
+				values[pos] = toValue(column, pos, o, entity);
 			}
-			final CsvColumn column = field.getAnnotation(CsvColumn.class);
-			if (column != null && column.access().isWriteable()) {
-				int pos = column.position();
-				if (pos < 0) {
-					pos = columnNames.indexOf(defaultIfEmpty(column.name(), field.getName()));
-				}
-				if (pos == -1) {
-					throw new IOException(String.format("Invalid CsvColumn field %s", field.getName()));
-				}
-				values[pos] = template.objectToString(pos, getFieldValue(entity, field));
-				if (values[pos] == null && !column.defaultValue().isEmpty()) {
-					// デフォルト値が指定されていて、値がない場合はデフォルト値を代入します。
-					values[pos] = column.defaultValue();
-				}
-				if (values[pos] == null && column.required()) {
-					throw new CsvColumnException(String.format("%s must not be null", columnNames.get(pos)), entity);
-				}
+			final ColumnDescriptor column = field.getColumn();
+			if (column != null && column.isWritable()) {
+				final int pos = getPosition(column, field);
+				values[pos] = toValue(column, pos, field.getAccessor().get(entity), entity);
 			}
 		}
 		return Arrays.asList(values);
 	}
 
+	private String toValue(final ColumnDescriptor column, final int pos, final Object o, final T entity) throws IOException {
+		String value = template.objectToString(column, o);
+		if (value == null && column.getDefaultValue() != null) {
+			// デフォルト値が指定されていて、値がない場合はデフォルト値を代入します。
+			value = column.getDefaultValue();
+		}
+		if (value == null && column.isRequired()) {
+			throw new CsvColumnException(String.format("%s must not be null", columnNames.get(pos)), entity);
+		}
+		return value;
+	}
+
+	private static int getPosition(final ColumnDescriptor column, final FieldDescriptor field) throws IOException {
+		final int pos = column.getPosition();
+		if (pos == -1) {
+			throw new IOException(String.format("Invalid CsvColumn field %s", field.getField().getName()));
+		}
+		return pos;
+	}
+
 	// ------------------------------------------------------------------------
 	// getter / setter
 
@@ -456,6 +456,63 @@ public final class CsvConfigTest {
 		assertThat(cfg.isVariableColumns(), is(false));
 	}
 
+	@Test
+	public void testIsLockDisabled() {
+		assertThat(new CsvConfig().isLockDisabled(), is(false));
+	}
+
+	@Test
+	public void testSetLockDisabled() {
+		final CsvConfig cfg = new CsvConfig();
+		cfg.setLockDisabled(true);
+		assertThat(cfg.isLockDisabled(), is(true));
+	}
+
+	@Test
+	public void testWithLockDisabled() {
+		final CsvConfig cfg = new CsvConfig();
+		cfg.withLockDisabled(true);
+		assertThat(cfg.isLockDisabled(), is(true));
+	}
+
+	@Test
+	public void testIsRecycleTokens() {
+		assertThat(new CsvConfig().isRecycleTokens(), is(false));
+	}
+
+	@Test
+	public void testSetRecycleTokens() {
+		final CsvConfig cfg = new CsvConfig();
+		cfg.setRecycleTokens(true);
+		assertThat(cfg.isRecycleTokens(), is(true));
+	}
+
+	@Test
+	public void testWithRecycleTokens() {
+		final CsvConfig cfg = new CsvConfig();
+		cfg.withRecycleTokens(true);
+		assertThat(cfg.isRecycleTokens(), is(true));
+	}
+
+	@Test
+	public void testGetStringCacheSize() {
+		assertThat(new CsvConfig().getStringCacheSize(), is(0));
+	}
+
+	@Test
+	public void testSetStringCacheSize() {
+		final CsvConfig cfg = new CsvConfig();
+		cfg.setStringCacheSize(256);
+		assertThat(cfg.getStringCacheSize(), is(256));
+	}
+
+	@Test
+	public void testWithStringCacheSize() {
+		final CsvConfig cfg = new CsvConfig();
+		cfg.withStringCacheSize(256);
+		assertThat(cfg.getStringCacheSize(), is(256));
+	}
+
 	@Test
 	public void testWithAllMethods() {
 		final Pattern pattern = Pattern.compile("^#[ ]*$");
@@ -63,6 +63,33 @@ public class CsvReaderBenchmarks extends AbstractBenchmark {
 		}
 	}
 
+	@Test
+	public void testOrangeSignalCSVLockDisabled() throws IOException {
+		final CsvConfig cfg = new CsvConfig(CsvConfig.DEFAULT_SEPARATOR);
+		cfg.setQuoteDisabled(false);
+		cfg.setIgnoreEmptyLines(true);
+		cfg.setLineSeparator(Constants.CRLF);
+		cfg.setLockDisabled(true);
+
+		final LhaFile lhaFile = new LhaFile(new File("src/test/resources/", "ken_all.lzh"));
+		try {
+			final LhaHeader[] entries = lhaFile.getEntries();
+			for (final LhaHeader entry : entries) {
+				final CsvReader reader = new CsvReader(new InputStreamReader(lhaFile.getInputStream(entry), "Windows-31J"), cfg);
+				try {
+					List<String> values;
+					while ((values = reader.readValues()) != null) {
+						continue;
+					}
+				} finally {
+					reader.close();
+				}
+			}
+		} finally {
+			lhaFile.close();
+		}
+	}
+
 	@Test
 	public void testOpenCSV() throws IOException {
 		final LhaFile lhaFile = new LhaFile(new File("src/test/resources/", "ken_all.lzh"));
@@ -27,6 +27,9 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -34,6 +37,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import com.orangesignal.csv.filters.CsvValueFilter;
+
 /**
  * {@link CsvReader} クラスの単体テストです。
  *
@@ -624,6 +629,395 @@ public final class CsvReaderTest {
 		}
 	}
 
+	@Test
+	public void testReadValuesSmallBuffer() throws IOException {
+		final String data = "\uFEFFaaa,\"b\r\nb\"\"b\",ccc\r\n1,\"2\",3\r4,5,6\n";
+		for (int sz = 1; sz <= 4; sz++) {
+			final CsvReader reader = new CsvReader(new InputStreamReader(new ByteArrayInputStream(data.getBytes("UTF-8")), "UTF-8"), sz, new CsvConfig(',', '"', '"'));
+			try {
+				final List<String> line1 = reader.readValues();
+				assertThat(line1.size(), is(3));
+				assertThat(line1.get(0), is("aaa"));
+				assertThat(line1.get(1), is("b\r\nb\"b"));
+				assertThat(line1.get(2), is("ccc"));
+				assertThat(reader.getStartLineNumber(), is(1));
+				assertThat(reader.getEndLineNumber(), is(2));
+
+				final List<String> line2 = reader.readValues();
+				assertThat(line2.size(), is(3));
+				assertThat(line2.get(0), is("1"));
+				assertThat(line2.get(1), is("2"));
+				assertThat(line2.get(2), is("3"));
+
+				final List<String> line3 = reader.readValues();
+				assertThat(line3.size(), is(3));
+				assertThat(line3.get(0), is("4"));
+				assertThat(line3.get(1), is("5"));
+				assertThat(line3.get(2), is("6"));
+				assertThat(reader.getLineNumber(), is(3));
+				assertThat(reader.getEndLineNumber(), is(4));
+			} finally {
+				reader.close();
+			}
+		}
+	}
+
+	@Test
+	public void testReadRow() throws IOException {
+		final CsvConfig cfg = new CsvConfig(',', '"', '"');
+		cfg.setNullString("NULL");
+		final CsvReader reader = new CsvReader(new StringReader("aaa,\"b\"\"b\r\nb\",NULL,\"NULL\"\r\nx,,zzz\r\n"), cfg);
+		try {
+			final CsvRow row1 = reader.readRow();
+			assertThat(row1.size(), is(4));
+			assertThat(row1.get(0).toString(), is("aaa"));
+			assertThat(row1.get(0).length(), is(3));
+			assertThat(row1.get(1).toString(), is("b\"b\r\nb"));
+			assertThat(row1.get(1).subSequence(2, 3).toString(), is("b"));
+			assertThat(row1.isEnclosed(1), is(true));
+			assertThat(row1.getStartLineNumber(1), is(1));
+			assertThat(row1.getEndLineNumber(1), is(2));
+			assertThat(row1.isNull(2), is(true));
+			assertNull(row1.get(2));
+			assertNull(row1.getString(2));
+			assertThat(row1.isNull(3), is(false));
+			assertThat(row1.getString(3), is("NULL"));
+
+			final CsvRow row2 = reader.readRow();
+			assertThat(row2 == row1, is(true));
+			assertThat(row2.size(), is(3));
+			assertThat(row2.getString(0), is("x"));
+			assertThat(row2.get(1).length(), is(0));
+			assertThat(row2.getString(2), is("zzz"));
+			assertThat(row2.toValues().toString(), is("[x, , zzz]"));
+			assertThat(reader.getLineNumber(), is(2));
+			assertThat(reader.getStartLineNumber(), is(3));
+
+			final CsvRow row3 = reader.readRow();
+			assertThat(row3.size(), is(1));
+			assertThat(row3.getString(0), is(""));
+			assertNull(reader.readRow());
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testReadRowCsvRow() throws IOException {
+		final CsvConfig cfg = new CsvConfig(',', '"', '"');
+		final CsvReader reader = new CsvReader(new StringReader("aaa,\"b\r\nb\"\r\nx,y,z"), cfg);
+		try {
+			final CsvRow row = new CsvRow();
+			assertThat(reader.readRow(row), is(true));
+			assertThat(row.toValues().toString(), is("[aaa, b\r\nb]"));
+			assertThat(row.getEndLineNumber(1), is(2));
+			assertThat(reader.readRow(row), is(true));
+			assertThat(row.toValues().toString(), is("[x, y, z]"));
+			assertThat(reader.readRow(row), is(false));
+			assertNull(reader.readRow());
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testReadRowCsvRowIllegalArgumentException() throws IOException {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("CsvRow must not be null");
+		final CsvReader reader = new CsvReader(new StringReader("a"));
+		try {
+			reader.readRow(null);
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testReadTokensRecycleTokens() throws IOException {
+		final CsvConfig cfg = new CsvConfig(',', '"', '"');
+		cfg.setRecycleTokens(true);
+		cfg.setNullString("NULL");
+		final CsvReader reader = new CsvReader(new StringReader("aaa,\"b\r\nb\",NULL\r\nx,y"), cfg);
+		try {
+			final List<CsvToken> line1 = reader.readTokens();
+			assertThat(line1.size(), is(3));
+			assertThat(line1.get(0).getValue(), is("aaa"));
+			assertThat(line1.get(1).getValue(), is("b\r\nb"));
+			assertThat(line1.get(1).isEnclosed(), is(true));
+			assertThat(line1.get(1).getStartLineNumber(), is(1));
+			assertThat(line1.get(1).getEndLineNumber(), is(2));
+			assertNull(line1.get(2).getValue());
+			final CsvToken token = line1.get(0);
+
+			final List<CsvToken> line2 = reader.readTokens();
+			assertThat(line2 == line1, is(true));
+			assertThat(line2.size(), is(2));
+			assertThat(line2.get(0) == token, is(true));
+			assertThat(line2.get(0).getValue(), is("x"));
+			assertThat(line2.get(1).getValue(), is("y"));
+			assertThat(line2.get(1).isEnclosed(), is(false));
+			assertNull(reader.readTokens());
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testReadValuesStringCache() throws IOException {
+		final CsvConfig cfg = new CsvConfig(',', '"', '"');
+		cfg.setStringCacheSize(4);
+		final CsvReader reader = new CsvReader(new StringReader("Tokyo,JPY,\"JPY\"\r\nOsaka,JPY,USD\r\nTokyo,USD,JPY"), cfg);
+		try {
+			final List<String> line1 = reader.readValues();
+			final List<String> line2 = reader.readValues();
+			final List<String> line3 = reader.readValues();
+			assertThat(line1.toString(), is("[Tokyo, JPY, JPY]"));
+			assertThat(line2.toString(), is("[Osaka, JPY, USD]"));
+			assertThat(line3.toString(), is("[Tokyo, USD, JPY]"));
+			assertThat(line3.get(0) == line1.get(0), is(true));
+			assertThat(line2.get(1) == line1.get(1), is(true));
+			assertThat(line3.get(2) == line1.get(2), is(true));
+			// キャッシュは項目の位置毎に持つため、異なる位置の同じ値は共有しません。
+			assertThat(line1.get(2) == line1.get(1), is(false));
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testReadRowStringCache() throws IOException {
+		final CsvConfig cfg = new CsvConfig();
+		cfg.setStringCacheSize(16);
+		cfg.setRecycleTokens(true);
+		final CsvReader reader = new CsvReader(new StringReader("a,b\r\na,c\r\na,b"), cfg);
+		try {
+			final CsvRow row = new CsvRow();
+			assertThat(reader.readRow(row), is(true));
+			final String a = row.getString(0);
+			assertThat(reader.readRow(row), is(true));
+			assertThat(row.getString(0) == a, is(true));
+			final String b = reader.readTokens().get(1).getValue();
+			assertThat(b, is("b"));
+			assertThat(row.getString(1), is("c"));
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testReadValuesProjection() throws IOException {
+		final CsvConfig cfg = new CsvConfig(',', '"', '"');
+		cfg.setNullString("NULL");
+		cfg.setVariableColumns(false);
+		final CsvReader reader = new CsvReader(new StringReader("a,\"b,\r\nb\",c,\"d\"\"d\"\r\nw,NULL,y,NULL"), cfg);
+		try {
+			reader.setProjection(3);
+			final List<CsvToken> line1 = reader.readTokens();
+			assertThat(line1.size(), is(4));
+			assertThat(line1.get(0).getValue(), is("a"));
+			assertNull(line1.get(1).getValue());
+			assertThat(line1.get(1).getStartLineNumber(), is(1));
+			assertThat(line1.get(1).getEndLineNumber(), is(2));
+			assertNull(line1.get(2).getValue());
+			assertThat(line1.get(3).getValue(), is("d\"d"));
+			assertThat(reader.getEndLineNumber(), is(2));
+
+			reader.setProjection((int[]) null);
+			final List<String> line2 = reader.readValues();
+			assertThat(line2.toString(), is("[w, null, y, null]"));
+			assertNull(reader.readValues());
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testSetProjectionIllegalArgumentException() throws IOException {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Invalid column position -1");
+		final CsvReader reader = new CsvReader(new StringReader("a"));
+		try {
+			reader.setProjection(1, -1);
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testReadValuesFilter() throws IOException {
+		final CsvConfig cfg = new CsvConfig(',', '"', '"');
+		cfg.setNullString("NULL");
+		cfg.setVariableColumns(false);
+		final CsvReader reader = new CsvReader(new StringReader("a,1,\"x,\r\ny\",z\r\nb,2,\"x\"\"\",z\r\nc,1,\"\r\n\r\n\",z\r\nd,3,NULL,z"), cfg);
+		try {
+			final List<Integer> sizes = new ArrayList<Integer>();
+			reader.setFilter(new CsvValueFilter() {
+				@Override
+				public boolean accept(final List<String> values) {
+					sizes.add(values.size());
+					return !"1".equals(values.get(1));
+				}
+			}, 1);
+			final List<String> line1 = reader.readValues();
+			assertThat(line1.toString(), is("[b, 2, x\", z]"));
+			assertThat(reader.getStartLineNumber(), is(3));
+			assertThat(reader.getEndLineNumber(), is(3));
+			final List<CsvToken> line2 = reader.readTokens();
+			assertThat(line2.size(), is(4));
+			assertThat(line2.get(0).getValue(), is("d"));
+			assertNull(line2.get(2).getValue());
+			assertThat(reader.getStartLineNumber(), is(7));
+			assertThat(reader.getLineNumber(), is(4));
+			assertNull(reader.readValues());
+			assertThat(sizes.toString(), is("[2, 2, 2, 2]"));
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testReadValuesFilterEndOfLine() throws IOException {
+		final CsvConfig cfg = new CsvConfig(',', '"', '"');
+		cfg.setVariableColumns(true);
+		final CsvReader reader = new CsvReader(new StringReader("a,b,c\r\nd\r\ne,f,g\r\nh,i"), cfg);
+		try {
+			final List<Integer> sizes = new ArrayList<Integer>();
+			reader.setFilter(new CsvValueFilter() {
+				@Override
+				public boolean accept(final List<String> values) {
+					sizes.add(values.size());
+					return values.size() < 3 || !"f".equals(values.get(1));
+				}
+			}, 2);
+			assertThat(reader.readValues().toString(), is("[a, b, c]"));
+			assertThat(reader.readValues().toString(), is("[d]"));
+			assertThat(reader.readValues().toString(), is("[h, i]"));
+			assertNull(reader.readValues());
+			assertThat(sizes.toString(), is("[3, 1, 3, 2]"));
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testReadValuesFilterInvalidColumnCount() throws IOException {
+		exception.expect(CsvTokenException.class);
+		exception.expectMessage("Invalid column count in CSV input on line 2.");
+		final CsvConfig cfg = new CsvConfig(',', '"', '"');
+		cfg.setVariableColumns(false);
+		final CsvReader reader = new CsvReader(new StringReader("a,b,c\r\nd,e\r\nf,g,h"), cfg);
+		try {
+			reader.setFilter(new CsvValueFilter() {
+				@Override
+				public boolean accept(final List<String> values) {
+					return false;
+				}
+			}, 0);
+			reader.readValues();
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testReadRowFilter() throws IOException {
+		final CsvReader reader = new CsvReader(new StringReader("1,a\r\n2,b\r\n3,c\r\n4,d"), new CsvConfig(',', '"', '"'));
+		try {
+			reader.setFilter(new CsvValueFilter() {
+				@Override
+				public boolean accept(final List<String> values) {
+					return Integer.parseInt(values.get(0)) % 2 == 0;
+				}
+			}, -1);
+			final CsvRow row = new CsvRow();
+			assertThat(reader.readRow(row), is(true));
+			assertThat(row.getString(1), is("b"));
+			reader.setFilter(null, -1);
+			assertThat(reader.readRow(row), is(true));
+			assertThat(row.getString(1), is("c"));
+			assertThat(reader.readRow().getString(1), is("d"));
+			assertThat(reader.readRow(row), is(false));
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testSetFilterIllegalArgumentException() throws IOException {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Invalid column position -2");
+		final CsvReader reader = new CsvReader(new StringReader("a"));
+		try {
+			reader.setFilter(null, -2);
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testReadValuesLockDisabled() throws IOException {
+		final CsvConfig cfg = new CsvConfig(',', '"', '"');
+		cfg.setLockDisabled(true);
+		final CsvReader reader = new CsvReader(new StringReader("aaa,\"b\r\nb\",ccc\r\nzzz,yyy,xxx"), cfg);
+		try {
+			assertThat(reader.isLockDisabled(), is(true));
+			final List<String> line1 = reader.readValues();
+			assertThat(line1.size(), is(3));
+			assertThat(line1.get(1), is("b\r\nb"));
+			final List<CsvToken> line2 = reader.readTokens();
+			assertThat(line2.size(), is(3));
+			assertThat(line2.get(2).getValue(), is("xxx"));
+			assertNull(reader.readRow());
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testReadValuesInputStream() throws IOException {
+		final byte[] bytes = "ｱｲｳ,\"表\r\n示\",ソ".getBytes("Windows-31J");
+		final CsvReader reader = new CsvReader(new ByteArrayInputStream(bytes), "Windows-31J", new CsvConfig(',', '"', '"'));
+		try {
+			final List<String> line1 = reader.readValues();
+			assertThat(line1.size(), is(3));
+			assertThat(line1.get(0), is("ｱｲｳ"));
+			assertThat(line1.get(1), is("表\r\n示"));
+			assertThat(line1.get(2), is("ソ"));
+			assertThat(reader.getEndLineNumber(), is(2));
+			assertNull(reader.readValues());
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testReadValuesByteBuffer() throws IOException {
+		final byte[] bytes = "\uFEFF佐藤,鈴木\r\n高橋,田中".getBytes("UTF-8");
+		final ByteBuffer buf = ByteBuffer.allocateDirect(bytes.length);
+		buf.put(bytes).flip();
+		final CsvReader reader = new CsvReader(buf, "UTF-8", new CsvConfig());
+		try {
+			final List<String> line1 = reader.readValues();
+			assertThat(line1.size(), is(2));
+			assertThat(line1.get(0), is("佐藤"));
+			assertThat(line1.get(1), is("鈴木"));
+			final List<String> line2 = reader.readValues();
+			assertThat(line2.size(), is(2));
+			assertThat(line2.get(0), is("高橋"));
+			assertThat(line2.get(1), is("田中"));
+			assertNull(reader.readValues());
+			assertThat(buf.position(), is(0));
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testCsvReaderInputStreamUnsupportedEncoding() throws IOException {
+		exception.expect(UnsupportedEncodingException.class);
+		new CsvReader(new ByteArrayInputStream(new byte[0]), "X-UNKNOWN", new CsvConfig());
+	}
+
 	@Test
 	public void testReadUtf8bomFromInputStreamReader() throws IOException {
 		final byte[] bytes = "\uFEFF佐藤,鈴木".getBytes("UTF8");
@@ -133,6 +133,16 @@ public class CsvTest {
 		assertThat(list.size(), is(2694));
 	}
 
+	@Test
+	public void testLoadFileStringCsvConfigCsvHandlerOfTInt() throws IOException {
+		final List<String[]> list = Csv.load(new File(path, "n225.csv"), encoding, cfg, new StringArrayListHandler(), 4);
+		assertThat(list.size(), is(2694));
+		final List<String[]> expected = Csv.load(new File(path, "n225.csv"), encoding, cfg, new StringArrayListHandler());
+		for (int i = 0; i < expected.size(); i++) {
+			assertThat(list.get(i), is(expected.get(i)));
+		}
+	}
+
 	@Test
 	public void testLoadFileCsvConfigCsvHandlerOfT() throws IOException {
 		final List<String[]> list = Csv.load(new File(path, "n225.csv"), cfg, new StringArrayListHandler());
@@ -18,10 +18,14 @@ package com.orangesignal.csv;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 
 import org.junit.Rule;
@@ -142,6 +146,28 @@ public class CsvWriterTest {
 		}
 	}
 
+	@Test
+	public void testWriteValuesLockDisabled() throws IOException {
+		final CsvConfig cfg = new CsvConfig(',', '"', '\\');
+		cfg.setNullString("NULL");
+		cfg.setLineSeparator("\r\n");
+		cfg.setLockDisabled(true);
+
+		final StringWriter sw = new StringWriter();
+		final CsvWriter writer = new CsvWriter(sw, cfg);
+		try {
+			// Act
+			writer.writeValues(Arrays.asList(new String[]{ "aaa", "b\nb\\\\b", "c\"cc" }));
+			writer.writeValues(Arrays.asList(new String[]{ "zzz", "yyy", null }));
+			writer.flush();
+			// Assert
+			assertThat(writer.isLockDisabled(), is(true));
+			assertThat(sw.getBuffer().toString(), is("\"aaa\",\"b\nb\\\\b\",\"c\\\"cc\"\r\n\"zzz\",\"yyy\",NULL\r\n"));
+		} finally {
+			writer.close();
+		}
+	}
+
 	@Test
 	public void testWriteValues2() throws IOException {
 		final CsvConfig cfg = new CsvConfig(',', '"', '\\');
@@ -184,6 +210,51 @@ public class CsvWriterTest {
 		}
 	}
 
+	@Test
+	public void testWriteValuesSmallBuffer() throws IOException {
+		final CsvConfig cfg = new CsvConfig(',', '"', '"');
+		cfg.setLineSeparator("\r\n");
+		cfg.setQuotePolicy(QuotePolicy.MINIMAL);
+
+		final StringWriter sw = new StringWriter();
+		final CsvWriter writer = new CsvWriter(sw, 1, cfg);
+		try {
+			// Act
+			writer.writeValues(Arrays.asList(new String[]{ "aaa", "b\"b", "c,c" }));
+			writer.writeValues(Arrays.asList(new String[]{ "zzz", "y\r\ny", null }));
+			writer.flush();
+			// Assert
+			assertThat(sw.getBuffer().toString(), is("aaa,\"b\"\"b\",\"c,c\"\r\nzzz,\"y\r\ny\",\r\n"));
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test
+	public void testWriteValuesEscapeDisabled() throws IOException {
+		final CsvConfig cfg = new CsvConfig(',', '"', '\\', false, true);
+		cfg.setLineSeparator("\r\n");
+		cfg.setQuotePolicy(QuotePolicy.MINIMAL);
+
+		final StringWriter sw = new StringWriter();
+		final CsvWriter writer = new CsvWriter(sw, cfg);
+		try {
+			// Act
+			writer.writeValues(Arrays.asList(new String[]{ "aaa", "bbb" }));
+			try {
+				writer.writeValues(Arrays.asList(new String[]{ "xxx", "y\"y" }));
+			} catch (final IOException e) {
+				// 書込みに失敗した論理行は出力されません。
+			}
+			writer.writeValues(Arrays.asList(new String[]{ "zzz", "yyy" }));
+			writer.flush();
+			// Assert
+			assertThat(sw.getBuffer().toString(), is("aaa,bbb\r\nzzz,yyy\r\n"));
+		} finally {
+			writer.close();
+		}
+	}
+
 /*
 	@Test
 	public void testWriteUtf8bomToStringWriter() throws IOException {
@@ -228,6 +299,143 @@ public class CsvWriterTest {
 		}
 	}
 
+	@Test
+	public void testWriteRow() throws IOException {
+		final CsvConfig cfg = new CsvConfig(',', '"', '"');
+		cfg.setLineSeparator("\r\n");
+		cfg.setQuotePolicy(QuotePolicy.MINIMAL);
+		cfg.setNullString("NULL");
+
+		final StringWriter sw = new StringWriter();
+		final CsvWriter writer = new CsvWriter(sw, 1, cfg);
+		try {
+			// Act
+			writer.beginRow();
+			writer.writeInt(Integer.MIN_VALUE);
+			writer.writeLong(Long.MIN_VALUE);
+			writer.writeLong(1234567890123L);
+			writer.writeDouble(-12.0);
+			writer.writeDouble(0.5);
+			writer.writeDouble(-0.0);
+			writer.writeDouble(1.0E7);
+			writer.writeDouble(Double.NaN);
+			writer.writeDecimal(new BigDecimal("1.50"));
+			writer.writeString("a,b");
+			writer.writeString(null);
+			writer.writeDecimal(null);
+			writer.writeDate(new Date(0L), new SimpleDateFormat("yyyy"));
+			writer.endRow();
+			writer.flush();
+			// Assert
+			assertThat(sw.getBuffer().toString(), is("-2147483648,-9223372036854775808,1234567890123,-12.0,0.5,-0.0,1.0E7,NaN,1.50,\"a,b\",NULL,NULL,1970\r\n"));
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test
+	public void testWriteRowQuotePolicyAll() throws IOException {
+		final CsvConfig cfg = new CsvConfig(',', '"', '"');
+		cfg.setLineSeparator("\r\n");
+
+		final StringWriter sw = new StringWriter();
+		final CsvWriter writer = new CsvWriter(sw, cfg);
+		try {
+			// Act
+			writer.beginRow();
+			writer.writeInt(0);
+			writer.writeDouble(3.0);
+			writer.writeString("x");
+			writer.endRow();
+			writer.beginRow();
+			writer.endRow();
+			writer.flush();
+			// Assert
+			assertThat(sw.getBuffer().toString(), is("\"0\",\"3.0\",\"x\"\r\n\r\n"));
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test
+	public void testWriteRowSeparatorInNumber() throws IOException {
+		final CsvConfig cfg = new CsvConfig('.', '"', '"');
+		cfg.setLineSeparator("\n");
+		cfg.setQuotePolicy(QuotePolicy.MINIMAL);
+
+		final StringWriter sw = new StringWriter();
+		final CsvWriter writer = new CsvWriter(sw, cfg);
+		try {
+			// Act
+			writer.beginRow();
+			writer.writeDouble(1.0);
+			writer.writeInt(2);
+			writer.endRow();
+			writer.flush();
+			// Assert
+			assertThat(sw.getBuffer().toString(), is("\"1.0\".2\n"));
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test
+	public void testWriteRowCsvValueException() throws IOException {
+		final CsvConfig cfg = new CsvConfig();
+		cfg.setVariableColumns(false);
+
+		final StringWriter sw = new StringWriter();
+		final CsvWriter writer = new CsvWriter(sw, cfg);
+		try {
+			writer.beginRow();
+			writer.writeInt(1);
+			writer.writeInt(2);
+			writer.endRow();
+			writer.beginRow();
+			writer.writeInt(3);
+			exception.expect(CsvValueException.class);
+			exception.expectMessage("Invalid column count.");
+			writer.endRow();
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test
+	public void testWriteRowIllegalStateException() throws IOException {
+		exception.expect(IllegalStateException.class);
+		exception.expectMessage("Row not begun");
+		final CsvWriter writer = new CsvWriter(new StringWriter());
+		try {
+			writer.writeInt(1);
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test
+	public void testCloseRowNotEnded() throws IOException {
+		final CsvConfig cfg = new CsvConfig();
+		cfg.setLineSeparator("\n");
+
+		final StringWriter sw = new StringWriter();
+		final CsvWriter writer = new CsvWriter(sw, cfg);
+		writer.beginRow();
+		writer.writeInt(1);
+		writer.endRow();
+		writer.beginRow();
+		writer.writeInt(2);
+		try {
+			writer.close();
+			fail();
+		} catch (final IOException e) {
+			assertThat(e.getMessage(), is("Row not ended"));
+		}
+		// 確定済みの論理行のみを書込み、文字出力ストリームは閉じられています。
+		assertThat(sw.getBuffer().toString(), is("1\n"));
+		writer.close();
+	}
+
 	@Test
 	public void testClosed() throws IOException {
 		// Arrange
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * {@link LineFilter} クラスの単体テストです。
+ *
+ * @author Koji Sugisawa
+ */
+public class LineFilterTest {
+
+	private static final String[] REGEXES = { "^#.*$", "#.*", "^//.*", "\\#.*$", "^$", "", ".*", "END", "^END$", "a.*b", "\\s*", "^\\Q#\\E.*$", "[#;].*", "ab*" };
+
+	private static final String[] LINES = { "", "#", "# comment", "#\n", "#a\rb", "#a ", "//x", "/", "END", "END ", " END", "axb", "ab", "abbb", "  ", ";", "a" };
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void testMatches() {
+		for (final String regex : REGEXES) {
+			for (final int flags : new int[]{ 0, Pattern.DOTALL, Pattern.CASE_INSENSITIVE }) {
+				final Pattern pattern = Pattern.compile(regex, flags);
+				final LineFilter filter = new LineFilter(new Pattern[]{ pattern });
+				final Matcher[] matchers = filter.newMatchers();
+				for (final String line : LINES) {
+					assertThat(regex + "/" + flags + "/" + line, filter.matches(new StringBuilder(line), matchers), is(pattern.matcher(line).matches()));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testMatchesNullPattern() {
+		final LineFilter filter = new LineFilter(new Pattern[]{ null, Pattern.compile("x") });
+		final Matcher[] matchers = filter.newMatchers();
+		assertThat(filter.matches("x", matchers), is(true));
+		assertThat(filter.matches("y", matchers), is(false));
+	}
+
+	@Test
+	public void testLineFilterIllegalArgumentException() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Patterns must not be null");
+		new LineFilter(null);
+	}
+
+	@Test
+	public void testCsvConfigGetLineFilter() {
+		final CsvConfig cfg = new CsvConfig();
+		assertThat(cfg.getLineFilter() == null, is(true));
+
+		final Pattern pattern = Pattern.compile("^#.*$");
+		cfg.setIgnoreLinePatterns(pattern);
+		final LineFilter filter = cfg.getLineFilter();
+		assertThat(cfg.getLineFilter(), sameInstance(filter));
+
+		cfg.getIgnoreLinePatterns()[0] = Pattern.compile("^;.*$");
+		assertThat(cfg.getLineFilter() == filter, is(false));
+		assertThat(cfg.getLineFilter().matches(";", cfg.getLineFilter().newMatchers()), is(true));
+	}
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import com.orangesignal.csv.filters.SimpleCsvNamedValueFilter;
+import com.orangesignal.csv.filters.SimpleCsvValueFilter;
+import com.orangesignal.csv.handlers.BeanListHandler;
+import com.orangesignal.csv.handlers.ColumnNameMapListHandler;
+import com.orangesignal.csv.model.SampleBean;
+
+/**
+ * {@link ParallelCsvReader} クラスの単体テストです。
+ *
+ * @author Koji Sugisawa
+ */
+public class ParallelCsvReaderTest {
+
+	private static final String ALPHABET = "ab ,\"\\\r\n#あ";
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	@Test
+	public void testReadTokens() throws IOException {
+		final CsvConfig cfg = new CsvConfig(',', '"', '\\');
+		cfg.setSkipLines(1);
+		final StringBuilder sb = new StringBuilder("header\r\n");
+		for (int i = 0; i < 1000; i++) {
+			sb.append(i).append(",\"a\r\nb\",c\r\n");
+		}
+		final File file = write(sb.toString(), "UTF-8");
+
+		assertThat(read(new ParallelCsvReader(file, "UTF-8", cfg, 4, 64)), is(read(new CsvReader(new StringReader(sb.toString()), cfg))));
+	}
+
+	@Test
+	public void testReadTokensRandom() throws IOException {
+		final Random random = new Random(0);
+		for (int n = 0; n < 200; n++) {
+			final CsvConfig cfg = new CsvConfig(',', '"', random.nextBoolean() ? '"' : '\\');
+			cfg.setIgnoreEmptyLines(random.nextBoolean());
+			cfg.setIgnoreLeadingWhitespaces(random.nextBoolean());
+			cfg.setIgnoreTrailingWhitespaces(random.nextBoolean());
+			cfg.setVariableColumns(true);
+			cfg.setSkipLines(random.nextInt(3));
+			if (random.nextBoolean()) {
+				cfg.setIgnoreLinePatterns(Pattern.compile("^#.*$"));
+			}
+			final String encoding = random.nextBoolean() ? "UTF-8" : "Windows-31J";
+
+			final StringBuilder sb = new StringBuilder();
+			final int len = random.nextInt(2000);
+			for (int i = 0; i < len; i++) {
+				sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+			}
+			final File file = write(sb.toString(), encoding);
+			final int chunkSize = 1 + random.nextInt(64);
+
+			assertThat(read(new ParallelCsvReader(file, encoding, cfg, 1 + random.nextInt(4), chunkSize)),
+					is(read(new CsvReader(new StringReader(sb.toString()), cfg))));
+		}
+	}
+
+	@Test
+	public void testReadTokensProjection() throws IOException {
+		final Random random = new Random(0);
+		for (int n = 0; n < 50; n++) {
+			final CsvConfig cfg = new CsvConfig(',', '"', '\\');
+			cfg.setIgnoreEmptyLines(random.nextBoolean());
+			final StringBuilder sb = new StringBuilder();
+			final int len = random.nextInt(2000);
+			for (int i = 0; i < len; i++) {
+				sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+			}
+			final File file = write(sb.toString(), "UTF-8");
+
+			final CsvReader expected = new CsvReader(new StringReader(sb.toString()), cfg);
+			expected.setProjection(2, 3);
+			final CsvReader actual = new ParallelCsvReader(file, "UTF-8", cfg, 1 + random.nextInt(4), 1 + random.nextInt(64));
+			actual.setProjection(2, 3);
+			assertThat(read(actual), is(read(expected)));
+		}
+	}
+
+	@Test
+	public void testReadTokensFilter() throws IOException {
+		final Random random = new Random(0);
+		for (int n = 0; n < 50; n++) {
+			final CsvConfig cfg = new CsvConfig(',', '"', '\\');
+			cfg.setIgnoreEmptyLines(random.nextBoolean());
+			final StringBuilder sb = new StringBuilder();
+			final int len = random.nextInt(2000);
+			for (int i = 0; i < len; i++) {
+				sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+			}
+			final File file = write(sb.toString(), "UTF-8");
+
+			final CsvReader expected = new CsvReader(new StringReader(sb.toString()), cfg);
+			expected.setFilter(new SimpleCsvValueFilter().regex(0, "^a.*"), 0);
+			final CsvReader actual = new ParallelCsvReader(file, "UTF-8", cfg, 1 + random.nextInt(4), 1 + random.nextInt(64));
+			actual.setFilter(new SimpleCsvValueFilter().regex(0, "^a.*"), 0);
+			assertThat(read(actual), is(read(expected)));
+		}
+	}
+
+	@Test
+	public void testLoadFilter() throws IOException {
+		final CsvConfig cfg = new CsvConfig();
+		final StringBuilder sb = new StringBuilder("symbol,name\r\n");
+		for (int i = 0; i < 1000; i++) {
+			sb.append(i % 10 == 0 ? "A" : "B").append(',').append(i).append("\r\n");
+		}
+		final File file = write(sb.toString(), "UTF-8");
+
+		final List<SampleBean> beans = new BeanListHandler<SampleBean>(SampleBean.class)
+				.filter(new SimpleCsvNamedValueFilter().eq("symbol", "A"))
+				.load(new ParallelCsvReader(file, "UTF-8", cfg, 4, 64));
+		assertThat(beans.size(), is(100));
+		assertThat(beans.get(1).name, is("10"));
+
+		final List<Map<String, String>> maps = new ColumnNameMapListHandler()
+				.filter(new SimpleCsvNamedValueFilter().eq("symbol", "A"))
+				.load(new ParallelCsvReader(file, "UTF-8", cfg, 4, 64));
+		assertThat(maps.size(), is(100));
+		assertThat(maps.get(99).get("name"), is("990"));
+	}
+
+	@Test
+	public void testReadTokensInvalidColumnCount() throws IOException {
+		final CsvConfig cfg = new CsvConfig();
+		cfg.setVariableColumns(false);
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			sb.append("a,b\r\n");
+		}
+		sb.append("a,b,c\r\n");
+		final File file = write(sb.toString(), "UTF-8");
+
+		exception.expect(CsvTokenException.class);
+		exception.expectMessage("Invalid column count in CSV input on line 101.");
+		read(new ParallelCsvReader(file, "UTF-8", cfg, 4, 16));
+	}
+
+	@Test
+	public void testParallelCsvReaderIllegalArgumentException() throws IOException {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Parallelism <= 0");
+		new ParallelCsvReader(write("", "UTF-8"), "UTF-8", new CsvConfig(), 0);
+	}
+
+	private File write(final String text, final String encoding) throws IOException {
+		final File file = tempFolder.newFile();
+		final OutputStream out = new FileOutputStream(file);
+		try {
+			out.write(text.getBytes(encoding));
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	private static List<String> read(final CsvReader reader) throws IOException {
+		final List<String> results = new ArrayList<String>();
+		try {
+			while (true) {
+				final List<CsvToken> tokens = reader.readTokens();
+				final StringBuilder sb = new StringBuilder();
+				sb.append(reader.getLineNumber()).append('/').append(reader.getStartLineNumber()).append('/').append(reader.getEndLineNumber()).append('/').append(reader.isEndOfFile());
+				if (tokens != null) {
+					for (final CsvToken token : tokens) {
+						sb.append('|').append(token.getValue()).append('@').append(token.getStartLineNumber()).append('-').append(token.getEndLineNumber()).append(token.isEnclosed());
+					}
+				}
+				results.add(sb.toString());
+				if (tokens == null && reader.isEndOfFile()) {
+					break;
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		return results;
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * {@link StringCache} クラスの単体テストです。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+public class StringCacheTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void testStringCacheIllegalArgumentException() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Size <= 0");
+		new StringCache(0);
+	}
+
+	@Test
+	public void testGet() {
+		final StringCache cache = new StringCache(8);
+		final char[] chars = "xJPYxJPYxUSD".toCharArray();
+		final String jpy = cache.get(0, chars, 1, 3);
+		assertThat(jpy, is("JPY"));
+		assertThat(cache.get(0, chars, 5, 3) == jpy, is(true));
+		assertThat(cache.get(0, chars, 9, 3), is("USD"));
+		assertThat(cache.get(1, chars, 5, 3) == jpy, is(false));
+		assertThat(cache.get(0, chars, 0, 0), is(""));
+	}
+
+	@Test
+	public void testGetMaxLength() {
+		final StringCache cache = new StringCache(8);
+		final char[] chars = new char[StringCache.MAX_LENGTH + 1];
+		final String s = cache.get(0, chars, 0, chars.length);
+		assertThat(s.length(), is(chars.length));
+		assertThat(cache.get(0, chars, 0, chars.length) == s, is(false));
+	}
+
+	@Test
+	public void testGetOverflow() {
+		final StringCache cache = new StringCache(2);
+		for (int i = 0; i < 100; i++) {
+			final char[] chars = String.valueOf(i).toCharArray();
+			assertThat(cache.get(0, chars, 0, chars.length), is(String.valueOf(i)));
+		}
+		final char[] chars = "99".toCharArray();
+		assertThat(cache.get(0, chars, 0, 2) == cache.get(0, chars, 0, 2), is(true));
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.bean;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.Date;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.orangesignal.csv.model.ImmutableBean;
+import com.orangesignal.csv.model.SampleBean;
+
+/**
+ * {@link BeanInstantiator} クラスの単体テストです。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+public class BeanInstantiatorTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void testGetInstanceIllegalArgumentException() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Class must not be null");
+		BeanInstantiator.getInstance(null);
+	}
+
+	@Test
+	public void testNewInstanceNoArgs() throws IOException {
+		final BeanInstantiator<SampleBean> instantiator = BeanInstantiator.getInstance(SampleBean.class);
+		assertThat(instantiator.getType() == SampleBean.class, is(true));
+		assertThat(instantiator.getParameterCount(), is(0));
+		assertThat(instantiator.indexOf("symbol"), is(-1));
+		final SampleBean bean = instantiator.newInstance();
+		assertNull(bean.symbol);
+	}
+
+	@Test
+	public void testNewInstancePrivateConstructor() throws IOException {
+		assertThat(BeanInstantiator.getInstance(PrivateBean.class).newInstance().value, is("private"));
+	}
+
+	@Test
+	public void testNewInstanceConstructorProperties() throws IOException {
+		final BeanInstantiator<ImmutableBean> instantiator = BeanInstantiator.getInstance(ImmutableBean.class);
+		assertThat(instantiator.getParameterCount(), is(3));
+		assertThat(instantiator.getParameterName(0), is("symbol"));
+		assertThat(instantiator.indexOf("price"), is(2));
+		assertThat(instantiator.indexOf("note"), is(-1));
+
+		final ImmutableBean bean = instantiator.newInstance("AAAA", Long.valueOf(10L), Double.valueOf(1.5D));
+		assertThat(bean.getSymbol(), is("AAAA"));
+		assertThat(bean.getVolume(), is(10L));
+		assertThat(bean.getPrice(), is(1.5D));
+
+		final ImmutableBean defaults = instantiator.newInstance("BBBB", null);
+		assertThat(defaults.getSymbol(), is("BBBB"));
+		assertThat(defaults.getVolume(), is(0L));
+		assertNull(defaults.getPrice());
+	}
+
+	@Test
+	public void testNewInstanceNoSuitableConstructor() throws IOException {
+		exception.expect(IOException.class);
+		exception.expectMessage("Cannot create " + Date[].class.getName());
+		BeanInstantiator.getInstance(Date[].class).newInstance();
+	}
+
+	@Test
+	public void testNewInstanceConstructorException() throws IOException {
+		exception.expect(IOException.class);
+		exception.expectMessage("Cannot create " + FailingBean.class.getName() + ": failed");
+		BeanInstantiator.getInstance(FailingBean.class).newInstance();
+	}
+
+	private static final class PrivateBean {
+		final String value;
+		private PrivateBean() { value = "private"; }
+	}
+
+	private static final class FailingBean {
+		@SuppressWarnings("unused")
+		private FailingBean() { throw new IllegalStateException("failed"); }
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.bean;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.orangesignal.csv.model.SampleBean;
+
+/**
+ * {@link CsvBeanMappingPlan} クラスの単体テストです。
+ *
+ * @author Koji Sugisawa
+ */
+public class CsvBeanMappingPlanTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void testNewInstance() throws IOException {
+		final List<String> names = new ArrayList<String>(Arrays.asList("symbol", "price"));
+		final CsvBeanMappingPlan plan = CsvBeanMappingPlan.newInstance(SampleBean.class, names);
+		assertThat(plan.getType() == SampleBean.class, is(true));
+		assertThat(plan.size(), is(2));
+		assertThat(plan.getNames(), is(names));
+		assertThat(plan.getField(1).getName(), is("price"));
+
+		// 呼出し元のリストを変更しても計画は変わらないこと
+		names.set(0, "name");
+		assertThat(plan.getNames().get(0), is("symbol"));
+	}
+
+	@Test
+	public void testSetFieldValue() throws IOException {
+		final CsvBeanMappingPlan plan = CsvBeanMappingPlan.newInstance(SampleBean.class, Arrays.asList("symbol", "volume"));
+		final SampleBean bean = new SampleBean();
+		plan.setFieldValue(bean, 0, "AAAA");
+		plan.setFieldValue(bean, 1, 10L);
+		assertThat(bean.symbol, is("AAAA"));
+		assertThat(bean.volume.longValue(), is(10L));
+	}
+
+	@Test
+	public void testGetFieldValue() throws IOException {
+		final CsvBeanMappingPlan plan = CsvBeanMappingPlan.newInstance(SampleBean.class, Arrays.asList("symbol", "volume"));
+		final SampleBean bean = new SampleBean();
+		bean.symbol = "AAAA";
+		bean.volume = 10L;
+		assertThat((String) plan.getFieldValue(bean, 0), is("AAAA"));
+		assertThat((Long) plan.getFieldValue(bean, 1), is(10L));
+		assertThat(plan.getFieldAccessor(1).getField().getName(), is("volume"));
+	}
+
+	@Test
+	public void testSetFieldValueIOException() throws IOException {
+		exception.expect(IOException.class);
+		exception.expectMessage("Cannot set symbol");
+		final CsvBeanMappingPlan plan = CsvBeanMappingPlan.newInstance(SampleBean.class, Arrays.asList("symbol"));
+		plan.setFieldValue(new SampleBean(), 0, 1L);
+	}
+
+	@Test
+	public void testGetFieldNotFound() throws IOException {
+		exception.expect(IOException.class);
+		exception.expectMessage("Field unknown not found in " + SampleBean.class.getName());
+		CsvBeanMappingPlan.newInstance(SampleBean.class, Arrays.asList("unknown")).getField(0);
+	}
+
+	@Test
+	public void testNewInstanceIllegalArgumentException() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Names must not be null");
+		CsvBeanMappingPlan.newInstance(SampleBean.class, null);
+	}
+
+}
@@ -16,10 +16,21 @@
 
 package com.orangesignal.csv.bean;
 
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import com.orangesignal.csv.model.ImmutableBean;
 import com.orangesignal.csv.model.SampleBean;
 
 /**
@@ -47,4 +58,36 @@ public class CsvBeanTemplateTest {
 		new CsvBeanTemplate<SampleBean>(SampleBean.class).includes("aaa").excludes("bbb");
 	}
 
+	@Test
+	public void testCreateBeanConstructorProperties() throws IOException {
+		exception.expect(IOException.class);
+		exception.expectMessage("Cannot create com.orangesignal.csv.model.ImmutableBean: Constructor requires 3 arguments");
+		CsvBeanTemplate.newInstance(ImmutableBean.class).createBean();
+	}
+
+	@Test
+	public void testGetMappingPlan() {
+		final CsvBeanTemplate<SampleBean> template = CsvBeanTemplate.newInstance(SampleBean.class);
+		final List<String> names = new ArrayList<String>(Arrays.asList("symbol", "price"));
+		final CsvBeanMappingPlan plan = template.getMappingPlan(names);
+		assertThat(plan.getType() == SampleBean.class, is(true));
+		assertThat(template.getMappingPlan(Arrays.asList("symbol", "price")), sameInstance(plan));
+
+		// 呼出し元のリストを変更してもキャッシュされた計画は変わらないこと
+		names.set(0, "name");
+		assertThat(template.getMappingPlan(Arrays.asList("symbol", "price")), sameInstance(plan));
+
+		// 上限数を超えた場合は最も長い間使用されていない計画のみが破棄されること
+		final CsvBeanMappingPlan other = template.getMappingPlan(Arrays.asList("volume"));
+		for (int i = 0; i < 15; i++) {
+			template.getMappingPlan(Arrays.asList("name" + i));
+			template.getMappingPlan(Arrays.asList("symbol", "price"));
+		}
+		assertThat(template.getMappingPlan(Arrays.asList("symbol", "price")), sameInstance(plan));
+		assertThat(template.getMappingPlan(Arrays.asList("volume")), not(sameInstance(other)));
+
+		// テンプレート毎に計画をキャッシュすること
+		assertThat(CsvBeanTemplate.newInstance(SampleBean.class).getMappingPlan(Arrays.asList("symbol", "price")), not(sameInstance(plan)));
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.bean;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.orangesignal.csv.annotation.CsvColumn;
+import com.orangesignal.csv.annotation.CsvEntity;
+import com.orangesignal.csv.bean.CsvEntityDescriptor.ColumnDescriptor;
+import com.orangesignal.csv.bean.CsvEntityDescriptor.FieldDescriptor;
+import com.orangesignal.csv.entity.DefaultValuePrice;
+
+/**
+ * {@link CsvEntityDescriptor} クラスの単体テストです。
+ *
+ * @author Koji Sugisawa
+ */
+public class CsvEntityDescriptorTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void testDescriptor() {
+		final CsvEntityDescriptor descriptor = new CsvEntityDescriptor(DefaultValuePrice.class, null);
+		assertThat(descriptor.getType() == DefaultValuePrice.class, is(true));
+		assertThat(descriptor.getNames(), nullValue());
+		assertThat(descriptor.getFieldCount(), is(5));
+
+		final FieldDescriptor symbol = descriptor.getField(0);
+		assertThat(symbol.getField().getName(), is("symbol"));
+		assertThat(symbol.hasColumns(), is(false));
+		assertThat(symbol.getColumnsSize(), is(0));
+		final ColumnDescriptor column = symbol.getColumn();
+		assertThat(column.getName(), is("シンボル"));
+		assertThat(column.getPosition(), is(0));
+		assertThat(column.isReadable(), is(true));
+		assertThat(column.isWritable(), is(true));
+		assertThat(column.getDefaultValue(), is("XXXX"));
+		assertThat(column.isRequired(), is(true));
+		assertThat(column.getFormat(), nullValue());
+		assertThat(symbol.getParser(), nullValue());
+
+		final FieldDescriptor date = descriptor.getField(1);
+		assertThat(date.getField().getName(), is("date"));
+		assertThat(date.isArray(), is(false));
+		assertThat(date.hasColumns(), is(true));
+		assertThat(date.getColumnsSize(), is(2));
+		assertThat(date.getColumn(), nullValue());
+		assertThat(date.getColumns(1).getPosition(), is(5));
+		assertThat(date.getColumns(1).getDefaultValue(), is("12:00:00"));
+		assertThat(((SimpleDateFormat) ((ThreadSafeFormat) date.getColumns(1).getFormat()).getFormat()).toPattern(), is("HH:mm:ss"));
+		assertThat(((SimpleDateFormat) ((ThreadSafeFormat) date.getParser()).getFormat()).toPattern(), is("yyyy/MM/ddHH:mm:ss"));
+
+		assertThat(descriptor.getField(4).getColumn().getDefaultValue(), nullValue());
+	}
+
+	@Test
+	public void testDescriptorNames() {
+		final CsvEntityDescriptor descriptor = new CsvEntityDescriptor(NamedEntity.class, Arrays.asList("b", "a"));
+		assertThat(descriptor.getNames(), is(Arrays.asList("b", "a")));
+		assertThat(descriptor.getField(0).getColumn().getPosition(), is(1));
+		assertThat(descriptor.getField(1).getColumn().getPosition(), is(0));
+		assertThat(descriptor.getField(2).getColumn().getPosition(), is(-1));
+	}
+
+	@Test
+	public void testDescriptorIllegalArgumentException() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Class must not be null");
+		new CsvEntityDescriptor(null, null);
+	}
+
+	@CsvEntity
+	private static final class NamedEntity {
+		@CsvColumn(name = "a")
+		String a;
+		@CsvColumn
+		String b;
+		@CsvColumn(name = "c")
+		String c;
+	}
+
+}
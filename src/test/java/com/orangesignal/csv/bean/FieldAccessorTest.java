@@ -0,0 +1,120 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.bean;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * {@link FieldAccessor} クラスの単体テストです。
+ *
+ * @author Koji Sugisawa
+ */
+public class FieldAccessorTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@SuppressWarnings("unused")
+	private static final class PrimitiveBean {
+		private boolean b;
+		private byte by;
+		private short s;
+		private char c;
+		private int i;
+		private long l;
+		private float f;
+		private double d;
+		private String str;
+	}
+
+	private static FieldAccessor accessor(final String name) throws IOException {
+		return FieldAccessor.newInstance(FieldUtils.getField(PrimitiveBean.class, name));
+	}
+
+	@Test
+	public void testNewInstanceIllegalArgumentException() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Field must not be null");
+		FieldAccessor.newInstance(null);
+	}
+
+	@Test
+	public void testGetField() throws IOException {
+		assertThat(accessor("i").getField().getName(), is("i"));
+	}
+
+	@Test
+	public void testSetPrimitive() throws IOException {
+		final PrimitiveBean bean = new PrimitiveBean();
+		accessor("b").setBoolean(bean, true);
+		accessor("by").setByte(bean, (byte) 1);
+		accessor("s").setShort(bean, (short) 2);
+		accessor("c").setChar(bean, 'x');
+		accessor("i").setInt(bean, 3);
+		accessor("l").setLong(bean, 4L);
+		accessor("f").setFloat(bean, 5.5F);
+		accessor("d").setDouble(bean, 6.5D);
+		assertThat(bean.b, is(true));
+		assertThat(bean.by, is((byte) 1));
+		assertThat(bean.s, is((short) 2));
+		assertThat(bean.c, is('x'));
+		assertThat(bean.i, is(3));
+		assertThat(bean.l, is(4L));
+		assertThat(bean.f, is(5.5F));
+		assertThat(bean.d, is(6.5D));
+	}
+
+	@Test
+	public void testSetPrimitiveWidening() throws IOException {
+		final PrimitiveBean bean = new PrimitiveBean();
+		accessor("l").setInt(bean, 7);
+		accessor("d").setLong(bean, 8L);
+		assertThat(bean.l, is(7L));
+		assertThat(bean.d, is(8D));
+	}
+
+	@Test
+	public void testSetAndGet() throws IOException {
+		final PrimitiveBean bean = new PrimitiveBean();
+		accessor("str").set(bean, "AAAA");
+		accessor("i").set(bean, Integer.valueOf(9));
+		assertThat((String) accessor("str").get(bean), is("AAAA"));
+		assertThat((Integer) accessor("i").get(bean), is(9));
+	}
+
+	@Test
+	public void testSetIOException() throws IOException {
+		exception.expect(IOException.class);
+		exception.expectMessage("Cannot set i");
+		accessor("i").setLong(new PrimitiveBean(), 1L);
+	}
+
+	@Test
+	public void testGetIOException() throws IOException {
+		exception.expect(IOException.class);
+		exception.expectMessage("Cannot get i");
+		accessor("i").get("bean");
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.bean;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import java.text.Format;
+import java.text.ParseException;
+import java.util.Locale;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * {@link JavaTimeFormat} クラスの単体テストです。
+ * {@code java.time} パッケージが利用できない実行環境ではテストを行いません。
+ *
+ * @author Koji Sugisawa
+ */
+public class JavaTimeFormatTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private Class<?> localDate;
+	private Class<?> localDateTime;
+
+	@Before
+	public void setUp() {
+		try {
+			localDate = Class.forName("java.time.LocalDate");
+			localDateTime = Class.forName("java.time.LocalDateTime");
+		} catch (final ClassNotFoundException e) {
+			Assume.assumeTrue(false);
+		}
+	}
+
+	@Test
+	public void testFormatAndParse() throws ParseException {
+		final Format format = new JavaTimeFormat(localDate, "yyyy/MM/dd", Locale.JAPAN, null);
+		final Object date = format.parseObject("2014/02/03");
+		assertThat(date.getClass() == localDate, is(true));
+		assertThat(date.toString(), is("2014-02-03"));
+		assertThat(format.format(date), is("2014/02/03"));
+	}
+
+	@Test
+	public void testParseException() throws ParseException {
+		exception.expect(ParseException.class);
+		new JavaTimeFormat(localDate, "yyyy/MM/dd", Locale.JAPAN, null).parseObject("2014-02-03");
+	}
+
+	@Test
+	public void testMergeFormatPattern() throws ParseException {
+		final Format merged = FormatUtils.mergeFormatPattern(
+				new JavaTimeFormat(localDateTime, "yyyy/MM/dd", Locale.JAPAN, null),
+				new JavaTimeFormat(localDateTime, "HH:mm:ss", Locale.JAPAN, null)
+			);
+		assertThat(merged.parseObject("2014/02/0312:34:56").toString(), is("2014-02-03T12:34:56"));
+	}
+
+	@Test
+	public void testConvert() {
+		final SimpleCsvValueConverter c = new SimpleCsvValueConverter();
+		final Object date = c.convert("2014-02-03", localDate);
+		assertThat(date.getClass() == localDate, is(true));
+		assertThat(c.convert(date), is("2014-02-03"));
+	}
+
+	@Test
+	public void testIsJavaTime() {
+		assertThat(JavaTimeFormat.isJavaTime(localDate), is(true));
+		assertThat(JavaTimeFormat.isJavaTime(java.util.Date.class), is(false));
+	}
+
+}
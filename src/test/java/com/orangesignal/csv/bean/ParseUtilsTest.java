@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.bean;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.util.TimeZone;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * {@link ParseUtils} クラスの単体テストです。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+public class ParseUtilsTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void testParseInt() {
+		final String[] values = { "0", "-0", "+1", "123", "-123", "007", "2147483647", "-2147483648", "１２" };
+		for (final String value : values) {
+			assertThat(value, ParseUtils.parseInt(new StringBuilder(value)), is(Integer.parseInt(value)));
+		}
+	}
+
+	@Test
+	public void testParseIntOverflow() {
+		exception.expect(NumberFormatException.class);
+		ParseUtils.parseInt("2147483648");
+	}
+
+	@Test
+	public void testParseIntNumberFormatException() {
+		exception.expect(NumberFormatException.class);
+		ParseUtils.parseInt("-");
+	}
+
+	@Test
+	public void testParseLong() {
+		final String[] values = { "0", "+9", "-42", "9223372036854775807", "-9223372036854775808", "-9223372036854775807" };
+		for (final String value : values) {
+			assertThat(value, ParseUtils.parseLong(new StringBuilder(value)), is(Long.parseLong(value)));
+		}
+	}
+
+	@Test
+	public void testParseLongNumberFormatException() {
+		exception.expect(NumberFormatException.class);
+		ParseUtils.parseLong("1.0");
+	}
+
+	@Test
+	public void testParseDouble() {
+		final String[] values = {
+			"0", "-0", "-0.0", "1", "1.", ".5", "+.5", "1058.70", "-123.456", "0.1", "0.000001",
+			"123456789012345", "1234567890123456789", "0.1234567890123456789", "1e3", "1.25E-2", "NaN", "-Infinity", " 1.5 "
+		};
+		for (final String value : values) {
+			assertThat(value, ParseUtils.parseDouble(new StringBuilder(value)), is(Double.parseDouble(value)));
+		}
+	}
+
+	@Test
+	public void testParseDoubleNumberFormatException() {
+		exception.expect(NumberFormatException.class);
+		ParseUtils.parseDouble(".");
+	}
+
+	@Test
+	public void testParseBigDecimal() {
+		assertThat(ParseUtils.parseBigDecimal(new StringBuilder("-12345678901234567890.123")), is(new BigDecimal("-12345678901234567890.123")));
+		assertThat(ParseUtils.parseBigDecimal("1.0E+3"), is(new BigDecimal("1.0E+3")));
+	}
+
+	@Test
+	public void testParseBigDecimalNumberFormatException() {
+		exception.expect(NumberFormatException.class);
+		ParseUtils.parseBigDecimal("abc");
+	}
+
+	@Test
+	public void testParseIsoDate() throws Exception {
+		final TimeZone zone = TimeZone.getTimeZone("Asia/Tokyo");
+		final SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+		df.setTimeZone(zone);
+		assertThat(ParseUtils.parseIsoDate("2014-02-28", zone), is(df.parse("2014-02-28 00:00:00.000").getTime()));
+		assertThat(ParseUtils.parseIsoDate("2012-02-29T23:59:58", zone), is(df.parse("2012-02-29 23:59:58.000").getTime()));
+		assertThat(ParseUtils.parseIsoDate("1969-12-31 12:34:56.7", zone), is(df.parse("1969-12-31 12:34:56.700").getTime()));
+
+		final TimeZone ny = TimeZone.getTimeZone("America/New_York");
+		df.setTimeZone(ny);
+		assertThat(ParseUtils.parseIsoDate("2014-03-09T12:00:00", ny), is(df.parse("2014-03-09 12:00:00.000").getTime()));
+		assertThat(ParseUtils.parseIsoDate("2014-11-02", ny), is(df.parse("2014-11-02 00:00:00.000").getTime()));
+	}
+
+	@Test
+	public void testParseIsoDateIllegalArgumentException() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Unparseable date: \"2014-02-29\"");
+		ParseUtils.parseIsoDate("2014-02-29", TimeZone.getTimeZone("UTC"));
+	}
+
+}
@@ -26,7 +26,9 @@ import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 
 import com.orangesignal.csv.handlers.SampleType;
 
@@ -37,6 +39,11 @@ import com.orangesignal.csv.handlers.SampleType;
  */
 public class SimpleCsvValueConverterTest {
 
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private enum CaseType { abc, ABC, Def }
+
 	@Test
 	public void testGetDateFormat() {
 		final SimpleCsvValueConverter c = new SimpleCsvValueConverter();
@@ -82,6 +89,8 @@ public class SimpleCsvValueConverterTest {
 		assertThat(((Boolean) c.convert("o", Boolean.TYPE)).booleanValue(), is(true));
 		assertThat(((Boolean) c.convert("X", Boolean.TYPE)).booleanValue(), is(false));
 		assertThat(((Boolean) c.convert("O", Boolean.TYPE)).booleanValue(), is(true));
+		assertThat(((Boolean) c.convert("FaLsE", Boolean.TYPE)).booleanValue(), is(false));
+		assertThat(((Boolean) c.convert("ye\u017f", Boolean.TYPE)).booleanValue(), is(true));
 
 		// Boolean
 		assertNull(c.convert(null, Boolean.class));
@@ -171,4 +180,70 @@ public class SimpleCsvValueConverterTest {
 		assertThat(c.convert(df.parse("2009/10/21")), is("2009/10/21"));
 	}
 
+	@Test
+	public void testConvertBooleanIgnoreCase() {
+		final SimpleCsvValueConverter c = new SimpleCsvValueConverter();
+		assertThat((Boolean) c.convert("TRUE", Boolean.class), is(true));
+		assertThat((Boolean) c.convert("Off", Boolean.TYPE), is(false));
+		assertThat((Boolean) c.convert("y", Boolean.TYPE), is(true));
+	}
+
+	@Test
+	public void testConvertBooleanIllegalArgumentException() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Unknown convert type java.lang.Boolean");
+		new SimpleCsvValueConverter().convert("maybe", Boolean.class);
+	}
+
+	@Test
+	public void testConvertEnum() {
+		final SimpleCsvValueConverter c = new SimpleCsvValueConverter();
+		// 完全一致を優先すること
+		assertThat((CaseType) c.convert("abc", CaseType.class), is(CaseType.abc));
+		assertThat((CaseType) c.convert("ABC", CaseType.class), is(CaseType.ABC));
+		// 一意に特定できる場合は大文字小文字を区別しないこと
+		assertThat((CaseType) c.convert("DEF", CaseType.class), is(CaseType.Def));
+		assertThat((SampleType) c.convert("b", SampleType.class), is(SampleType.B));
+	}
+
+	@Test
+	public void testConvertEnumAmbiguous() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Unknown convert type " + CaseType.class.getName());
+		new SimpleCsvValueConverter().convert("Abc", CaseType.class);
+	}
+
+	@Test
+	public void testRegisterConverter() {
+		final SimpleCsvValueConverter c = new SimpleCsvValueConverter();
+		c.registerConverter(Character.class, new CsvValueConverter() {
+			@Override
+			public Object convert(final String str, final Class<?> type) {
+				return str == null || str.isEmpty() ? null : Character.valueOf(str.charAt(0));
+			}
+			@Override
+			public String convert(final Object value) {
+				return "[" + value + "]";
+			}
+		});
+		assertThat((Character) c.convert("x", Character.class), is('x'));
+		assertNull(c.convert(null, Character.class));
+		assertThat(c.convert(Character.valueOf('y')), is("[y]"));
+		assertThat(c.convert(Integer.valueOf(1)), is("1"));
+	}
+
+	@Test
+	public void testRegisterConverterIllegalArgumentException() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("CsvValueConverter must not be null");
+		new SimpleCsvValueConverter().registerConverter(Character.class, null);
+	}
+
+	@Test
+	public void testConvertUnknownType() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Unknown convert type java.lang.Character");
+		new SimpleCsvValueConverter().convert("x", Character.class);
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.bean;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import java.text.DecimalFormat;
+import java.text.Format;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * {@link ThreadSafeFormat} クラスの単体テストです。
+ *
+ * @author Koji Sugisawa
+ */
+public class ThreadSafeFormatTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void testConstructorIllegalArgumentException() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Format must not be null");
+		new ThreadSafeFormat(null);
+	}
+
+	@Test
+	public void testFormatAndParse() throws ParseException {
+		final DecimalFormat df = new DecimalFormat("#,##0");
+		final Format format = new ThreadSafeFormat(df);
+		assertThat(format.format(10000), is("10,000"));
+		assertThat(((Number) format.parseObject("10,000")).intValue(), is(10000));
+
+		// 構築後に複製元を変更しても影響しないこと
+		df.applyPattern("0");
+		assertThat(format.format(10000), is("10,000"));
+	}
+
+	@Test
+	public void testGetFormat() {
+		final ThreadSafeFormat format = new ThreadSafeFormat(new SimpleDateFormat("yyyy/MM/dd"));
+		assertThat(((SimpleDateFormat) format.getFormat()).toPattern(), is("yyyy/MM/dd"));
+		assertThat(((SimpleDateFormat) new ThreadSafeFormat(format).getFormat()).toPattern(), is("yyyy/MM/dd"));
+		assertThat(format.clone().equals(format), is(true));
+	}
+
+	@Test
+	public void testMergeFormatPattern() throws ParseException {
+		final Format merged = FormatUtils.mergeFormatPattern(new ThreadSafeFormat(new SimpleDateFormat("yyyy/MM/dd")), new ThreadSafeFormat(new SimpleDateFormat("HH:mm")));
+		assertThat(merged instanceof ThreadSafeFormat, is(true));
+		assertThat(((SimpleDateFormat) ((ThreadSafeFormat) merged).getFormat()).toPattern(), is("yyyy/MM/ddHH:mm"));
+	}
+
+	@Test
+	public void testMultiThread() throws Exception {
+		final SimpleDateFormat sdf = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss");
+		sdf.setTimeZone(TimeZone.getTimeZone("Asia/Tokyo"));
+		final Format format = new ThreadSafeFormat(sdf);
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+			for (int i = 0; i < 8; i++) {
+				final long base = i * 86400000L * 37;
+				results.add(executor.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() throws Exception {
+						for (int j = 0; j < 1000; j++) {
+							final Date date = new Date(base + j * 1000L);
+							if (!date.equals(format.parseObject(format.format(date)))) {
+								return Boolean.FALSE;
+							}
+						}
+						return Boolean.TRUE;
+					}
+				}));
+			}
+			for (final Future<Boolean> result : results) {
+				assertThat(result.get(), is(true));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.entity;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.orangesignal.csv.bean.CsvEntityMapper;
+import com.orangesignal.csv.bean.CsvEntityMapperProvider;
+
+/**
+ * {@link MappedEntity} 用の {@link CsvEntityMapper} を提供するテスト用のサービスプロバイダです。
+ * 
+ * @author Koji Sugisawa
+ */
+public class MappedEntityMapperProvider implements CsvEntityMapperProvider {
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> CsvEntityMapper<T> getMapper(final Class<T> entityClass, final List<String> columnNames) {
+		if (entityClass != MappedEntity.class) {
+			return null;
+		}
+		final int namePos = columnNames.indexOf("name");
+		final int countPos = columnNames.indexOf("count");
+		return (CsvEntityMapper<T>) new CsvEntityMapper<MappedEntity>() {
+			@Override
+			public MappedEntity toEntity(final List<String> values) {
+				final MappedEntity entity = new MappedEntity();
+				entity.name = values.get(namePos);
+				entity.count = Integer.parseInt(values.get(countPos));
+				entity.mapped = true;
+				return entity;
+			}
+			@Override
+			public List<String> toValues(final MappedEntity entity) {
+				final String[] values = new String[columnNames.size()];
+				values[namePos] = entity.name;
+				values[countPos] = String.format("%03d", entity.count);
+				return Arrays.asList(values);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.filters;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * {@link CompiledBeanFilter} クラスの単体テストです。
+ * 
+ * @author Koji Sugisawa
+ */
+public class CompiledBeanFilterTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	/**
+	 * 項目名 {@code col0}、{@code col1}、{@code col2} の値を {@link Integer} へ変換し、変換した項目位置を記録します。
+	 */
+	private static final class Resolver implements CompiledBeanFilter.FieldResolver {
+
+		final List<Integer> converted = new ArrayList<Integer>();
+
+		@Override
+		public int getPosition(final String name) {
+			return Arrays.asList("col0", "col1", "col2").indexOf(name);
+		}
+
+		@Override
+		public Class<?> getType(final int position) {
+			return Integer.class;
+		}
+
+		@Override
+		public Object getValue(final List<String> values, final int position) {
+			converted.add(position);
+			final String value = values.get(position);
+			return value == null ? null : Integer.valueOf(value);
+		}
+
+	}
+
+	@Test
+	public void testCompileIllegalArgumentException1() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("BeanFilter must not be null");
+		CompiledBeanFilter.compile(null, new Resolver());
+	}
+
+	@Test
+	public void testCompileIllegalArgumentException2() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("FieldResolver must not be null");
+		CompiledBeanFilter.compile(BeanExpressions.isNull("col0"), null);
+	}
+
+	@Test
+	public void testCompileUnsupported() {
+		assertNull(CompiledBeanFilter.compile(BeanExpressions.isNull("col9"), new Resolver()));
+		assertNull(CompiledBeanFilter.compile(BeanExpressions.or(BeanExpressions.isNull("col0"), BeanExpressions.isNull("col9")), new Resolver()));
+		assertNull(CompiledBeanFilter.compile(BeanExpressions.not(new BeanFilter() {
+			@Override
+			public boolean accept(final Object bean) {
+				return true;
+			}
+		}), new Resolver()));
+	}
+
+	@Test
+	public void testAccept() throws IOException {
+		final Resolver resolver = new Resolver();
+		final CompiledBeanFilter filter = CompiledBeanFilter.compile(
+				BeanExpressions.and(
+						BeanExpressions.between("col1", 10, 20),
+						BeanExpressions.not(BeanExpressions.in("col1", 15, 16)),
+						BeanExpressions.or(BeanExpressions.isNull("col2"), BeanExpressions.gt("col2", 0))
+					),
+				resolver
+			);
+		assertThat(filter.accept(Arrays.asList(new String[]{ "x", "12", null })), is(true));
+		assertThat(filter.accept(Arrays.asList(new String[]{ "x", "15", null })), is(false));
+		assertThat(filter.accept(Arrays.asList(new String[]{ "x", "21", "1" })), is(false));
+		assertThat(filter.accept(Arrays.asList(new String[]{ "x", "12", "-1" })), is(false));
+		// 論理行毎に項目を一度だけ変換し、判定に必要ない項目は変換しません。
+		assertThat(resolver.converted.toString(), is("[1, 2, 1, 1, 1, 2]"));
+	}
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.filters;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * {@link CompiledCsvNamedValueFilter} クラスの単体テストです。
+ * 
+ * @author Koji Sugisawa
+ */
+public class CompiledCsvNamedValueFilterTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private static final List<String> HEADER = Arrays.asList(new String[]{ "col0", "col1", "col2", "col3" });
+
+	private static final List<List<String>> ROWS = Arrays.asList(
+			Arrays.asList(new String[]{ null, "aaa", "10", "x" }),
+			Arrays.asList(new String[]{ "", "AAA", "20", "y" }),
+			Arrays.asList(new String[]{ "abc", "bbb", "30", null }),
+			Arrays.asList(new String[]{ "def", null, "40", "" })
+		);
+
+	@Test
+	public void testCompileIllegalArgumentException1() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("CsvNamedValueFilter must not be null");
+		CompiledCsvNamedValueFilter.compile(null, HEADER);
+	}
+
+	@Test
+	public void testCompileIllegalArgumentException2() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Header must not be null");
+		CompiledCsvNamedValueFilter.compile(new SimpleCsvNamedValueFilter().isNull("col0"), null);
+	}
+
+	@Test
+	public void testCompile() {
+		final CsvNamedValueFilter filter = new SimpleCsvNamedValueFilter().isNull("col0");
+		final CompiledCsvNamedValueFilter compiled = CompiledCsvNamedValueFilter.compile(filter, HEADER);
+		assertSame(filter, compiled.getFilter());
+		assertSame(HEADER, compiled.getHeader());
+		assertTrue(compiled.isCompiledFor(filter, HEADER));
+		assertFalse(compiled.isCompiledFor(filter, new ArrayList<String>(HEADER)));
+		assertFalse(compiled.isCompiledFor(new SimpleCsvNamedValueFilter().isNull("col0"), HEADER));
+		assertSame(compiled, CompiledCsvNamedValueFilter.compile(compiled, HEADER));
+	}
+
+	@Test
+	public void testAccept() {
+		assertEquivalent(new SimpleCsvNamedValueFilter().isNull("col0"));
+		assertEquivalent(new SimpleCsvNamedValueFilter().isNotNull("col1"));
+		assertEquivalent(new SimpleCsvNamedValueFilter().isEmpty("col0"));
+		assertEquivalent(new SimpleCsvNamedValueFilter().isNotEmpty("col3"));
+		assertEquivalent(new SimpleCsvNamedValueFilter().eq("col1", "aaa"));
+		assertEquivalent(new SimpleCsvNamedValueFilter().eq("col1", "aaa", true));
+		assertEquivalent(new SimpleCsvNamedValueFilter().ne("col1", "aaa"));
+		assertEquivalent(new SimpleCsvNamedValueFilter().ne("col1", "aaa", true));
+		assertEquivalent(new SimpleCsvNamedValueFilter().in("col1", "aaa", "bbb"));
+		assertEquivalent(new SimpleCsvNamedValueFilter().in("col1", new String[]{ "aaa", "ccc" }, true));
+		assertEquivalent(new SimpleCsvNamedValueFilter().notIn("col1", "aaa", "bbb"));
+		assertEquivalent(new SimpleCsvNamedValueFilter().notIn("col1", new String[]{ "aaa", "ccc" }, true));
+		assertEquivalent(new SimpleCsvNamedValueFilter().regex("col0", "^a.*"));
+		assertEquivalent(new SimpleCsvNamedValueFilter().gt("col2", "20"));
+		assertEquivalent(new SimpleCsvNamedValueFilter().ge("col2", "20"));
+		assertEquivalent(new SimpleCsvNamedValueFilter().lt("col2", "20"));
+		assertEquivalent(new SimpleCsvNamedValueFilter().le("col2", "20"));
+		assertEquivalent(new SimpleCsvNamedValueFilter().between("col2", "20", "30"));
+		assertEquivalent(new SimpleCsvNamedValueFilter().eq(3, "x").isNotNull("col1"));
+		assertEquivalent(new SimpleCsvNamedValueFilter(new CsvNamedValueOrExpression()).isNull("col0").eq("col3", "y"));
+		assertEquivalent(CsvExpressions.not(CsvExpressions.or(CsvExpressions.isNull("col1"), CsvExpressions.eq("col2", "30"))));
+		assertEquivalent(CsvExpressions.and(CsvExpressions.isNotNull("col0"), new CsvNamedValueFilter() {
+			@Override
+			public boolean accept(final List<String> header, final List<String> values) {
+				return "abc".equals(values.get(header.indexOf("col0")));
+			}
+		}));
+	}
+
+	@Test
+	public void testAcceptInNullCriteria() {
+		final CompiledCsvNamedValueFilter compiled = CompiledCsvNamedValueFilter.compile(new SimpleCsvNamedValueFilter().in("col1", "aaa", null), HEADER);
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Criteria must not be null");
+		compiled.accept(ROWS.get(2));
+	}
+
+	@Test
+	public void testAcceptOtherHeader() {
+		final CompiledCsvNamedValueFilter compiled = CompiledCsvNamedValueFilter.compile(new SimpleCsvNamedValueFilter().eq("col1", "aaa"), HEADER);
+		final List<String> other = Arrays.asList(new String[]{ "col1", "col0" });
+		assertTrue(compiled.accept(other, Arrays.asList(new String[]{ "aaa", "bbb" })));
+		assertFalse(compiled.accept(other, Arrays.asList(new String[]{ "bbb", "aaa" })));
+	}
+
+	@Test
+	public void testAcceptInvalidColumnName() {
+		final CompiledCsvNamedValueFilter compiled = CompiledCsvNamedValueFilter.compile(new SimpleCsvNamedValueFilter().isNull("col9"), HEADER);
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Invalid column name col9");
+		compiled.accept(ROWS.get(0));
+	}
+
+	@Test
+	public void testAcceptEmptyFilters() {
+		final CompiledCsvNamedValueFilter compiled = CompiledCsvNamedValueFilter.compile(new SimpleCsvNamedValueFilter(), HEADER);
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Filters must not be empty");
+		compiled.accept(ROWS.get(0));
+	}
+
+	private static void assertEquivalent(final CsvNamedValueFilter filter) {
+		final CompiledCsvNamedValueFilter compiled = CompiledCsvNamedValueFilter.compile(filter, HEADER);
+		for (final List<String> values : ROWS) {
+			assertThat(filter.toString() + values, compiled.accept(values), is(filter.accept(HEADER, values)));
+			assertThat(filter.toString() + values, compiled.accept(HEADER, values), is(filter.accept(HEADER, values)));
+		}
+	}
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.handlers;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import com.orangesignal.csv.model.SamplePrice;
+
+/**
+ * {@link BeanExternalSorter} クラスの単体テストです。
+ *
+ * @author Koji Sugisawa
+ */
+public class BeanExternalSorterTest {
+
+	private static final BeanExternalSorter.BeanConverter<SamplePrice> CONVERTER = new BeanExternalSorter.BeanConverter<SamplePrice>() {
+		@Override
+		public SamplePrice toBean(final List<String> values) {
+			final SamplePrice p = new SamplePrice();
+			p.setName(values.get(0));
+			p.setPrice(values.get(1) == null ? null : Integer.valueOf(values.get(1)));
+			return p;
+		}
+	};
+
+	private static final List<BeanOrder> ORDERS = Arrays.asList(BeanOrder.asc("price"));
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testBeanExternalSorterIllegalArgumentException1() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Invalid buffer size 0");
+		new BeanExternalSorter<SamplePrice>(ORDERS, 0, null, CONVERTER);
+	}
+
+	@Test
+	public void testBeanExternalSorterIllegalArgumentException2() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("BeanConverter must not be null");
+		new BeanExternalSorter<SamplePrice>(ORDERS, 1, null, null);
+	}
+
+	@Test
+	public void testBeanExternalSorterIllegalArgumentException3() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("orders must not be null");
+		new BeanExternalSorter<SamplePrice>(null, 1, null, CONVERTER);
+	}
+
+	@Test
+	public void testNextInMemory() throws IOException {
+		final BeanExternalSorter<SamplePrice> sorter = new BeanExternalSorter<SamplePrice>(ORDERS, 10, folder.getRoot(), CONVERTER);
+		try {
+			sorter.add(Arrays.asList("a", "300"));
+			sorter.add(Arrays.asList("b", "100"));
+			sorter.add(Arrays.asList("c", "200"));
+			assertThat(sorter.next().getName(), is("b"));
+			assertThat(sorter.getRunCount(), is(0));
+			assertThat(sorter.next().getName(), is("c"));
+			assertThat(sorter.next().getName(), is("a"));
+			assertNull(sorter.next());
+			assertNull(sorter.next());
+		} finally {
+			sorter.close();
+		}
+		assertThat(folder.getRoot().list().length, is(0));
+	}
+
+	@Test
+	public void testNextEmpty() throws IOException {
+		final BeanExternalSorter<SamplePrice> sorter = new BeanExternalSorter<SamplePrice>(ORDERS, 10, folder.getRoot(), CONVERTER);
+		try {
+			assertNull(sorter.next());
+		} finally {
+			sorter.close();
+		}
+	}
+
+	@Test
+	public void testNext() throws IOException {
+		final Random random = new Random(0);
+		final List<SamplePrice> expected = new ArrayList<SamplePrice>();
+		final BeanExternalSorter<SamplePrice> sorter = new BeanExternalSorter<SamplePrice>(ORDERS, 3, folder.getRoot(), CONVERTER);
+		try {
+			// ランの数が一度にマージする最大数を超えるように追加して、中間のマージを行います。
+			for (int i = 0; i < BeanExternalSorter.MAX_MERGE_WIDTH * 3 * 2 + 1; i++) {
+				final List<String> values = Arrays.asList(Integer.toString(i), Integer.toString(random.nextInt(10)));
+				expected.add(CONVERTER.toBean(values));
+				sorter.add(values);
+			}
+			assertThat(sorter.getRunCount(), is(BeanExternalSorter.MAX_MERGE_WIDTH * 2));
+			BeanOrderComparator.sort(expected, ORDERS);
+
+			for (final SamplePrice p : expected) {
+				final SamplePrice actual = sorter.next();
+				assertThat(actual.getName(), is(p.getName()));
+				assertThat(actual.getPrice(), is(p.getPrice()));
+			}
+			assertNull(sorter.next());
+			assertThat(sorter.getRunCount(), is(3));
+		} finally {
+			sorter.close();
+		}
+		assertThat(sorter.getRunCount(), is(0));
+		assertThat(folder.getRoot().list().length, is(0));
+	}
+
+	@Test
+	public void testNextValues() throws IOException {
+		final BeanExternalSorter<SamplePrice> sorter = new BeanExternalSorter<SamplePrice>(ORDERS, 1, folder.getRoot(), CONVERTER);
+		try {
+			sorter.add(Arrays.asList("\"a\",\r\nb", "4"));
+			sorter.add(Arrays.asList((String) null, "3"));
+			sorter.add(Arrays.asList("", "2"));
+			sorter.add(Arrays.asList("NULL", "1"));
+			assertThat(sorter.getRunCount(), is(4));
+			assertThat(sorter.next().getName(), is("NULL"));
+			assertThat(sorter.next().getName(), is(""));
+			assertNull(sorter.next().getName());
+			assertThat(sorter.next().getName(), is("\"a\",\r\nb"));
+			assertNull(sorter.next());
+		} finally {
+			sorter.close();
+		}
+	}
+
+	@Test
+	public void testAddIllegalStateException() throws IOException {
+		final BeanExternalSorter<SamplePrice> sorter = new BeanExternalSorter<SamplePrice>(ORDERS, 1, folder.getRoot(), CONVERTER);
+		try {
+			sorter.next();
+			exception.expect(IllegalStateException.class);
+			exception.expectMessage("Sorter already started");
+			sorter.add(Arrays.asList("a", "1"));
+		} finally {
+			sorter.close();
+		}
+	}
+
+	@Test
+	public void testClose() throws IOException {
+		final File dir = folder.getRoot();
+		final BeanExternalSorter<SamplePrice> sorter = new BeanExternalSorter<SamplePrice>(ORDERS, 1, dir, CONVERTER);
+		sorter.add(Arrays.asList("a", "2"));
+		sorter.add(Arrays.asList("b", "1"));
+		assertThat(dir.list().length, is(2));
+		assertThat(sorter.next().getName(), is("b"));
+		sorter.close();
+		assertThat(dir.list().length, is(0));
+	}
+
+}
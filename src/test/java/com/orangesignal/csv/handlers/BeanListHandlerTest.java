@@ -215,6 +215,36 @@ public class BeanListHandlerTest {
 		}
 	}
 
+	@Test(expected = IllegalArgumentException.class)
+	public void testLoadOrderOffsetOutOfRange() throws Exception {
+		final CsvReader reader = new CsvReader(new StringReader("name\nC\nA\nB"), cfg);
+		try {
+			new BeanListHandler<SampleBean>(SampleBean.class)
+				.includes("name")
+				.order(BeanOrder.asc("name"))
+				.offset(4)
+				.load(reader);
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLoadOrderOffsetLimitOutOfRange() throws Exception {
+		final CsvReader reader = new CsvReader(new StringReader("name\nC\nA\nB"), cfg);
+		try {
+			// 件数を制限して並び替える場合も、すべてを並び替える場合と同じ例外をスローします。
+			new BeanListHandler<SampleBean>(SampleBean.class)
+				.includes("name")
+				.order(BeanOrder.asc("name"))
+				.offset(4)
+				.limit(2)
+				.load(reader);
+		} finally {
+			reader.close();
+		}
+	}
+
 	@Test
 	public void testLoadFilter() throws Exception {
 		final DateFormat df = new SimpleDateFormat("yyyy/MM/dd");
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.handlers;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.orangesignal.csv.model.SamplePrice;
+
+/**
+ * {@link BeanOrderHeap} クラスの単体テストです。
+ *
+ * @author Koji Sugisawa
+ */
+public class BeanOrderHeapTest {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	@Test
+	public void testBeanOrderHeapIllegalArgumentException1() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("orders must not be null");
+		new BeanOrderHeap<SamplePrice>(null, 1);
+	}
+
+	@Test
+	public void testBeanOrderHeapIllegalArgumentException2() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Invalid capacity 0");
+		new BeanOrderHeap<SamplePrice>(new ArrayList<BeanOrder>(0), 0);
+	}
+
+	@Test
+	public void testAdd() {
+		final BeanOrderHeap<SamplePrice> heap = new BeanOrderHeap<SamplePrice>(Arrays.asList(BeanOrder.asc("price")), 2);
+		assertThat(heap.add(price("a", 300)), is(true));
+		assertThat(heap.add(price("b", 100)), is(true));
+		assertThat(heap.add(price("c", 200)), is(true));
+		assertThat(heap.add(price("d", 200)), is(false));
+		assertThat(heap.add(price("e", 400)), is(false));
+		assertThat(heap.size(), is(2));
+
+		final List<SamplePrice> list = heap.toSortedList();
+		assertThat(list.size(), is(2));
+		assertThat(list.get(0).getName(), is("b"));
+		assertThat(list.get(1).getName(), is("c"));
+	}
+
+	@Test
+	public void testAddIllegalArgumentException() {
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("bean must not be null");
+		new BeanOrderHeap<SamplePrice>(Arrays.asList(BeanOrder.asc("price")), 1).add(null);
+	}
+
+	@Test
+	public void testToSortedList() {
+		final List<BeanOrder> orders = Arrays.asList(BeanOrder.desc("price"));
+		final Random random = new Random(0);
+		for (int capacity = 1; capacity <= 40; capacity++) {
+			final List<SamplePrice> all = new ArrayList<SamplePrice>();
+			final BeanOrderHeap<SamplePrice> heap = new BeanOrderHeap<SamplePrice>(orders, capacity);
+			for (int i = 0; i < 30; i++) {
+				// 等しい値を多く含めて、並び替えの安定性を確認します。
+				final SamplePrice price = price(Integer.toString(i), random.nextInt(5));
+				all.add(price);
+				heap.add(price);
+			}
+			BeanOrderComparator.sort(all, orders);
+
+			final List<SamplePrice> list = heap.toSortedList();
+			assertThat(list, is(all.subList(0, Math.min(capacity, all.size()))));
+		}
+	}
+
+	private static SamplePrice price(final String name, final Number price) {
+		final SamplePrice p = new SamplePrice();
+		p.setName(name);
+		p.setPrice(price);
+		return p;
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.io;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * {@link ColumnNameMap} クラスの単体テストです。
+ *
+ * @author Koji Sugisawa
+ * @since 2.2.2
+ */
+public class ColumnNameMapTest {
+
+	private static final List<String> NAMES = Arrays.asList("symbol", "name", "price", "symbol", null);
+
+	private static Map<String, String> expected(final List<String> values) {
+		final Map<String, String> map = new LinkedHashMap<String, String>();
+		for (final String name : NAMES) {
+			map.put(name, null);
+		}
+		for (int i = 0; i < Math.min(NAMES.size(), values.size()); i++) {
+			map.put(NAMES.get(i), values.get(i));
+		}
+		return map;
+	}
+
+	@Test
+	public void testNewMap() {
+		final ColumnNameMap.Header header = new ColumnNameMap.Header(NAMES);
+		final List<String> values = Arrays.asList("AAAA", "aaa", "10", "BBBB", "x");
+		final Map<String, String> map = header.newMap(values);
+		assertThat(map, is(expected(values)));
+		assertThat(map.toString(), is(expected(values).toString()));
+		assertThat(map.hashCode(), is(expected(values).hashCode()));
+		assertThat(map.size(), is(4));
+		assertThat(map.get("symbol"), is("BBBB"));
+		assertThat(map.get(null), is("x"));
+		assertThat(map.containsKey("price"), is(true));
+		assertThat(map.containsKey("volume"), is(false));
+		assertNull(map.get("volume"));
+		assertThat(map.keySet().toString(), is("[symbol, name, price, null]"));
+	}
+
+	@Test
+	public void testNewMapShortValues() {
+		final ColumnNameMap.Header header = new ColumnNameMap.Header(NAMES);
+		final List<String> values = Arrays.asList("AAAA");
+		final Map<String, String> map = header.newMap(values);
+		assertThat(map, is(expected(values)));
+		assertThat(map.containsKey("price"), is(true));
+		assertNull(map.get("price"));
+	}
+
+	@Test
+	public void testPut() {
+		final ColumnNameMap.Header header = new ColumnNameMap.Header(NAMES);
+		final Map<String, String> map = header.newMap(Arrays.asList("AAAA", "aaa", "10"));
+		final Map<String, String> other = header.newMap(Arrays.asList("BBBB", "bbb", "20"));
+		assertThat(map.put("price", "11"), is("10"));
+		assertThat(map.get("price"), is("11"));
+		assertThat(other.get("price"), is("20"));
+
+		map.entrySet().iterator().next().setValue("CCCC");
+		assertThat(map.get("symbol"), is("CCCC"));
+
+		assertNull(map.put("volume", "100"));
+		assertThat(map.size(), is(5));
+		assertThat(map.keySet().toString(), is("[symbol, name, price, null, volume]"));
+		assertThat(other.containsKey("volume"), is(false));
+		assertThat(other.size(), is(4));
+	}
+
+	@Test
+	public void testRemove() {
+		final ColumnNameMap.Header header = new ColumnNameMap.Header(NAMES);
+		final Map<String, String> map = header.newMap(Arrays.asList("AAAA", "aaa", "10"));
+		assertNull(map.remove("volume"));
+		assertThat(map.size(), is(4));
+		assertThat(map.remove("name"), is("aaa"));
+		assertThat(map.keySet().toString(), is("[symbol, price, null]"));
+
+		final Map<String, String> map2 = header.newMap(Arrays.asList("AAAA", "aaa", "10"));
+		final Iterator<String> it = map2.keySet().iterator();
+		while (it.hasNext()) {
+			if (!"price".equals(it.next())) {
+				it.remove();
+			}
+		}
+		assertThat(map2.toString(), is("{price=10}"));
+
+		final Map<String, String> map3 = header.newMap(Arrays.asList("AAAA", "aaa", "10"));
+		map3.clear();
+		assertThat(map3.isEmpty(), is(true));
+	}
+
+	@Test
+	public void testSerialize() throws Exception {
+		final ColumnNameMap.Header header = new ColumnNameMap.Header(NAMES);
+		final List<String> values = Arrays.asList("AAAA", "aaa", "10");
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		final ObjectOutputStream oos = new ObjectOutputStream(baos);
+		oos.writeObject(header.newMap(values));
+		oos.close();
+		final Object o = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray())).readObject();
+		assertThat(o, is((Object) expected(values)));
+	}
+
+}
@@ -22,9 +22,11 @@ import static org.junit.Assert.assertThat;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.math.BigDecimal;
 import java.text.DateFormat;
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
+import java.util.List;
 
 import org.junit.BeforeClass;
 import org.junit.Rule;
@@ -35,7 +37,13 @@ import com.orangesignal.csv.Constants;
 import com.orangesignal.csv.CsvConfig;
 import com.orangesignal.csv.CsvReader;
 import com.orangesignal.csv.bean.CsvBeanTemplate;
+import com.orangesignal.csv.filters.BeanExpressions;
+import com.orangesignal.csv.filters.BeanFilter;
+import com.orangesignal.csv.filters.CompiledBeanFilter;
+import com.orangesignal.csv.filters.SimpleBeanFilter;
 import com.orangesignal.csv.filters.SimpleCsvNamedValueFilter;
+import com.orangesignal.csv.model.ImmutableBean;
+import com.orangesignal.csv.model.NumericBean;
 import com.orangesignal.csv.model.SampleBean;
 
 /**
@@ -192,6 +200,189 @@ public class CsvBeanReaderTest {
 		}
 	}
 
+	@Test
+	public void testLoadNumeric() throws IOException {
+		final CsvBeanReader<NumericBean> reader = CsvBeanReader.newInstance(
+				new CsvReader(new StringReader(
+						"symbol,open,high,volume,trades,close,vwap,turnover\r\n" +
+						"AAAA,-120,130,9876543210,42,1058.70,-0.5,12345678901234567890.123\r\n" +
+						"BBBB,NULL,NULL,NULL,NULL,NULL,NULL,NULL\r\n" +
+						"CCCC,+7,8,1,2,1e3,1.25E-2,-0"
+					), cfg),
+				NumericBean.class
+			);
+		try {
+			final NumericBean o1 = reader.read();
+			assertThat(o1.symbol, is("AAAA"));
+			assertThat(o1.open, is(-120));
+			assertThat(o1.high, is(130));
+			assertThat(o1.volume, is(9876543210L));
+			assertThat(o1.trades, is(42L));
+			assertThat(o1.close, is(1058.70D));
+			assertThat(o1.vwap, is(-0.5D));
+			assertThat(o1.turnover, is(new BigDecimal("12345678901234567890.123")));
+
+			final NumericBean o2 = reader.read();
+			assertThat(o2.symbol, is("BBBB"));
+			assertThat(o2.open, is(0));
+			assertNull(o2.high);
+			assertThat(o2.volume, is(0L));
+			assertNull(o2.trades);
+			assertThat(o2.close, is(0D));
+			assertNull(o2.vwap);
+			assertNull(o2.turnover);
+
+			final NumericBean o3 = reader.read();
+			assertThat(o3.open, is(7));
+			assertThat(o3.high, is(8));
+			assertThat(o3.close, is(1000D));
+			assertThat(o3.vwap, is(0.0125D));
+			assertThat(o3.turnover, is(new BigDecimal("-0")));
+
+			assertNull(reader.read());
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testLoadNumericNumberFormatException() throws IOException {
+		exception.expect(NumberFormatException.class);
+		final CsvBeanReader<NumericBean> reader = CsvBeanReader.newInstance(
+				new CsvReader(new StringReader("symbol,open\r\nAAAA,2147483648"), cfg),
+				NumericBean.class
+			);
+		try {
+			reader.read();
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testLoadConstructorProperties() throws IOException {
+		final CsvBeanReader<ImmutableBean> reader = CsvBeanReader.newInstance(
+				new CsvReader(new StringReader("note,price,symbol,volume\r\nfirst,10.5,AAAA,10\r\nNULL,NULL,BBBB,NULL"), cfg),
+				ImmutableBean.class
+			);
+		try {
+			final ImmutableBean o1 = reader.read();
+			assertThat(o1.getSymbol(), is("AAAA"));
+			assertThat(o1.getVolume(), is(10L));
+			assertThat(o1.getPrice(), is(10.5D));
+			assertThat(o1.note, is("first"));
+
+			final ImmutableBean o2 = reader.read();
+			assertThat(o2.getSymbol(), is("BBBB"));
+			assertThat(o2.getVolume(), is(0L));
+			assertNull(o2.getPrice());
+			assertNull(o2.note);
+
+			assertNull(reader.read());
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testCompileFilter() throws IOException {
+		final BeanFilter[] filters = new BeanFilter[]{
+				BeanExpressions.isNull("high"),
+				BeanExpressions.isNotNull("trades"),
+				BeanExpressions.isEmpty("symbol"),
+				BeanExpressions.eq("open", 0),
+				BeanExpressions.eq("symbol", "aaaa", true),
+				BeanExpressions.ne("volume", 1L),
+				BeanExpressions.in("symbol", "AAAA", "CCCC"),
+				BeanExpressions.notIn("symbol", new String[]{ "bbbb" }, true),
+				BeanExpressions.regex("symbol", "^[AB].*"),
+				BeanExpressions.gt("close", 1000D),
+				BeanExpressions.le("high", 8),
+				BeanExpressions.between("turnover", new BigDecimal("-1"), new BigDecimal("1")),
+				BeanExpressions.and(BeanExpressions.ge("open", 0), BeanExpressions.lt("vwap", 1D)),
+				BeanExpressions.or(BeanExpressions.isNull("vwap"), BeanExpressions.not(BeanExpressions.eq("trades", 2L))),
+				new SimpleBeanFilter().isNotNull("high").ne("symbol", "AAAA")
+			};
+		final String data =
+				"symbol,open,high,volume,trades,close,vwap,turnover\r\n" +
+				"AAAA,-120,130,9876543210,42,1058.70,-0.5,12345678901234567890.123\r\n" +
+				"BBBB,NULL,NULL,NULL,NULL,NULL,NULL,NULL\r\n" +
+				"CCCC,+7,8,1,2,1e3,1.25E-2,-0\r\n" +
+				"DDDD";
+		for (final BeanFilter filter : filters) {
+			final CsvBeanReader<NumericBean> reader = CsvBeanReader.newInstance(new CsvReader(new StringReader(data), cfg), NumericBean.class);
+			try {
+				final CompiledBeanFilter compiled = reader.compileFilter(filter);
+				assertThat(filter.toString(), compiled.getFilter(), is(filter));
+				List<String> values;
+				while ((values = reader.readValues()) != null) {
+					assertThat(filter.toString() + values, compiled.accept(values), is(filter.accept(reader.toBean(values))));
+				}
+			} finally {
+				reader.close();
+			}
+		}
+	}
+
+	@Test
+	public void testCompileFilterUnsupported() throws IOException {
+		final CsvBeanReader<NumericBean> reader = CsvBeanReader.newInstance(
+				new CsvReader(new StringReader("symbol,open,open\r\nAAAA,1,2"), cfg),
+				CsvBeanTemplate.newInstance(NumericBean.class).excludes("symbol")
+			);
+		try {
+			assertNull(reader.compileFilter(BeanExpressions.isNull("symbol")));
+			assertNull(reader.compileFilter(BeanExpressions.eq("open", 1)));
+			assertNull(reader.compileFilter(BeanExpressions.isNull("close")));
+			assertNull(reader.compileFilter(BeanExpressions.isNull("unknown")));
+			assertNull(reader.compileFilter(BeanExpressions.and()));
+			assertNull(reader.compileFilter(new BeanFilter() {
+				@Override
+				public boolean accept(final Object bean) {
+					return true;
+				}
+			}));
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testCompileFilterConstructorProperties() throws IOException {
+		final CsvBeanReader<ImmutableBean> reader = CsvBeanReader.newInstance(
+				new CsvReader(new StringReader("symbol,price\r\nAAAA,1"), cfg),
+				ImmutableBean.class
+			);
+		try {
+			assertNull(reader.compileFilter(BeanExpressions.isNull("symbol")));
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testLoadProjection() throws IOException {
+		final CsvBeanReader<SampleBean> reader = CsvBeanReader.newInstance(
+				new CsvReader(new StringReader("symbol,name,price,volume\r\nAAAA,aaa,10000,10\r\nBBBB,bbb,NULL,0"), cfg),
+				CsvBeanTemplate.newInstance(SampleBean.class).excludes("name", "volume")
+			);
+		try {
+			reader.setProjection(true);
+			final SampleBean o1 = reader.read();
+			assertThat(o1.symbol, is("AAAA"));
+			assertNull(o1.name);
+			assertThat(o1.price.longValue(), is(10000L));
+			assertNull(o1.volume);
+
+			final List<String> values = reader.readValues();
+			assertThat(values.toString(), is("[BBBB, null, null, null]"));
+
+			assertNull(reader.read());
+		} finally {
+			reader.close();
+		}
+	}
+
 	@Test
 	public void testLoad2() throws IOException {
 		final CsvBeanReader<SampleBean> reader = CsvBeanReader.newInstance(
@@ -316,4 +507,26 @@ public class CsvBeanReaderTest {
 		}
 	}
 
+	@Test
+	public void testReadFilterSharedTemplate() throws IOException {
+		final CsvBeanTemplate<SampleBean> template = CsvBeanTemplate.newInstance(SampleBean.class)
+				.filter(new SimpleCsvNamedValueFilter().eq("symbol", "A"));
+		// 項目の順序が異なる 2 つのリーダーでテンプレートを共有して交互に読込みます。
+		final CsvBeanReader<SampleBean> r1 = new CsvBeanReader<SampleBean>(new CsvReader(new StringReader(
+				"symbol,name\r\nA,a1\r\nB,b1\r\nA,a2\r\n"), cfg), template);
+		final CsvBeanReader<SampleBean> r2 = new CsvBeanReader<SampleBean>(new CsvReader(new StringReader(
+				"name,symbol\r\nb3,B\r\na3,A\r\na4,A\r\n"), cfg), template);
+		try {
+			assertThat(r1.read().name, is("a1"));
+			assertThat(r2.read().name, is("a3"));
+			assertThat(r1.read().name, is("a2"));
+			assertThat(r2.read().name, is("a4"));
+			assertNull(r1.read());
+			assertNull(r2.read());
+		} finally {
+			r1.close();
+			r2.close();
+		}
+	}
+
 }
\ No newline at end of file
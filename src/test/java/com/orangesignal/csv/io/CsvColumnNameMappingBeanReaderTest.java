@@ -38,6 +38,7 @@ import com.orangesignal.csv.CsvConfig;
 import com.orangesignal.csv.CsvReader;
 import com.orangesignal.csv.bean.CsvColumnNameMappingBeanTemplate;
 import com.orangesignal.csv.filters.SimpleCsvNamedValueFilter;
+import com.orangesignal.csv.model.ImmutableBean;
 import com.orangesignal.csv.model.SampleBean;
 
 /**
@@ -350,6 +351,31 @@ public class CsvColumnNameMappingBeanReaderTest {
 		}
 	}
 
+	@Test
+	public void testReadConstructorProperties() throws IOException {
+		final CsvColumnNameMappingBeanReader<ImmutableBean> reader = CsvColumnNameMappingBeanReader.newInstance(
+				new CsvReader(new StringReader("note,price,symbol,volume\r\nfirst,10.5,AAAA,10\r\nNULL,NULL,BBBB,NULL"), cfg),
+				ImmutableBean.class
+			);
+		try {
+			final ImmutableBean o1 = reader.read();
+			assertThat(o1.getSymbol(), is("AAAA"));
+			assertThat(o1.getVolume(), is(10L));
+			assertThat(o1.getPrice(), is(10.5D));
+			assertThat(o1.note, is("first"));
+
+			final ImmutableBean o2 = reader.read();
+			assertThat(o2.getSymbol(), is("BBBB"));
+			assertThat(o2.getVolume(), is(0L));
+			assertNull(o2.getPrice());
+			assertNull(o2.note);
+
+			assertNull(reader.read());
+		} finally {
+			reader.close();
+		}
+	}
+
 	@Test
 	public void testReadFilter() throws Exception {
 		final DateFormat df = new SimpleDateFormat("yyyy/MM/dd");
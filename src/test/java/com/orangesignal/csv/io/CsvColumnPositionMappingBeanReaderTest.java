@@ -26,6 +26,7 @@ import java.text.DateFormat;
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.BeforeClass;
@@ -38,6 +39,7 @@ import com.orangesignal.csv.CsvConfig;
 import com.orangesignal.csv.CsvReader;
 import com.orangesignal.csv.bean.CsvColumnPositionMappingBeanTemplate;
 import com.orangesignal.csv.filters.SimpleCsvValueFilter;
+import com.orangesignal.csv.model.ImmutableBean;
 import com.orangesignal.csv.model.SampleBean;
 
 /**
@@ -226,6 +228,32 @@ public class CsvColumnPositionMappingBeanReaderTest {
 		}
 	}
 
+	@Test
+	public void testReadProjection() throws IOException {
+		cfg.setSkipLines(1);	// 項目位置指定時はヘッダは不要なので読飛ばす指定をする
+		final CsvColumnPositionMappingBeanReader<SampleBean> reader = CsvColumnPositionMappingBeanReader.newInstance(
+				new CsvReader(new StringReader("symbol,name,price,volume\r\nAAAA,aaa,10000,10\r\nBBBB,bbb,NULL,0"), cfg),
+				CsvColumnPositionMappingBeanTemplate.newInstance(SampleBean.class)
+					.column(0, "symbol")
+					.column(3, "volume")
+				);
+		try {
+			reader.setProjection(true);
+			final SampleBean o1 = reader.read();
+			assertThat(o1.symbol, is("AAAA"));
+			assertNull(o1.name);
+			assertNull(o1.price);
+			assertThat(o1.volume.longValue(), is(10L));
+
+			final List<String> values = reader.readValues();
+			assertThat(values.toString(), is("[BBBB, null, null, 0]"));
+
+			assertNull(reader.read());
+		} finally {
+			reader.close();
+		}
+	}
+
 	@Test
 	public void testRead3() throws IOException {
 		cfg.setSkipLines(1);	// 項目位置指定時はヘッダは不要なので読飛ばす指定をする
@@ -424,6 +452,36 @@ public class CsvColumnPositionMappingBeanReaderTest {
 		}
 	}
 
+	@Test
+	public void testReadConstructorProperties() throws IOException {
+		cfg.setSkipLines(0);
+		final CsvColumnPositionMappingBeanReader<ImmutableBean> reader = CsvColumnPositionMappingBeanReader.newInstance(
+				new CsvReader(new StringReader("first,10.5,AAAA,10\r\nNULL,NULL,BBBB,NULL"), cfg),
+				CsvColumnPositionMappingBeanTemplate.newInstance(ImmutableBean.class)
+					.column("note")
+					.column("price")
+					.column("symbol")
+					.column("volume")
+			);
+		try {
+			final ImmutableBean o1 = reader.read();
+			assertThat(o1.getSymbol(), is("AAAA"));
+			assertThat(o1.getVolume(), is(10L));
+			assertThat(o1.getPrice(), is(10.5D));
+			assertThat(o1.note, is("first"));
+
+			final ImmutableBean o2 = reader.read();
+			assertThat(o2.getSymbol(), is("BBBB"));
+			assertThat(o2.getVolume(), is(0L));
+			assertNull(o2.getPrice());
+			assertNull(o2.note);
+
+			assertNull(reader.read());
+		} finally {
+			reader.close();
+		}
+	}
+
 	@Test
 	public void testFilter() throws Exception {
 		final DateFormat df = new SimpleDateFormat("yyyy/MM/dd");
@@ -36,8 +36,10 @@ import com.orangesignal.csv.CsvConfig;
 import com.orangesignal.csv.CsvReader;
 import com.orangesignal.csv.annotation.CsvColumnException;
 import com.orangesignal.csv.bean.CsvEntityTemplate;
+import com.orangesignal.csv.bean.SimpleCsvValueConverter;
 import com.orangesignal.csv.entity.DefaultValuePrice;
 import com.orangesignal.csv.entity.Issue30;
+import com.orangesignal.csv.entity.MappedEntity;
 import com.orangesignal.csv.entity.Price;
 import com.orangesignal.csv.entity.Price2;
 import com.orangesignal.csv.entity.RequiredPrice;
@@ -393,4 +395,38 @@ public class CsvEntityReaderTest {
 		}
 	}
 
+	@Test
+	public void testReadMapper() throws IOException {
+		final CsvEntityReader<MappedEntity> reader = CsvEntityReader.newInstance(new CsvReader(new StringReader("count,name\r\n1,aaa\r\n2,bbb"), cfg), MappedEntity.class);
+		try {
+			final MappedEntity o1 = reader.read();
+			assertThat(o1.mapped, is(true));
+			assertThat(o1.name, is("aaa"));
+			assertThat(o1.count, is(1));
+			final MappedEntity o2 = reader.read();
+			assertThat(o2.mapped, is(true));
+			assertThat(o2.name, is("bbb"));
+			assertThat(o2.count, is(2));
+			assertNull(reader.read());
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testReadMapperValueConverter() throws IOException {
+		final CsvEntityReader<MappedEntity> reader = CsvEntityReader.newInstance(
+				new CsvReader(new StringReader("count,name\r\n1,aaa"), cfg),
+				CsvEntityTemplate.newInstance(MappedEntity.class).valueConverter(new SimpleCsvValueConverter())
+			);
+		try {
+			final MappedEntity o1 = reader.read();
+			assertThat(o1.mapped, is(false));
+			assertThat(o1.name, is("aaa"));
+			assertThat(o1.count, is(1));
+		} finally {
+			reader.close();
+		}
+	}
+
 }
\ No newline at end of file
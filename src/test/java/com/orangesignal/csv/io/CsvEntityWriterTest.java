@@ -37,6 +37,7 @@ import com.orangesignal.csv.CsvConfig;
 import com.orangesignal.csv.CsvWriter;
 import com.orangesignal.csv.bean.CsvEntityTemplate;
 import com.orangesignal.csv.entity.DefaultValuePrice;
+import com.orangesignal.csv.entity.MappedEntity;
 import com.orangesignal.csv.entity.Price;
 import com.orangesignal.csv.entity.Travel;
 import com.orangesignal.csv.entity.WritableEntity;
@@ -646,4 +647,20 @@ public class CsvEntityWriterTest {
 		}
 	}
 
+	@Test
+	public void testWriteMapper() throws IOException {
+		final StringWriter sw = new StringWriter();
+		final CsvEntityWriter<MappedEntity> writer = CsvEntityWriter.newInstance(new CsvWriter(sw, cfg), MappedEntity.class);
+		try {
+			final MappedEntity entity = new MappedEntity();
+			entity.name = "aaa";
+			entity.count = 1;
+			writer.write(entity);
+			writer.flush();
+			assertThat(sw.getBuffer().toString(), is("name,count\r\naaa,001\r\n"));
+		} finally {
+			writer.close();
+		}
+	}
+
 }
\ No newline at end of file
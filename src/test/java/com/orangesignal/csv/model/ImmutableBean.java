@@ -0,0 +1,42 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.model;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * @author Koji Sugisawa
+ */
+public final class ImmutableBean {
+
+	private final String symbol;
+	private final long volume;
+	private final Double price;
+	public String note;
+
+	@ConstructorProperties({ "symbol", "volume", "price" })
+	public ImmutableBean(final String symbol, final long volume, final Double price) {
+		this.symbol = symbol;
+		this.volume = volume;
+		this.price = price;
+	}
+
+	public String getSymbol() { return symbol; }
+	public long getVolume() { return volume; }
+	public Double getPrice() { return price; }
+
+}
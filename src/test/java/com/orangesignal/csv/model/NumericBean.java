@@ -0,0 +1,35 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orangesignal.csv.model;
+
+import java.math.BigDecimal;
+
+/**
+ * @author Koji Sugisawa
+ */
+public final class NumericBean {
+
+	public String symbol;
+	public int open;
+	public Integer high;
+	public long volume;
+	public Long trades;
+	public double close;
+	public Double vwap;
+	public BigDecimal turnover;
+
+}